@@ -18,6 +18,10 @@ package io.jmix.audit;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 
 @ConfigurationProperties("jmix.audit")
 public class AuditProperties {
@@ -26,12 +30,56 @@ public class AuditProperties {
     //ToDo: make system user name globally configurable?
     String systemUsername;
 
+    /**
+     * Whether entity log items are written by a background writer after the business transaction is committed
+     * instead of being saved inside the transaction.
+     * <p>
+     * Queued items are kept in memory only. They are saved on graceful shutdown, but items of already committed
+     * transactions are lost if the application terminates abnormally or if saving them fails. Don't enable this
+     * mode if the entity log must contain every committed change.
+     */
+    boolean asyncEntityLogEnabled;
+
+    /**
+     * Maximum number of committed transactions which entity log items can wait in the queue of the background
+     * writer. If the queue is full, items are saved synchronously by the committing thread.
+     */
+    int asyncEntityLogQueueCapacity;
+
+    /**
+     * Maximum number of entity log items saved by the background writer in a single transaction.
+     */
+    int asyncEntityLogBatchSize;
+
+    /**
+     * Maximum time entity log items can wait in the queue of the background writer. If the oldest queued items
+     * wait longer, new items are saved synchronously by the committing thread until the writer catches up.
+     */
+    Duration asyncEntityLogMaxLag;
+
+    /**
+     * Name of the {@link io.jmix.audit.snapshot.EntitySnapshotCodec} used for new entity snapshots: {@code json}
+     * or {@code json-gzip}. Stored snapshots are read regardless of this setting.
+     */
+    String snapshotCodec;
+
     public AuditProperties(
             @DefaultValue("true") boolean enabled,
-            @DefaultValue("system") String systemUsername
+            @DefaultValue("system") String systemUsername,
+            @DefaultValue("false") boolean asyncEntityLogEnabled,
+            @DefaultValue("10000") int asyncEntityLogQueueCapacity,
+            @DefaultValue("100") int asyncEntityLogBatchSize,
+            @DurationUnit(ChronoUnit.SECONDS)
+            @DefaultValue("30") Duration asyncEntityLogMaxLag,
+            @DefaultValue("json") String snapshotCodec
     ) {
         this.enabled = enabled;
         this.systemUsername = systemUsername;
+        this.asyncEntityLogEnabled = asyncEntityLogEnabled;
+        this.asyncEntityLogQueueCapacity = asyncEntityLogQueueCapacity;
+        this.asyncEntityLogBatchSize = asyncEntityLogBatchSize;
+        this.asyncEntityLogMaxLag = asyncEntityLogMaxLag;
+        this.snapshotCodec = snapshotCodec;
     }
 
     public boolean isEnabled() {
@@ -41,4 +89,39 @@ public class AuditProperties {
     public String getSystemUsername() {
         return systemUsername;
     }
+
+    /**
+     * @see #asyncEntityLogEnabled
+     */
+    public boolean isAsyncEntityLogEnabled() {
+        return asyncEntityLogEnabled;
+    }
+
+    /**
+     * @see #asyncEntityLogQueueCapacity
+     */
+    public int getAsyncEntityLogQueueCapacity() {
+        return asyncEntityLogQueueCapacity;
+    }
+
+    /**
+     * @see #asyncEntityLogBatchSize
+     */
+    public int getAsyncEntityLogBatchSize() {
+        return asyncEntityLogBatchSize;
+    }
+
+    /**
+     * @see #asyncEntityLogMaxLag
+     */
+    public Duration getAsyncEntityLogMaxLag() {
+        return asyncEntityLogMaxLag;
+    }
+
+    /**
+     * @see #snapshotCodec
+     */
+    public String getSnapshotCodec() {
+        return snapshotCodec;
+    }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.audit.entity.EntityLogItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes entity log items of committed transactions in a background thread.
+ * <p>
+ * Items are accepted into a bounded queue and saved by batches. The writer applies back-pressure by rejecting
+ * items if the queue is full or the oldest queued items wait longer than the configured max lag, in which case
+ * the caller is expected to save the items itself.
+ * <p>
+ * The queue is not durable: items are kept in memory until they are saved. Queued items are saved by
+ * {@link #shutdown(Duration)}, but they are lost if the JVM terminates abnormally. Items that can't be saved
+ * are logged and dropped.
+ */
+public class AsyncEntityLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEntityLogWriter.class);
+
+    protected static final String METRIC_PREFIX = "jmix.audit.entityLog.async";
+
+    protected final BlockingQueue<QueuedItems> queue;
+    protected final int batchSize;
+    protected final long maxLagNanos;
+    protected final Consumer<List<QueuedItems>> batchWriter;
+
+    protected final Thread writerThread;
+    protected volatile boolean running = true;
+
+    protected final Counter acceptedCounter;
+    protected final Counter rejectedQueueFullCounter;
+    protected final Counter rejectedMaxLagCounter;
+    protected final Counter writtenCounter;
+    protected final Counter failedCounter;
+    protected final Timer batchTimer;
+
+    /**
+     * @param capacity    maximum number of queued transactions
+     * @param batchSize   maximum number of queued transactions written in one batch
+     * @param maxLag      maximum time the oldest queued transaction can wait before new ones are rejected
+     * @param batchWriter saves a batch of queued items
+     */
+    public AsyncEntityLogWriter(int capacity, int batchSize, Duration maxLag,
+                                Consumer<List<QueuedItems>> batchWriter,
+                                MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxLagNanos = maxLag.toNanos();
+        this.batchWriter = batchWriter;
+
+        this.acceptedCounter = meterRegistry.counter(METRIC_PREFIX + ".accepted");
+        this.rejectedQueueFullCounter = meterRegistry.counter(METRIC_PREFIX + ".rejected", "reason", "queueFull");
+        this.rejectedMaxLagCounter = meterRegistry.counter(METRIC_PREFIX + ".rejected", "reason", "maxLag");
+        this.writtenCounter = meterRegistry.counter(METRIC_PREFIX + ".written");
+        this.failedCounter = meterRegistry.counter(METRIC_PREFIX + ".failed");
+        this.batchTimer = meterRegistry.timer(METRIC_PREFIX + ".batch");
+        Gauge.builder(METRIC_PREFIX + ".queueSize", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag", this, writer -> writer.getCurrentLag().toMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        this.writerThread = new ThreadFactoryBuilder()
+                .setNameFormat("jmix-entity-log-writer-%d")
+                .setDaemon(true)
+                .build()
+                .newThread(this::run);
+        this.writerThread.start();
+    }
+
+    /**
+     * Puts entity log items of a committed transaction to the queue.
+     *
+     * @return false if the items are rejected and must be saved by the caller
+     */
+    public boolean submit(List<EntityLogItem> items, @Nullable Authentication authentication) {
+        if (!running) {
+            return false;
+        }
+        QueuedItems oldest = queue.peek();
+        if (oldest != null && System.nanoTime() - oldest.getQueuedAt() > maxLagNanos) {
+            rejectedMaxLagCounter.increment();
+            log.debug("Entity log writer lags behind, items will be saved synchronously");
+            return false;
+        }
+        if (!queue.offer(new QueuedItems(items, authentication))) {
+            rejectedQueueFullCounter.increment();
+            log.debug("Entity log writer queue is full, items will be saved synchronously");
+            return false;
+        }
+        acceptedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Returns how long the oldest queued items wait to be written.
+     */
+    public Duration getCurrentLag() {
+        QueuedItems oldest = queue.peek();
+        return oldest == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - oldest.getQueuedAt());
+    }
+
+    /**
+     * Stops accepting new items, waits for the writer thread to save the queued ones and saves the remaining
+     * items in the calling thread.
+     *
+     * @param timeout how long to wait for the writer thread
+     */
+    public void shutdown(Duration timeout) {
+        running = false;
+        try {
+            writerThread.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            writerThread.interrupt();
+        }
+        List<QueuedItems> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Saving {} queued entity log batches on shutdown", remaining.size());
+            write(remaining);
+        }
+    }
+
+    protected void run() {
+        while (running || !queue.isEmpty()) {
+            List<QueuedItems> batch = new ArrayList<>(batchSize);
+            try {
+                QueuedItems first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+        }
+    }
+
+    protected void write(List<QueuedItems> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            batchWriter.accept(batch);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("Unable to save entity log batch, saving items one by one", e);
+            for (QueuedItems queuedItems : batch) {
+                try {
+                    batchWriter.accept(List.of(queuedItems));
+                    writtenCounter.increment();
+                } catch (Exception ex) {
+                    failedCounter.increment();
+                    log.error("Unable to save entity log items {}", queuedItems.getItems(), ex);
+                }
+            }
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    /**
+     * Entity log items of a single committed transaction together with the authentication they were created with.
+     */
+    public static class QueuedItems {
+
+        protected final List<EntityLogItem> items;
+        protected final Authentication authentication;
+        protected final long queuedAt;
+
+        public QueuedItems(List<EntityLogItem> items, @Nullable Authentication authentication) {
+            this.items = items;
+            this.authentication = authentication;
+            this.queuedAt = System.nanoTime();
+        }
+
+        public List<EntityLogItem> getItems() {
+            return items;
+        }
+
+        @Nullable
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+
+        public long getQueuedAt() {
+            return queuedAt;
+        }
+    }
+}
@@ -35,14 +35,18 @@ import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.core.security.EntityOp;
+import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.data.AttributeChangesProvider;
 import io.jmix.data.AuditInfoProvider;
 import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpaLifecycleListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.lang3.BooleanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -89,6 +93,8 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     protected AttributeChangesProvider attributeChangesProvider;
     @Autowired
     protected EntityEventManager entityEventManager;
+    @Autowired
+    protected MeterRegistry meterRegistry;
 
     @PersistenceContext
     protected EntityManager entityManager;
@@ -103,6 +109,8 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
 
     protected AuditProperties properties;
 
+    protected volatile AsyncEntityLogWriter asyncWriter;
+
     protected volatile boolean enabled;
     protected volatile boolean loaded;
 
@@ -161,7 +169,21 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         if (items == null || items.isEmpty())
             return;
 
-        Set<EntityLogItem> saved = new LinkedHashSet<>();
+        if (properties.isAsyncEntityLogEnabled() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueueAfterCommit(new ArrayList<>(items));
+            return;
+        }
+
+        for (EntityLogItem itemToSave : mergeItems(items)) {
+            saveItem(itemToSave);
+        }
+    }
+
+    /**
+     * Merges items of the same entity instance into one item and computes its changes.
+     */
+    protected Collection<EntityLogItem> mergeItems(List<EntityLogItem> items) {
+        Set<EntityLogItem> merged = new LinkedHashSet<>();
         for (EntityLogItem item : items) {
             List<EntityLogItem> sameEntityList = items.stream()
                     .filter(entityLogItem -> entityLogItem.getDbGeneratedIdEntity() != null ?
@@ -169,12 +191,80 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
                             entityLogItem.getEntityRef().getObjectEntityId().equals(item.getEntityRef().getObjectEntityId()))
                     .collect(Collectors.toList());
             EntityLogItem itemToSave = sameEntityList.get(0);
-            if (!saved.contains(itemToSave)) {
+            if (!merged.contains(itemToSave)) {
                 computeChanges(itemToSave, sameEntityList);
-                saved.add(itemToSave);
-                saveItem(itemToSave);
+                merged.add(itemToSave);
             }
         }
+        return merged;
+    }
+
+    /**
+     * Passes items to the background writer when the current transaction is committed. Items rejected by the
+     * writer are saved synchronously in a new transaction.
+     */
+    protected void enqueueAfterCommit(List<EntityLogItem> items) {
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (!getAsyncWriter().submit(items, authentication)) {
+                    writeQueuedItems(List.of(new AsyncEntityLogWriter.QueuedItems(items, authentication)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Saves items of committed transactions in a single new transaction. Invoked by the background writer, or by
+     * the committing thread if the writer rejects the items.
+     */
+    protected void writeQueuedItems(List<AsyncEntityLogWriter.QueuedItems> batch) {
+        Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (AsyncEntityLogWriter.QueuedItems queuedItems : batch) {
+                    // entity listeners assign creator and tenant from the current authentication
+                    SecurityContextHelper.setAuthentication(queuedItems.getAuthentication());
+                    for (EntityLogItem item : mergeItems(queuedItems.getItems())) {
+                        if (item.getDbGeneratedIdEntity() != null) {
+                            item.getEntityRef().setObjectEntityId(EntityValues.getId(item.getDbGeneratedIdEntity()));
+                        }
+                        entityEventManager.publishEntitySavingEvent(item, true);//workaround for jmix-framework/jmix#1069
+                        entityManager.persist(item);
+                    }
+                }
+            });
+        } finally {
+            SecurityContextHelper.setAuthentication(previousAuthentication);
+        }
+    }
+
+    protected AsyncEntityLogWriter getAsyncWriter() {
+        AsyncEntityLogWriter writer = asyncWriter;
+        if (writer == null) {
+            synchronized (this) {
+                writer = asyncWriter;
+                if (writer == null) {
+                    writer = new AsyncEntityLogWriter(
+                            properties.getAsyncEntityLogQueueCapacity(),
+                            properties.getAsyncEntityLogBatchSize(),
+                            properties.getAsyncEntityLogMaxLag(),
+                            this::writeQueuedItems,
+                            meterRegistry);
+                    asyncWriter = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    @PreDestroy
+    protected void shutdownAsyncWriter() {
+        AsyncEntityLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.shutdown(properties.getAsyncEntityLogMaxLag());
+        }
     }
 
     protected void computeChanges(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList) {
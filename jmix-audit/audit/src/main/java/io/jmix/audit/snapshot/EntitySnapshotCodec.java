@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.snapshot;
+
+import io.jmix.core.FetchPlan;
+
+/**
+ * Converts entity graphs to the content of entity snapshots and back.
+ * <p>
+ * Snapshots are always decoded by the {@link EntitySnapshotDecoder} recognizing the stored content, so snapshots
+ * created with different codecs can be read regardless of the codec selected for new snapshots by the
+ * {@code jmix.audit.snapshot-codec} application property.
+ */
+public interface EntitySnapshotCodec extends EntitySnapshotDecoder {
+
+    /**
+     * Returns the codec name used in the {@code jmix.audit.snapshot-codec} application property.
+     */
+    String getName();
+
+    /**
+     * Encodes the entity graph defined by the fetch plan.
+     */
+    String encode(Object entity, FetchPlan fetchPlan);
+}
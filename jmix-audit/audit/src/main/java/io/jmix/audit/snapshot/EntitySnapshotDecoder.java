@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.audit.snapshot;
+
+import io.jmix.core.metamodel.model.MetaClass;
+
+/**
+ * Restores entity graphs from the content of entity snapshots. Decoders not implementing
+ * {@link EntitySnapshotCodec} can only read snapshots stored in legacy formats.
+ */
+public interface EntitySnapshotDecoder {
+
+    /**
+     * Returns true if the given snapshot content can be read by this decoder.
+     */
+    boolean canDecode(String content);
+
+    /**
+     * Restores the entity graph from the snapshot content.
+     *
+     * @param content   snapshot content
+     * @param metaClass meta-class of the snapshot entity
+     */
+    Object decode(String content, MetaClass metaClass);
+}
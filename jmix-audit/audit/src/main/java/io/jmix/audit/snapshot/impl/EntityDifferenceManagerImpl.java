@@ -15,7 +15,10 @@
  */
 package io.jmix.audit.snapshot.impl;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import io.jmix.audit.snapshot.EntityDifferenceManager;
+import io.jmix.audit.snapshot.EntitySnapshotDecoder;
 import io.jmix.audit.snapshot.EntitySnapshotManager;
 import io.jmix.audit.snapshot.model.*;
 import io.jmix.core.*;
@@ -46,17 +49,20 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
     private final ExtendedEntities extendedEntities;
     private final MetadataTools metadataTools;
     private final InstanceNameProvider instanceNameProvider;
+    private final EntitySnapshotCodecs entitySnapshotCodecs;
 
     public EntityDifferenceManagerImpl(EntitySnapshotManager entitySnapshotManager,
                                  FetchPlans fetchPlans,
                                  Metadata metadata,
-                                 ExtendedEntities extendedEntities, MetadataTools metadataTools, InstanceNameProvider instanceNameProvider) {
+                                 ExtendedEntities extendedEntities, MetadataTools metadataTools, InstanceNameProvider instanceNameProvider,
+                                 EntitySnapshotCodecs entitySnapshotCodecs) {
         this.entitySnapshotManager = entitySnapshotManager;
         this.fetchPlans = fetchPlans;
         this.metadata = metadata;
         this.extendedEntities = extendedEntities;
         this.metadataTools = metadataTools;
         this.instanceNameProvider = instanceNameProvider;
+        this.entitySnapshotCodecs = entitySnapshotCodecs;
     }
 
     @Override
@@ -103,8 +109,13 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
         result.setAfterSnapshot(second);
 
         if (!diffFetchPlan.getProperties().isEmpty()) {
-            Object firstEntity = first != null ? entitySnapshotManager.extractEntity(first) : null;
-            Object secondEntity = entitySnapshotManager.extractEntity(second);
+            // encoded snapshots are compared first, so unchanged parts of the graphs are not traversed
+            Pair<Object, JsonObject> firstDecoded = decodeSnapshot(first);
+            Pair<Object, JsonObject> secondDecoded = decodeSnapshot(second);
+            Object firstEntity = firstDecoded.getFirst();
+            Object secondEntity = secondDecoded.getFirst();
+            JsonObject firstTree = firstDecoded.getSecond();
+            JsonObject secondTree = secondDecoded.getSecond();
 
             result.setBeforeEntity(firstEntity);
             result.setAfterEntity(secondEntity);
@@ -114,24 +125,62 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
                 diffBranch.push(secondEntity);
             }
 
-            List<EntityPropertyDifferenceModel> propertyDiffs = getPropertyDiffs(diffFetchPlan, firstEntity, secondEntity, diffBranch);
+            List<EntityPropertyDifferenceModel> propertyDiffs = getPropertyDiffs(diffFetchPlan, firstEntity, secondEntity,
+                    firstTree, secondTree, diffBranch);
             result.setPropertyDiffs(propertyDiffs);
         }
         return result;
     }
 
+    /**
+     * Decodes the snapshot entity and, if the snapshot is stored as JSON, its JSON tree. The content is parsed once
+     * and the entity is created from the tree.
+     */
+    private Pair<Object, JsonObject> decodeSnapshot(@Nullable EntitySnapshotModel snapshot) {
+        if (snapshot == null) {
+            return new Pair<>(null, null);
+        }
+        String content = snapshot.getSnapshotXml();
+        EntitySnapshotDecoder decoder = entitySnapshotCodecs.findDecoder(content);
+        if (decoder instanceof JsonEntitySnapshotCodec jsonCodec) {
+            JsonObject tree = jsonCodec.decodeTree(content);
+            if (tree != null) {
+                return new Pair<>(jsonCodec.decode(tree, metadata.getClass(snapshot.getEntityMetaClass())), tree);
+            }
+        }
+        return new Pair<>(entitySnapshotManager.extractEntity(snapshot), null);
+    }
+
+    @Nullable
+    private JsonObject getChildTree(@Nullable JsonObject tree, String propertyName) {
+        if (tree == null) {
+            return null;
+        }
+        JsonElement element = tree.get(propertyName);
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    private boolean isSameEncodedValue(@Nullable JsonObject firstTree, @Nullable JsonObject secondTree, String propertyName) {
+        return firstTree != null && secondTree != null
+                && Objects.equals(firstTree.get(propertyName), secondTree.get(propertyName));
+    }
+
     /**
      * Get diffs for entity properties
      *
      * @param diffFetchPlan FetchPlan
      * @param firstEntity   First entity
      * @param secondEntity  Second entity
+     * @param firstTree     Encoded first entity, if available
+     * @param secondTree    Encoded second entity, if available
      * @param diffBranch    Diff branch
      * @return Diff list
      */
     private List<EntityPropertyDifferenceModel> getPropertyDiffs(FetchPlan diffFetchPlan,
                                                                  @Nullable Object firstEntity,
                                                                  @Nullable Object secondEntity,
+                                                                 @Nullable JsonObject firstTree,
+                                                                 @Nullable JsonObject secondTree,
                                                                  Stack<Object> diffBranch) {
         List<EntityPropertyDifferenceModel> propertyDiffs = new LinkedList<>();
 
@@ -144,6 +193,9 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
             MetaProperty metaProperty = metaPropertyPath.getMetaProperty();
 
             if (metadataTools.isJpa(metaProperty) && !metadataTools.isSystem(metaProperty)) {
+                if (isSameEncodedValue(firstTree, secondTree, metaProperty.getName())) {
+                    continue;
+                }
                 FetchPlanProperty fetchPlanProperty = diffFetchPlan.getProperty(metaProperty.getName());
 
                 Object firstValue = firstEntity != null ? EntityValues.getValue(firstEntity,metaPropertyPath.toString()) : null;
@@ -152,7 +204,9 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
                 if (fetchPlanProperty == null) {
                     throw new RuntimeException("Fetch plan property must not be null");
                 }
-                EntityPropertyDifferenceModel diff = getPropertyDifference(firstValue, secondValue, metaProperty, fetchPlanProperty, diffBranch);
+                EntityPropertyDifferenceModel diff = getPropertyDifference(firstValue, secondValue, metaProperty, fetchPlanProperty,
+                        getChildTree(firstTree, metaProperty.getName()), getChildTree(secondTree, metaProperty.getName()),
+                        diffBranch);
                 if (diff != null)
                     propertyDiffs.add(diff);
             }
@@ -171,12 +225,15 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
      * @param secondValue       Second value
      * @param metaProperty      Meta Property
      * @param fetchPlanProperty FetchPlan property
+     * @param firstTree         Encoded first value, if available
+     * @param secondTree        Encoded second value, if available
      * @param diffBranch        Branch with passed diffs
      * @return Diff
      */
     @Nullable
     private EntityPropertyDifferenceModel getPropertyDifference(@Nullable Object firstValue, @Nullable Object secondValue,
                                                                 MetaProperty metaProperty, FetchPlanProperty fetchPlanProperty,
+                                                                @Nullable JsonObject firstTree, @Nullable JsonObject secondTree,
                                                                 Stack<Object> diffBranch) {
         EntityPropertyDifferenceModel propertyDiff = null;
 
@@ -192,7 +249,8 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
         } else if (range.getCardinality().isMany()) {
             propertyDiff = getCollectionDiff(firstValue, secondValue, fetchPlanProperty, metaProperty, diffBranch);
         } else if (range.isClass()) {
-            propertyDiff = getClassDiff(firstValue, secondValue, fetchPlanProperty, metaProperty, diffBranch);
+            propertyDiff = getClassDiff(firstValue, secondValue, fetchPlanProperty, metaProperty,
+                    firstTree, secondTree, diffBranch);
         }
 
         return propertyDiff;
@@ -236,7 +294,8 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
             diff.setMetaProperty(metaProperty);
 
             for (Entity entity : addedEntities) {
-                EntityPropertyDifferenceModel addedDiff = getClassDiff(null, entity, fetchPlanProperty, metaProperty, diffBranch);
+                EntityPropertyDifferenceModel addedDiff = getClassDiff(null, entity, fetchPlanProperty, metaProperty,
+                        null, null, diffBranch);
                 if (addedDiff != null) {
                     addedDiff.setName(instanceNameProvider.getInstanceName(entity));
                     addedDiff.setItemState(EntityPropertyDifferenceModel.ItemState.Added);
@@ -246,7 +305,7 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
             // check modified
             for (Pair<Entity, Entity> entityPair : modifiedEntities) {
                 EntityPropertyDifferenceModel modifiedDiff = getClassDiff(entityPair.getFirst(), entityPair.getSecond(),
-                        fetchPlanProperty, metaProperty, diffBranch);
+                        fetchPlanProperty, metaProperty, null, null, diffBranch);
                 if (modifiedDiff != null) {
                     modifiedDiff.setName(instanceNameProvider.getInstanceName(entityPair.getSecond()));
                     modifiedDiff.setItemState(EntityPropertyDifferenceModel.ItemState.Modified);
@@ -255,7 +314,8 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
             }
             // check removed
             for (Entity entity : removedEntities) {
-                EntityPropertyDifferenceModel removedDiff = getClassDiff(entity, null, fetchPlanProperty, metaProperty, diffBranch);
+                EntityPropertyDifferenceModel removedDiff = getClassDiff(entity, null, fetchPlanProperty, metaProperty,
+                        null, null, diffBranch);
                 if (removedDiff != null) {
                     removedDiff.setName(instanceNameProvider.getInstanceName(entity));
                     removedDiff.setItemState(EntityPropertyDifferenceModel.ItemState.Removed);
@@ -275,6 +335,7 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
     @Nullable
     private EntityPropertyDifferenceModel getClassDiff(@Nullable Object firstValue, @Nullable Object secondValue,
                                               FetchPlanProperty fetchPlanProperty, MetaProperty metaProperty,
+                                              @Nullable JsonObject firstTree, @Nullable JsonObject secondTree,
                                               Stack<Object> diffBranch) {
         EntityPropertyDifferenceModel propertyDiff = null;
         if (fetchPlanProperty.getFetchPlan() != null) {
@@ -284,12 +345,12 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
                 if (secondValue != null) {
                     // added or modified
                     propertyDiff = generateClassDiffFor(secondValue, firstValue, secondValue,
-                            fetchPlanProperty, metaProperty, diffBranch);
+                            fetchPlanProperty, metaProperty, firstTree, secondTree, diffBranch);
                 } else {
                     if (firstValue != null) {
                         // removed or set null
                         propertyDiff = generateClassDiffFor(firstValue, firstValue, null /*secondValue*/,
-                                fetchPlanProperty, metaProperty, diffBranch);
+                                fetchPlanProperty, metaProperty, null, null, diffBranch);
                     }
                 }
             }
@@ -322,6 +383,8 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
      * @param secondValue  Second value
      * @param fetchPlanProperty FetchPlan property
      * @param metaProperty Meta property
+     * @param firstTree    Encoded first value, if available
+     * @param secondTree   Encoded second value, if available
      * @param diffBranch   Diff branch
      * @return Property difference
      */
@@ -329,6 +392,7 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
     private EntityPropertyDifferenceModel generateClassDiffFor(Object diffObject,
                                                                @Nullable Object firstValue, @Nullable Object secondValue,
                                                                FetchPlanProperty fetchPlanProperty, MetaProperty metaProperty,
+                                                               @Nullable JsonObject firstTree, @Nullable JsonObject secondTree,
                                                                Stack<Object> diffBranch) {
         // link
         boolean isLinkChange = !Objects.equals(firstValue, secondValue);
@@ -348,7 +412,7 @@ public class EntityDifferenceManagerImpl implements EntityDifferenceManager {
             throw new RuntimeException("Fetch plan property doesn't have a fetch plan");
         }
         List<EntityPropertyDifferenceModel> propertyDiffs =
-                getPropertyDiffs(fetchPlanPropertyFetchPlan, firstValue, secondValue, diffBranch);
+                getPropertyDiffs(fetchPlanPropertyFetchPlan, firstValue, secondValue, firstTree, secondTree, diffBranch);
 
         diffBranch.pop();
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.snapshot.impl;
+
+import io.jmix.audit.AuditProperties;
+import io.jmix.audit.snapshot.EntitySnapshotCodec;
+import io.jmix.audit.snapshot.EntitySnapshotDecoder;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Selects {@link EntitySnapshotCodec} for writing new snapshots and {@link EntitySnapshotDecoder} for reading
+ * stored ones.
+ */
+@Component("audit_EntitySnapshotCodecs")
+public class EntitySnapshotCodecs {
+
+    protected final List<EntitySnapshotCodec> codecs;
+    protected final List<EntitySnapshotDecoder> decoders;
+    protected final AuditProperties auditProperties;
+
+    public EntitySnapshotCodecs(List<EntitySnapshotCodec> codecs,
+                                List<EntitySnapshotDecoder> decoders,
+                                AuditProperties auditProperties) {
+        this.codecs = codecs;
+        this.decoders = decoders;
+        this.auditProperties = auditProperties;
+    }
+
+    /**
+     * Returns the codec for new snapshots as configured by the {@code jmix.audit.snapshot-codec} property.
+     */
+    public EntitySnapshotCodec getEncodingCodec() {
+        String name = auditProperties.getSnapshotCodec();
+        return codecs.stream()
+                .filter(codec -> codec.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown entity snapshot codec: " + name));
+    }
+
+    /**
+     * Returns the decoder that is able to read the given snapshot content.
+     */
+    public EntitySnapshotDecoder getDecoder(String content) {
+        EntitySnapshotDecoder decoder = findDecoder(content);
+        if (decoder == null) {
+            throw new IllegalStateException("Unable to find a decoder for entity snapshot content");
+        }
+        return decoder;
+    }
+
+    @Nullable
+    public EntitySnapshotDecoder findDecoder(@Nullable String content) {
+        if (content == null) {
+            return null;
+        }
+        for (EntitySnapshotDecoder decoder : decoders) {
+            if (decoder.canDecode(content)) {
+                return decoder;
+            }
+        }
+        return null;
+    }
+}
@@ -16,8 +16,6 @@
 
 package io.jmix.audit.snapshot.impl;
 
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.mapper.MapperWrapper;
 import io.jmix.audit.snapshot.EntitySnapshotManager;
 import io.jmix.audit.snapshot.datastore.EntitySnapshotDataStore;
 import io.jmix.audit.snapshot.model.EntitySnapshotModel;
@@ -27,17 +25,10 @@ import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.CurrentAuthentication;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.dom4j.*;
-import org.springframework.data.annotation.CreatedBy;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
-import java.io.Serializable;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -56,9 +47,10 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
     private final ReferenceToEntitySupport referenceToEntitySupport;
     private final TimeSource timeSource;
     private final CurrentAuthentication currentAuthentication;
-    private final EntitySerialization entitySerialization;
     private final FetchPlanSerialization fetchPlanSerialization;
     private final EntitySnapshotDataStore entitySnapshotDataStore;
+    private final EntitySnapshotCodecs entitySnapshotCodecs;
+    private final XmlEntitySnapshotDecoder xmlEntitySnapshotDecoder;
 
     public EntitySnapshotManagerImpl(ExtendedEntities extendedEntities,
                                      UnconstrainedDataManager unconstrainedDataManager,
@@ -68,9 +60,10 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
                                      ReferenceToEntitySupport referenceToEntitySupport,
                                      TimeSource timeSource,
                                      CurrentAuthentication currentAuthentication,
-                                     EntitySerialization entitySerialization,
                                      FetchPlanSerialization fetchPlanSerialization,
-                                     EntitySnapshotDataStore entitySnapshotDataStore) {
+                                     EntitySnapshotDataStore entitySnapshotDataStore,
+                                     EntitySnapshotCodecs entitySnapshotCodecs,
+                                     XmlEntitySnapshotDecoder xmlEntitySnapshotDecoder) {
         this.extendedEntities = extendedEntities;
         this.unconstrainedDataManager = unconstrainedDataManager;
         this.fetchPlans = fetchPlans;
@@ -79,9 +72,10 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
         this.referenceToEntitySupport = referenceToEntitySupport;
         this.timeSource = timeSource;
         this.currentAuthentication = currentAuthentication;
-        this.entitySerialization = entitySerialization;
         this.fetchPlanSerialization = fetchPlanSerialization;
         this.entitySnapshotDataStore = entitySnapshotDataStore;
+        this.entitySnapshotCodecs = entitySnapshotCodecs;
+        this.xmlEntitySnapshotDecoder = xmlEntitySnapshotDecoder;
     }
 
     @Override
@@ -155,13 +149,8 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
     @Override
     public Object extractEntity(EntitySnapshotModel snapshot) {
         String rawResult = snapshot.getSnapshotXml();
-        Object entity;
-        if (isXml(rawResult)) {
-            entity = fromXML(snapshot.getSnapshotXml());
-        } else {
-            entity = entitySerialization.entityFromJson(rawResult, metadata.getClass(snapshot.getEntityMetaClass()));
-        }
-        return entity;
+        return entitySnapshotCodecs.getDecoder(rawResult)
+                .decode(rawResult, metadata.getClass(snapshot.getEntityMetaClass()));
     }
 
     @Override
@@ -169,7 +158,7 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
         String rawResult = snapshot.getFetchPlanXml();
         FetchPlan fetchPlan;
         if (isXml(rawResult)) {
-            fetchPlan = (FetchPlan) fromXML(rawResult);
+            fetchPlan = (FetchPlan) xmlEntitySnapshotDecoder.fromXml(rawResult);
         } else {
             fetchPlan = fetchPlanSerialization.fromJson(rawResult);
         }
@@ -286,58 +275,8 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
         return fetchPlanXml;
     }
 
-    private boolean isXml(String value) {
-        return value != null && value.trim().startsWith("<");
-    }
-
-    private Object fromXML(String xml) {
-        final List exclUpdateFields = Arrays.asList("updateDate", "updatedBy");
-        final List exclCreateFields = Arrays.asList("createTs", "createdBy");
-        XStream xStream = new XStream() {
-
-            @Override
-            protected MapperWrapper wrapMapper(MapperWrapper next) {
-                return new MapperWrapper(next) {
-                    @Override
-                    public boolean shouldSerializeMember(Class definedIn, String fieldName) {
-                        boolean result = super.shouldSerializeMember(definedIn, fieldName);
-                        if (!result) {
-                            return false;
-                        }
-                        if (fieldName != null) {
-                            if (exclUpdateFields.contains(fieldName)
-                                    && isUpdatable(definedIn)) {
-                                return false;
-                            }
-                            if (exclCreateFields.contains(fieldName)
-                                    && isCreatable(definedIn)) {
-                                return false;
-                            }
-                            if ("uuid".equals(fieldName)) {
-                                if (EntityValues.isUuidSupported(definedIn)) {
-                                    return false;
-                                }
-                            }
-                        }
-                        return true;
-                    }
-                };
-            }
-        };
-        XStream.setupDefaultSecurity(xStream);
-        xStream.allowTypeHierarchy(Serializable.class);
-
-        return xStream.fromXML(xml);
-    }
-
-    private boolean isUpdatable(Class<?> entityClass) {
-        return Arrays.stream(FieldUtils.getAllFields(entityClass))
-                .anyMatch(f -> f.isAnnotationPresent(LastModifiedBy.class) || f.isAnnotationPresent(LastModifiedDate.class));
-    }
-
-    private boolean isCreatable(Class<?> entityClass) {
-        return Arrays.stream(FieldUtils.getAllFields(entityClass))
-                .anyMatch(f -> f.isAnnotationPresent(CreatedBy.class) || f.isAnnotationPresent(CreatedDate.class));
+    private boolean isXml(@Nullable String value) {
+        return value != null && xmlEntitySnapshotDecoder.isXml(value);
     }
 
     private EntitySnapshotModel createEntitySnapshot(Object entity, FetchPlan fetchPlan, Date snapshotDate, String authorUsername) {
@@ -360,7 +299,7 @@ public class EntitySnapshotManagerImpl implements EntitySnapshotManager {
         snapshot.setObjectEntityId(referenceToEntitySupport.getReferenceId(entity));
         snapshot.setEntityMetaClass(metaClass.getName());
         snapshot.setFetchPlanXml(fetchPlanSerialization.toJson(fetchPlan, FetchPlanSerializationOption.COMPACT_FORMAT));
-        snapshot.setSnapshotXml(entitySerialization.toJson(entity));
+        snapshot.setSnapshotXml(entitySnapshotCodecs.getEncodingCodec().encode(entity, fetchPlan));
         snapshot.setSnapshotDate(snapshotDate);
         snapshot.setAuthorUsername(authorUsername);
 
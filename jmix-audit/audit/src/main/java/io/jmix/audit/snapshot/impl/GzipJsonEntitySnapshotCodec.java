@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.snapshot.impl;
+
+import io.jmix.core.EntitySerialization;
+import io.jmix.core.FetchPlan;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores snapshots as gzip-compressed JSON encoded with Base64 and prefixed by {@link #PREFIX}.
+ */
+@Component("audit_GzipJsonEntitySnapshotCodec")
+public class GzipJsonEntitySnapshotCodec extends JsonEntitySnapshotCodec {
+
+    public static final String NAME = "json-gzip";
+
+    public static final String PREFIX = "gzip:";
+
+    public GzipJsonEntitySnapshotCodec(EntitySerialization entitySerialization) {
+        super(entitySerialization);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean canDecode(String content) {
+        return content.startsWith(PREFIX);
+    }
+
+    @Override
+    public String encode(Object entity, FetchPlan fetchPlan) {
+        return PREFIX + compress(super.encode(entity, fetchPlan));
+    }
+
+    @Override
+    protected String toJson(String content) {
+        return decompress(content.substring(PREFIX.length()));
+    }
+
+    protected String compress(String json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to compress entity snapshot", e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    protected String decompress(String content) {
+        byte[] bytes = Base64.getDecoder().decode(content);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to decompress entity snapshot", e);
+        }
+    }
+}
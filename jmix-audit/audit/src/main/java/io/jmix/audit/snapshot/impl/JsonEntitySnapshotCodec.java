@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.snapshot.impl;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.jmix.audit.snapshot.EntitySnapshotCodec;
+import io.jmix.core.EntitySerialization;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.impl.serialization.EntitySerializationImpl;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores snapshots as JSON containing only the properties of the snapshot fetch plan.
+ */
+@Component("audit_JsonEntitySnapshotCodec")
+public class JsonEntitySnapshotCodec implements EntitySnapshotCodec {
+
+    public static final String NAME = "json";
+
+    protected final EntitySerialization entitySerialization;
+
+    public JsonEntitySnapshotCodec(EntitySerialization entitySerialization) {
+        this.entitySerialization = entitySerialization;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean canDecode(String content) {
+        return content.trim().startsWith("{");
+    }
+
+    @Override
+    public String encode(Object entity, FetchPlan fetchPlan) {
+        return entitySerialization.toJson(entity, fetchPlan);
+    }
+
+    @Override
+    public Object decode(String content, MetaClass metaClass) {
+        return entitySerialization.entityFromJson(toJson(content), metaClass);
+    }
+
+    /**
+     * Restores the entity graph from the JSON tree returned by {@link #decodeTree(String)}.
+     */
+    public Object decode(JsonObject tree, MetaClass metaClass) {
+        if (entitySerialization instanceof EntitySerializationImpl entitySerializationImpl) {
+            return entitySerializationImpl.entityFromJson(tree, metaClass);
+        }
+        return entitySerialization.entityFromJson(tree.toString(), metaClass);
+    }
+
+    /**
+     * Returns the JSON tree of the snapshot without creating entity instances. Used to compare snapshots
+     * property by property.
+     */
+    @Nullable
+    public JsonObject decodeTree(String content) {
+        JsonElement element = JsonParser.parseString(toJson(content));
+        return element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    /**
+     * Returns JSON representation of the snapshot content.
+     */
+    protected String toJson(String content) {
+        return content;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.audit.snapshot.impl;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.mapper.MapperWrapper;
+import io.jmix.audit.snapshot.EntitySnapshotDecoder;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads snapshots stored in the legacy XStream XML format. New snapshots cannot be written in this format.
+ */
+@Component("audit_XmlEntitySnapshotDecoder")
+public class XmlEntitySnapshotDecoder implements EntitySnapshotDecoder {
+
+    @Override
+    public boolean canDecode(String content) {
+        return isXml(content);
+    }
+
+    @Override
+    public Object decode(String content, MetaClass metaClass) {
+        return fromXml(content);
+    }
+
+    public boolean isXml(String value) {
+        return value.trim().startsWith("<");
+    }
+
+    /**
+     * Restores an object serialized by XStream. Also used for fetch plans of legacy snapshots.
+     */
+    public Object fromXml(String xml) {
+        final List exclUpdateFields = Arrays.asList("updateDate", "updatedBy");
+        final List exclCreateFields = Arrays.asList("createTs", "createdBy");
+        XStream xStream = new XStream() {
+
+            @Override
+            protected MapperWrapper wrapMapper(MapperWrapper next) {
+                return new MapperWrapper(next) {
+                    @Override
+                    public boolean shouldSerializeMember(Class definedIn, String fieldName) {
+                        boolean result = super.shouldSerializeMember(definedIn, fieldName);
+                        if (!result) {
+                            return false;
+                        }
+                        if (fieldName != null) {
+                            if (exclUpdateFields.contains(fieldName)
+                                    && isUpdatable(definedIn)) {
+                                return false;
+                            }
+                            if (exclCreateFields.contains(fieldName)
+                                    && isCreatable(definedIn)) {
+                                return false;
+                            }
+                            if ("uuid".equals(fieldName)) {
+                                if (EntityValues.isUuidSupported(definedIn)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                };
+            }
+        };
+        XStream.setupDefaultSecurity(xStream);
+        xStream.allowTypeHierarchy(Serializable.class);
+
+        return xStream.fromXML(xml);
+    }
+
+    private boolean isUpdatable(Class<?> entityClass) {
+        return Arrays.stream(FieldUtils.getAllFields(entityClass))
+                .anyMatch(f -> f.isAnnotationPresent(LastModifiedBy.class) || f.isAnnotationPresent(LastModifiedDate.class));
+    }
+
+    private boolean isCreatable(Class<?> entityClass) {
+        return Arrays.stream(FieldUtils.getAllFields(entityClass))
+                .anyMatch(f -> f.isAnnotationPresent(CreatedBy.class) || f.isAnnotationPresent(CreatedDate.class));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import io.jmix.core.entity.EntityValues
+import org.springframework.test.context.TestPropertySource
+import spock.util.concurrent.PollingConditions
+import test_support.testmodel.IdentityEntity
+
+@TestPropertySource(properties = ['jmix.audit.async-entity-log-enabled = true'])
+class AsyncEntityLogTest extends AbstractEntityLogTest {
+
+    PollingConditions conditions = new PollingConditions(timeout: 10)
+
+    void setup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY")
+
+        withTransaction {
+            clearTable(em, "AUDIT_ENTITY_LOG")
+            saveEntityLogAutoConfFor('test$IdentityEntity', 'name')
+        }
+
+        initEntityLogAPI()
+    }
+
+    void cleanup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY", "TEST_IDENTITY")
+    }
+
+    def "changes of committed transaction are logged by the background writer"() {
+        given:
+        def identityEntity = new IdentityEntity(name: 'test1')
+
+        when:
+        withTransaction {
+            em.persist(identityEntity)
+        }
+
+        then:
+        conditions.eventually {
+            def entityLogItem = getLatestEntityLogItem('test$IdentityEntity', identityEntity)
+            assert loggedValueMatches(entityLogItem, 'name', 'test1')
+            assert loggedOldValueMatches(entityLogItem, 'name', null)
+        }
+
+        when:
+        withTransaction {
+            IdentityEntity e = em.find(IdentityEntity, EntityValues.getId(identityEntity))
+            e.name = 'test2'
+        }
+
+        then:
+        conditions.eventually {
+            def items = getEntityLogItems('test$IdentityEntity', EntityValues.getId(identityEntity))
+            assert items.size() == 2
+            assert items.any { loggedValueMatches(it, 'name', 'test2') && loggedOldValueMatches(it, 'name', 'test1') }
+        }
+    }
+
+    def "changes of rolled back transaction are not logged"() {
+        given:
+        def identityEntity = new IdentityEntity(name: 'test1')
+
+        when:
+        transaction.executeWithoutResult { status ->
+            em.persist(identityEntity)
+            em.flush()
+            status.setRollbackOnly()
+        }
+        withTransaction {
+            em.persist(new IdentityEntity(name: 'test2'))
+        }
+
+        then: 'only the item of the committed transaction is written'
+        conditions.eventually {
+            assert jdbc.queryForObject('select count(*) from AUDIT_ENTITY_LOG', Integer) == 1
+        }
+        jdbc.queryForObject('select count(*) from AUDIT_ENTITY_LOG where CHANGES like ?', Integer, '%test1%') == 0
+    }
+}
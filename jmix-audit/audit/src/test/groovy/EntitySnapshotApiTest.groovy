@@ -16,7 +16,9 @@
 
 
 import io.jmix.audit.entity.EntitySnapshot
+import io.jmix.audit.snapshot.EntityDifferenceManager
 import io.jmix.audit.snapshot.EntitySnapshotManager
+import io.jmix.audit.snapshot.impl.GzipJsonEntitySnapshotCodec
 import io.jmix.audit.snapshot.model.EntitySnapshotModel
 import io.jmix.core.Entity
 import io.jmix.core.FetchPlan
@@ -48,6 +50,12 @@ class EntitySnapshotApiTest extends AbstractEntityLogTest {
     @Autowired
     protected SystemAuthenticator authenticator;
 
+    @Autowired
+    private EntityDifferenceManager differenceManager
+
+    @Autowired
+    private GzipJsonEntitySnapshotCodec gzipCodec
+
 
     void setup() {
         authenticator.begin()
@@ -158,6 +166,33 @@ class EntitySnapshotApiTest extends AbstractEntityLogTest {
         snapshot3.getAuthorUsername() == "admin"
     }
 
+    def "Compressed snapshot is decoded and compared"() {
+        given:
+        FetchPlan fetchPlan = fetchPlanRepository.getFetchPlan(IdentityEntity.class, FetchPlan.LOCAL)
+        def entity = metadata.create(IdentityEntity.class)
+        entity.setName('before')
+        saveEntity(entity)
+
+        def first = snapshotApi.createTempSnapshot(entity, fetchPlan, new Date(100), 'admin')
+        first.setSnapshotXml(gzipCodec.encode(entity, fetchPlan))
+
+        entity.setName('after')
+        def second = snapshotApi.createTempSnapshot(entity, fetchPlan, new Date(200), 'admin')
+        second.setSnapshotXml(gzipCodec.encode(entity, fetchPlan))
+
+        when:
+        IdentityEntity extracted = snapshotApi.extractEntity(second) as IdentityEntity
+        def diff = differenceManager.getDifference(first, second)
+
+        then:
+        first.getSnapshotXml().startsWith(GzipJsonEntitySnapshotCodec.PREFIX)
+        extracted.name == 'after'
+        diff.propertyDiffs.size() == 1
+        diff.propertyDiffs[0].propertyName == 'name'
+        diff.propertyDiffs[0].beforeValue == 'before'
+        diff.propertyDiffs[0].afterValue == 'after'
+    }
+
     private List<EntitySnapshot> getSnapshotsList() {
         List<EntitySnapshot> entitySnapshotList
         transaction.executeWithoutResult {
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_log
+
+import io.jmix.audit.entity.EntityLogItem
+import io.jmix.audit.impl.AsyncEntityLogWriter
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class AsyncEntityLogWriterTest extends Specification {
+
+    def meterRegistry = new SimpleMeterRegistry()
+
+    def "queued items are written by the background thread"() {
+        def written = new CopyOnWriteArrayList<EntityLogItem>()
+        def latch = new CountDownLatch(3)
+        def writer = new AsyncEntityLogWriter(10, 10, Duration.ofSeconds(10), { batch ->
+            batch.each { queued ->
+                written.addAll(queued.items)
+                queued.items.each { latch.countDown() }
+            }
+        }, meterRegistry)
+
+        when:
+        def accepted = [writer.submit([new EntityLogItem()], null),
+                        writer.submit([new EntityLogItem(), new EntityLogItem()], null)]
+
+        then:
+        accepted == [true, true]
+        latch.await(5, TimeUnit.SECONDS)
+        written.size() == 3
+
+        cleanup:
+        writer.shutdown(Duration.ofSeconds(1))
+    }
+
+    def "items are rejected when the queue is full"() {
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def writer = new AsyncEntityLogWriter(1, 1, Duration.ofMinutes(1), { batch ->
+            started.countDown()
+            release.await()
+        }, meterRegistry)
+
+        when: "the writer thread is busy with the first batch and the second one fills the queue"
+        writer.submit([new EntityLogItem()], null)
+        started.await(5, TimeUnit.SECONDS)
+        writer.submit([new EntityLogItem()], null)
+
+        then:
+        !writer.submit([new EntityLogItem()], null)
+        meterRegistry.get("jmix.audit.entityLog.async.rejected").tag("reason", "queueFull").counter().count() == 1
+
+        cleanup:
+        release.countDown()
+        writer.shutdown(Duration.ofSeconds(1))
+    }
+
+    def "items are rejected when the writer lags behind"() {
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def writer = new AsyncEntityLogWriter(10, 1, Duration.ofMillis(50), { batch ->
+            started.countDown()
+            release.await()
+        }, meterRegistry)
+
+        when:
+        writer.submit([new EntityLogItem()], null)
+        started.await(5, TimeUnit.SECONDS)
+        writer.submit([new EntityLogItem()], null)
+        Thread.sleep(100)
+
+        then:
+        !writer.submit([new EntityLogItem()], null)
+        meterRegistry.get("jmix.audit.entityLog.async.rejected").tag("reason", "maxLag").counter().count() == 1
+
+        cleanup:
+        release.countDown()
+        writer.shutdown(Duration.ofSeconds(1))
+    }
+
+    def "queued items are written on shutdown and new items are rejected"() {
+        def written = new CopyOnWriteArrayList<EntityLogItem>()
+        def writer = new AsyncEntityLogWriter(10, 10, Duration.ofSeconds(10), { batch ->
+            batch.each { written.addAll(it.items) }
+        }, meterRegistry)
+
+        when:
+        writer.submit([new EntityLogItem(), new EntityLogItem()], null)
+        writer.shutdown(Duration.ofSeconds(5))
+
+        then:
+        written.size() == 2
+        !writer.submit([new EntityLogItem()], null)
+    }
+}
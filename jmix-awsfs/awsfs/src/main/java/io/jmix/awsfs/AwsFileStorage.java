@@ -18,6 +18,7 @@ package io.jmix.awsfs;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
+import io.jmix.core.FileAttributes;
 import io.jmix.core.FileRef;
 import io.jmix.core.FileStorage;
 import io.jmix.core.FileStorageException;
@@ -25,7 +26,9 @@ import io.jmix.core.TimeSource;
 import io.jmix.core.UuidProvider;
 import io.jmix.core.annotation.Internal;
 import io.jmix.core.common.util.Preconditions;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,31 +43,22 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkException;
-import software.amazon.awssdk.core.internal.util.Mimetype;
-import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
-import software.amazon.awssdk.services.s3.model.CompletedPart;
-import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.S3Object;
-import software.amazon.awssdk.services.s3.model.UploadPartRequest;
-import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.util.Arrays;
-import java.util.ArrayList;
+import java.time.Instant;
 import java.util.Calendar;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -90,11 +84,15 @@ public class AwsFileStorage implements FileStorage {
     protected int chunkSize;
     protected String endpointUrl;
     protected boolean usePathStyleBucketAddressing;
+    protected int transferThreads = 4;
+    protected int maxPartsInFlight = 6;
+    protected boolean resumableUploadsEnabled;
 
     @Autowired
     protected TimeSource timeSource;
 
     protected AtomicReference<S3Client> s3ClientReference = new AtomicReference<>();
+    protected AtomicReference<S3TransferEngine> transferEngineReference = new AtomicReference<>();
 
     public AwsFileStorage() {
         this(DEFAULT_STORAGE_NAME);
@@ -133,6 +131,9 @@ public class AwsFileStorage implements FileStorage {
             this.chunkSize = properties.getChunkSize();
             this.endpointUrl = properties.getEndpointUrl();
             this.usePathStyleBucketAddressing = properties.getUsePathStyleBucketAddressing();
+            this.transferThreads = properties.getTransferThreads();
+            this.maxPartsInFlight = properties.getMaxPartsInFlight();
+            this.resumableUploadsEnabled = properties.isResumableUploadsEnabled();
         }
     }
 
@@ -158,7 +159,22 @@ public class AwsFileStorage implements FileStorage {
             s3ClientBuilder.endpointOverride(URI.create(endpointUrl));
         }
         s3ClientBuilder.forcePathStyle(usePathStyleBucketAddressing);
-        s3ClientReference.set(s3ClientBuilder.build());
+        S3Client s3Client = s3ClientBuilder.build();
+        s3ClientReference.set(s3Client);
+
+        S3TransferEngine previousEngine = transferEngineReference.getAndSet(
+                new S3TransferEngine(s3Client, chunkSize * 1024, transferThreads, maxPartsInFlight));
+        if (previousEngine != null) {
+            previousEngine.shutdown();
+        }
+    }
+
+    @PreDestroy
+    protected void shutdownTransferEngine() {
+        S3TransferEngine engine = transferEngineReference.getAndSet(null);
+        if (engine != null) {
+            engine.shutdown();
+        }
     }
 
     @Override
@@ -195,79 +211,126 @@ public class AwsFileStorage implements FileStorage {
     public FileRef saveStream(String fileName, InputStream inputStream, Map<String, Object> parameters) {
         String fileKey = createFileKey(fileName);
         String bucket = this.bucket;
-        int s3ChunkSizeBytes = this.chunkSize * 1024;
 
         Map<String, String> fileRefParameters = Maps.toMap(parameters.keySet(), key -> parameters.get(key).toString());
         FileRef fileRef = new FileRef(getStorageName(), fileKey, fileName, fileRefParameters);
 
-        try (BufferedInputStream bos = new BufferedInputStream(inputStream, s3ChunkSizeBytes)) {
-            byte[] chunkBytes = new byte[s3ChunkSizeBytes];
-            int nBytes = bos.read(chunkBytes);
-            S3Client s3Client = s3ClientReference.get();
-            if (nBytes < s3ChunkSizeBytes) {
-                s3Client.putObject(objectBuilder -> objectBuilder
-                        .bucket(bucket)
-                        .key(fileKey)
-                        .build(), fromBytes(chunkBytes, nBytes));
-                return fileRef;
-            }
-
-            CreateMultipartUploadResponse response = s3Client.createMultipartUpload(uploadBuilder -> uploadBuilder
-                    .bucket(bucket)
-                    .key(fileKey));
-
-            List<CompletedPart> completedParts = new ArrayList<>();
-            UploadPartRequest.Builder partBuilder = UploadPartRequest.builder()
-                    .bucket(bucket)
-                    .key(fileKey)
-                    .uploadId(response.uploadId());
-            for (int partNumber = 1; 0 < nBytes; partNumber++) {
-                UploadPartResponse partResponse = s3Client.uploadPart(partBuilder
-                        .partNumber(partNumber)
-                        .build(), fromBytes(chunkBytes, nBytes));
-                CompletedPart completedPart = CompletedPart.builder()
-                        .partNumber(partNumber)
-                        .eTag(partResponse.eTag())
-                        .build();
-                completedParts.add(completedPart);
-                nBytes = bos.read(chunkBytes);
-            }
-
-            s3Client.completeMultipartUpload(completeBuilder -> completeBuilder
-                    .bucket(bucket)
-                    .key(fileKey)
-                    .uploadId(response.uploadId())
-                    .multipartUpload(multipartBuilder -> multipartBuilder.parts(completedParts)));
+        try {
+            transferEngineReference.get().upload(bucket, fileKey, inputStream, resumableUploadsEnabled);
             return fileRef;
         } catch (IOException | SdkException e) {
             log.error("Error saving file to S3 storage", e);
             String message = String.format("Could not save file %s.", fileName);
+            if (resumableUploadsEnabled) {
+                message += String.format(" Upload can be resumed for file reference %s.", fileRef);
+            }
             throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        } finally {
+            IOUtils.closeQuietly(inputStream);
         }
     }
 
-    protected RequestBody fromBytes(byte[] buffer, int length) {
-        length = Math.max(0, length);
-        byte[] bytes = Arrays.copyOf(buffer, length);
-        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(bytes), length, Mimetype.MIMETYPE_OCTET_STREAM);
+    /**
+     * Completes the unfinished upload of the file that has failed when resumable uploads are enabled.
+     * Parts uploaded before the failure are not uploaded again.
+     *
+     * @param reference   reference to the file which upload has failed
+     * @param inputStream stream providing the whole content of the file from the beginning
+     * @return reference to the file
+     */
+    public FileRef resumeUpload(FileRef reference, InputStream inputStream) {
+        try {
+            transferEngineReference.get().resumeUpload(bucket, reference.getPath(), inputStream);
+            return reference;
+        } catch (IOException | SdkException | IllegalStateException e) {
+            log.error("Error resuming upload of file to S3 storage", e);
+            String message = String.format("Could not save file %s.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
     }
 
     @Override
     public InputStream openStream(FileRef reference) {
         InputStream is;
+        try {
+            is = transferEngineReference.get().download(bucket, reference.getPath());
+        } catch (SdkException e) {
+            log.error("Error loading file from S3 storage", e);
+            String message = String.format("Could not load file %s.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        }
+        return is;
+    }
+
+    @Override
+    public InputStream openStream(FileRef reference, long position) {
+        if (position == 0) {
+            return openStream(reference);
+        }
         try {
             S3Client s3Client = s3ClientReference.get();
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+            return s3Client.getObject(builder -> builder
                     .bucket(bucket)
                     .key(reference.getPath())
-                    .build();
-            is = s3Client.getObject(getObjectRequest, ResponseTransformer.toInputStream());
+                    .range("bytes=" + position + "-"), ResponseTransformer.toInputStream());
         } catch (SdkException e) {
             log.error("Error loading file from S3 storage", e);
             String message = String.format("Could not load file %s.", reference.getFileName());
             throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
         }
-        return is;
+    }
+
+    @Override
+    public long getFileSize(FileRef reference) {
+        Long contentLength = headObject(reference).contentLength();
+        return contentLength == null ? -1 : contentLength;
+    }
+
+    @Override
+    public long getLastModified(FileRef reference) {
+        Instant lastModified = headObject(reference).lastModified();
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    /**
+     * Returns attributes of the object obtained by a single HEAD request. The version of the file is the ETag
+     * of the object.
+     */
+    @Nullable
+    @Override
+    public FileAttributes getFileAttributes(FileRef reference) {
+        HeadObjectResponse response;
+        try {
+            response = headObject(reference);
+        } catch (FileStorageException e) {
+            if (e.getCause() instanceof NoSuchKeyException) {
+                return null;
+            }
+            throw e;
+        }
+        Long contentLength = response.contentLength();
+        Instant lastModified = response.lastModified();
+        return new FileAttributes(contentLength == null ? -1 : contentLength,
+                lastModified == null ? -1 : lastModified.toEpochMilli(),
+                response.eTag());
+    }
+
+    protected HeadObjectResponse headObject(FileRef reference) {
+        try {
+            S3Client s3Client = s3ClientReference.get();
+            return s3Client.headObject(builder -> builder
+                    .bucket(bucket)
+                    .key(reference.getPath()));
+        } catch (NoSuchKeyException e) {
+            String message = String.format("File %s not found.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, message, e);
+        } catch (SdkException e) {
+            log.error("Error loading file attributes from S3 storage", e);
+            String message = String.format("Could not load file %s.", reference.getFileName());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, message);
+        }
     }
 
     @Override
@@ -328,4 +391,16 @@ public class AwsFileStorage implements FileStorage {
     public void setUsePathStyleBucketAddressing(boolean usePathStyleBucketAddressing) {
         this.usePathStyleBucketAddressing = usePathStyleBucketAddressing;
     }
+
+    public void setTransferThreads(int transferThreads) {
+        this.transferThreads = transferThreads;
+    }
+
+    public void setMaxPartsInFlight(int maxPartsInFlight) {
+        this.maxPartsInFlight = maxPartsInFlight;
+    }
+
+    public void setResumableUploadsEnabled(boolean resumableUploadsEnabled) {
+        this.resumableUploadsEnabled = resumableUploadsEnabled;
+    }
 }
@@ -41,6 +41,23 @@ public class AwsFileStorageProperties {
      */
     boolean usePathStyleBucketAddressing;
 
+    /**
+     * Amount of threads uploading parts of large files and downloading their ranges.
+     */
+    int transferThreads;
+
+    /**
+     * Max amount of parts of all uploads being uploaded at the same time. Each part holds a buffer
+     * of {@link #chunkSize} kB.
+     */
+    int maxPartsInFlight;
+
+    /**
+     * Whether to keep unfinished multipart uploads on failure, so they can be completed by
+     * {@link AwsFileStorage#resumeUpload(io.jmix.core.FileRef, java.io.InputStream)}. If false, such uploads are aborted.
+     */
+    boolean resumableUploadsEnabled;
+
     public AwsFileStorageProperties(
             String accessKey,
             String secretAccessKey,
@@ -48,7 +65,10 @@ public class AwsFileStorageProperties {
             String bucket,
             @DefaultValue("8192") int chunkSize,
             @DefaultValue("") String endpointUrl,
-            @DefaultValue("false") boolean usePathStyleBucketAddressing) {
+            @DefaultValue("false") boolean usePathStyleBucketAddressing,
+            @DefaultValue("4") int transferThreads,
+            @DefaultValue("6") int maxPartsInFlight,
+            @DefaultValue("false") boolean resumableUploadsEnabled) {
         this.accessKey = accessKey;
         this.secretAccessKey = secretAccessKey;
         this.region = region;
@@ -56,6 +76,9 @@ public class AwsFileStorageProperties {
         this.chunkSize = chunkSize;
         this.endpointUrl = endpointUrl;
         this.usePathStyleBucketAddressing = usePathStyleBucketAddressing;
+        this.transferThreads = transferThreads;
+        this.maxPartsInFlight = maxPartsInFlight;
+        this.resumableUploadsEnabled = resumableUploadsEnabled;
     }
 
     /**
@@ -106,4 +129,25 @@ public class AwsFileStorageProperties {
     public boolean getUsePathStyleBucketAddressing() {
         return usePathStyleBucketAddressing;
     }
+
+    /**
+     * @see #transferThreads
+     */
+    public int getTransferThreads() {
+        return transferThreads;
+    }
+
+    /**
+     * @see #maxPartsInFlight
+     */
+    public int getMaxPartsInFlight() {
+        return maxPartsInFlight;
+    }
+
+    /**
+     * @see #resumableUploadsEnabled
+     */
+    public boolean isResumableUploadsEnabled() {
+        return resumableUploadsEnabled;
+    }
 }
@@ -0,0 +1,590 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.awsfs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.jmix.core.annotation.Internal;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.internal.util.Mimetype;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsResponse;
+import software.amazon.awssdk.services.s3.model.ListPartsResponse;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transfers objects between streams and an S3 bucket in parts using a pool of threads.
+ * <p>
+ * Upload reads the source stream part by part into buffers taken from a pool shared by all uploads of the engine
+ * and uploads parts concurrently. A buffer returns to the pool when its part is uploaded, so the pool size limits
+ * both the amount of parts in flight and the memory used for them. Parts are sent to S3 directly from the buffers
+ * without copying.
+ * <p>
+ * Download requests the first part of an object by a ranged GET and streams it to the reader. If the object is
+ * larger than a part, the next parts are requested in parallel ahead of the reader by separate download threads and
+ * returned by the stream in their order. Parts loaded ahead are kept in memory, so their amount is limited for all
+ * downloads of the engine; when the limit is reached, the next part is streamed by the reader thread. All ranged
+ * requests of a stream are conditional on the ETag of the first response, so the stream fails instead of mixing
+ * parts of different object versions.
+ */
+@Internal
+public class S3TransferEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(S3TransferEngine.class);
+
+    protected static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    protected final S3Client s3Client;
+    protected final int partSize;
+    protected final int parallelism;
+    protected final ExecutorService executor;
+    protected final ExecutorService downloadExecutor;
+    protected final BufferPool bufferPool;
+    protected final Semaphore downloadPermits;
+
+    /**
+     * @param s3Client         client used for all requests
+     * @param partSize         size of an uploaded part and of a downloaded range in bytes
+     * @param parallelism      amount of threads uploading parts and, separately, of threads downloading parts
+     * @param maxPartsInFlight max amount of part buffers used by all uploads at the same time, and separately
+     *                         max amount of parts loaded ahead by all downloads
+     */
+    public S3TransferEngine(S3Client s3Client, int partSize, int parallelism, int maxPartsInFlight) {
+        if (partSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Part size and parallelism must be positive");
+        }
+        this.s3Client = s3Client;
+        this.partSize = partSize;
+        this.parallelism = parallelism;
+        this.bufferPool = new BufferPool(partSize, Math.max(maxPartsInFlight, 1));
+        this.downloadPermits = new Semaphore(Math.max(maxPartsInFlight, 1));
+        this.executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("jmix-awsfs-transfer-%d")
+                .setDaemon(true)
+                .build());
+        this.downloadExecutor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("jmix-awsfs-download-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Uploads the content of the stream to the object with the given key. Content smaller than a part is uploaded
+     * by a single request, otherwise a multipart upload is used.
+     *
+     * @param bucket      bucket name
+     * @param key         object key
+     * @param inputStream content
+     * @param resumable   if true, the multipart upload is kept on failure and can be completed
+     *                    by {@link #resumeUpload(String, String, InputStream)}, otherwise it is aborted
+     */
+    public void upload(String bucket, String key, InputStream inputStream, boolean resumable) throws IOException {
+        byte[] buffer = acquireBuffer();
+        int length;
+        try {
+            length = IOUtils.read(inputStream, buffer);
+        } catch (IOException | RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+
+        if (length < partSize) {
+            try {
+                s3Client.putObject(builder -> builder.bucket(bucket).key(key), requestBody(buffer, length));
+            } finally {
+                bufferPool.release(buffer);
+            }
+            return;
+        }
+
+        String uploadId;
+        try {
+            uploadId = s3Client.createMultipartUpload(builder -> builder.bucket(bucket).key(key)).uploadId();
+        } catch (SdkException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+        uploadParts(bucket, key, uploadId, new ArrayList<>(), buffer, length, inputStream, resumable);
+    }
+
+    /**
+     * Completes the latest unfinished multipart upload of the object with the given key. The stream must provide
+     * the same content from the beginning: the bytes of parts that have already been uploaded are skipped.
+     *
+     * @param bucket      bucket name
+     * @param key         object key
+     * @param inputStream content
+     * @throws IllegalStateException if there is no unfinished upload of the object
+     */
+    public void resumeUpload(String bucket, String key, InputStream inputStream) throws IOException {
+        String uploadId = findUnfinishedUpload(bucket, key);
+        if (uploadId == null) {
+            throw new IllegalStateException(String.format("No unfinished upload of object '%s' found", key));
+        }
+
+        List<CompletedPart> uploadedParts = loadUploadedParts(bucket, key, uploadId);
+        log.debug("Resume upload of object '{}': {} parts are already uploaded", key, uploadedParts.size());
+        IOUtils.skipFully(inputStream, (long) uploadedParts.size() * partSize);
+
+        byte[] buffer = acquireBuffer();
+        int length;
+        try {
+            length = IOUtils.read(inputStream, buffer);
+        } catch (IOException | RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+        uploadParts(bucket, key, uploadId, uploadedParts, buffer, length, inputStream, true);
+    }
+
+    /**
+     * Opens the stream reading the object with the given key.
+     *
+     * @param bucket bucket name
+     * @param key    object key
+     * @return object content
+     */
+    public InputStream download(String bucket, String key) {
+        ResponseInputStream<GetObjectResponse> first;
+        try {
+            first = s3Client.getObject(builder -> builder.bucket(bucket).key(key).range(range(0)));
+        } catch (S3Exception e) {
+            if (e.statusCode() == HTTP_RANGE_NOT_SATISFIABLE) {
+                // ranges are not satisfiable for empty objects
+                return s3Client.getObject(builder -> builder.bucket(bucket).key(key), ResponseTransformer.toInputStream());
+            }
+            throw e;
+        }
+
+        long size = parseObjectSize(first.response());
+        if (size <= partSize) {
+            return first;
+        }
+        return new RangedInputStream(bucket, key, first.response().eTag(), size, first);
+    }
+
+    /**
+     * Stops transfer threads. Transfers in progress fail.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        downloadExecutor.shutdownNow();
+    }
+
+    protected void uploadParts(String bucket, String key, String uploadId, List<CompletedPart> completedParts,
+                               byte[] firstBuffer, int firstLength, InputStream inputStream,
+                               boolean resumable) throws IOException {
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            byte[] buffer = firstBuffer;
+            int length = firstLength;
+            int partNumber = completedParts.size() + 1;
+            while (length > 0) {
+                futures.add(submitPart(bucket, key, uploadId, partNumber++, buffer, length, failed));
+                if (length < partSize || failed.get()) {
+                    break;
+                }
+
+                buffer = acquireBuffer();
+                try {
+                    length = IOUtils.read(inputStream, buffer);
+                } catch (IOException | RuntimeException e) {
+                    bufferPool.release(buffer);
+                    throw e;
+                }
+            }
+            if (length <= 0) {
+                bufferPool.release(buffer);
+            }
+
+            for (Future<CompletedPart> future : futures) {
+                completedParts.add(getPart(future));
+            }
+
+            completedParts.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3Client.completeMultipartUpload(builder -> builder
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(multipartBuilder -> multipartBuilder.parts(completedParts)));
+        } catch (IOException | RuntimeException e) {
+            cancelParts(futures, failed);
+            if (!resumable) {
+                abortUpload(bucket, key, uploadId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels parts not started yet and waits for the parts being uploaded, so that the upload is not aborted
+     * while its parts are still being uploaded. Parts are cancelled by the flag checked by the part tasks rather than
+     * by {@link Future#cancel(boolean)}, as a task cancelled before start wouldn't return its buffer to the pool.
+     */
+    protected void cancelParts(List<Future<CompletedPart>> futures, AtomicBoolean failed) {
+        failed.set(true);
+        for (Future<CompletedPart> future : futures) {
+            try {
+                Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException | CancellationException e) {
+                // failure of the part is caused by the cancellation or reported by the first failed part
+            }
+        }
+    }
+
+    protected Future<CompletedPart> submitPart(String bucket, String key, String uploadId, int partNumber,
+                                               byte[] buffer, int length, AtomicBoolean failed) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    if (failed.get()) {
+                        throw new CancellationException("Upload of object " + key + " has failed");
+                    }
+                    UploadPartResponse response = s3Client.uploadPart(builder -> builder
+                            .bucket(bucket)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber), requestBody(buffer, length));
+                    return CompletedPart.builder()
+                            .partNumber(partNumber)
+                            .eTag(response.eTag())
+                            .build();
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                } finally {
+                    bufferPool.release(buffer);
+                }
+            });
+        } catch (RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+    }
+
+    protected void abortUpload(String bucket, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(builder -> builder.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (SdkException e) {
+            log.warn("Unable to abort multipart upload of object '{}'", key, e);
+        }
+    }
+
+    @Nullable
+    protected String findUnfinishedUpload(String bucket, String key) {
+        ListMultipartUploadsResponse response = s3Client.listMultipartUploads(builder -> builder
+                .bucket(bucket)
+                .prefix(key));
+        return response.uploads().stream()
+                .filter(upload -> key.equals(upload.key()))
+                .max(Comparator.comparing(MultipartUpload::initiated, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(MultipartUpload::uploadId)
+                .orElse(null);
+    }
+
+    /**
+     * Loads parts uploaded without gaps from the first one. Only full-sized parts are taken into account,
+     * all parts after the first missing or incomplete one are uploaded again.
+     */
+    protected List<CompletedPart> loadUploadedParts(String bucket, String key, String uploadId) {
+        List<Part> parts = new ArrayList<>();
+        Integer marker = null;
+        ListPartsResponse response;
+        do {
+            Integer partNumberMarker = marker;
+            response = s3Client.listParts(builder -> builder
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumberMarker(partNumberMarker));
+            parts.addAll(response.parts());
+            marker = response.nextPartNumberMarker();
+        } while (Boolean.TRUE.equals(response.isTruncated()));
+
+        parts.sort(Comparator.comparing(Part::partNumber));
+        List<CompletedPart> result = new ArrayList<>();
+        for (Part part : parts) {
+            if (part.partNumber() != result.size() + 1 || part.size() == null || part.size() != partSize) {
+                break;
+            }
+            result.add(CompletedPart.builder()
+                    .partNumber(part.partNumber())
+                    .eTag(part.eTag())
+                    .build());
+        }
+        return result;
+    }
+
+    protected byte[] acquireBuffer() throws IOException {
+        try {
+            return bufferPool.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a part buffer");
+        }
+    }
+
+    protected CompletedPart getPart(Future<CompletedPart> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a part upload");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    protected IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException(cause);
+    }
+
+    protected RequestBody requestBody(byte[] buffer, int length) {
+        int contentLength = Math.max(0, length);
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, contentLength),
+                contentLength, Mimetype.MIMETYPE_OCTET_STREAM);
+    }
+
+    protected String range(long start) {
+        return "bytes=" + start + "-" + (start + partSize - 1);
+    }
+
+    protected long parseObjectSize(GetObjectResponse response) {
+        // Content-Range: bytes 0-8191/123456
+        String contentRange = response.contentRange();
+        if (contentRange != null) {
+            int slashIndex = contentRange.lastIndexOf('/');
+            if (slashIndex >= 0 && !contentRange.endsWith("*")) {
+                return Long.parseLong(contentRange.substring(slashIndex + 1).trim());
+            }
+        }
+        // the range has been ignored and the whole object is returned
+        return response.contentLength() == null ? 0 : response.contentLength();
+    }
+
+    /**
+     * Pool of part buffers. Buffers are allocated on demand, but at most {@code maxBuffers} of them are in use
+     * at the same time.
+     */
+    protected static class BufferPool {
+
+        protected final int bufferSize;
+        protected final Semaphore permits;
+        protected final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+        protected BufferPool(int bufferSize, int maxBuffers) {
+            this.bufferSize = bufferSize;
+            this.permits = new Semaphore(maxBuffers);
+        }
+
+        protected byte[] acquire() throws InterruptedException {
+            permits.acquire();
+            byte[] buffer = free.poll();
+            return buffer != null ? buffer : new byte[bufferSize];
+        }
+
+        protected void release(byte[] buffer) {
+            free.offer(buffer);
+            permits.release();
+        }
+    }
+
+    /**
+     * Reads an object by ranges. The first range is streamed, the next ones are requested ahead of the reader:
+     * at most {@link #parallelism} ranges per stream, while a permit of {@link #downloadPermits} is available for
+     * each of them. A range that isn't requested ahead is streamed by the reader thread.
+     */
+    protected class RangedInputStream extends InputStream {
+
+        protected final String bucket;
+        protected final String key;
+        protected final String eTag;
+        protected final long size;
+
+        protected final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        protected long nextRangeStart;
+
+        protected InputStream current;
+        protected boolean currentHoldsPermit;
+        protected boolean closed;
+
+        protected RangedInputStream(String bucket, String key, String eTag, long size, InputStream firstRange) {
+            this.bucket = bucket;
+            this.key = key;
+            this.eTag = eTag;
+            this.size = size;
+            this.current = firstRange;
+            this.nextRangeStart = partSize;
+            requestRanges();
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkOpen();
+            do {
+                int b = current.read();
+                if (b >= 0) {
+                    return b;
+                }
+            } while (nextRange());
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkOpen();
+            if (len == 0) {
+                return 0;
+            }
+            do {
+                int count = current.read(b, off, len);
+                if (count > 0) {
+                    return count;
+                }
+            } while (nextRange());
+            return -1;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return closed ? 0 : current.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Future<byte[]> future : pending) {
+                future.cancel(true);
+                downloadPermits.release();
+            }
+            pending.clear();
+            releaseCurrent();
+        }
+
+        protected void checkOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        /**
+         * Switches to the next range.
+         *
+         * @return false if the object has been read to the end
+         */
+        protected boolean nextRange() throws IOException {
+            releaseCurrent();
+            Future<byte[]> next = pending.poll();
+            if (next != null) {
+                currentHoldsPermit = true;
+                current = new ByteArrayInputStream(getRange(next));
+            } else if (nextRangeStart < size) {
+                // no range is loaded ahead, so the range is streamed directly
+                current = s3Client.getObject(rangeRequest(nextRangeStart));
+                nextRangeStart += partSize;
+            } else {
+                return false;
+            }
+            requestRanges();
+            return true;
+        }
+
+        protected void releaseCurrent() throws IOException {
+            if (currentHoldsPermit) {
+                currentHoldsPermit = false;
+                downloadPermits.release();
+            }
+            current.close();
+        }
+
+        protected byte[] getRange(Future<byte[]> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a range of object " + key);
+            } catch (ExecutionException e) {
+                throw new IOException("Unable to load a range of object " + key, e.getCause());
+            }
+        }
+
+        protected void requestRanges() {
+            while (pending.size() < parallelism && nextRangeStart < size && downloadPermits.tryAcquire()) {
+                GetObjectRequest request = rangeRequest(nextRangeStart);
+                try {
+                    pending.add(downloadExecutor.submit(() -> s3Client.getObjectAsBytes(request).asByteArrayUnsafe()));
+                } catch (RuntimeException e) {
+                    downloadPermits.release();
+                    throw e;
+                }
+                nextRangeStart += partSize;
+            }
+        }
+
+        protected GetObjectRequest rangeRequest(long start) {
+            return GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range(range(start))
+                    .ifMatch(eTag)
+                    .build();
+        }
+    }
+}
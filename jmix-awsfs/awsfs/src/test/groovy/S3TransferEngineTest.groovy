@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.jmix.awsfs.S3TransferEngine
+import software.amazon.awssdk.core.ResponseInputStream
+import software.amazon.awssdk.services.s3.model.S3Exception
+import spock.lang.Specification
+import test_support.InMemoryS3Client
+
+class S3TransferEngineTest extends Specification {
+
+    static final int PART_SIZE = 16
+    static final int MAX_PARTS_IN_FLIGHT = 4
+
+    InMemoryS3Client s3Client = new InMemoryS3Client()
+    S3TransferEngine engine = new S3TransferEngine(s3Client, PART_SIZE, 3, MAX_PARTS_IN_FLIGHT)
+
+    void cleanup() {
+        engine.shutdown()
+    }
+
+    def "small content is uploaded by a single request"() {
+        def content = content(10)
+
+        when:
+        engine.upload('bucket', 'small', new ByteArrayInputStream(content), false)
+
+        then:
+        s3Client.objects['small'] == content
+        s3Client.uploadedParts.get() == 0
+
+        when:
+        def stream = engine.download('bucket', 'small')
+
+        then: 'the response is streamed without buffering'
+        stream instanceof ResponseInputStream
+        stream.bytes == content
+    }
+
+    def "large content is uploaded in parts and downloaded by ranges"() {
+        def content = content(PART_SIZE * 10 + 5)
+
+        when:
+        engine.upload('bucket', 'large', new ByteArrayInputStream(content), false)
+
+        then:
+        s3Client.objects['large'] == content
+        s3Client.uploadedParts.get() == 11
+        s3Client.uploads.isEmpty()
+        availableBuffers() == MAX_PARTS_IN_FLIGHT
+
+        when:
+        def downloaded = engine.download('bucket', 'large').bytes
+
+        then:
+        downloaded == content
+        s3Client.rangeRequests.get() == 11
+        availableDownloadPermits() == MAX_PARTS_IN_FLIGHT
+    }
+
+    def "ranges loaded ahead by all downloads are limited"() {
+        def content = content(PART_SIZE * 10 + 5)
+        engine.upload('bucket', 'large', new ByteArrayInputStream(content), false)
+
+        when: 'two streams are opened while the first one keeps the ranges loaded ahead'
+        def first = engine.download('bucket', 'large')
+        def second = engine.download('bucket', 'large')
+
+        then:
+        availableDownloadPermits() == 0
+
+        when: 'the second stream reads ranges by itself'
+        def downloaded = second.bytes
+
+        then:
+        downloaded == content
+
+        when:
+        first.close()
+        second.close()
+
+        then:
+        availableDownloadPermits() == MAX_PARTS_IN_FLIGHT
+    }
+
+    def "content of exactly one part is uploaded"() {
+        def content = content(PART_SIZE)
+
+        when:
+        engine.upload('bucket', 'part', new ByteArrayInputStream(content), false)
+
+        then:
+        s3Client.objects['part'] == content
+        engine.download('bucket', 'part').bytes == content
+    }
+
+    def "empty object is downloaded"() {
+        when:
+        engine.upload('bucket', 'empty', new ByteArrayInputStream(new byte[0]), false)
+
+        then:
+        engine.download('bucket', 'empty').bytes.length == 0
+    }
+
+    def "failed upload is aborted"() {
+        s3Client.failingPartNumbers << 3
+
+        when:
+        engine.upload('bucket', 'failed', new ByteArrayInputStream(content(PART_SIZE * 8)), false)
+
+        then:
+        thrown(S3Exception)
+        !s3Client.objects.containsKey('failed')
+        s3Client.uploads.isEmpty()
+
+        and: 'buffers of skipped parts are returned to the pool'
+        availableBuffers() == MAX_PARTS_IN_FLIGHT
+    }
+
+    def "failed upload is aborted after parts being uploaded are finished"() {
+        s3Client.failingPartNumbers << 1
+        s3Client.partUploadDelayMillis = 200
+
+        when:
+        engine.upload('bucket', 'failed', new ByteArrayInputStream(content(PART_SIZE * 8)), false)
+
+        then:
+        thrown(S3Exception)
+        s3Client.uploads.isEmpty()
+        s3Client.partsOfMissingUploads.get() == 0
+        availableBuffers() == MAX_PARTS_IN_FLIGHT
+    }
+
+    def "failed resumable upload is completed by resuming"() {
+        def content = content(PART_SIZE * 8 + 3)
+        s3Client.failingPartNumbers << 5
+        // parts are uploaded one by one, so all parts before the failed one are uploaded
+        engine.shutdown()
+        engine = new S3TransferEngine(s3Client, PART_SIZE, 1, MAX_PARTS_IN_FLIGHT)
+
+        when:
+        engine.upload('bucket', 'resumable', new ByteArrayInputStream(content), true)
+
+        then:
+        thrown(S3Exception)
+        s3Client.uploads.size() == 1
+
+        when:
+        s3Client.failingPartNumbers.clear()
+        int uploadedBefore = s3Client.uploadedParts.get()
+        engine.resumeUpload('bucket', 'resumable', new ByteArrayInputStream(content))
+
+        then:
+        s3Client.objects['resumable'] == content
+        s3Client.uploads.isEmpty()
+        s3Client.uploadedParts.get() - uploadedBefore == 9 - 4
+    }
+
+    private static byte[] content(int size) {
+        def random = new Random(size)
+        def bytes = new byte[size]
+        random.nextBytes(bytes)
+        bytes
+    }
+
+    private int availableBuffers() {
+        engine.bufferPool.permits.availablePermits()
+    }
+
+    private int availableDownloadPermits() {
+        engine.downloadPermits.availablePermits()
+    }
+}
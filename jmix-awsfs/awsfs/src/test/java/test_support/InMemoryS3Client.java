@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsResponse;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.ListPartsResponse;
+import software.amazon.awssdk.services.s3.model.MultipartUpload;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * S3-compatible stand-in keeping objects and multipart uploads in memory.
+ */
+public class InMemoryS3Client implements S3Client {
+
+    public final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    public final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    public final Set<Integer> failingPartNumbers = ConcurrentHashMap.newKeySet();
+
+    public final AtomicInteger uploadedParts = new AtomicInteger();
+    public final AtomicInteger partsOfMissingUploads = new AtomicInteger();
+    public volatile long partUploadDelayMillis;
+    public final AtomicInteger rangeRequests = new AtomicInteger();
+
+    protected final AtomicInteger uploadIdSequence = new AtomicInteger();
+
+    public static class Upload {
+        public final String key;
+        public final Instant initiated = Instant.now();
+        public final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+
+        public Upload(String key) {
+            this.key = key;
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody requestBody) {
+        objects.put(request.key(), readBody(requestBody));
+        return PutObjectResponse.builder().eTag(eTag(request.key())).build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = "upload-" + uploadIdSequence.incrementAndGet();
+        uploads.put(uploadId, new Upload(request.key()));
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody requestBody) {
+        if (failingPartNumbers.contains(request.partNumber())) {
+            throw (S3Exception) S3Exception.builder().statusCode(500).message("Part upload failed").build();
+        }
+        byte[] content = readBody(requestBody);
+        if (partUploadDelayMillis > 0) {
+            try {
+                Thread.sleep(partUploadDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!uploads.containsKey(request.uploadId())) {
+            partsOfMissingUploads.incrementAndGet();
+        }
+        getUpload(request.uploadId()).parts.put(request.partNumber(), content);
+        uploadedParts.incrementAndGet();
+        return UploadPartResponse.builder().eTag("part-" + request.partNumber()).build();
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Upload upload = uploads.remove(request.uploadId());
+        if (upload == null) {
+            throw (S3Exception) NoSuchUploadException.builder().statusCode(404).message("No such upload").build();
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        int expectedPartNumber = 1;
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            if (part.partNumber() != expectedPartNumber++) {
+                throw (S3Exception) S3Exception.builder().statusCode(400).message("Invalid part order").build();
+            }
+            content.writeBytes(upload.parts.get(part.partNumber()));
+        }
+        objects.put(request.key(), content.toByteArray());
+        return CompleteMultipartUploadResponse.builder().key(request.key()).build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.uploadId());
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public ListMultipartUploadsResponse listMultipartUploads(ListMultipartUploadsRequest request) {
+        List<MultipartUpload> result = new ArrayList<>();
+        uploads.forEach((uploadId, upload) -> {
+            if (request.prefix() == null || upload.key.startsWith(request.prefix())) {
+                result.add(MultipartUpload.builder()
+                        .uploadId(uploadId)
+                        .key(upload.key)
+                        .initiated(upload.initiated)
+                        .build());
+            }
+        });
+        return ListMultipartUploadsResponse.builder().uploads(result).isTruncated(false).build();
+    }
+
+    @Override
+    public ListPartsResponse listParts(ListPartsRequest request) {
+        List<Part> result = new ArrayList<>();
+        new TreeMap<>(getUpload(request.uploadId()).parts).forEach((partNumber, content) ->
+                result.add(Part.builder()
+                        .partNumber(partNumber)
+                        .size((long) content.length)
+                        .eTag("part-" + partNumber)
+                        .build()));
+        return ListPartsResponse.builder().parts(result).isTruncated(false).build();
+    }
+
+    @Override
+    public <ReturnT> ReturnT getObject(GetObjectRequest request,
+                                       ResponseTransformer<GetObjectResponse, ReturnT> responseTransformer) {
+        byte[] content = objects.get(request.key());
+        if (content == null) {
+            throw (S3Exception) NoSuchKeyException.builder().statusCode(404).message("No such key").build();
+        }
+        if (request.ifMatch() != null && !request.ifMatch().equals(eTag(request.key()))) {
+            throw (S3Exception) S3Exception.builder().statusCode(412).message("Precondition failed").build();
+        }
+
+        GetObjectResponse.Builder response = GetObjectResponse.builder().eTag(eTag(request.key()));
+        byte[] body = content;
+        if (request.range() != null) {
+            rangeRequests.incrementAndGet();
+            if (content.length == 0) {
+                throw (S3Exception) S3Exception.builder().statusCode(416).message("Invalid range").build();
+            }
+            String[] bounds = request.range().substring("bytes=".length()).split("-");
+            int start = Integer.parseInt(bounds[0]);
+            int end = Math.min(Integer.parseInt(bounds[1]), content.length - 1);
+            body = Arrays.copyOfRange(content, start, end + 1);
+            response.contentRange("bytes " + start + "-" + end + "/" + content.length);
+        }
+        response.contentLength((long) body.length);
+
+        try {
+            return responseTransformer.transform(response.build(),
+                    AbortableInputStream.create(new ByteArrayInputStream(body)));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected Upload getUpload(String uploadId) {
+        Upload upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw (S3Exception) NoSuchUploadException.builder().statusCode(404).message("No such upload").build();
+        }
+        return upload;
+    }
+
+    protected String eTag(String key) {
+        return "\"" + Arrays.hashCode(objects.get(key)) + "\"";
+    }
+
+    protected byte[] readBody(RequestBody requestBody) {
+        try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
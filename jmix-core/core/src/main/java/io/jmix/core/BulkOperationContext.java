@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.querycondition.Condition;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Class that defines parameters of a set-based update or delete of entities executed by a single statement
+ * via {@link DataManager#executeBulkOperation(BulkOperationContext)}.
+ * <p>Typical usage:
+ * <pre>
+ * BulkOperationContext context = new BulkOperationContext(customerMetaClass, BulkOperationContext.Type.UPDATE)
+ *      .setWhereClause("e.status = :status")
+ *      .setParameter("status", "A")
+ *      .setValue("status", "B");
+ * long count = dataManager.executeBulkOperation(context);
+ * </pre>
+ * <p>
+ * Instead of using this class directly, consider fluent interface with the entry points in
+ * {@link DataManager#bulkUpdate(Class)} and {@link DataManager#bulkDelete(Class)}.
+ */
+public class BulkOperationContext implements Serializable {
+
+    /**
+     * Type of the bulk operation.
+     */
+    public enum Type {
+        UPDATE,
+        DELETE
+    }
+
+    protected MetaClass metaClass;
+    protected Type type;
+    protected String whereClause;
+    protected Condition condition;
+    protected Map<String, Object> parameters = new HashMap<>();
+    protected Map<String, Object> values = new LinkedHashMap<>();
+    protected List<AccessConstraint<?>> accessConstraints = new ArrayList<>();
+    protected Map<String, Serializable> hints; // lazy initialized map
+    protected boolean joinTransaction = true;
+
+    /**
+     * @param metaClass metaclass of the entities to update or delete
+     * @param type      type of the operation
+     */
+    public BulkOperationContext(MetaClass metaClass, Type type) {
+        Preconditions.checkNotNullArgument(metaClass, "metaClass is null");
+        Preconditions.checkNotNullArgument(type, "type is null");
+        this.metaClass = metaClass;
+        this.type = type;
+    }
+
+    public MetaClass getEntityMetaClass() {
+        return metaClass;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return JPQL condition selecting affected entities, if set by {@link #setWhereClause(String)}
+     */
+    @Nullable
+    public String getWhereClause() {
+        return whereClause;
+    }
+
+    /**
+     * Sets JPQL condition selecting affected entities. The condition must use the {@code e} alias for the entity,
+     * for example {@code e.status = :status}. Only named parameters are supported.
+     *
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setWhereClause(@Nullable String whereClause) {
+        this.whereClause = whereClause;
+        return this;
+    }
+
+    /**
+     * @return condition selecting affected entities, if set by {@link #setCondition(Condition)}
+     */
+    @Nullable
+    public Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Sets condition selecting affected entities. It is combined with the where clause by AND if both are set.
+     *
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setCondition(@Nullable Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * @return parameters of the where clause and the condition
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Sets value of a parameter of the where clause or the condition.
+     *
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setParameter(String name, @Nullable Object value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets parameters of the where clause and the condition.
+     *
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setParameters(Map<String, Object> parameters) {
+        this.parameters.clear();
+        this.parameters.putAll(parameters);
+        return this;
+    }
+
+    /**
+     * @return new values of entity properties assigned by the {@link Type#UPDATE} operation
+     */
+    public Map<String, Object> getValues() {
+        return values;
+    }
+
+    /**
+     * Sets new value of an entity property for the {@link Type#UPDATE} operation.
+     *
+     * @param property name of a local or reference property
+     * @param value    new value, can be an entity instance for reference properties
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setValue(String property, @Nullable Object value) {
+        values.put(property, value);
+        return this;
+    }
+
+    public List<AccessConstraint<?>> getAccessConstraints() {
+        return accessConstraints;
+    }
+
+    public BulkOperationContext setAccessConstraints(List<AccessConstraint<?>> accessConstraints) {
+        this.accessConstraints = accessConstraints;
+        return this;
+    }
+
+    /**
+     * @return custom hints which are used by the operation
+     */
+    public Map<String, Serializable> getHints() {
+        return hints == null ? Collections.emptyMap() : Collections.unmodifiableMap(hints);
+    }
+
+    /**
+     * Sets custom hint that should be used by the operation.
+     *
+     * @return this instance for chaining
+     */
+    public BulkOperationContext setHint(String hintName, Serializable value) {
+        if (hints == null) {
+            hints = new HashMap<>();
+        }
+        hints.put(hintName, value);
+        return this;
+    }
+
+    public boolean isJoinTransaction() {
+        return joinTransaction;
+    }
+
+    public BulkOperationContext setJoinTransaction(boolean joinTransaction) {
+        this.joinTransaction = joinTransaction;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkOperationContext{metaClass=%s, type=%s, whereClause=%s, condition=%s, values=%s}",
+                metaClass, type, whereClause, condition, values.keySet());
+    }
+}
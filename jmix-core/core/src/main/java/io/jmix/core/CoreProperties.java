@@ -24,6 +24,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @ConfigurationProperties(prefix = "jmix.core")
@@ -57,6 +58,13 @@ public class CoreProperties {
     List<Locale> availableLocales;
     int crossDataStoreReferenceLoadingBatchSize;
 
+    /**
+     * Maximum number of threads loading cross-datastore references of different data stores concurrently.
+     * The value of 1 means references are loaded sequentially in the calling thread. References loaded within
+     * the current transaction (see {@link LoadContext#setJoinTransaction(boolean)}) are always loaded sequentially.
+     */
+    int crossDataStoreReferenceLoadingParallelism;
+
     /**
      * Whether to generate identifiers for entities located in additional data stores.
      */
@@ -106,6 +114,18 @@ public class CoreProperties {
      */
     boolean skipNullOrEmptyConditionsByDefault;
 
+    /**
+     * Value of the Cache-Control header of file download responses.
+     */
+    String fileDownloadCacheControl;
+
+    /**
+     * Values of the Cache-Control header of file download responses by file storage names. Overrides
+     * {@link #fileDownloadCacheControl} for the files of particular storages, for example, {@code private, max-age=86400}
+     * for a storage which files never change.
+     */
+    Map<String, String> fileStorageDownloadCacheControl;
+
     public CoreProperties(
             String webHostName,
             String webPort,
@@ -126,7 +146,10 @@ public class CoreProperties {
             @DefaultValue("true") boolean triggerFilesEnabled,
             @DefaultValue("5000") Duration triggerFilesProcessInterval,
             @DefaultValue("true") boolean roundDecimalValueByFormat,
-            @DefaultValue("false") boolean skipNullOrEmptyConditionsByDefault) {
+            @DefaultValue("false") boolean skipNullOrEmptyConditionsByDefault,
+            @DefaultValue("1") int crossDataStoreReferenceLoadingParallelism,
+            @DefaultValue("no-cache") String fileDownloadCacheControl,
+            @Nullable Map<String, String> fileStorageDownloadCacheControl) {
         this.webHostName = webHostName;
         this.webPort = webPort;
         this.confDir = confDir;
@@ -145,6 +168,7 @@ public class CoreProperties {
         }
 
         this.crossDataStoreReferenceLoadingBatchSize = crossDataStoreReferenceLoadingBatchSize;
+        this.crossDataStoreReferenceLoadingParallelism = crossDataStoreReferenceLoadingParallelism;
         this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
         this.dom4jMaxPoolSize = dom4jMaxPoolSize;
         this.dom4jMaxBorrowWaitMillis = dom4jMaxBorrowWaitMillis;
@@ -156,6 +180,10 @@ public class CoreProperties {
         this.triggerFilesProcessInterval = triggerFilesProcessInterval;
         this.roundDecimalValueByFormat = roundDecimalValueByFormat;
         this.skipNullOrEmptyConditionsByDefault = skipNullOrEmptyConditionsByDefault;
+        this.fileDownloadCacheControl = fileDownloadCacheControl;
+        this.fileStorageDownloadCacheControl = fileStorageDownloadCacheControl == null
+                ? Collections.emptyMap()
+                : fileStorageDownloadCacheControl;
     }
 
     public String getWebHostName() {
@@ -195,6 +223,13 @@ public class CoreProperties {
         return crossDataStoreReferenceLoadingBatchSize;
     }
 
+    /**
+     * @see #crossDataStoreReferenceLoadingParallelism
+     */
+    public int getCrossDataStoreReferenceLoadingParallelism() {
+        return crossDataStoreReferenceLoadingParallelism;
+    }
+
     /**
      * @see #idGenerationForEntitiesInAdditionalDataStoresEnabled
      */
@@ -266,4 +301,28 @@ public class CoreProperties {
     public boolean isSkipNullOrEmptyConditionsByDefault() {
         return skipNullOrEmptyConditionsByDefault;
     }
+
+    /**
+     * @see #fileDownloadCacheControl
+     */
+    public String getFileDownloadCacheControl() {
+        return fileDownloadCacheControl;
+    }
+
+    /**
+     * @see #fileStorageDownloadCacheControl
+     */
+    public Map<String, String> getFileStorageDownloadCacheControl() {
+        return fileStorageDownloadCacheControl;
+    }
+
+    /**
+     * Returns the value of the Cache-Control header of file download responses for the given storage.
+     *
+     * @param storageName file storage name
+     * @see #fileStorageDownloadCacheControl
+     */
+    public String getFileDownloadCacheControl(String storageName) {
+        return fileStorageDownloadCacheControl.getOrDefault(storageName, fileDownloadCacheControl);
+    }
 }
@@ -21,6 +21,7 @@ import io.jmix.core.entity.KeyValueEntity;
 import org.springframework.lang.Nullable;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface defining methods for CRUD operations on entities.
@@ -55,6 +56,21 @@ public interface DataStore {
      */
     List<Object> loadList(LoadContext<?> context);
 
+    /**
+     * Loads entity instances as a stream. Unlike {@link #loadList(LoadContext)}, the stream can read instances
+     * from the storage while it is being consumed, so that the whole result is not kept in memory.
+     * <p>
+     * The stream can hold resources of the data store, such as a transaction and a database cursor, so it must
+     * be closed after use and consumed in the thread that opened it.
+     * <p>
+     * The default implementation loads the list of instances.
+     *
+     * @return a stream of instances
+     */
+    default Stream<Object> loadStream(LoadContext<?> context) {
+        return loadList(context).stream();
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
@@ -84,4 +100,16 @@ public interface DataStore {
      * @return number of key-value pairs in the data store
      */
     long getCount(ValueLoadContext context);
+
+    /**
+     * Updates or deletes all entity instances matching the condition passed in the {@link BulkOperationContext}
+     * by a single operation of the storage.
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return number of updated or deleted instances
+     */
+    default long executeBulkOperation(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getName());
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Attributes of a file in a {@link FileStorage}, see {@link FileStorage#getFileAttributes(FileRef)}.
+ */
+public class FileAttributes {
+
+    private final long size;
+    private final long lastModified;
+    private final String version;
+
+    /**
+     * @param size         size in bytes or -1 if unknown
+     * @param lastModified time of the last modification in milliseconds since the epoch or -1 if unknown
+     * @param version      tag identifying the version of the file contents provided by the storage, for example,
+     *                     the ETag of an S3 object
+     */
+    public FileAttributes(long size, long lastModified, @Nullable String version) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.version = version;
+    }
+
+    /**
+     * @return size in bytes or -1 if unknown
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return milliseconds since the epoch or -1 if unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return tag identifying the version of the file contents or null if the storage doesn't provide it
+     */
+    @Nullable
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "FileAttributes{size=" + size + ", lastModified=" + lastModified + ", version=" + version + "}";
+    }
+}
@@ -16,7 +16,12 @@
 
 package io.jmix.core;
 
+import org.apache.commons.io.IOUtils;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
 
@@ -68,6 +73,82 @@ public interface FileStorage {
      */
     InputStream openStream(FileRef reference);
 
+    /**
+     * Returns an input stream to load a file contents starting from the given position.
+     * <p>
+     * The default implementation skips the bytes before the position, storages able to read a file
+     * from the middle should override it.
+     *
+     * @param reference file reference
+     * @param position  position of the first byte to read
+     * @return input stream, must be closed after use
+     * @throws IllegalArgumentException if arguments are incorrect
+     * @throws FileStorageException     if something goes wrong
+     */
+    default InputStream openStream(FileRef reference, long position) {
+        InputStream inputStream = openStream(reference);
+        try {
+            IOUtils.skipFully(inputStream, position);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, reference.getFileName(), e);
+        }
+        return inputStream;
+    }
+
+    /**
+     * Returns the size of a file.
+     *
+     * @param reference file reference
+     * @return size in bytes or -1 if the storage can't provide it without reading the file
+     * @throws FileStorageException if something goes wrong
+     */
+    default long getFileSize(FileRef reference) {
+        return -1;
+    }
+
+    /**
+     * Returns the time of the last modification of a file.
+     *
+     * @param reference file reference
+     * @return milliseconds since the epoch or -1 if the storage doesn't provide it
+     * @throws FileStorageException if something goes wrong
+     */
+    default long getLastModified(FileRef reference) {
+        return -1;
+    }
+
+    /**
+     * Returns the size, modification time and version of a file. Storages which keep files remotely should override
+     * this method to obtain all attributes by a single request, so that they belong to the same version of the file.
+     * <p>
+     * The default implementation combines {@link #fileExists(FileRef)}, {@link #getFileSize(FileRef)}
+     * and {@link #getLastModified(FileRef)}.
+     *
+     * @param reference file reference
+     * @return attributes or null if the file doesn't exist
+     * @throws FileStorageException if something goes wrong
+     */
+    @Nullable
+    default FileAttributes getFileAttributes(FileRef reference) {
+        if (!fileExists(reference)) {
+            return null;
+        }
+        return new FileAttributes(getFileSize(reference), getLastModified(reference), null);
+    }
+
+    /**
+     * Returns the path of a file if the storage keeps it in the local file system. Such files can be sent
+     * to clients without copying their contents to the application memory.
+     *
+     * @param reference file reference
+     * @return path or null if the file is not stored locally
+     */
+    @Nullable
+    default Path getLocalFile(FileRef reference) {
+        return null;
+    }
+
     /**
      * Removes a file from the file storage.
      *
@@ -17,6 +17,7 @@
 package io.jmix.core;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,6 +33,25 @@ public interface FileTransferService {
                                   Boolean attachment,
                                   HttpServletResponse response) throws FileTransferException;
 
+    /**
+     * Writes a file to the response taking into account the Range and conditional headers of the request.
+     * The response contains the ETag and Last-Modified validators, so clients can revalidate cached files
+     * and request parts of files, for example, when seeking in a video.
+     *
+     * @param fileReference   file reference
+     * @param fileStorageName file storage name, the default storage is used if it's empty
+     * @param attachment      whether the file should be downloaded as an attachment
+     * @param request         request, if null the whole file is written
+     * @param response        response
+     */
+    default void downloadAndWriteResponse(FileRef fileReference,
+                                          String fileStorageName,
+                                          Boolean attachment,
+                                          @Nullable HttpServletRequest request,
+                                          HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, response);
+    }
+
     ResponseEntity<FileInfoResponse> multipartFileUpload(MultipartFile file,
                                                          String name,
                                                          String fileStorageName,
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import io.jmix.core.constraint.AccessConstraint;
+import io.jmix.core.querycondition.Condition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Fluent API for set-based update and delete of entities.
+ * <p>
+ * Usage examples:
+ * <pre>
+ * long count = dataManager.bulkUpdate(Customer.class)
+ *          .set("status", Status.INACTIVE)
+ *          .query("e.lastOrderDate &lt; :date")
+ *          .parameter("date", date)
+ *          .execute();
+ *
+ * dataManager.bulkDelete(Customer.class)
+ *          .condition(PropertyCondition.equal("status", Status.INACTIVE))
+ *          .execute();
+ * </pre>
+ *
+ * @param <E> entity type
+ * @see UnconstrainedDataManager#executeBulkOperation(BulkOperationContext)
+ */
+@Component("core_FluentBulkOperation")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class FluentBulkOperation<E> {
+
+    private final Class<E> entityClass;
+    private final BulkOperationContext.Type type;
+
+    private UnconstrainedDataManager dataManager;
+
+    private String whereClause;
+    private Condition condition;
+    private Map<String, Object> parameters = new HashMap<>();
+    private Map<String, Object> values = new LinkedHashMap<>();
+    private Map<String, Serializable> hints = new HashMap<>();
+    private List<AccessConstraint<?>> accessConstraints = new ArrayList<>(0);
+    private boolean joinTransaction = true;
+
+    @Autowired
+    private Metadata metadata;
+
+    public FluentBulkOperation(Class<E> entityClass, BulkOperationContext.Type type) {
+        this.entityClass = entityClass;
+        this.type = type;
+    }
+
+    public void setDataManager(UnconstrainedDataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    BulkOperationContext createContext() {
+        BulkOperationContext context = new BulkOperationContext(metadata.getClass(entityClass), type);
+        context.setWhereClause(whereClause);
+        context.setCondition(condition);
+        context.setParameters(parameters);
+        values.forEach(context::setValue);
+        hints.forEach(context::setHint);
+        context.setAccessConstraints(new ArrayList<>(accessConstraints));
+        context.setJoinTransaction(joinTransaction);
+        return context;
+    }
+
+    /**
+     * Sets new value of an entity property. Can be used only for the bulk update.
+     *
+     * @param property name of a local or reference property
+     * @param value    new value, can be an entity instance for reference properties
+     */
+    public FluentBulkOperation<E> set(String property, @Nullable Object value) {
+        if (type != BulkOperationContext.Type.UPDATE) {
+            throw new IllegalStateException("Property values can be set only for bulk update");
+        }
+        values.put(property, value);
+        return this;
+    }
+
+    /**
+     * Sets JPQL condition selecting affected entities. The condition must use the {@code e} alias for the entity,
+     * for example {@code e.status = :status}.
+     */
+    public FluentBulkOperation<E> query(String whereClause) {
+        this.whereClause = whereClause;
+        return this;
+    }
+
+    /**
+     * Sets condition selecting affected entities.
+     */
+    public FluentBulkOperation<E> condition(Condition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Sets value for a parameter of the JPQL condition.
+     *
+     * @param name  parameter name
+     * @param value parameter value
+     */
+    public FluentBulkOperation<E> parameter(String name, @Nullable Object value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets the map of parameters of the JPQL condition.
+     */
+    public FluentBulkOperation<E> parameters(Map<String, Object> parameters) {
+        this.parameters.putAll(parameters);
+        return this;
+    }
+
+    /**
+     * Sets custom hint that should be used by the operation.
+     */
+    public FluentBulkOperation<E> hint(String hintName, Serializable value) {
+        hints.put(hintName, value);
+        return this;
+    }
+
+    /**
+     * Sets access constraints.
+     */
+    public FluentBulkOperation<E> accessConstraints(List<AccessConstraint<?>> accessConstraints) {
+        this.accessConstraints.addAll(accessConstraints);
+        return this;
+    }
+
+    public FluentBulkOperation<E> joinTransaction(boolean join) {
+        this.joinTransaction = join;
+        return this;
+    }
+
+    /**
+     * Executes the operation.
+     *
+     * @return number of updated or deleted entities
+     */
+    public long execute() {
+        return dataManager.executeBulkOperation(createContext());
+    }
+}
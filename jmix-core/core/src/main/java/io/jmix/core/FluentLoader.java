@@ -36,6 +36,7 @@ import org.springframework.stereotype.Component;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component("core_FluentLoader")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -573,6 +574,24 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities as a stream which reads them from the data store while it is consumed.
+         * The stream must be closed after use, for example:
+         * <pre>
+         * try (Stream&lt;Customer&gt; customers = dataManager.load(Customer.class)
+         *          .query("select c from Customer c")
+         *          .stream()) {
+         *     customers.forEach(this::export);
+         * }
+         * </pre>
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext)
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -823,6 +842,24 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities as a stream which reads them from the data store while it is consumed.
+         * The stream must be closed after use, for example:
+         * <pre>
+         * try (Stream&lt;Customer&gt; customers = dataManager.load(Customer.class)
+         *          .query("select c from Customer c")
+         *          .stream()) {
+         *     customers.forEach(this::export);
+         * }
+         * </pre>
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext)
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
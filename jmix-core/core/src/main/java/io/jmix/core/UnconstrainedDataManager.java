@@ -22,6 +22,7 @@ import org.springframework.lang.Nullable;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Central interface to provide CRUD functionality for entities.
@@ -54,6 +55,29 @@ public interface UnconstrainedDataManager {
      */
     <E> List<E> loadList(LoadContext<E> context);
 
+    /**
+     * Loads entity instances as a stream which reads them from the data store while it is consumed.
+     * Use it to process large numbers of instances which should not be kept in memory at once.
+     * <p>
+     * The stream holds an open transaction and a database cursor, so it must be closed after use,
+     * for example by the try-with-resources statement, and consumed in the thread that opened it.
+     * The returned instances are detached.
+     * <p>
+     * If the stream starts its own transaction, the transaction is suspended while the caller processes loaded
+     * instances. Entities saved by the caller in the meantime are committed by separate transactions, which don't
+     * depend on how the stream is closed. A transaction started by the caller after opening the stream must be
+     * completed before reading the next instance. If the stream joins the caller's transaction, instances are read
+     * in that transaction.
+     * <p>
+     * The default implementation loads all instances by {@link #loadList(LoadContext)} and returns their stream.
+     *
+     * @param context {@link LoadContext} object, defining what and how to load
+     * @return a stream of entity instances
+     */
+    default <E> Stream<E> loadStream(LoadContext<E> context) {
+        return loadList(context).stream();
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
@@ -194,6 +218,57 @@ public interface UnconstrainedDataManager {
      */
     <T> FluentValueLoader<T> loadValue(String queryString, Class<T> valueClass);
 
+    /**
+     * Updates or deletes all entity instances matching the condition by a single statement, without loading
+     * them into memory.
+     * <p>
+     * The operation bypasses per-instance processing: entity listeners, {@code EntitySavingEvent} and
+     * {@code EntityChangedEvent} are not invoked for the affected instances. Instead, a single
+     * {@link io.jmix.core.event.EntityBulkChangedEvent} is sent.
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param context {@link BulkOperationContext} object, defining the condition and new property values
+     * @return number of updated or deleted instances
+     */
+    default long executeBulkOperation(BulkOperationContext context) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Entry point to the fluent API for updating entity instances matching a condition by a single statement.
+     * <p>
+     * Usage example:
+     * <pre>
+     * long count = dataManager.bulkUpdate(Customer.class)
+     *          .set("status", Status.INACTIVE)
+     *          .query("e.lastOrderDate &lt; :date")
+     *          .parameter("date", date)
+     *          .execute();
+     * </pre>
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param entityClass class of entities to update
+     * @see #executeBulkOperation(BulkOperationContext)
+     */
+    default <E> FluentBulkOperation<E> bulkUpdate(Class<E> entityClass) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Entry point to the fluent API for deleting entity instances matching a condition by a single statement.
+     * Soft-deletable entities are marked as deleted if soft deletion is enabled.
+     * <p>
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param entityClass class of entities to delete
+     * @see #executeBulkOperation(BulkOperationContext)
+     */
+    default <E> FluentBulkOperation<E> bulkDelete(Class<E> entityClass) {
+        throw new UnsupportedOperationException("Bulk operations are not supported by " + getClass().getName());
+    }
+
     /**
      * Creates a new entity instance in memory. This is a shortcut to {@code Metadata.create()}.
      *
@@ -31,8 +31,13 @@ import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractDataStore implements DataStore {
+
+    protected static final int DEFAULT_LOAD_STREAM_CHUNK_SIZE = 100;
+
     protected final List<DataStoreEventListener> listeners = new ArrayList<>();
 
     protected Metadata metadata;
@@ -160,6 +165,51 @@ public abstract class AbstractDataStore implements DataStore {
         return afterLoadEvent.getResultEntities();
     }
 
+    /**
+     * Loads entities in chunks of {@link #getLoadStreamChunkSize()} while the stream is consumed. Load events
+     * are fired for each chunk. The load transaction remains open till the stream is read to the end or closed,
+     * but it can be suspended while the caller processes a chunk, see {@link #suspendLoadTransaction(Object)}.
+     * <p>
+     * Loading by ids and loading of a page ({@code maxResults} is set) load the list of instances, because
+     * the page may need to be filled up after entities are filtered by load events.
+     */
+    @Override
+    public Stream<Object> loadStream(LoadContext<?> context) {
+        if (!context.getIds().isEmpty()
+                || (context.getQuery() != null && context.getQuery().getMaxResults() != 0)) {
+            return loadList(context).stream();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("loadStream: store={}, metaClass={}, fetchPlan={}, query={}",
+                    getName(), context.getEntityMetaClass(), context.getFetchPlan(), context.getQuery());
+        }
+
+        EventSharedState loadState = new EventSharedState();
+
+        DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(context, loadState);
+        fireEvent(beforeLoadEvent);
+
+        if (beforeLoadEvent.loadPrevented()) {
+            return Stream.empty();
+        }
+
+        Object transaction = beginLoadTransaction(context.isJoinTransaction());
+        LoadStreamIterator iterator;
+        try {
+            TransactionContextState txContextState = getTransactionContextState(context.isJoinTransaction());
+            iterator = new LoadStreamIterator(context, loadState, transaction, txContextState,
+                    loadAllAsStream(context));
+        } catch (RuntimeException e) {
+            rollbackTransaction(transaction);
+            throw e;
+        }
+        iterator.suspendTransaction();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         if (log.isDebugEnabled()) {
@@ -308,6 +358,23 @@ public abstract class AbstractDataStore implements DataStore {
 
     protected abstract List<Object> loadAll(LoadContext<?> context);
 
+    /**
+     * Returns a stream of entities loaded by the context query. Invoked inside the load transaction.
+     * <p>
+     * The default implementation loads the list of entities. Override this method to read entities
+     * from the storage while the stream is consumed.
+     */
+    protected Stream<Object> loadAllAsStream(LoadContext<?> context) {
+        return loadAll(context).stream();
+    }
+
+    /**
+     * @return number of entities passed to load events at once when entities are loaded as a stream
+     */
+    protected int getLoadStreamChunkSize() {
+        return DEFAULT_LOAD_STREAM_CHUNK_SIZE;
+    }
+
     protected abstract long countAll(LoadContext<?> context);
 
     protected abstract Set<Object> saveAll(SaveContext context);
@@ -336,6 +403,42 @@ public abstract class AbstractDataStore implements DataStore {
     protected void beforeLoadTransactionCommit(LoadContext<?> context, Collection<Object> entities, TransactionContextState transactionContextState) {
     }
 
+    /**
+     * Invoked for each chunk of entities loaded as a stream before the chunk is returned to the caller.
+     * <p>
+     * The default implementation invokes {@link #beforeLoadTransactionCommit}.
+     */
+    protected void loadStreamChunkCompleted(LoadContext<?> context, Collection<Object> entities,
+                                            TransactionContextState transactionContextState) {
+        beforeLoadTransactionCommit(context, entities, transactionContextState);
+    }
+
+    /**
+     * Invoked after each chunk of entities loaded as a stream, before the chunk is returned to the caller. Suspends
+     * the transaction started for the stream, so that operations performed by the caller while consuming the stream
+     * don't run in it.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param transaction load transaction of the stream
+     * @return object passed to {@link #resumeLoadTransaction(Object, Object)}, or null if the transaction
+     * is not suspended
+     */
+    @Nullable
+    protected Object suspendLoadTransaction(Object transaction) {
+        return null;
+    }
+
+    /**
+     * Resumes the load transaction of a stream suspended by {@link #suspendLoadTransaction(Object)} before the next
+     * chunk of entities is read.
+     *
+     * @param transaction          load transaction of the stream
+     * @param suspendedTransaction object returned by {@link #suspendLoadTransaction(Object)}
+     */
+    protected void resumeLoadTransaction(Object transaction, Object suspendedTransaction) {
+    }
+
     protected void beforeSaveTransactionCommit(SaveContext context, Collection<Object> savedEntities,
                                                Collection<Object> removedEntities) {
     }
@@ -367,6 +470,7 @@ public abstract class AbstractDataStore implements DataStore {
 
         int firstResult = 0;
         int maxResults = (requestedFirst + requestedMax) * factor;
+        Object lastEntity = null;
         int i = 0;
         while (entities.size() < expectedSize) {
             if (i++ > 100000) {
@@ -374,16 +478,13 @@ public abstract class AbstractDataStore implements DataStore {
                 break;
             }
 
-            LoadContext<?> batchContext = context.copy();
-
-            assert batchContext.getQuery() != null;
-            batchContext.getQuery().setFirstResult(firstResult);
-            batchContext.getQuery().setMaxResults(maxResults);
+            LoadContext<?> batchContext = createBatchContext(context, firstResult, maxResults, lastEntity);
 
             List<Object> list = loadAll(batchContext);
             if (list.size() == 0) {
                 break;
             }
+            lastEntity = list.get(list.size() - 1);
 
             DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, list, eventState);
             fireEvent(loadEvent);
@@ -407,6 +508,26 @@ public abstract class AbstractDataStore implements DataStore {
         return resultList;
     }
 
+    /**
+     * Creates a context for loading the next batch of entities in {@link #loadListByBatches(LoadContext, int, EventSharedState)}.
+     * The default implementation sets the offset of the batch. Data stores able to continue the query after
+     * the last loaded entity can do it instead, so that the database does not skip all previously loaded rows.
+     *
+     * @param context     original load context
+     * @param firstResult offset of the batch among all rows of the query
+     * @param maxResults  size of the batch
+     * @param lastEntity  last entity of the previous batch or null for the first batch
+     */
+    protected LoadContext<?> createBatchContext(LoadContext<?> context, int firstResult, int maxResults,
+                                                @Nullable Object lastEntity) {
+        LoadContext<?> batchContext = context.copy();
+
+        assert batchContext.getQuery() != null;
+        batchContext.getQuery().setFirstResult(firstResult);
+        batchContext.getQuery().setMaxResults(maxResults);
+        return batchContext;
+    }
+
     protected List<Object> checkAndReorderLoadedEntities(LoadContext<?> context, List<Object> entities) {
         List<Object> result = new ArrayList<>(context.getIds().size());
         Map<Object, Object> idToEntityMap = entities.stream().collect(Collectors.toMap(EntityValues::getId, Function.identity()));
@@ -508,6 +629,132 @@ public abstract class AbstractDataStore implements DataStore {
         }
     }
 
+    /**
+     * Reads entities of a stream in chunks and fires load events for each chunk. The load transaction is suspended
+     * while the caller consumes a chunk and is committed when all entities are read or the stream is closed.
+     * It is rolled back if reading fails.
+     */
+    protected class LoadStreamIterator implements Iterator<Object> {
+
+        protected final LoadContext<?> context;
+        protected final EventSharedState loadState;
+        protected final Object transaction;
+        protected final TransactionContextState txContextState;
+        protected final Stream<Object> rowStream;
+        protected final Iterator<Object> rows;
+
+        protected Iterator<Object> chunk = Collections.emptyIterator();
+        protected boolean completed;
+        protected Object suspendedTransaction;
+
+        public LoadStreamIterator(LoadContext<?> context, EventSharedState loadState, Object transaction,
+                                  TransactionContextState txContextState, Stream<Object> rowStream) {
+            this.context = context;
+            this.loadState = loadState;
+            this.transaction = transaction;
+            this.txContextState = txContextState;
+            this.rowStream = rowStream;
+            this.rows = rowStream.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (!chunk.hasNext() && !completed) {
+                    loadNextChunk();
+                }
+            } catch (RuntimeException e) {
+                abort();
+                throw e;
+            }
+            return chunk.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.next();
+        }
+
+        protected void loadNextChunk() {
+            resumeTransaction();
+
+            int chunkSize = getLoadStreamChunkSize();
+            List<Object> entities = new ArrayList<>(chunkSize);
+            while (entities.size() < chunkSize && rows.hasNext()) {
+                entities.add(rows.next());
+            }
+            if (entities.isEmpty()) {
+                completed = true;
+                rowStream.close();
+                commitTransaction(transaction);
+                return;
+            }
+
+            DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(context, entities, loadState);
+            fireEvent(loadEvent);
+
+            List<Object> resultList = loadEvent.getResultEntities();
+            loadStreamChunkCompleted(context, resultList, txContextState);
+
+            DataStoreAfterEntityLoadEvent afterLoadEvent =
+                    new DataStoreAfterEntityLoadEvent(context, resultList, loadState);
+            fireEvent(afterLoadEvent);
+
+            chunk = afterLoadEvent.getResultEntities().iterator();
+
+            suspendTransaction();
+        }
+
+        protected void suspendTransaction() {
+            suspendedTransaction = suspendLoadTransaction(transaction);
+        }
+
+        protected void resumeTransaction() {
+            if (suspendedTransaction != null) {
+                Object suspended = suspendedTransaction;
+                suspendedTransaction = null;
+                resumeLoadTransaction(transaction, suspended);
+            }
+        }
+
+        /**
+         * Closes the stream before all entities are read. The load transaction is committed, because nothing is
+         * written by it.
+         */
+        public void close() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            chunk = Collections.emptyIterator();
+            resumeTransaction();
+            try {
+                rowStream.close();
+            } catch (RuntimeException e) {
+                rollbackTransaction(transaction);
+                throw e;
+            }
+            commitTransaction(transaction);
+        }
+
+        protected void abort() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            chunk = Collections.emptyIterator();
+            try {
+                resumeTransaction();
+                rowStream.close();
+            } finally {
+                rollbackTransaction(transaction);
+            }
+        }
+    }
+
     protected static class EntityLoadInfo {
         protected LoadContext<?> loadContext;
         protected EventSharedState eventState;
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.event;
+
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.metamodel.model.MetaClass;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A Spring application event which is sent once for all entities updated or deleted by a bulk operation
+ * executed via {@link io.jmix.core.UnconstrainedDataManager#executeBulkOperation(io.jmix.core.BulkOperationContext)},
+ * and for all entities of the same type created or updated by saving in the bulk save mode with batched events
+ * (see {@code PersistenceHints.BULK_SAVE_BATCHED_EVENTS}).
+ * Unlike {@link EntityChangedEvent}, it doesn't contain ids and old values of the affected entities.
+ * <p>
+ * The event is sent in the transaction of the operation, so it can be handled by
+ * {@code @TransactionalEventListener} after the transaction is committed.
+ *
+ * @param <E> entity type
+ */
+public class EntityBulkChangedEvent<E> extends AbstractEntityEvent {
+
+    private final EntityChangedEvent.Type type;
+    private final Set<String> attributes;
+    private final long count;
+
+    @Internal
+    public EntityBulkChangedEvent(Object source, MetaClass metaClass, EntityChangedEvent.Type type,
+                                  Set<String> attributes, long count) {
+        super(source, metaClass);
+        Preconditions.checkNotNullArgument(type, "type is null");
+        Preconditions.checkNotNullArgument(attributes, "attributes is null");
+        this.type = type;
+        this.attributes = Collections.unmodifiableSet(attributes);
+        this.count = count;
+    }
+
+    /**
+     * Returns the type of the change: {@link EntityChangedEvent.Type#UPDATED} or {@link EntityChangedEvent.Type#DELETED}
+     * for bulk operations, {@link EntityChangedEvent.Type#CREATED} or {@link EntityChangedEvent.Type#UPDATED}
+     * for bulk save. Soft deletion of entities is reported as {@link EntityChangedEvent.Type#DELETED}.
+     */
+    public EntityChangedEvent.Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns names of the changed attributes. The set is empty for bulk save, as changed attributes of the saved
+     * entities are not tracked.
+     */
+    public Set<String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns the number of updated or deleted entities.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityBulkChangedEvent{" +
+                "type=" + type +
+                ", attributes=" + attributes +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.event;
+
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.metamodel.model.MetaClass;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A Spring application event which is sent instead of {@link EntitySavingEvent} when a chunk of entities
+ * of the same type is saved to the data store in the bulk save mode with batched events.
+ *
+ * @param <E> entity type
+ * @see io.jmix.core.SaveContext#setHint(String, java.io.Serializable)
+ */
+public class EntityBulkSavingEvent<E> extends AbstractEntityEvent {
+
+    private final List<E> entities;
+    private final boolean newEntities;
+
+    @Internal
+    public EntityBulkSavingEvent(Object source, MetaClass metaClass, List<E> entities, boolean newEntities) {
+        super(source, metaClass);
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+        this.entities = Collections.unmodifiableList(entities);
+        this.newEntities = newEntities;
+    }
+
+    /**
+     * Returns the entities being saved.
+     */
+    public List<E> getEntities() {
+        return entities;
+    }
+
+    /**
+     * True if the entities are new, i.e. they are being created in the data store.
+     */
+    public boolean isNewEntities() {
+        return newEntities;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityBulkSavingEvent{" +
+                "entities=" + entities.size() +
+                ", new=" + newEntities +
+                '}';
+    }
+}
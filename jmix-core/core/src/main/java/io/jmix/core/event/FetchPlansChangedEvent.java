@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.event;
+
+import io.jmix.core.FetchPlanRepository;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when fetch plans of {@link FetchPlanRepository} are reset or new fetch plans are deployed.
+ * Components caching information derived from shared fetch plans should discard it on this event.
+ */
+public class FetchPlansChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -2791638452470215823L;
+
+    public FetchPlansChangedEvent(FetchPlanRepository source) {
+        super(source);
+    }
+
+    @Override
+    public FetchPlanRepository getSource() {
+        return (FetchPlanRepository) super.getSource();
+    }
+}
@@ -16,24 +16,34 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.SecurityContextHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
  * INTERNAL.
  * Populates references to entities from different data stores.
+ * <p>
+ * Distinct ids of referenced entities are collected from all loaded entities and all levels of the fetch plan,
+ * then each referenced entity is loaded by {@code id in (...)} queries in chunks of
+ * {@link CoreProperties#getCrossDataStoreReferenceLoadingBatchSize()} ids.
  */
 @Component("core_CrossDataStoreReferenceLoader")
 @Scope("prototype")
@@ -53,6 +63,9 @@ public class CrossDataStoreReferenceLoader {
     @Autowired
     private CoreProperties properties;
 
+    @Autowired
+    private CrossDataStoreReferenceLoadingExecutor executor;
+
     private MetaClass metaClass;
 
     private FetchPlan fetchPlan;
@@ -114,20 +127,22 @@ public class CrossDataStoreReferenceLoader {
         if (affectedEntities.isEmpty())
             return;
 
-        List<EntityCrossDataStoreProperty> entityCrossDataStorePropertyList = new ArrayList<>();
-        for (Object affectedEntity : affectedEntities) {
-            for (CrossDataStoreProperty crossDataStoreProperty : crossPropertiesMap.get(affectedEntity.getClass())) {
-                entityCrossDataStorePropertyList.add(new EntityCrossDataStoreProperty(affectedEntity, crossDataStoreProperty));
-            }
-        }
-        if (entityCrossDataStorePropertyList.size() == 1) {
-            loadOne(entityCrossDataStorePropertyList.get(0));
+        Collection<ReferenceTarget> targets = collectReferenceTargets(affectedEntities, crossPropertiesMap);
+
+        Map<String, List<ReferenceTarget>> targetsByStore = targets.stream()
+                .collect(Collectors.groupingBy(target -> target.metaClass.getStore().getName(),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        // worker threads can't take part in the caller's transaction, so references are loaded in parallel
+        // only if the transaction is not joined
+        if (!joinTransaction
+                && targetsByStore.size() > 1
+                && properties.getCrossDataStoreReferenceLoadingParallelism() > 1) {
+            loadInParallel(targetsByStore.values());
         } else {
-            entityCrossDataStorePropertyList.stream()
-                    .collect(Collectors.groupingBy(EntityCrossDataStoreProperty::getCrossProp))
-                    .forEach((ap, eapList) ->
-                            loadMany(ap, eapList.stream().map(eap -> eap.entity).collect(Collectors.toList()))
-                    );
+            for (ReferenceTarget target : targets) {
+                target.assign(loadTarget(target));
+            }
         }
     }
 
@@ -159,44 +174,119 @@ public class CrossDataStoreReferenceLoader {
         return resultSet;
     }
 
-    private void loadOne(EntityCrossDataStoreProperty entityCrossDataStoreProperty) {
-        Object entity = entityCrossDataStoreProperty.entity;
-        CrossDataStoreProperty aProp = entityCrossDataStoreProperty.crossProp;
-        Object id = EntityValues.getValue(entity, aProp.relatedPropertyName);
+    /**
+     * Collects distinct ids of referenced entities from all affected entities and groups them by the referenced
+     * entity and fetch plan, so that every group can be loaded by a single query.
+     */
+    private Collection<ReferenceTarget> collectReferenceTargets(Set<Object> affectedEntities,
+                                                                Map<Class<?>, List<CrossDataStoreProperty>> crossPropertiesMap) {
+        Map<CrossDataStoreProperty, ReferenceTarget> targetsByProperty = new HashMap<>();
+        Map<ReferenceTargetKey, ReferenceTarget> targets = new LinkedHashMap<>();
+        for (List<CrossDataStoreProperty> crossProperties : crossPropertiesMap.values()) {
+            for (CrossDataStoreProperty crossProperty : crossProperties) {
+                ReferenceTargetKey key = new ReferenceTargetKey(crossProperty.property.getRange().asClass(),
+                        crossProperty.fetchPlanProperty.getFetchPlan());
+                ReferenceTarget target = targets.computeIfAbsent(key, k -> new ReferenceTarget(crossProperty));
+                targetsByProperty.put(crossProperty, target);
+            }
+        }
 
-        LoadContext<?> loadContext = new LoadContext<>(aProp.property.getRange().asClass())
-                .setId(id);
-        if (aProp.fetchPlanProperty.getFetchPlan() != null)
-            loadContext.setFetchPlan(aProp.fetchPlanProperty.getFetchPlan());
-        loadContext.setJoinTransaction(joinTransaction);
-        Object relatedEntity = dataManager.load(loadContext);
-        EntityValues.setValue(entity, aProp.property.getName(), relatedEntity);
+        for (Object entity : affectedEntities) {
+            for (CrossDataStoreProperty crossProperty : crossPropertiesMap.get(entity.getClass())) {
+                Object id = EntityValues.getValue(entity, crossProperty.relatedPropertyName);
+                if (id != null) {
+                    targetsByProperty.get(crossProperty).addReference(id, entity, crossProperty);
+                }
+            }
+        }
+
+        return targets.values().stream()
+                .filter(target -> !target.referencesById.isEmpty())
+                .collect(Collectors.toList());
     }
 
-    private void loadMany(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        int offset = 0, limit = properties.getCrossDataStoreReferenceLoadingBatchSize();
-        while (true) {
-            int end = offset + limit;
-            List<Object> batch = entities.subList(offset, Math.min(end, entities.size()));
-            loadBatch(crossDataStoreProperty, batch);
-            if (end >= entities.size())
-                break;
-            else
-                offset += limit;
+    /**
+     * Loads targets of different data stores concurrently, targets of the same store are loaded sequentially.
+     * Loaded entities are assigned to the referencing entities in the current thread.
+     * Must not be used when the current transaction should be joined.
+     */
+    private void loadInParallel(Collection<List<ReferenceTarget>> targetGroups) {
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+
+        List<Future<Map<ReferenceTarget, Map<Object, Object>>>> futures = new ArrayList<>();
+        for (List<ReferenceTarget> storeTargets : targetGroups) {
+            futures.add(executor.submit(() -> {
+                Authentication previous = SecurityContextHelper.getAuthentication();
+                SecurityContextHelper.setAuthentication(authentication);
+                try {
+                    Map<ReferenceTarget, Map<Object, Object>> loaded = new LinkedHashMap<>();
+                    for (ReferenceTarget target : storeTargets) {
+                        loaded.put(target, loadTarget(target));
+                    }
+                    return loaded;
+                } finally {
+                    SecurityContextHelper.setAuthentication(previous);
+                }
+            }));
+        }
+
+        for (Future<Map<ReferenceTarget, Map<Object, Object>>> future : futures) {
+            try {
+                future.get().forEach(ReferenceTarget::assign);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading cross-datastore references", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException("Error loading cross-datastore references", cause);
+            }
         }
     }
 
-    private void loadBatch(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        List<Object> idList = entities.stream()
-                .map(e -> EntityValues.getValue(e, crossDataStoreProperty.relatedPropertyName))
-                .filter(Objects::nonNull)
-                .distinct()
-                .collect(Collectors.toList());
+    /**
+     * Loads all entities referenced by the target in chunks of
+     * {@link CoreProperties#getCrossDataStoreReferenceLoadingBatchSize()} ids.
+     *
+     * @return loaded entities by id
+     */
+    private Map<Object, Object> loadTarget(ReferenceTarget target) {
+        Map<Object, Object> loadedById = new HashMap<>();
+        List<Object> ids = new ArrayList<>(target.referencesById.keySet());
+        if (ids.size() == 1) {
+            Object loaded = loadOne(target, ids.get(0));
+            if (loaded != null) {
+                loadedById.put(ids.get(0), loaded);
+            }
+            return loadedById;
+        }
 
-        if (idList.isEmpty())
-            return;
+        int batchSize = Math.max(1, properties.getCrossDataStoreReferenceLoadingBatchSize());
+        for (List<Object> batch : Lists.partition(ids, batchSize)) {
+            for (Object loaded : loadBatch(target, batch)) {
+                Object id = EntityValues.getId(loaded);
+                assert id != null;
+                loadedById.put(id, loaded);
+            }
+        }
+        return loadedById;
+    }
 
-        MetaClass cdsrMetaClass = crossDataStoreProperty.property.getRange().asClass();
+    @Nullable
+    private Object loadOne(ReferenceTarget target, Object id) {
+        LoadContext<?> loadContext = new LoadContext<>(target.metaClass)
+                .setId(id);
+        if (target.fetchPlan != null)
+            loadContext.setFetchPlan(target.fetchPlan);
+        loadContext.setJoinTransaction(joinTransaction);
+        return dataManager.load(loadContext);
+    }
+
+    private List<?> loadBatch(ReferenceTarget target, List<Object> idList) {
+        CrossDataStoreProperty crossDataStoreProperty = target.crossProperty;
+        MetaClass cdsrMetaClass = target.metaClass;
         LoadContext<?> loadContext = new LoadContext<>(cdsrMetaClass);
 
         if (metadataTools.isJpa(crossDataStoreProperty.property)) {
@@ -234,22 +324,67 @@ public class CrossDataStoreReferenceLoader {
             loadContext.setIds(idList);
         }
 
-        loadContext.setFetchPlan(crossDataStoreProperty.fetchPlanProperty.getFetchPlan());
+        loadContext.setFetchPlan(target.fetchPlan);
         loadContext.setJoinTransaction(joinTransaction);
 
-        List<?> loadedEntities = dataManager.loadList(loadContext);
+        return dataManager.loadList(loadContext);
+    }
 
-        for (Object entity : entities) {
-            Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
-            loadedEntities.stream()
-                    .filter(e -> {
-                        Object id = EntityValues.getId(e);
-                        assert id != null;
-                        return id.equals(relatedPropertyValue);
-                    })
-                    .findAny()
-                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
-                    );
+    private static class ReferenceTargetKey {
+
+        private final MetaClass metaClass;
+        private final FetchPlan fetchPlan;
+
+        ReferenceTargetKey(MetaClass metaClass, @Nullable FetchPlan fetchPlan) {
+            this.metaClass = metaClass;
+            this.fetchPlan = fetchPlan;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReferenceTargetKey that = (ReferenceTargetKey) o;
+            return metaClass.equals(that.metaClass) && Objects.equals(fetchPlan, that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan);
+        }
+    }
+
+    /**
+     * Entities of the same class and fetch plan referenced from the loaded entities, grouped by id.
+     */
+    private static class ReferenceTarget {
+
+        private final CrossDataStoreProperty crossProperty;
+        private final MetaClass metaClass;
+        private final FetchPlan fetchPlan;
+        private final Map<Object, List<EntityCrossDataStoreProperty>> referencesById = new LinkedHashMap<>();
+
+        ReferenceTarget(CrossDataStoreProperty crossProperty) {
+            this.crossProperty = crossProperty;
+            this.metaClass = crossProperty.property.getRange().asClass();
+            this.fetchPlan = crossProperty.fetchPlanProperty.getFetchPlan();
+        }
+
+        void addReference(Object id, Object entity, CrossDataStoreProperty crossProperty) {
+            referencesById.computeIfAbsent(id, k -> new ArrayList<>())
+                    .add(new EntityCrossDataStoreProperty(entity, crossProperty));
+        }
+
+        void assign(Map<Object, Object> loadedById) {
+            for (Map.Entry<Object, List<EntityCrossDataStoreProperty>> entry : referencesById.entrySet()) {
+                Object loaded = loadedById.get(entry.getKey());
+                if (loaded == null) {
+                    continue;
+                }
+                for (EntityCrossDataStoreProperty reference : entry.getValue()) {
+                    EntityValues.setValue(reference.entity, reference.crossProp.property.getName(), loaded);
+                }
+            }
         }
     }
 
@@ -263,10 +398,6 @@ public class CrossDataStoreReferenceLoader {
             this.crossProp = crossDataStoreProperty;
         }
 
-        public CrossDataStoreProperty getCrossProp() {
-            return crossProp;
-        }
-
         @Override
         public String toString() {
             return entity + " -> " + crossProp;
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.CoreProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INTERNAL.
+ * Thread pool used by {@link CrossDataStoreReferenceLoader} to load references of different data stores
+ * concurrently. The pool is created on first use and its size is determined by
+ * {@link CoreProperties#getCrossDataStoreReferenceLoadingParallelism()}.
+ */
+@Component("core_CrossDataStoreReferenceLoadingExecutor")
+public class CrossDataStoreReferenceLoadingExecutor {
+
+    protected final CoreProperties coreProperties;
+
+    protected volatile ExecutorService executorService;
+
+    public CrossDataStoreReferenceLoadingExecutor(CoreProperties coreProperties) {
+        this.coreProperties = coreProperties;
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return getExecutorService().submit(task);
+    }
+
+    protected ExecutorService getExecutorService() {
+        ExecutorService result = executorService;
+        if (result == null) {
+            synchronized (this) {
+                result = executorService;
+                if (result == null) {
+                    int threadsCount = Math.max(1, coreProperties.getCrossDataStoreReferenceLoadingParallelism());
+                    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                            threadsCount, threadsCount,
+                            1L, TimeUnit.MINUTES,
+                            new LinkedBlockingQueue<>(),
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("jmix-cross-datastore-loader-%d")
+                                    .setDaemon(true)
+                                    .build());
+                    threadPoolExecutor.allowCoreThreadTimeOut(true);
+                    executorService = result = threadPoolExecutor;
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ExecutorService result = executorService;
+        if (result != null) {
+            result.shutdownNow();
+        }
+    }
+}
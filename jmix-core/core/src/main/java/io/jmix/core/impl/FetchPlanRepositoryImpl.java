@@ -17,6 +17,7 @@ package io.jmix.core.impl;
 
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.event.FetchPlansChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import org.apache.commons.io.IOUtils;
@@ -29,6 +30,7 @@ import org.dom4j.io.SAXReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
@@ -82,6 +84,8 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     protected FetchPlans fetchPlans;
     @Autowired
     protected FetchPlanLoader fetchPlanLoader;
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
 
     protected volatile boolean initialized;
 
@@ -162,6 +166,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     @Order(JmixOrder.HIGHEST_PRECEDENCE + 40)
     public void reset() {
         initialized = false;
+        eventPublisher.publishEvent(new FetchPlansChangedEvent(this));
     }
 
     /**
@@ -379,6 +384,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
         } finally {
             lock.writeLock().unlock();
         }
+        eventPublisher.publishEvent(new FetchPlansChangedEvent(this));
     }
 
     public void deployFetchPlans(InputStream xml) {
@@ -433,6 +439,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
             return deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
         } finally {
             lock.writeLock().unlock();
+            eventPublisher.publishEvent(new FetchPlansChangedEvent(this));
         }
     }
 
@@ -17,6 +17,7 @@
 package io.jmix.core.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
 import io.jmix.core.*;
 import io.jmix.core.common.util.URLEncodeUtils;
 import org.apache.commons.io.IOUtils;
@@ -26,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -38,10 +40,21 @@ import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Component("core_FileTransferService")
@@ -49,25 +62,58 @@ public class FileTransferServiceImpl implements FileTransferService {
 
     private static final Logger log = LoggerFactory.getLogger(FileTransferServiceImpl.class);
 
+    private static final String NO_CACHE = "no-cache";
+
+    /**
+     * Maximum number of ranges served in a multipart response after overlapping and adjacent ranges are merged.
+     * The whole file is sent if more ranges are requested.
+     */
+    private static final int MAX_RANGES = 16;
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private FileStorageLocator fileStorageLocator;
 
+    @Autowired
+    private CoreProperties coreProperties;
+
+    @Override
+    public void downloadAndWriteResponse(FileRef fileReference,
+                                         String fileStorageName,
+                                         Boolean attachment,
+                                         HttpServletResponse response) throws FileTransferException {
+        downloadAndWriteResponse(fileReference, fileStorageName, attachment, null, response);
+    }
+
     @Override
     public void downloadAndWriteResponse(FileRef fileReference,
                                          String fileStorageName,
                                          Boolean attachment,
+                                         @Nullable HttpServletRequest request,
                                          HttpServletResponse response) throws FileTransferException {
         FileStorage fileStorage = getFileStorageByNameOrDefault(fileStorageName);
 
-        if (!fileStorage.fileExists(fileReference)) {
+        FileAttributes attributes = fileStorage.getFileAttributes(fileReference);
+        if (attributes == null) {
             throw new FileTransferException("File not found", "File not found. File reference: " +
                     fileReference, HttpStatus.NOT_FOUND);
         }
 
         try {
-            response.setHeader("Cache-Control", "no-cache");
-            response.setHeader("Pragma", "no-cache");
-            response.setDateHeader("Expires", 0);
+            long fileSize = attributes.getSize();
+            long lastModified = attributes.getLastModified();
+            String eTag = createETag(fileReference, attributes);
+
+            setCacheHeaders(response, fileStorage.getStorageName(), eTag, lastModified);
+            if (request != null && isNotModified(request, eTag, lastModified)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
             response.setHeader("Content-Type", fileReference.getContentType());
 
             String filename = fileReference.getFileName();
@@ -77,17 +123,223 @@ public class FileTransferServiceImpl implements FileTransferService {
             }
             response.setHeader("Content-Disposition", contentDisposition);
 
-            ServletOutputStream os = response.getOutputStream();
-            InputStream is = fileStorage.openStream(fileReference);
-            IOUtils.copy(is, os);
-            os.flush();
+            if (fileSize < 0) {
+                ServletOutputStream os = response.getOutputStream();
+                try (InputStream is = fileStorage.openStream(fileReference)) {
+                    IOUtils.copyLarge(is, os);
+                }
+                os.flush();
+                return;
+            }
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            List<HttpRange> ranges = request != null && isRangeApplicable(request, eTag, lastModified)
+                    ? parseRanges(request.getHeader(HttpHeaders.RANGE), fileSize)
+                    : Collections.emptyList();
+            if (ranges == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+                return;
+            }
 
+            Path localFile = fileStorage.getLocalFile(fileReference);
+            if (ranges.size() > 1) {
+                writeRanges(fileStorage, fileReference, localFile, ranges, fileSize, response);
+                return;
+            }
+
+            long start = 0;
+            long length = fileSize;
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(fileSize);
+                length = ranges.get(0).getRangeEnd(fileSize) - start + 1;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        String.format("bytes %d-%d/%d", start, start + length - 1, fileSize));
+            }
+            response.setContentLengthLong(length);
+
+            if (!sendFile(request, localFile, start, length)) {
+                ServletOutputStream os = response.getOutputStream();
+                writeRange(fileStorage, fileReference, localFile, start, length, os);
+                os.flush();
+            }
         } catch (Exception e) {
             log.error("Error on downloading the file {}", fileReference, e);
             throw new FileTransferException("Error on downloading the file", "", HttpStatus.INTERNAL_SERVER_ERROR, e);
         }
     }
 
+    /**
+     * Creates a strong validator of the file. Files referenced by the same {@link FileRef} normally have the same
+     * contents, the size, the modification time and the version provided by the storage are added to detect
+     * files overwritten in place.
+     */
+    private String createETag(FileRef fileReference, FileAttributes attributes) {
+        String hash = Hashing.sha256()
+                .hashString(fileReference.toString() + ":" + attributes.getSize() + ":" + attributes.getLastModified()
+                        + ":" + Strings.nullToEmpty(attributes.getVersion()), UTF_8)
+                .toString();
+        return "\"" + hash.substring(0, 32) + "\"";
+    }
+
+    private void setCacheHeaders(HttpServletResponse response, String storageName, String eTag, long lastModified) {
+        String cacheControl = coreProperties.getFileDownloadCacheControl(storageName);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (NO_CACHE.equals(cacheControl)) {
+            response.setHeader("Pragma", NO_CACHE);
+            response.setDateHeader(HttpHeaders.EXPIRES, 0);
+        }
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        if (lastModified >= 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match uses weak comparison and takes precedence over If-Modified-Since
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.equals("*") || StringUtils.removeStart(tag, "W/").equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return lastModified >= 0 && ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        if (request.getHeader(HttpHeaders.RANGE) == null) {
+            return false;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires strong comparison, weak tags never match
+            return ifRange.equals(eTag);
+        }
+        long date = getDateHeader(request, HttpHeaders.IF_RANGE);
+        return lastModified >= 0 && date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses requested ranges and merges overlapping and adjacent ones, so that each byte is read once.
+     * A syntactically invalid header is ignored as required by RFC 7233, unsatisfiable ranges are skipped.
+     *
+     * @return ranges ordered by their positions, empty list if the whole file should be sent because the header
+     * is invalid or too many ranges are requested, or null if none of the ranges is satisfiable
+     */
+    @Nullable
+    private List<HttpRange> parseRanges(String rangeHeader, long fileSize) {
+        List<HttpRange> requestedRanges;
+        try {
+            requestedRanges = HttpRange.parseRanges(rangeHeader);
+            if (requestedRanges.isEmpty()) {
+                throw new IllegalArgumentException("No ranges");
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid Range header '{}' is ignored, the whole file is sent", rangeHeader);
+            return Collections.emptyList();
+        }
+
+        List<long[]> bounds = new ArrayList<>();
+        for (HttpRange range : requestedRanges) {
+            try {
+                bounds.add(new long[]{range.getRangeStart(fileSize), range.getRangeEnd(fileSize)});
+            } catch (IllegalArgumentException e) {
+                log.debug("Range '{}' is not satisfiable for file with size {}", range, fileSize);
+            }
+        }
+        if (bounds.isEmpty()) {
+            return null;
+        }
+
+        bounds.sort(Comparator.comparingLong(b -> b[0]));
+        List<HttpRange> ranges = new ArrayList<>();
+        long[] current = bounds.get(0);
+        for (long[] next : bounds.subList(1, bounds.size())) {
+            if (next[0] <= current[1] + 1) {
+                current[1] = Math.max(current[1], next[1]);
+            } else {
+                ranges.add(HttpRange.createByteRange(current[0], current[1]));
+                current = next;
+            }
+        }
+        ranges.add(HttpRange.createByteRange(current[0], current[1]));
+
+        if (ranges.size() > MAX_RANGES) {
+            log.debug("Too many ranges '{}' requested, the whole file is sent", rangeHeader);
+            return Collections.emptyList();
+        }
+        return ranges;
+    }
+
+    private void writeRanges(FileStorage fileStorage, FileRef fileReference, @Nullable Path localFile,
+                             List<HttpRange> ranges, long fileSize, HttpServletResponse response) throws IOException {
+        String boundary = "JMIX_BYTERANGES_" + UuidProvider.createUuid().toString().replace("-", "");
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader("Content-Type", "multipart/byteranges; boundary=" + boundary);
+
+        ServletOutputStream os = response.getOutputStream();
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(fileSize);
+            long end = range.getRangeEnd(fileSize);
+
+            String partHeaders = "\r\n--" + boundary + "\r\n"
+                    + "Content-Type: " + fileReference.getContentType() + "\r\n"
+                    + String.format("Content-Range: bytes %d-%d/%d\r\n\r\n", start, end, fileSize);
+            os.write(partHeaders.getBytes(US_ASCII));
+            writeRange(fileStorage, fileReference, localFile, start, end - start + 1, os);
+        }
+        os.write(("\r\n--" + boundary + "--\r\n").getBytes(US_ASCII));
+        os.flush();
+    }
+
+    private void writeRange(FileStorage fileStorage, FileRef fileReference, @Nullable Path localFile,
+                            long start, long length, OutputStream os) throws IOException {
+        if (localFile != null) {
+            // reads the range from its position in the local file instead of skipping the preceding bytes
+            try (FileChannel channel = FileChannel.open(localFile, StandardOpenOption.READ)) {
+                channel.position(start);
+                IOUtils.copyLarge(Channels.newInputStream(channel), os, 0, length);
+            }
+        } else {
+            try (InputStream is = fileStorage.openStream(fileReference, start)) {
+                IOUtils.copyLarge(is, os, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Delegates sending of a local file to the servlet container if it supports sendfile, so the file is written
+     * to the socket by the operating system.
+     */
+    private boolean sendFile(@Nullable HttpServletRequest request, @Nullable Path localFile, long start, long length) {
+        if (request == null || localFile == null
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, localFile.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+        request.setAttribute(SENDFILE_END_ATTRIBUTE, start + length);
+        return true;
+    }
+
     private String getContentDispositionFilename(String filename) {
         String encodedFilename = rfc5987Encode(filename);
 
@@ -16,6 +16,8 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.constraint.AccessConstraint;
@@ -38,6 +40,7 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Primary
 @Component("core_UnconstrainedDataManager")
@@ -49,6 +52,8 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final int LOAD_STREAM_REFERENCES_BATCH_SIZE = 100;
+
     @Autowired
     protected Metadata metadata;
 
@@ -73,6 +78,9 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
     @Autowired
     protected ObjectProvider<FluentValuesLoader> fluentValuesLoaderProvider;
 
+    @Autowired
+    protected ObjectProvider<FluentBulkOperation> fluentBulkOperationProvider;
+
     @Autowired
     protected ObjectProvider<CrossDataStoreReferenceLoader> crossDataStoreReferenceLoaderProvider;
 
@@ -115,6 +123,28 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return entities;
     }
 
+    @Override
+    public <E> Stream<E> loadStream(LoadContext<E> context) {
+        MetaClass metaClass = getEffectiveMetaClassFromContext(context);
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        @SuppressWarnings("unchecked")
+        Stream<E> entities = (Stream<E>) storage.loadStream(context);
+
+        if (stores.getAdditional().isEmpty() || context.getFetchPlan() == null) {
+            return entities;
+        }
+        // references to other data stores are loaded for batches of the stream entities
+        return Streams.stream(Iterators.partition(entities.iterator(), LOAD_STREAM_REFERENCES_BATCH_SIZE))
+                .flatMap(batch -> {
+                    readCrossDataStoreReferences(batch, context.getFetchPlan(), metaClass, context.isJoinTransaction());
+                    return batch.stream();
+                })
+                .onClose(entities::close);
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         MetaClass metaClass = getEffectiveMetaClassFromContext(context);
@@ -310,6 +340,33 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return fluentValueLoader;
     }
 
+    @Override
+    public long executeBulkOperation(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        return storage.executeBulkOperation(context);
+    }
+
+    @Override
+    public <E> FluentBulkOperation<E> bulkUpdate(Class<E> entityClass) {
+        return createFluentBulkOperation(entityClass, BulkOperationContext.Type.UPDATE);
+    }
+
+    @Override
+    public <E> FluentBulkOperation<E> bulkDelete(Class<E> entityClass) {
+        return createFluentBulkOperation(entityClass, BulkOperationContext.Type.DELETE);
+    }
+
+    protected <E> FluentBulkOperation<E> createFluentBulkOperation(Class<E> entityClass, BulkOperationContext.Type type) {
+        //noinspection unchecked
+        FluentBulkOperation<E> fluentBulkOperation = fluentBulkOperationProvider.getObject(entityClass, type);
+        fluentBulkOperation.setDataManager(this);
+        return fluentBulkOperation;
+    }
+
     protected SaveContext createSaveContext(SaveContext context) {
         SaveContext newCtx = new SaveContext();
         newCtx.setHints(context.getHints());
@@ -131,6 +131,24 @@ public class EntitySerializationImpl implements EntitySerialization {
         return (T) createGsonForDeserialization(metaClass, options).fromJson(json, Entity.class);
     }
 
+    /**
+     * Deserializes an already parsed JSON object to the entity. Works like the {@link #entityFromJson(String,
+     * MetaClass, EntitySerializationOption...)} method, but doesn't parse the JSON text again if the caller also
+     * needs the JSON tree.
+     *
+     * @param json      a JSON object
+     * @param metaClass a metaClass of the entity that will be created
+     * @param options   options specifying how a JSON object graph was serialized
+     * @return an entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T entityFromJson(JsonElement json,
+                                @Nullable MetaClass metaClass,
+                                EntitySerializationOption... options) {
+        context.remove();
+        return (T) createGsonForDeserialization(metaClass, options).fromJson(json, Entity.class);
+    }
+
     @Override
     public <T> Collection<T> entitiesCollectionFromJson(String json,
                                                         @Nullable MetaClass metaClass,
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package file_storage;
+
+import io.jmix.core.CoreConfiguration;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileTransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.addon1.TestAddon1Configuration;
+import test_support.app.TestAppConfiguration;
+import test_support.app.TestFileStorage;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {CoreConfiguration.class, TestAddon1Configuration.class, TestAppConfiguration.class})
+public class FileTransferServiceTest {
+
+    private static final String CONTENT = "0123456789abcdef";
+
+    @Autowired
+    TestFileStorage fileStorage;
+
+    @Autowired
+    FileTransferService fileTransferService;
+
+    FileRef fileRef;
+
+    @BeforeEach
+    void setUp() {
+        fileRef = fileStorage.saveStream("test.txt", new ByteArrayInputStream(CONTENT.getBytes()));
+    }
+
+    @Test
+    void testWholeFile() throws Exception {
+        MockHttpServletResponse response = download(new MockHttpServletRequest());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNotNull(response.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void testSingleRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/16", response.getHeader("Content-Range"));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    @Test
+    void testSuffixRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("def", response.getContentAsString());
+        assertEquals("bytes 13-15/16", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testMultipleRanges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=0-1,10-");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+        String body = response.getContentAsString();
+        assertTrue(body.contains("Content-Range: bytes 0-1/16\r\n\r\n01\r\n"));
+        assertTrue(body.contains("Content-Range: bytes 10-15/16\r\n\r\nabcdef\r\n"));
+        assertTrue(body.endsWith("--\r\n"));
+    }
+
+    @Test
+    void testOverlappingRangesMerged() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=4-7,0-5,8-9");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("bytes 0-9/16", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testTooManyRangesIgnored() throws Exception {
+        fileRef = fileStorage.saveStream("large.txt", new ByteArrayInputStream(CONTENT.repeat(4).getBytes()));
+        StringBuilder rangeHeader = new StringBuilder("bytes=");
+        for (int i = 0; i < 20; i++) {
+            rangeHeader.append(i > 0 ? "," : "").append(i * 3).append('-').append(i * 3);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", rangeHeader.toString());
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT.repeat(4), response.getContentAsString());
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=100-200");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */16", response.getHeader("Content-Range"));
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void testInvalidRangeIgnored() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=abc");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertNull(response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testUnsatisfiableRangeSkipped() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=100-200,2-5");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/16", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void testNotModified() throws Exception {
+        String eTag = download(new MockHttpServletRequest()).getHeader("ETag");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", eTag);
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(eTag, response.getHeader("ETag"));
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void testRangeIgnoredIfValidatorDoesNotMatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"other\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileTransferService.downloadAndWriteResponse(fileRef, fileStorage.getStorageName(), false, request, response);
+        return response;
+    }
+}
@@ -19,7 +19,9 @@ package test_support;
 import io.jmix.core.CoreProperties;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class TestCoreProperties extends CoreProperties {
 
@@ -42,13 +44,17 @@ public class TestCoreProperties extends CoreProperties {
                               boolean triggerFilesEnabled,
                               Duration triggerFilesProcessInterval,
                               boolean roundDecimalValueByFormat,
-                              boolean skipNullOrEmptyConditionsByDefault) {
+                              boolean skipNullOrEmptyConditionsByDefault,
+                              int crossDataStoreReferenceLoadingParallelism,
+                              String fileDownloadCacheControl,
+                              Map<String, String> fileStorageDownloadCacheControl) {
         super(webHostName, webPort, confDir, workDir, tempDir, dbDir, availableLocales,
                 crossDataStoreReferenceLoadingBatchSize, idGenerationForEntitiesInAdditionalDataStoresEnabled,
                 dom4jMaxPoolSize, dom4jMaxBorrowWaitMillis, anonymousAuthenticationTokenKey, defaultFileStorage,
                 entitySerializationTokenRequired, entitySerializationTokenEncryptionKey,
                 legacyFetchPlanSerializationAttributeName, triggerFilesEnabled, triggerFilesProcessInterval,
-                roundDecimalValueByFormat, skipNullOrEmptyConditionsByDefault);
+                roundDecimalValueByFormat, skipNullOrEmptyConditionsByDefault,
+                crossDataStoreReferenceLoadingParallelism, fileDownloadCacheControl, fileStorageDownloadCacheControl);
     }
 
     public static Builder builder() {
@@ -76,6 +82,9 @@ public class TestCoreProperties extends CoreProperties {
         Duration triggerFilesProcessInterval = Duration.ofSeconds(5000);
         boolean roundDecimalValueByFormat = true;
         boolean skipNullOrEmptyConditionsByDefault = false;
+        int crossDataStoreReferenceLoadingParallelism = 1;
+        String fileDownloadCacheControl = "no-cache";
+        Map<String, String> fileStorageDownloadCacheControl = Collections.emptyMap();
 
         public Builder setWebHostName(String webHostName) {
             this.webHostName = webHostName;
@@ -177,6 +186,21 @@ public class TestCoreProperties extends CoreProperties {
             return this;
         }
 
+        public Builder setCrossDataStoreReferenceLoadingParallelism(int crossDataStoreReferenceLoadingParallelism) {
+            this.crossDataStoreReferenceLoadingParallelism = crossDataStoreReferenceLoadingParallelism;
+            return this;
+        }
+
+        public Builder setFileDownloadCacheControl(String fileDownloadCacheControl) {
+            this.fileDownloadCacheControl = fileDownloadCacheControl;
+            return this;
+        }
+
+        public Builder setFileStorageDownloadCacheControl(Map<String, String> fileStorageDownloadCacheControl) {
+            this.fileStorageDownloadCacheControl = fileStorageDownloadCacheControl;
+            return this;
+        }
+
         public TestCoreProperties build() {
             return new TestCoreProperties(
                     this.webHostName,
@@ -198,7 +222,10 @@ public class TestCoreProperties extends CoreProperties {
                     this.triggerFilesEnabled,
                     this.triggerFilesProcessInterval,
                     this.roundDecimalValueByFormat,
-                    this.skipNullOrEmptyConditionsByDefault);
+                    this.skipNullOrEmptyConditionsByDefault,
+                    this.crossDataStoreReferenceLoadingParallelism,
+                    this.fileDownloadCacheControl,
+                    this.fileStorageDownloadCacheControl);
         }
     }
 }
@@ -69,6 +69,12 @@ public class TestFileStorage implements FileStorage {
         return new ByteArrayInputStream(bytes);
     }
 
+    @Override
+    public long getFileSize(FileRef reference) {
+        byte[] bytes = files.get(reference);
+        return bytes == null ? -1 : bytes.length;
+    }
+
     @Override
     public void removeFile(FileRef reference) {
         files.remove(reference);
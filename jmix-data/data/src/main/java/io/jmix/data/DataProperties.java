@@ -27,6 +27,38 @@ public class DataProperties {
     int numberIdCacheSize;
     boolean useEntityDataStoreForIdSequence;
 
+    /**
+     * Whether the next block of cached number ids is obtained from the database sequence in background before
+     * the current block is exhausted.
+     */
+    boolean numberIdPrefetchEnabled;
+
+    /**
+     * Maximum number of id blocks prefetched in advance for a sequence. The actual number adapts to the observed rate
+     * of id generation.
+     */
+    int numberIdPrefetchMaxBlocks;
+
+    /**
+     * Number of rows fetched from the database at once when entities are loaded as a stream. Loaded entities are
+     * passed to load events and detached by chunks of this size.
+     */
+    int loadStreamFetchSize;
+
+    /**
+     * Number of entities flushed to the database and detached from the persistence context at once when a save
+     * context is saved in the bulk save mode.
+     *
+     * @see PersistenceHints#BULK_SAVE
+     */
+    int bulkSaveBatchSize;
+
+    /**
+     * Maximum number of JPQL query strings produced by applying conditions, sorting, count and distinct
+     * transformations which are cached to avoid repeated parsing. 0 disables the cache.
+     */
+    int jpqlQueryCacheSize;
+
     /**
      * Overridden pattern to parse Unique Constraint Violation exception
      */
@@ -38,12 +70,22 @@ public class DataProperties {
             @DefaultValue("100") int numberIdCacheSize,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("false") boolean numberIdPrefetchEnabled,
+            @DefaultValue("8") int numberIdPrefetchMaxBlocks,
+            @DefaultValue("500") int loadStreamFetchSize,
+            @DefaultValue("500") int bulkSaveBatchSize,
+            @DefaultValue("1000") int jpqlQueryCacheSize) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.numberIdPrefetchEnabled = numberIdPrefetchEnabled;
+        this.numberIdPrefetchMaxBlocks = numberIdPrefetchMaxBlocks;
+        this.loadStreamFetchSize = loadStreamFetchSize;
+        this.bulkSaveBatchSize = bulkSaveBatchSize;
+        this.jpqlQueryCacheSize = jpqlQueryCacheSize;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -58,6 +100,41 @@ public class DataProperties {
         return useEntityDataStoreForIdSequence;
     }
 
+    /**
+     * @see #numberIdPrefetchEnabled
+     */
+    public boolean isNumberIdPrefetchEnabled() {
+        return numberIdPrefetchEnabled;
+    }
+
+    /**
+     * @see #numberIdPrefetchMaxBlocks
+     */
+    public int getNumberIdPrefetchMaxBlocks() {
+        return numberIdPrefetchMaxBlocks;
+    }
+
+    /**
+     * @see #loadStreamFetchSize
+     */
+    public int getLoadStreamFetchSize() {
+        return loadStreamFetchSize;
+    }
+
+    /**
+     * @see #bulkSaveBatchSize
+     */
+    public int getBulkSaveBatchSize() {
+        return bulkSaveBatchSize;
+    }
+
+    /**
+     * @see #jpqlQueryCacheSize
+     */
+    public int getJpqlQueryCacheSize() {
+        return jpqlQueryCacheSize;
+    }
+
     /**
      * @see #uniqueConstraintViolationPattern
      */
@@ -53,6 +53,40 @@ public class PersistenceHints {
      */
     public static final String MSSQL_RECOMPILE_HINT = "jmix.mssql.recompile";
 
+    /**
+     * Defines a Jmix save context hint which enables the bulk save mode for large numbers of entities.
+     * <p>Entities are saved by chunks of {@code jmix.data.bulk-save-batch-size} instances: each chunk is flushed
+     * to the database and detached from the persistence context before the next one is processed, so the memory
+     * used by the persistence context doesn't grow with the number of entities. Changes collected for
+     * {@code EntityChangedEvent}s till the end of the transaction keep only ids of the saved entities.
+     * New entities are persisted in the order they are added to the save context, so a new entity must be added
+     * after the new entities it references.
+     * <p>Inserts and updates of a chunk are sent in JDBC batches if batch writing is enabled for the persistence unit
+     * by the {@code jmix.eclipselink.jdbc-batch-writing-enabled} property. Numeric ids are assigned when entities are
+     * created, and the number of ids allocated at once is defined by {@code jmix.data.number-id-cache-size}.
+     * <p>Entity listeners and the entity log are invoked for each entity when its chunk is flushed.
+     * The saved instances are returned without reloading.
+     * <p>Usage examples:
+     * <pre>
+     *    saveContext.setHint(PersistenceHints.BULK_SAVE, true);
+     * </pre>
+     */
+    public static final String BULK_SAVE = "jmix.bulkSave";
+
+    /**
+     * Defines a Jmix save context hint which replaces per-entity events by batched ones in the bulk save mode
+     * (see {@link #BULK_SAVE}). If set to {@code true}, a single {@code EntityBulkSavingEvent} is sent for the entities
+     * of the same type in a chunk instead of {@code EntitySavingEvent} for each of them, and a single
+     * {@code EntityBulkChangedEvent} is sent for the created and for the updated entities of the same type instead of
+     * {@code EntityChangedEvent} for each of them.
+     * <p>Usage examples:
+     * <pre>
+     *    saveContext.setHint(PersistenceHints.BULK_SAVE, true);
+     *    saveContext.setHint(PersistenceHints.BULK_SAVE_BATCHED_EVENTS, true);
+     * </pre>
+     */
+    public static final String BULK_SAVE_BATCHED_EVENTS = "jmix.bulkSave.batchedEvents";
+
     public static boolean isSoftDeletion(EntityManager entityManager) {
         Boolean softDeletion = (Boolean) entityManager.getProperties().get(SOFT_DELETION);
         return softDeletion == null || softDeletion;
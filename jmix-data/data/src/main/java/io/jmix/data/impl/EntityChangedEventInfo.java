@@ -16,16 +16,20 @@
 
 package io.jmix.data.impl;
 
+import io.jmix.core.Id;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.event.AttributeChanges;
 import io.jmix.core.event.EntityChangedEvent;
 
+import org.springframework.lang.Nullable;
+
 import static io.jmix.core.event.EntityChangedEvent.Type.CREATED;
 import static io.jmix.core.event.EntityChangedEvent.Type.DELETED;
 
 public class EntityChangedEventInfo {
     private final Object source;
-    private final Object entity;
+    private Object entity;
+    private Id<?> entityId;
     private EntityChangedEvent.Type type;
     private AttributeChanges changes;
     private MetaClass originalMetaClass;
@@ -46,10 +50,29 @@ public class EntityChangedEventInfo {
         return source;
     }
 
+    /**
+     * @return the changed entity or null if it has been released by {@link #releaseEntity()}
+     */
+    @Nullable
     public Object getEntity() {
         return entity;
     }
 
+    public Id<?> getEntityId() {
+        return entityId != null ? entityId : Id.of(entity);
+    }
+
+    /**
+     * Replaces the reference to the changed entity by its id, so that the entity is not kept in memory till the
+     * event is published. Must be invoked after the id of a new entity is assigned.
+     */
+    public void releaseEntity() {
+        if (entity != null) {
+            entityId = Id.of(entity);
+            entity = null;
+        }
+    }
+
     public MetaClass getOriginalMetaClass() {
         return originalMetaClass;
     }
@@ -76,7 +99,7 @@ public class EntityChangedEventInfo {
     @Override
     public String toString() {
         return "EntityChangedEventInfo{" +
-                "entity=" + entity +
+                "entity=" + (entity != null ? entity : entityId) +
                 ", type=" + type +
                 ", changes=" + changes +
                 '}';
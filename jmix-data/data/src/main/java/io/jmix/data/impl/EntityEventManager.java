@@ -18,6 +18,9 @@ package io.jmix.data.impl;
 
 import io.jmix.core.ExtendedEntities;
 import io.jmix.core.Metadata;
+import io.jmix.core.event.EntityBulkChangedEvent;
+import io.jmix.core.event.EntityBulkSavingEvent;
+import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.event.EntityLoadingEvent;
 import io.jmix.core.event.EntitySavingEvent;
 import io.jmix.core.metamodel.model.MetaClass;
@@ -25,6 +28,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+
 @Component("data_EntityEventManager")
 public class EntityEventManager {
 
@@ -42,6 +47,27 @@ public class EntityEventManager {
         applicationEventPublisher.publishEvent(event);
     }
 
+    /**
+     * Publishes {@link EntityBulkSavingEvent} for each type of the passed entities.
+     */
+    public void publishEntityBulkSavingEvents(Collection<?> entities, boolean isNew) {
+        Map<MetaClass, List<Object>> entitiesByMetaClass = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            entitiesByMetaClass.computeIfAbsent(getOriginalMetaClass(entity), metaClass -> new ArrayList<>()).add(entity);
+        }
+        for (Map.Entry<MetaClass, List<Object>> entry : entitiesByMetaClass.entrySet()) {
+            EntityBulkSavingEvent<?> event = new EntityBulkSavingEvent<>(this, entry.getKey(), entry.getValue(), isNew);
+            applicationEventPublisher.publishEvent(event);
+        }
+    }
+
+    public void publishEntityBulkChangedEvent(MetaClass metaClass, EntityChangedEvent.Type type,
+                                              Set<String> attributes, long count) {
+        EntityBulkChangedEvent<?> event = new EntityBulkChangedEvent<>(this,
+                extendedEntities.getOriginalOrThisMetaClass(metaClass), type, attributes, count);
+        applicationEventPublisher.publishEvent(event);
+    }
+
     public void publishEntityLoadingEvent(Object entity) {
         EntityLoadingEvent<?> event = new EntityLoadingEvent<>(this, getOriginalMetaClass(entity), entity);
         applicationEventPublisher.publishEvent(event);
@@ -26,14 +26,18 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.JpqlCondition;
 import io.jmix.core.querycondition.LogicalCondition;
 import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.core.querycondition.PropertyConditionUtils;
 import io.jmix.data.JmixQuery;
 import io.jmix.data.QueryTransformer;
 import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.impl.jpql.generator.ConditionGenerationContext;
+import io.jmix.data.impl.jpql.generator.ConditionGeneratorResolver;
 import io.jmix.data.impl.jpql.generator.ConditionJpqlGenerator;
 import io.jmix.data.impl.jpql.generator.ParameterJpqlGenerator;
+import io.jmix.data.impl.jpql.generator.PropertyConditionGenerator;
 import io.jmix.data.impl.jpql.generator.SortJpqlGenerator;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
@@ -45,6 +49,8 @@ import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +60,12 @@ import java.util.stream.Collectors;
 @Scope("prototype")
 public class JpqlQueryBuilder<Q extends JmixQuery> {
 
+    /**
+     * Prefix of parameter aliases in cached queries. It can't start a parameter name, so aliases never
+     * clash with parameters of the source query.
+     */
+    protected static final String PARAMETER_ALIAS_PREFIX = "#";
+
     protected Object id;
     protected List<?> ids;
 
@@ -74,6 +86,7 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
 
     protected String resultQuery;
     protected Map<String, Object> resultParameters;
+    protected Set<String> resultParameterNames;
 
     protected boolean distinct;
 
@@ -104,6 +117,12 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
     @Autowired
     protected CoreProperties coreProperties;
 
+    @Autowired
+    protected JpqlQueryCache jpqlQueryCache;
+
+    @Autowired
+    protected ConditionGeneratorResolver conditionGeneratorResolver;
+
     public JpqlQueryBuilder setId(@Nullable Object id) {
         this.id = id;
         return this;
@@ -187,7 +206,7 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         //we need to replace a parameter with number of days with its value before macros is expanded to JPQL expression
         replaceParamsInMacros(query);
 
-        Set<String> paramNames = queryTransformerFactory.parser(getResultQueryString()).getParamNames();
+        Set<String> paramNames = getResultParameterNames();
 
         for (Map.Entry<String, Object> entry : getResultParameters().entrySet()) {
             String name = entry.getKey();
@@ -213,6 +232,16 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         return query;
     }
 
+    /**
+     * Returns names of parameters used in the result query.
+     */
+    protected Set<String> getResultParameterNames() {
+        if (resultParameterNames == null) {
+            resultParameterNames = queryTransformerFactory.parser(getResultQueryString()).getParamNames();
+        }
+        return resultParameterNames;
+    }
+
     protected void buildResultQuery() {
         resultQuery = queryString;
         resultParameters = queryParameters;
@@ -230,48 +259,250 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
                 }
             }
         }
-        applyFiltering();
-        applySorting();
-        applyDistinct();
-        applyCount();
-        restrictByPreviousResults();
+
+        Condition filterCondition = condition != null ? applyConditionParameters() : null;
+
+        Map<String, String> parameterAliases = new HashMap<>();
+        String cacheKey = previousResults ? null : createCacheKey(filterCondition, parameterAliases);
+        if (cacheKey != null) {
+            String sourceQuery = resultQuery;
+            JpqlQueryCache.CachedQuery cachedQuery = jpqlQueryCache.get(cacheKey, () -> {
+                String query = transformQuery(sourceQuery, filterCondition);
+                Set<String> parameterNames = queryTransformerFactory.parser(query).getParamNames();
+                // the cached query refers to condition parameters by aliases independent of their actual names
+                return new JpqlQueryCache.CachedQuery(renameParameters(query, parameterAliases),
+                        renameParameterNames(parameterNames, parameterAliases));
+            });
+            Map<String, String> actualNames = parameterAliases.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+            resultQuery = renameParameters(cachedQuery.getQueryString(), actualNames);
+            resultParameterNames = renameParameterNames(cachedQuery.getParameterNames(), actualNames);
+        } else {
+            resultQuery = transformQuery(resultQuery, filterCondition);
+            restrictByPreviousResults();
+        }
     }
 
-    protected void applySorting() {
+    /**
+     * Applies the condition, sorting, distinct and count transformations to the query. The result depends only on
+     * the arguments and the builder properties included in the {@link #createCacheKey(Condition, Map) cache key}.
+     */
+    protected String transformQuery(String query, @Nullable Condition filterCondition) {
+        query = applyFiltering(query, filterCondition);
+        query = applySorting(query);
+        query = applyDistinct(query);
+        return applyCount(query);
+    }
+
+    protected String applySorting(String query) {
         if (sort != null) {
-            resultQuery = sortJpqlGenerator.processQuery(entityName, valueProperties, resultQuery, sort);
+            return sortJpqlGenerator.processQuery(entityName, valueProperties, query, sort);
         }
+        return query;
     }
 
-    protected void applyFiltering() {
-        if (condition != null) {
-            Set<String> nonNullParamNames = queryParameters.entrySet().stream()
-                    .filter(e ->
-                            e.getValue() != null &&
-                                    !(e.getValue() instanceof TemporalValue && ((TemporalValue) e.getValue()).date == null))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toSet());
+    protected String applyFiltering(String query, @Nullable Condition filterCondition) {
+        return conditionJpqlGenerator.processQuery(query, createConditionGenerationContext(filterCondition));
+    }
+
+    /**
+     * Removes parts of the condition having no parameter values and prepares values of the condition parameters.
+     *
+     * @return condition to add to the query, or null if nothing should be added
+     */
+    @Nullable
+    protected Condition applyConditionParameters() {
+        Set<String> nonNullParamNames = queryParameters.entrySet().stream()
+                .filter(e ->
+                        e.getValue() != null &&
+                                !(e.getValue() instanceof TemporalValue && ((TemporalValue) e.getValue()).date == null))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        // keep parameters that can be assigned by a QueryParamValueProvider
+        for (String parameter : condition.getParameters()) {
+            if (queryParamValuesManager.supports(parameter)) {
+                nonNullParamNames.add(parameter);
+            }
+        }
+
+        Condition actualized = condition.actualize(nonNullParamNames, coreProperties.isSkipNullOrEmptyConditionsByDefault());
+        Set<String> excludedParameters = condition.getExcludedParameters(nonNullParamNames);
+        resultParameters.entrySet().removeIf(e -> excludedParameters.contains(e.getKey()));
+
+        if (actualized != null) {
+            resultParameters = conditionParameterJpqlGenerator
+                    .processParameters(resultParameters, queryParameters, actualized, entityName);
+        }
+
+        return removeNonJpaPropertyConditions(actualized);
+    }
+
+    /**
+     * Creates the key of the transformed query in {@link JpqlQueryCache}.
+     *
+     * @param parameterAliases receives aliases of condition parameters used in the key instead of their names
+     * @return the key or null if the query can't be cached
+     */
+    @Nullable
+    protected String createCacheKey(@Nullable Condition filterCondition, Map<String, String> parameterAliases) {
+        if (resultQuery == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        appendKeyPart(key, resultQuery);
+        appendKeyPart(key, entityName);
+        appendKeyPart(key, valueProperties == null ? null : String.join(",", valueProperties));
+        if (filterCondition == null) {
+            appendKeyPart(key, null);
+        } else {
+            parameterAliases.putAll(createParameterAliases(filterCondition));
+            String conditionKey = createConditionKey(filterCondition, parameterAliases);
+            if (conditionKey == null) {
+                return null;
+            }
+            appendKeyPart(key, conditionKey);
+        }
+        if (sort == null) {
+            appendKeyPart(key, null);
+        } else {
+            StringBuilder sortKey = new StringBuilder();
+            for (Sort.Order order : sort.getOrders()) {
+                appendKeyPart(sortKey, order.getProperty());
+                sortKey.append(order.getDirection());
+            }
+            appendKeyPart(key, sortKey.toString());
+        }
+        key.append(distinct ? 'D' : '-').append(countQuery ? 'C' : '-');
+        return key.toString();
+    }
 
-            // keep parameters that can be assigned by a QueryParamValueProvider
-            for (String parameter : condition.getParameters()) {
-                if (queryParamValuesManager.supports(parameter)) {
-                    nonNullParamNames.add(parameter);
+    /**
+     * Creates the part of the cache key describing the JPQL generated for the condition.
+     *
+     * @return the key or null if the generated JPQL can depend on something other than the condition structure
+     */
+    @Nullable
+    protected String createConditionKey(Condition condition, Map<String, String> parameterAliases) {
+        StringBuilder key = new StringBuilder();
+        if (condition instanceof LogicalCondition logicalCondition) {
+            key.append(logicalCondition.getType()).append('(');
+            for (Condition nestedCondition : logicalCondition.getConditions()) {
+                String nestedKey = createConditionKey(nestedCondition, parameterAliases);
+                if (nestedKey == null) {
+                    return null;
                 }
+                appendKeyPart(key, nestedKey);
+            }
+            key.append(')');
+        } else if (condition.getClass() == PropertyCondition.class) {
+            PropertyCondition propertyCondition = (PropertyCondition) condition;
+            if (PropertyConditionUtils.isInIntervalOperation(propertyCondition)
+                    || !isGeneratedByStructure(propertyCondition)) {
+                return null;
+            }
+            key.append("P(");
+            appendKeyPart(key, propertyCondition.getProperty());
+            appendKeyPart(key, propertyCondition.getOperation());
+            if (PropertyConditionUtils.isUnaryOperation(propertyCondition)) {
+                // the parameter is not used, the value defines the operation, e.g. "is null" or "is not null"
+                key.append(Boolean.TRUE.equals(propertyCondition.getParameterValue()));
+            } else {
+                String parameterName = propertyCondition.getParameterName();
+                appendKeyPart(key, parameterAliases.getOrDefault(parameterName, parameterName));
             }
+            key.append(')');
+        } else if (condition.getClass() == JpqlCondition.class) {
+            JpqlCondition jpqlCondition = (JpqlCondition) condition;
+            key.append("J(");
+            appendKeyPart(key, jpqlCondition.getWhere());
+            appendKeyPart(key, jpqlCondition.getJoin());
+            key.append(')');
+        } else {
+            return null;
+        }
+        return key.toString();
+    }
 
-            Condition actualized = condition.actualize(nonNullParamNames, coreProperties.isSkipNullOrEmptyConditionsByDefault());
-            Set<String> excludedParameters = condition.getExcludedParameters(nonNullParamNames);
-            resultParameters.entrySet().removeIf(e -> excludedParameters.contains(e.getKey()));
+    /**
+     * Checks that JPQL of the property condition is generated by the standard {@link PropertyConditionGenerator}
+     * and therefore depends only on the condition structure. Other generators can use data that changes at runtime,
+     * e.g. metadata of dynamic attributes, so their conditions are not cached.
+     */
+    protected boolean isGeneratedByStructure(PropertyCondition propertyCondition) {
+        return conditionGeneratorResolver.getConditionGenerator(createConditionGenerationContext(propertyCondition))
+                .getClass() == PropertyConditionGenerator.class;
+    }
 
-            if (actualized != null) {
-                resultParameters = conditionParameterJpqlGenerator
-                        .processParameters(resultParameters, queryParameters, actualized, entityName);
+    /**
+     * Assigns positional aliases to parameters of property conditions, because their names are often generated
+     * randomly. A parameter keeps its name if it's also referenced by the query or by a JPQL condition.
+     *
+     * @return map of parameter names to aliases
+     */
+    protected Map<String, String> createParameterAliases(Condition condition) {
+        List<String> parameterNames = new ArrayList<>();
+        List<String> jpqlParts = new ArrayList<>();
+        jpqlParts.add(resultQuery);
+        collectConditionParts(condition, parameterNames, jpqlParts);
+
+        Map<String, String> aliases = new HashMap<>();
+        int index = 0;
+        for (String parameterName : parameterNames) {
+            if (parameterName == null || aliases.containsKey(parameterName)) {
+                continue;
+            }
+            String reference = ":" + parameterName;
+            if (jpqlParts.stream().noneMatch(part -> part != null && part.contains(reference))) {
+                aliases.put(parameterName, PARAMETER_ALIAS_PREFIX + index++);
             }
+        }
+        return aliases;
+    }
 
-            Condition jpaOnlyCondition = removeNonJpaPropertyConditions(actualized);
+    protected void collectConditionParts(Condition condition, List<String> parameterNames, List<String> jpqlParts) {
+        if (condition instanceof LogicalCondition logicalCondition) {
+            for (Condition nestedCondition : logicalCondition.getConditions()) {
+                collectConditionParts(nestedCondition, parameterNames, jpqlParts);
+            }
+        } else if (condition instanceof PropertyCondition propertyCondition) {
+            if (!PropertyConditionUtils.isUnaryOperation(propertyCondition)) {
+                parameterNames.add(propertyCondition.getParameterName());
+            }
+        } else if (condition instanceof JpqlCondition jpqlCondition) {
+            jpqlParts.add(jpqlCondition.getWhere());
+            jpqlParts.add(jpqlCondition.getJoin());
+        }
+    }
+
+    /**
+     * Replaces references to parameters in the query according to the provided map of old names to new ones.
+     */
+    protected String renameParameters(String query, Map<String, String> names) {
+        if (names.isEmpty()) {
+            return query;
+        }
+        String alternatives = names.keySet().stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+        Matcher matcher = Pattern.compile(":(" + alternatives + ")(?![\\w$])").matcher(query);
+        return matcher.replaceAll(match -> Matcher.quoteReplacement(":" + names.get(match.group(1))));
+    }
 
-            resultQuery = conditionJpqlGenerator
-                    .processQuery(resultQuery, createConditionGenerationContext(jpaOnlyCondition));
+    protected Set<String> renameParameterNames(Set<String> parameterNames, Map<String, String> names) {
+        if (names.isEmpty()) {
+            return parameterNames;
+        }
+        return parameterNames.stream()
+                .map(name -> names.getOrDefault(name, name))
+                .collect(Collectors.toSet());
+    }
+
+    protected void appendKeyPart(StringBuilder key, @Nullable String value) {
+        if (value == null) {
+            key.append("-1:");
+        } else {
+            key.append(value.length()).append(':').append(value);
         }
     }
 
@@ -326,20 +557,22 @@ public class JpqlQueryBuilder<Q extends JmixQuery> {
         return generationContext;
     }
 
-    protected void applyCount() {
+    protected String applyCount(String query) {
         if (countQuery) {
-            QueryTransformer transformer = queryTransformerFactory.transformer(resultQuery);
+            QueryTransformer transformer = queryTransformerFactory.transformer(query);
             transformer.replaceWithCount();
-            resultQuery = transformer.getResult();
+            return transformer.getResult();
         }
+        return query;
     }
 
-    protected void applyDistinct() {
+    protected String applyDistinct(String query) {
         if (distinct) {
-            QueryTransformer transformer = queryTransformerFactory.transformer(resultQuery);
+            QueryTransformer transformer = queryTransformerFactory.transformer(query);
             transformer.addDistinct();
-            resultQuery = transformer.getResult();
+            return transformer.getResult();
         }
+        return query;
     }
 
     protected void restrictByPreviousResults() {
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps JPQL query strings produced by {@link JpqlQueryBuilder} from the source query string and transformation
+ * inputs, so that the same query issued repeatedly is not parsed and transformed each time.
+ * <p>
+ * The number of cached queries is limited by {@link DataProperties#getJpqlQueryCacheSize()}. Cache statistics
+ * and time of building queries on cache misses are reported to the {@link MeterRegistry}.
+ */
+@Component("data_JpqlQueryCache")
+public class JpqlQueryCache {
+
+    protected static final String CACHE_NAME = "data_JpqlQueryCache";
+    protected static final String BUILD_TIMER = "jmix.data.JpqlQueryCache.build";
+
+    @Autowired
+    protected DataProperties dataProperties;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    protected Cache<String, CachedQuery> cache;
+    protected Timer buildTimer;
+
+    @PostConstruct
+    protected void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(0, dataProperties.getJpqlQueryCacheSize()))
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        buildTimer = meterRegistry.timer(BUILD_TIMER);
+    }
+
+    public boolean isEnabled() {
+        return dataProperties.getJpqlQueryCacheSize() > 0;
+    }
+
+    /**
+     * Returns the cached query for the key or builds it if it's not cached yet.
+     *
+     * @param key     string identifying the source query and all inputs of its transformation
+     * @param builder function building the query on a cache miss
+     */
+    public CachedQuery get(String key, Supplier<CachedQuery> builder) {
+        if (!isEnabled()) {
+            return buildTimer.record(builder);
+        }
+        try {
+            return cache.get(key, () -> buildTimer.record(builder));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Query string and names of its parameters.
+     */
+    public static class CachedQuery {
+
+        protected final String queryString;
+        protected final Set<String> parameterNames;
+
+        public CachedQuery(String queryString, Set<String> parameterNames) {
+            this.queryString = queryString;
+            this.parameterNames = Collections.unmodifiableSet(parameterNames);
+        }
+
+        public String getQueryString() {
+            return queryString;
+        }
+
+        public Set<String> getParameterNames() {
+            return parameterNames;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.jmix.data.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.annotation.Internal;
@@ -24,22 +25,52 @@ import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.DataProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Intermediate cache for generated ids of entities with long/integer PK.
  * The cache size is determined by the {@code jmix.data.numberIdCacheSize} property.
+ * <p>
+ * Ids are allocated from the current block without locking. If {@code jmix.data.numberIdPrefetchEnabled} is set,
+ * next blocks are obtained from the sequence in background before the current block is exhausted.
  */
 @Component("data_NumberIdCache")
 public class NumberIdCache {
 
+    private static final Logger log = LoggerFactory.getLogger(NumberIdCache.class);
+
+    protected static final String GENERATED_IDS_METER = "jmix.data.numberId.generated";
+    protected static final String BLOCK_FETCH_METER = "jmix.data.numberId.blockFetch";
+    protected static final String SEQUENCE_TAG = "sequence";
+    protected static final String MODE_TAG = "mode";
+
+    protected static final int PREFETCH_THREADS_COUNT = 4;
+    protected static final long FAST_BLOCK_SWITCH_MILLIS = 1000;
+    protected static final long SLOW_BLOCK_SWITCH_MILLIS = 30_000;
+
     @Autowired
     protected Metadata metadata;
     @Autowired
@@ -49,14 +80,46 @@ public class NumberIdCache {
     @Autowired
     private MetadataTools metadataTools;
 
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
     protected ConcurrentMap<String, Generator> cache = new ConcurrentHashMap<>();
 
+    protected ExecutorService prefetchExecutor;
+
+    @PostConstruct
+    protected void init() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                PREFETCH_THREADS_COUNT, PREFETCH_THREADS_COUNT,
+                1L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("jmix-number-id-prefetch-%d")
+                        .setDaemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        prefetchExecutor = executor;
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        prefetchExecutor.shutdownNow();
+    }
+
     protected class Generator {
-        protected long counter;
-        protected long sequenceValue;
-        protected String entityName;
-        protected String sequenceName;
-        protected boolean cached;
+        protected final String entityName;
+        protected final String sequenceName;
+        protected final boolean cached;
+
+        protected volatile IdBlock currentBlock;
+        protected final Queue<IdBlock> prefetchedBlocks = new ConcurrentLinkedQueue<>();
+        protected final AtomicBoolean prefetchInProgress = new AtomicBoolean();
+        protected volatile int prefetchDepth = 1;
+        protected volatile long lastBlockSwitchTime;
+
+        protected final Counter generatedIdsCounter;
+        protected final Timer syncFetchTimer;
+        protected final Timer asyncFetchTimer;
 
         public Generator(String entityName,
                          @Nullable String sequenceName,
@@ -64,32 +127,114 @@ public class NumberIdCache {
             this.entityName = entityName;
             this.sequenceName = sequenceName;
             this.cached = cached;
-            if (useIdCache()) {
-                createCachedCounter();
-            }
+
+            String sequenceTag = sequenceName != null ? sequenceName : entityName;
+            generatedIdsCounter = meterRegistry.counter(GENERATED_IDS_METER, SEQUENCE_TAG, sequenceTag);
+            syncFetchTimer = meterRegistry.timer(BLOCK_FETCH_METER, SEQUENCE_TAG, sequenceTag, MODE_TAG, "sync");
+            asyncFetchTimer = meterRegistry.timer(BLOCK_FETCH_METER, SEQUENCE_TAG, sequenceTag, MODE_TAG, "async");
         }
 
         protected boolean useIdCache() {
             return dataProperties.getNumberIdCacheSize() != 0 && cached;
         }
 
-        protected void createCachedCounter() {
-            sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
-            counter = sequenceValue;
-        }
-
-        public synchronized long getNext() {
+        public long getNext() {
+            generatedIdsCounter.increment();
             if (!useIdCache()) {
                 return numberIdWorker.createLongId(entityName, sequenceName);
-            } else {
-                long next = ++counter;
-                if (next > sequenceValue + dataProperties.getNumberIdCacheSize()) {
-                    createCachedCounter();
-                    next = ++counter;
+            }
+            while (true) {
+                IdBlock block = currentBlock;
+                if (block != null) {
+                    long next = block.counter.incrementAndGet();
+                    if (next <= block.lastValue) {
+                        if (next == block.prefetchValue && dataProperties.isNumberIdPrefetchEnabled()) {
+                            schedulePrefetch();
+                        }
+                        return next;
+                    }
                 }
-                return next;
+                switchBlock(block);
             }
         }
+
+        /**
+         * Replaces the exhausted block by a prefetched one or by a block obtained from the sequence synchronously.
+         * Only threads that have exhausted the current block get here, so the monitor is not contended on
+         * regular id generation.
+         */
+        protected synchronized void switchBlock(@Nullable IdBlock exhaustedBlock) {
+            if (currentBlock != exhaustedBlock) {
+                return;
+            }
+            IdBlock block = prefetchedBlocks.poll();
+            if (block == null) {
+                block = syncFetchTimer.record(this::fetchBlock);
+            }
+            adaptPrefetchDepth();
+            currentBlock = block;
+        }
+
+        protected IdBlock fetchBlock() {
+            int blockSize = dataProperties.getNumberIdCacheSize();
+            long sequenceValue = numberIdWorker.createCachedLongId(entityName, sequenceName);
+            return new IdBlock(sequenceValue, blockSize);
+        }
+
+        /**
+         * Increases the number of prefetched blocks if blocks are exhausted faster than
+         * {@link #FAST_BLOCK_SWITCH_MILLIS} and decreases it if they are exhausted slower than
+         * {@link #SLOW_BLOCK_SWITCH_MILLIS}.
+         */
+        protected void adaptPrefetchDepth() {
+            long now = System.currentTimeMillis();
+            long elapsed = now - lastBlockSwitchTime;
+            lastBlockSwitchTime = now;
+
+            int depth = prefetchDepth;
+            if (elapsed < FAST_BLOCK_SWITCH_MILLIS) {
+                prefetchDepth = Math.min(depth * 2, Math.max(1, dataProperties.getNumberIdPrefetchMaxBlocks()));
+            } else if (elapsed > SLOW_BLOCK_SWITCH_MILLIS) {
+                prefetchDepth = Math.max(1, depth / 2);
+            }
+        }
+
+        protected void schedulePrefetch() {
+            if (!prefetchInProgress.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                prefetchExecutor.execute(() -> {
+                    try {
+                        while (prefetchedBlocks.size() < prefetchDepth) {
+                            prefetchedBlocks.add(asyncFetchTimer.record(this::fetchBlock));
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Unable to prefetch ids for {}", sequenceName != null ? sequenceName : entityName, e);
+                    } finally {
+                        prefetchInProgress.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                prefetchInProgress.set(false);
+            }
+        }
+    }
+
+    /**
+     * Range of ids obtained by a single call of the cached sequence: from {@code sequenceValue + 1}
+     * to {@code sequenceValue + blockSize} inclusive.
+     */
+    protected static class IdBlock {
+        protected final AtomicLong counter;
+        protected final long lastValue;
+        protected final long prefetchValue;
+
+        public IdBlock(long sequenceValue, int blockSize) {
+            this.counter = new AtomicLong(sequenceValue);
+            this.lastValue = sequenceValue + blockSize;
+            this.prefetchValue = sequenceValue + Math.max(1, blockSize / 2);
+        }
     }
 
     protected static class SequenceParams {
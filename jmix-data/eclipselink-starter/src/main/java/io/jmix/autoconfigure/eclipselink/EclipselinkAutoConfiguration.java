@@ -22,9 +22,11 @@ import io.jmix.core.Resources;
 import io.jmix.core.Stores;
 import io.jmix.data.DataConfiguration;
 import io.jmix.data.impl.JmixEntityManagerFactoryBean;
-import io.jmix.eclipselink.impl.entitycache.StandardQueryCache;
+import io.jmix.eclipselink.impl.entitycache.CacheManagerQueryCache;
 import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.EclipselinkConfiguration;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.jmix.eclipselink.QueryCacheType;
 import io.jmix.eclipselink.impl.JmixEclipselinkTransactionManager;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -65,12 +67,15 @@ public class EclipselinkAutoConfiguration {
 
     @Bean
     @SuppressWarnings({"rawtypes", "unchecked"})
-    JCacheManagerCustomizer queryCacheCustomizer() {
+    JCacheManagerCustomizer queryCacheCustomizer(EclipselinkProperties properties) {
         return cacheManager -> {
-            Cache<Object, Object> cache = cacheManager.getCache(StandardQueryCache.QUERY_CACHE_NAME);
+            if (properties.getQueryCacheType() != QueryCacheType.CACHE_MANAGER) {
+                return;
+            }
+            Cache<Object, Object> cache = cacheManager.getCache(CacheManagerQueryCache.QUERY_CACHE_NAME);
             if (cache == null) {
                 MutableConfiguration configuration = new MutableConfiguration();
-                cacheManager.createCache(StandardQueryCache.QUERY_CACHE_NAME, configuration);
+                cacheManager.createCache(CacheManagerQueryCache.QUERY_CACHE_NAME, configuration);
             }
         };
     }
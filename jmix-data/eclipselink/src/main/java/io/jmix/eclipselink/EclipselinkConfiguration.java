@@ -22,6 +22,9 @@ import io.jmix.core.annotation.JmixModule;
 import io.jmix.data.DataConfiguration;
 import io.jmix.eclipselink.impl.DataEntitySystemStateSupport;
 import io.jmix.eclipselink.impl.DataPersistentAttributesLoadChecker;
+import io.jmix.eclipselink.impl.entitycache.CacheManagerQueryCache;
+import io.jmix.eclipselink.impl.entitycache.QueryCache;
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -47,4 +50,11 @@ public class EclipselinkConfiguration {
     protected EntitySystemStateSupport entitySystemStateSupport() {
         return new DataEntitySystemStateSupport();
     }
+
+    @Bean("eclipselink_QueryCache")
+    protected QueryCache queryCache(EclipselinkProperties properties) {
+        return properties.getQueryCacheType() == QueryCacheType.LOCAL
+                ? new StandardQueryCache()
+                : new CacheManagerQueryCache();
+    }
 }
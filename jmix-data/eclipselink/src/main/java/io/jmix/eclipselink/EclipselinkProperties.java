@@ -23,11 +23,88 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Implementation of the query cache. {@link QueryCacheType#CACHE_MANAGER} (default) keeps results in the cache
+     * provided by the Spring {@code CacheManager}, {@link QueryCacheType#LOCAL} keeps them in a bounded in-memory
+     * cache of the current node, which invalidates entries by entity type without iterating over the cache.
+     */
+    QueryCacheType queryCacheType;
+
+    /**
+     * Maximum number of query results kept in the query cache of the {@link QueryCacheType#LOCAL} type. Least
+     * recently used results are evicted when the limit is reached.
+     */
+    long queryCacheMaxSize;
+
+    /**
+     * Maximum number of fetch groups calculated for combinations of a query string and a fetch plan that are kept
+     * for reuse. 0 disables caching.
+     */
+    long fetchGroupCacheSize;
+
+    /**
+     * Maximum number of entities loaded in the same load operation whose lazy reference is resolved by a single query
+     * when the reference is accessed on one of them. 1 or less disables batch lazy loading.
+     */
+    int lazyLoadingBatchSize;
+
+    /**
+     * Whether inserts, updates and deletes are sent to the database in JDBC batches. Enables the
+     * {@code eclipselink.jdbc.batch-writing = JDBC} setting of the persistence unit unless the setting is defined
+     * explicitly. Batches are most effective when entities are saved in the bulk save mode.
+     */
+    boolean jdbcBatchWritingEnabled;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("10000") long queryCacheMaxSize,
+                                 @DefaultValue("2000") long fetchGroupCacheSize,
+                                 @DefaultValue("100") int lazyLoadingBatchSize,
+                                 @DefaultValue("CACHE_MANAGER") QueryCacheType queryCacheType,
+                                 @DefaultValue("false") boolean jdbcBatchWritingEnabled) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.queryCacheType = queryCacheType;
+        this.queryCacheMaxSize = queryCacheMaxSize;
+        this.fetchGroupCacheSize = fetchGroupCacheSize;
+        this.lazyLoadingBatchSize = lazyLoadingBatchSize;
+        this.jdbcBatchWritingEnabled = jdbcBatchWritingEnabled;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #queryCacheType
+     */
+    public QueryCacheType getQueryCacheType() {
+        return queryCacheType;
+    }
+
+    /**
+     * @see #queryCacheMaxSize
+     */
+    public long getQueryCacheMaxSize() {
+        return queryCacheMaxSize;
+    }
+
+    /**
+     * @see #fetchGroupCacheSize
+     */
+    public long getFetchGroupCacheSize() {
+        return fetchGroupCacheSize;
+    }
+
+    /**
+     * @see #lazyLoadingBatchSize
+     */
+    public int getLazyLoadingBatchSize() {
+        return lazyLoadingBatchSize;
+    }
+
+    /**
+     * @see #jdbcBatchWritingEnabled
+     */
+    public boolean isJdbcBatchWritingEnabled() {
+        return jdbcBatchWritingEnabled;
+    }
 }
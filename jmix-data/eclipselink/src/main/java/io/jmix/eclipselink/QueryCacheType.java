@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.eclipselink;
+
+import io.jmix.eclipselink.impl.entitycache.CacheManagerQueryCache;
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache;
+
+/**
+ * Implementation of the query cache, see {@link EclipselinkProperties#getQueryCacheType()}.
+ */
+public enum QueryCacheType {
+
+    /**
+     * Results are stored in the cache obtained from the Spring {@code CacheManager}, which can be distributed
+     * across cluster nodes. See {@link CacheManagerQueryCache}.
+     */
+    CACHE_MANAGER,
+
+    /**
+     * Results are stored in a bounded in-memory cache of the current node indexed by related entity types.
+     * See {@link StandardQueryCache}.
+     */
+    LOCAL
+}
@@ -548,7 +548,7 @@ public class EclipselinkPersistenceSupport implements ApplicationContextAware {
                 List<EntityChangedEvent> collectedEvents = new ArrayList<>(eventsInfo.size());
                 for (EntityChangedEventInfo info : eventsInfo) {
                     collectedEvents.add(new EntityChangedEvent(info.getSource(),
-                            Id.of(info.getEntity()), info.getType(), info.getChanges(), info.getOriginalMetaClass()));
+                            info.getEntityId(), info.getType(), info.getChanges(), info.getOriginalMetaClass()));
                 }
 
                 publishEntityChangedEvents(collectedEvents);
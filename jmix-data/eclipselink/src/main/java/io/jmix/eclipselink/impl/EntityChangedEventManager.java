@@ -65,7 +65,25 @@ public class EntityChangedEventManager {
 
     private static class AccumulatedInfoHolder extends ResourceHolderSupport {
 
-        List<EntityChangedEventInfo> accumulatedList;
+        final List<EntityChangedEventInfo> accumulatedList = new ArrayList<>();
+        final Map<Object, EntityChangedEventInfo> infoByEntity = new IdentityHashMap<>();
+
+        void add(Collection<EntityChangedEventInfo> infoList) {
+            for (EntityChangedEventInfo info : infoList) {
+                EntityChangedEventInfo existing = infoByEntity.get(info.getEntity());
+                if (existing != null) {
+                    existing.mergeWith(info);
+                } else {
+                    accumulatedList.add(info);
+                    infoByEntity.put(info.getEntity(), info);
+                }
+            }
+        }
+
+        void clear() {
+            accumulatedList.clear();
+            infoByEntity.clear();
+        }
     }
 
     private static class AccumulatedInfoSynchronization extends ResourceHolderSynchronization<AccumulatedInfoHolder, String> {
@@ -96,36 +114,38 @@ public class EntityChangedEventManager {
         log.trace("beforeFlush {}", instances);
         List<EntityChangedEventInfo> infoList = internalCollect(instances);
         AccumulatedInfoHolder holder = getAccumulatedInfoHolder();
-        holder.accumulatedList = merge(holder.accumulatedList, infoList);//store events because changes will be lost during implicit flush
+        holder.add(infoList);//store events because changes will be lost during implicit flush
     }
 
-    private List<EntityChangedEventInfo> merge(Collection<EntityChangedEventInfo> collection1, Collection<EntityChangedEventInfo> collection2) {
-        List<EntityChangedEventInfo> list1 = collection1 != null ? new ArrayList<>(collection1) : new ArrayList<>();
-        Collection<EntityChangedEventInfo> list2 = collection2 != null ? collection2 : Collections.emptyList();
-
-        for (EntityChangedEventInfo info2 : list2) {
-            Optional<EntityChangedEventInfo> opt = list1.stream()
-                    .filter(info1 -> info1.getEntity() == info2.getEntity())
-                    .findAny();
-            if (opt.isPresent()) {
-                opt.get().mergeWith(info2);
-            } else {
-                list1.add(info2);
+    /**
+     * Replaces references to the given entities in the accumulated changes by their ids, so that the entities can be
+     * garbage collected before the transaction is completed. Further changes of the same instances are collected
+     * separately. Invoked for entities saved in the bulk mode after their chunk is flushed and before it's detached.
+     */
+    public void releaseEntities(Collection<Object> entities) {
+        AccumulatedInfoHolder holder = (AccumulatedInfoHolder) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (holder == null) {
+            return;
+        }
+        for (Object entity : entities) {
+            EntityChangedEventInfo info = holder.infoByEntity.remove(entity);
+            if (info != null) {
+                info.releaseEntity();
             }
         }
-        log.trace("merged {}", list1);
-        return list1;
     }
 
     public List<EntityChangedEventInfo> collect(Collection<Object> entities) {
         log.trace("collect {}", entities);
         AccumulatedInfoHolder holder = getAccumulatedInfoHolder();
         List<EntityChangedEventInfo> infoList = internalCollect(entities);
-        if (holder.accumulatedList != null) {
-            infoList = merge(holder.accumulatedList, infoList);
+        if (!holder.accumulatedList.isEmpty()) {
+            holder.add(infoList);
+            infoList = new ArrayList<>(holder.accumulatedList);
+            log.trace("merged {}", infoList);
             //clear stored events: it is time to publish them
             // otherwise stack overflow may occur if listener will commit something and the same events will be got and processed again
-            holder.accumulatedList.clear();
+            holder.clear();
         }
         return infoList;
     }
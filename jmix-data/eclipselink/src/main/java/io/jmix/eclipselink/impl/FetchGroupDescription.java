@@ -21,24 +21,32 @@ import org.eclipse.persistence.config.QueryHints;
 import java.util.*;
 import java.util.function.Predicate;
 
+/**
+ * Attributes and query hints calculated by {@link FetchGroupManager} for a fetch plan. The description becomes
+ * read-only after {@link #seal()}, so that sealed instances can be shared between queries.
+ */
 public class FetchGroupDescription {
     protected Set<String> fetchGroupAttributes = new TreeSet<>();
     protected Map<String, String> fetchHints = new TreeMap<>(); //sort hints by attribute path
     protected boolean batches;
+    protected boolean sealed;
 
     public Set<String> getAttributes() {
         return Collections.unmodifiableSet(fetchGroupAttributes);
     }
 
     public void addAttribute(String attributePath) {
+        checkNotSealed();
         fetchGroupAttributes.add(attributePath);
     }
 
     public void addAttributes(List<String> attributePaths) {
+        checkNotSealed();
         fetchGroupAttributes.addAll(attributePaths);
     }
 
     public void removeAttributeIf(Predicate<String> filter) {
+        checkNotSealed();
         fetchGroupAttributes.removeIf(filter);
     }
 
@@ -47,6 +55,7 @@ public class FetchGroupDescription {
     }
 
     public void addHint(String attributePath, String hint) {
+        checkNotSealed();
         fetchHints.put(attributePath, hint);
         if (QueryHints.BATCH.equals(hint)) {
             batches = true;
@@ -56,4 +65,24 @@ public class FetchGroupDescription {
     public boolean hasBatches() {
         return batches;
     }
+
+    /**
+     * Makes the description read-only.
+     *
+     * @return this instance
+     */
+    public FetchGroupDescription seal() {
+        sealed = true;
+        return this;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    protected void checkNotSealed() {
+        if (sealed) {
+            throw new IllegalStateException("FetchGroupDescription is sealed and cannot be modified");
+        }
+    }
 }
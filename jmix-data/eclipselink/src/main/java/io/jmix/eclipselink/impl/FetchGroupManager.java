@@ -16,14 +16,23 @@
 
 package io.jmix.eclipselink.impl;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.event.FetchPlansChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.QueryParser;
 import io.jmix.data.QueryTransformerFactory;
+import io.jmix.eclipselink.EclipselinkProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.jpa.JpaQuery;
@@ -33,17 +42,21 @@ import org.eclipse.persistence.queries.LoadGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
 import org.springframework.lang.Nullable;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 @Component("eclipselink_FetchGroupManager")
 public class FetchGroupManager {
 
+    private static final String CACHE_NAME = "eclipselink_FetchGroupCache";
+
     private final Logger log = LoggerFactory.getLogger(FetchGroupManager.class);
 
     @Autowired
@@ -64,6 +77,35 @@ public class FetchGroupManager {
     @Autowired
     private FetchPlans fetchPlans;
 
+    @Autowired
+    private EclipselinkProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<FetchGroupKey, FetchGroupDescription> cache;
+
+    @PostConstruct
+    private void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(0, properties.getFetchGroupCacheSize()))
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @EventListener
+    public void onFetchPlansChanged(FetchPlansChangedEvent event) {
+        invalidateCache();
+    }
+
+    /**
+     * Discards all fetch groups cached by {@link #calculateFetchGroup(String, FetchPlan, boolean, boolean)}.
+     */
+    public void invalidateCache() {
+        cache.invalidateAll();
+    }
+
     public void setFetchPlan(JpaQuery query, String queryString, @Nullable FetchPlan fetchPlan, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (fetchPlan != null) {
@@ -133,10 +175,35 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Calculates attributes and query hints for loading entities by the query with the fetch plan.
+     * <p>
+     * The result depends only on the arguments and on fetch plans of the {@link FetchPlanRepository}, so it is
+     * cached and shared between queries. The cache is cleared on {@link FetchPlansChangedEvent}.
+     *
+     * @return sealed description which cannot be modified
+     */
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      FetchPlan fetchPlan,
                                                      boolean singleResultExpected,
                                                      boolean useFetchGroup) {
+        if (properties.getFetchGroupCacheSize() <= 0) {
+            return createFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup).seal();
+        }
+        FetchGroupKey key = new FetchGroupKey(queryString, fetchPlan, singleResultExpected, useFetchGroup);
+        try {
+            return cache.get(key, () ->
+                    createFetchGroup(queryString, fetchPlan, singleResultExpected, useFetchGroup).seal());
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private FetchGroupDescription createFetchGroup(String queryString,
+                                                   FetchPlan fetchPlan,
+                                                   boolean singleResultExpected,
+                                                   boolean useFetchGroup) {
         Set<FetchGroupField> fetchGroupFields = new LinkedHashSet<>();
 
         fetchPlan = completeFetchPlan(fetchPlan);
@@ -663,6 +730,65 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Cache key comparing fetch plans by content, because equal plans are often built anew for each load.
+     */
+    private static final class FetchGroupKey {
+        private final String queryString;
+        private final FetchPlan fetchPlan;
+        private final boolean singleResultExpected;
+        private final boolean useFetchGroup;
+        private final int hashCode;
+
+        private FetchGroupKey(String queryString, FetchPlan fetchPlan, boolean singleResultExpected, boolean useFetchGroup) {
+            this.queryString = queryString;
+            this.fetchPlan = fetchPlan;
+            this.singleResultExpected = singleResultExpected;
+            this.useFetchGroup = useFetchGroup;
+
+            int result = queryString.hashCode();
+            result = 31 * result + contentHashCode(fetchPlan);
+            result = 31 * result + Boolean.hashCode(singleResultExpected);
+            result = 31 * result + Boolean.hashCode(useFetchGroup);
+            this.hashCode = result;
+        }
+
+        // FetchPlan.hashCode() takes into account only entity class and name
+        private static int contentHashCode(FetchPlan fetchPlan) {
+            int result = fetchPlan.hashCode();
+            result = 31 * result + Boolean.hashCode(fetchPlan.loadPartialEntities());
+            int propertiesHash = 0;
+            for (FetchPlanProperty property : fetchPlan.getProperties()) {
+                int propertyHash = property.getName().hashCode();
+                propertyHash = 31 * propertyHash + Objects.hashCode(property.getFetchMode());
+                if (property.getFetchPlan() != null) {
+                    propertyHash = 31 * propertyHash + contentHashCode(property.getFetchPlan());
+                }
+                // properties are compared as a map, so the hash must not depend on their order
+                propertiesHash += propertyHash;
+            }
+            return 31 * result + propertiesHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FetchGroupKey)) return false;
+
+            FetchGroupKey that = (FetchGroupKey) o;
+            return hashCode == that.hashCode
+                    && singleResultExpected == that.singleResultExpected
+                    && useFetchGroup == that.useFetchGroup
+                    && queryString.equals(that.queryString)
+                    && fetchPlan.equals(that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private static class OccurrenceDescription {
         private final FetchPlan fetchPlan;
         private final String path;
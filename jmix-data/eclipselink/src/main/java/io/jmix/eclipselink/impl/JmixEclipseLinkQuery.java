@@ -41,6 +41,7 @@ import jakarta.persistence.*;
 import org.eclipse.persistence.config.CascadePolicy;
 import org.eclipse.persistence.config.HintValues;
 import org.eclipse.persistence.config.QueryHints;
+import org.eclipse.persistence.config.ResultSetType;
 import org.eclipse.persistence.internal.helper.ClassConstants;
 import org.eclipse.persistence.internal.helper.ConversionManager;
 import org.eclipse.persistence.internal.helper.JmixUtil;
@@ -48,6 +49,7 @@ import org.eclipse.persistence.internal.jpa.EJBQueryImpl;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
+import org.eclipse.persistence.queries.ScrollableCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactory;
@@ -58,6 +60,8 @@ import java.time.ZoneId;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
 
@@ -148,6 +152,50 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         return resultList;
     }
 
+    /**
+     * Executes the query with a forward-only scrollable cursor and returns the stream reading results from the cursor
+     * while it is consumed. The query cache is not used. The stream must be closed to release the cursor.
+     */
+    @Override
+    public Stream<E> getResultStream() {
+        logQueryString();
+
+        singleResultExpected = false;
+
+        JpaQuery<E> jpaQuery = getQuery();
+        preExecute(jpaQuery);
+
+        jpaQuery.setHint(QueryHints.SCROLLABLE_CURSOR, HintValues.TRUE);
+        jpaQuery.setHint(QueryHints.RESULT_SET_TYPE, ResultSetType.ForwardOnly);
+        if (hints != null && hints.get(QueryHints.JDBC_FETCH_SIZE) != null) {
+            jpaQuery.setHint(QueryHints.JDBC_FETCH_SIZE, hints.get(QueryHints.JDBC_FETCH_SIZE));
+        }
+
+        // with the cursor hint, the query returns the cursor as a single result
+        Object result = jpaQuery.getSingleResult();
+        ScrollableCursor cursor = (ScrollableCursor) result;
+        Iterator<E> iterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                Object item = cursor.next();
+                if (item instanceof Entity) {
+                    for (FetchPlan fetchPlan : fetchPlans) {
+                        entityFetcher.fetch((Entity) item, fetchPlan);
+                    }
+                }
+                return (E) item;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
     @Override
     public E getSingleResult() {
         logQueryString();
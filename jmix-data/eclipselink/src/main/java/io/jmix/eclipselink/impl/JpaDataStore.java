@@ -18,15 +18,23 @@ package io.jmix.eclipselink.impl;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
-import io.jmix.core.Id;
 import io.jmix.core.*;
+import io.jmix.core.accesscontext.CrudEntityContext;
+import io.jmix.core.accesscontext.InMemoryCrudEntityContext;
 import io.jmix.core.datastore.AbstractDataStore;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.event.EntityBulkChangedEvent;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.core.security.AccessDeniedException;
+import io.jmix.data.AuditInfoProvider;
 import io.jmix.data.DataProperties;
 import io.jmix.data.PersistenceHints;
+import io.jmix.data.QueryTransformer;
 import io.jmix.data.QueryTransformerFactory;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.data.accesscontext.ReadEntityQueryContext;
@@ -35,11 +43,13 @@ import io.jmix.data.impl.EntityChangedEventInfo;
 import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpqlQueryBuilder;
 import io.jmix.data.impl.QueryResultsManager;
+import io.jmix.data.impl.converters.AuditConversionService;
 import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.impl.lazyloading.LazyLoadingContext;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.*;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.exceptions.QueryException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +58,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Scope;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -55,11 +67,15 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 
 import static io.jmix.core.entity.EntitySystemAccess.getEntityEntry;
 import static io.jmix.core.entity.EntityValues.getValue;
@@ -76,6 +92,17 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     public static final String LOAD_TX_PREFIX = "JpaDataStore-load-";
     public static final String SAVE_TX_PREFIX = "JpaDataStore-save-";
 
+    protected static final String BULK_ALIAS = "bulkEntity";
+    protected static final String BULK_PARAM_PREFIX = "bulk_";
+    protected static final Pattern BULK_SELECT_PATTERN = Pattern.compile(
+            "select\\s+(\\w+)\\s+from\\s+\\S+\\s+(?:as\\s+)?\\1(\\s+where\\s.*)?",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    protected static final String KEYSET_PARAM = "keysetLastId";
+    protected static final Pattern KEY_ORDER_PATTERN = Pattern.compile(
+            ".*\\sorder\\s+by\\s+(\\w+)\\.(\\w+)(?:\\s+(asc|desc))?",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
     private static final Logger log = LoggerFactory.getLogger(JpaDataStore.class);
 
     @Autowired
@@ -120,6 +147,15 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Autowired
     protected FetchPlanRepository fetchPlanRepository;
 
+    @Autowired
+    protected TimeSource timeSource;
+
+    @Autowired
+    protected AuditInfoProvider auditInfoProvider;
+
+    @Autowired
+    protected AuditConversionService auditConversionService;
+
     protected String storeName;
 
     protected static final AtomicLong txCount = new AtomicLong();
@@ -170,6 +206,30 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Stream<Object> loadAllAsStream(LoadContext<?> context) {
+        queryResultsManager.savePreviousQueryResults(context);
+
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+
+        Query query = createQuery(em, context, false);
+        if (!context.getHints().containsKey(QueryHints.JDBC_FETCH_SIZE)) {
+            query.setHint(QueryHints.JDBC_FETCH_SIZE, getLoadStreamChunkSize());
+        }
+        try {
+            return (Stream<Object>) query.getResultStream();
+        } catch (PersistenceException e) {
+            throw translateQueryException(e);
+        }
+    }
+
+    @Override
+    protected int getLoadStreamChunkSize() {
+        return properties.getLoadStreamFetchSize();
+    }
+
     protected List<Object> loadAllByIds(LoadContext<?> context, EntityManager em) {
         LoadContext<?> contextCopy = context.copy();
         contextCopy.setIds(Collections.emptyList());
@@ -207,6 +267,63 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return resultList;
     }
 
+    /**
+     * If the query is ordered only by the primary key, continues loading after the primary key of the last
+     * loaded entity instead of skipping previously loaded rows by offset.
+     */
+    @Override
+    protected LoadContext<?> createBatchContext(LoadContext<?> context, int firstResult, int maxResults,
+                                                @Nullable Object lastEntity) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        Sort.Direction direction = primaryKeyProperty == null || metadataTools.isEmbedded(primaryKeyProperty)
+                ? null
+                : getPrimaryKeyOrder(Objects.requireNonNull(context.getQuery()), primaryKeyProperty.getName());
+        if (direction == null) {
+            return super.createBatchContext(context, firstResult, maxResults, lastEntity);
+        }
+
+        LoadContext<?> batchContext = context.copy();
+        LoadContext.Query batchQuery = Objects.requireNonNull(batchContext.getQuery());
+        batchQuery.setFirstResult(0);
+        batchQuery.setMaxResults(maxResults);
+        if (lastEntity != null) {
+            PropertyCondition keyCondition = PropertyCondition.createWithParameterName(primaryKeyProperty.getName(),
+                    direction == Sort.Direction.ASC ? PropertyCondition.Operation.GREATER : PropertyCondition.Operation.LESS,
+                    KEYSET_PARAM);
+            keyCondition.setParameterValue(EntityValues.getId(lastEntity));
+
+            Condition condition = batchQuery.getCondition();
+            batchQuery.setCondition(condition == null ? keyCondition : LogicalCondition.and(condition, keyCondition));
+        }
+        return batchContext;
+    }
+
+    /**
+     * @return direction of ordering if the query is ordered only by the primary key, null otherwise
+     */
+    @Nullable
+    protected Sort.Direction getPrimaryKeyOrder(LoadContext.Query query, String primaryKeyName) {
+        Sort sort = query.getSort();
+        if (sort != null && !sort.getOrders().isEmpty()) {
+            if (sort.getOrders().size() == 1 && sort.getOrders().get(0).getProperty().equals(primaryKeyName)) {
+                return sort.getOrders().get(0).getDirection();
+            }
+            return null;
+        }
+
+        String queryString = query.getQueryString();
+        if (queryString == null) {
+            return null;
+        }
+        Matcher matcher = KEY_ORDER_PATTERN.matcher(queryString.trim());
+        if (matcher.matches() && matcher.group(2).equals(primaryKeyName)
+                && matcher.group(1).equals(queryTransformerFactory.parser(queryString).getEntityAlias())) {
+            return "desc".equalsIgnoreCase(matcher.group(3)) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        }
+        return null;
+    }
+
     @Override
     protected long countAll(LoadContext<?> context) {
         queryResultsManager.savePreviousQueryResults(context);
@@ -282,6 +399,10 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
 
     @Override
     protected Set<Object> saveAll(SaveContext context) {
+        if (isBulkSave(context)) {
+            return bulkSaveAll(context);
+        }
+
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
 
         Set<Object> result = new HashSet<>();
@@ -304,6 +425,113 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return result;
     }
 
+    protected boolean isBulkSave(SaveContext context) {
+        return Boolean.TRUE.equals(context.getHints().get(PersistenceHints.BULK_SAVE));
+    }
+
+    /**
+     * Saves entities by chunks of {@link DataProperties#getBulkSaveBatchSize()} instances. New entities are
+     * persisted before existing ones are merged, each chunk is flushed and detached before the next one is processed.
+     * If events are batched, a single {@link EntityBulkChangedEvent} is sent for created and for updated entities
+     * of each type after all chunks are flushed.
+     *
+     * @see PersistenceHints#BULK_SAVE
+     */
+    protected Set<Object> bulkSaveAll(SaveContext context) {
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+        boolean batchedEvents = Boolean.TRUE.equals(context.getHints().get(PersistenceHints.BULK_SAVE_BATCHED_EVENTS));
+        int chunkSize = Math.max(1, properties.getBulkSaveBatchSize());
+
+        List<Object> newEntities = new ArrayList<>();
+        List<Object> existingEntities = new ArrayList<>();
+        for (Object entity : context.getEntitiesToSave()) {
+            if (entityStates.isNew(entity)) {
+                newEntities.add(entity);
+            } else {
+                existingEntities.add(entity);
+            }
+        }
+
+        Set<Object> result = new HashSet<>();
+        for (List<Object> chunk : Lists.partition(newEntities, chunkSize)) {
+            if (batchedEvents) {
+                entityEventManager.publishEntityBulkSavingEvents(chunk, true);
+            }
+            for (Object entity : chunk) {
+                if (!batchedEvents) {
+                    entityEventManager.publishEntitySavingEvent(entity, true);
+                }
+                em.persist(entity);
+            }
+            flushBulkSaveChunk(em, chunk, batchedEvents);
+            result.addAll(chunk);
+        }
+
+        for (List<Object> chunk : Lists.partition(existingEntities, chunkSize)) {
+            if (batchedEvents) {
+                entityEventManager.publishEntityBulkSavingEvents(chunk, false);
+            }
+            List<Object> merged = new ArrayList<>(chunk.size());
+            for (Object entity : chunk) {
+                if (!batchedEvents) {
+                    entityEventManager.publishEntitySavingEvent(entity, false);
+                }
+                merged.add(em.merge(entity));
+            }
+            flushBulkSaveChunk(em, merged, batchedEvents);
+            result.addAll(merged);
+        }
+
+        if (batchedEvents) {
+            publishBulkSaveChangedEvents(newEntities, EntityChangedEvent.Type.CREATED);
+            publishBulkSaveChangedEvents(existingEntities, EntityChangedEvent.Type.UPDATED);
+        }
+
+        log.debug("bulkSaveAll: saved {} new and {} existing entities", newEntities.size(), existingEntities.size());
+        return result;
+    }
+
+    protected void publishBulkSaveChangedEvents(List<Object> entities, EntityChangedEvent.Type type) {
+        Map<MetaClass, Long> countByMetaClass = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            countByMetaClass.merge(metadata.getClass(entity), 1L, Long::sum);
+        }
+        countByMetaClass.forEach((metaClass, count) ->
+                entityEventManager.publishEntityBulkChangedEvent(metaClass, type, Collections.emptySet(), count));
+    }
+
+    /**
+     * Flushes the chunk of entities saved in the bulk mode and detaches them. If events are batched, changes are
+     * flushed without collecting {@link EntityChangedEvent}s, so they are not sent for the detached entities and
+     * {@link EntityBulkChangedEvent}s are sent instead.
+     * Otherwise, changes collected for the {@link EntityChangedEvent}s keep only ids of the chunk entities.
+     */
+    protected void flushBulkSaveChunk(EntityManager em, List<Object> chunk, boolean batchedEvents) {
+        try {
+            if (batchedEvents) {
+                persistenceSupport.processFlush(em, false);
+                ((EntityManager) em.getDelegate()).flush();
+            } else {
+                em.flush();
+                entityChangedEventManager.releaseEntities(chunk);
+            }
+        } catch (PersistenceException e) {
+            throw translateFlushException(e);
+        }
+        for (Object entity : chunk) {
+            em.detach(entity);
+        }
+    }
+
+    @Override
+    protected Set<Object> loadAllAfterSave(SaveContext context, Set<Object> savedEntities) {
+        if (isBulkSave(context)) {
+            // saved instances are detached by chunks and returned as is instead of reloading all of them
+            return savedEntities;
+        }
+        return super.loadAllAfterSave(context, savedEntities);
+    }
+
     @Override
     protected Set<Object> deleteAll(SaveContext context) {
         JpaSaveContext jpaContext = (JpaSaveContext) context;
@@ -333,6 +561,207 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return result;
     }
 
+    /**
+     * Updates or deletes entities by a single JPQL statement. The statement is restricted by the where clause and
+     * condition of the context and by row-level JPQL constraints. Entities are not loaded, so entity listeners,
+     * delete policies and {@link EntityChangedEvent}s are not processed, and instances already managed by the
+     * current persistence context are not refreshed. The entity cache and query cache of the entity are invalidated.
+     * Instead of {@link EntityChangedEvent}s, a single {@link EntityBulkChangedEvent} is sent in the transaction.
+     */
+    @Override
+    public long executeBulkOperation(BulkOperationContext context) {
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        log.debug("executeBulkOperation: store={}, {}", storeName, context);
+
+        checkBulkOperationPermitted(metaClass, context);
+
+        long count;
+        Object transaction = beginSaveTransaction(context.isJoinTransaction());
+        try {
+            EntityManager em = storeAwareLocator.getEntityManager(storeName);
+            Set<String> changedAttributes = new LinkedHashSet<>();
+
+            boolean softDeletionBefore = PersistenceHints.isSoftDeletion(em);
+            try {
+                em.setProperty(PersistenceHints.SOFT_DELETION, context.getHints().get(PersistenceHints.SOFT_DELETION));
+                Query query = createBulkOperationQuery(em, metaClass, context, changedAttributes);
+                count = query.executeUpdate();
+            } catch (PersistenceException e) {
+                throw translateFlushException(e);
+            } finally {
+                em.setProperty(PersistenceHints.SOFT_DELETION, softDeletionBefore);
+            }
+
+            EntityChangedEvent.Type type = context.getType() == BulkOperationContext.Type.UPDATE ?
+                    EntityChangedEvent.Type.UPDATED : EntityChangedEvent.Type.DELETED;
+            entityEventManager.publishEntityBulkChangedEvent(metaClass, type, changedAttributes, count);
+
+            commitTransaction(transaction);
+        } finally {
+            LazyLoadingContext.setEnabled();
+            rollbackTransaction(transaction);
+        }
+
+        log.debug("executeBulkOperation: {} instances of {} affected", count, metaClass.getName());
+        return count;
+    }
+
+    protected void checkBulkOperationPermitted(MetaClass metaClass, BulkOperationContext context) {
+        boolean update = context.getType() == BulkOperationContext.Type.UPDATE;
+        String operation = update ? "update" : "delete";
+
+        CrudEntityContext entityContext = new CrudEntityContext(metaClass);
+        accessManager.applyConstraints(entityContext, context.getAccessConstraints());
+        if (update ? !entityContext.isUpdatePermitted() : !entityContext.isDeletePermitted()) {
+            throw new AccessDeniedException("entity", metaClass.getName(), operation);
+        }
+
+        // in-memory constraints are checked for loaded instances, so they can't be enforced by a single statement
+        InMemoryCrudEntityContext inMemoryContext = new InMemoryCrudEntityContext(metaClass, applicationContext);
+        accessManager.applyConstraints(inMemoryContext, context.getAccessConstraints());
+        BiPredicate<?, ?> predicate = update ? inMemoryContext.updatePredicate() : inMemoryContext.deletePredicate();
+        if (predicate != null || inMemoryContext.readPredicate() != null) {
+            log.debug("Bulk {} of entity {} is not permitted because of in-memory constraints", operation, metaClass);
+            throw new AccessDeniedException("entity", metaClass.getName(), operation);
+        }
+    }
+
+    protected Query createBulkOperationQuery(EntityManager em, MetaClass metaClass, BulkOperationContext context,
+                                             Set<String> changedAttributes) {
+        String entityName = metaClass.getName();
+        String queryString = String.format("select e from %s e", entityName);
+        if (StringUtils.isNotBlank(context.getWhereClause())) {
+            queryString = queryString + " where " + context.getWhereClause();
+        }
+
+        //noinspection unchecked
+        JpqlQueryBuilder<JmixEclipseLinkQuery<?>> queryBuilder = jpqlQueryBuilderProvider.getObject();
+        queryBuilder.setEntityName(entityName)
+                .setQueryString(queryString)
+                .setCondition(context.getCondition())
+                .setQueryParameters(new HashMap<>(context.getParameters()));
+
+        if (context.getCondition() != null && queryString.equals(queryBuilder.getResultQueryString())) {
+            // all parameters of the condition are empty, so it is skipped by the query builder
+            throw new IllegalArgumentException(String.format(
+                    "Condition of the bulk operation has no values, it would affect all instances of %s", entityName));
+        }
+
+        JmixEclipseLinkQuery<?> query = queryBuilder.getQuery(em);
+
+        ReadEntityQueryContext queryContext = new ReadEntityQueryContext(query, metaClass, queryTransformerFactory);
+        accessManager.applyConstraints(queryContext, context.getAccessConstraints());
+        query = (JmixEclipseLinkQuery<?>) queryContext.getResultQuery();
+
+        String alias;
+        String restriction;
+        Matcher matcher = BULK_SELECT_PATTERN.matcher(query.getQueryString());
+        if (matcher.matches() && !queryTransformerFactory.parser(query.getQueryString()).isQueryWithJoins()) {
+            alias = matcher.group(1);
+            restriction = StringUtils.defaultString(matcher.group(2));
+        } else {
+            // joins of the conditions or constraints are not allowed in update and delete statements
+            if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+                throw new UnsupportedOperationException(String.format(
+                        "Bulk operations with joins are not supported for entity %s with composite primary key", entityName));
+            }
+            String pkName = metadataTools.getPrimaryKeyName(metaClass);
+            QueryTransformer transformer = queryTransformerFactory.transformer(query.getQueryString());
+            transformer.replaceWithSelectId(pkName);
+            alias = BULK_ALIAS;
+            restriction = String.format(" where %s.%s in (%s)", alias, pkName, transformer.getResult());
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (context.getType() == BulkOperationContext.Type.UPDATE) {
+            values.putAll(createBulkUpdateValues(metaClass, context));
+        } else if (metadataTools.isSoftDeletable(metaClass.getJavaClass()) && PersistenceHints.isSoftDeletion(em)) {
+            values.putAll(createBulkSoftDeleteValues(metaClass));
+        } else {
+            query.setQueryString(String.format("delete from %s %s%s", entityName, alias, restriction));
+            return query;
+        }
+
+        List<String> assignments = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String property = entry.getKey();
+            if (entry.getValue() == null) {
+                assignments.add(String.format("%s.%s = NULL", alias, property));
+            } else {
+                String paramName = BULK_PARAM_PREFIX + property;
+                assignments.add(String.format("%s.%s = :%s", alias, property, paramName));
+                query.setParameter(paramName, entry.getValue());
+            }
+            changedAttributes.add(property);
+        }
+        MetaProperty versionProperty = findPropertyAnnotatedWith(metaClass, Version.class);
+        if (versionProperty != null) {
+            String version = versionProperty.getName();
+            assignments.add(String.format("%s.%s = %s.%s + 1", alias, version, alias, version));
+            changedAttributes.add(version);
+        }
+
+        query.setQueryString(String.format("update %s %s set %s%s",
+                entityName, alias, String.join(", ", assignments), restriction));
+        return query;
+    }
+
+    protected Map<String, Object> createBulkUpdateValues(MetaClass metaClass, BulkOperationContext context) {
+        if (context.getValues().isEmpty()) {
+            throw new IllegalArgumentException("No values are set for the bulk update of " + metaClass.getName());
+        }
+        String pkName = metadataTools.getPrimaryKeyName(metaClass);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : context.getValues().entrySet()) {
+            MetaProperty property = metaClass.findProperty(entry.getKey());
+            if (property == null || !metadataTools.isJpa(property) || metadataTools.isEmbedded(property)
+                    || property.getRange().getCardinality().isMany() || property.getName().equals(pkName)) {
+                throw new IllegalArgumentException(String.format("Property '%s' of %s can't be changed by bulk update",
+                        entry.getKey(), metaClass.getName()));
+            }
+            values.put(property.getName(), entry.getValue());
+        }
+
+        MetaProperty lastModifiedDate = findPropertyAnnotatedWith(metaClass, LastModifiedDate.class);
+        if (lastModifiedDate != null && !values.containsKey(lastModifiedDate.getName())) {
+            values.put(lastModifiedDate.getName(),
+                    auditConversionService.convert(timeSource.currentTimestamp(), lastModifiedDate.getJavaType()));
+        }
+        MetaProperty lastModifiedBy = findPropertyAnnotatedWith(metaClass, LastModifiedBy.class);
+        if (lastModifiedBy != null && !values.containsKey(lastModifiedBy.getName())) {
+            values.put(lastModifiedBy.getName(),
+                    auditConversionService.convert(auditInfoProvider.getCurrentUser(), lastModifiedBy.getJavaType()));
+        }
+        return values;
+    }
+
+    protected Map<String, Object> createBulkSoftDeleteValues(MetaClass metaClass) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        String deletedDate = metadataTools.findDeletedDateProperty(metaClass.getJavaClass());
+        if (deletedDate != null) {
+            values.put(deletedDate, auditConversionService.convert(timeSource.currentTimestamp(),
+                    metaClass.getProperty(deletedDate).getJavaType()));
+        }
+        String deletedBy = metadataTools.findDeletedByProperty(metaClass.getJavaClass());
+        if (deletedBy != null) {
+            values.put(deletedBy, auditConversionService.convert(auditInfoProvider.getCurrentUser(),
+                    metaClass.getProperty(deletedBy).getJavaType()));
+        }
+        return values;
+    }
+
+    @Nullable
+    protected MetaProperty findPropertyAnnotatedWith(MetaClass metaClass, Class<? extends Annotation> annotationClass) {
+        for (MetaProperty property : metaClass.getProperties()) {
+            AnnotatedElement element = property.getAnnotatedElement();
+            if (element != null && element.isAnnotationPresent(annotationClass)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
     @Override
     protected List<Object> loadAllValues(ValueLoadContext context) {
         EntityManager em = storeAwareLocator.getEntityManager(storeName);
@@ -403,6 +832,54 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    /**
+     * Detaches entities of the chunk together with all entities loaded by the transaction after the previous chunk,
+     * so that the persistence context doesn't grow while the stream is consumed. Entities which had been in
+     * the persistence context of a joined transaction before the stream was opened remain managed.
+     */
+    @Override
+    protected void loadStreamChunkCompleted(LoadContext<?> context, Collection<Object> entities,
+                                            TransactionContextState transactionContextState) {
+        JpaTransactionContextState txState = (JpaTransactionContextState) transactionContextState;
+        EntityManager em = storeAwareLocator.getEntityManager(storeName);
+
+        Set<Object> recentlyLoaded = Sets.newIdentityHashSet();
+        recentlyLoaded.addAll(persistenceSupport.getInstances(em));
+        recentlyLoaded.removeAll(txState.alreadyExisted);
+
+        super.loadStreamChunkCompleted(context, entities, transactionContextState);
+
+        for (Object entity : recentlyLoaded) {
+            if (em.contains(entity)) {
+                em.detach(entity);
+            }
+        }
+        txState.alreadyExisted.removeAll(recentlyLoaded);
+    }
+
+    /**
+     * Suspends the load transaction of a stream if it has been started by the stream. The transaction keeps its
+     * entity manager and connection with the open cursor, but they are not bound to the thread, so data access
+     * performed by the caller while consuming the stream runs in its own transactions. A transaction joined by
+     * the stream belongs to the caller and is not suspended.
+     */
+    @Nullable
+    @Override
+    protected Object suspendLoadTransaction(Object transaction) {
+        if (!((TransactionStatus) transaction).isNewTransaction()) {
+            return null;
+        }
+        DefaultTransactionDefinition def = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        def.setName(LOAD_TX_PREFIX + "suspended-" + txCount.incrementAndGet());
+        return storeAwareLocator.getTransactionManager(storeName).getTransaction(def);
+    }
+
+    @Override
+    protected void resumeLoadTransaction(Object transaction, Object suspendedTransaction) {
+        // completion of the non-transactional scope resumes the suspended load transaction
+        storeAwareLocator.getTransactionManager(storeName).commit((TransactionStatus) suspendedTransaction);
+    }
+
     @Override
     protected void rollbackTransaction(Object transaction) {
         TransactionStatus transactionStatus = (TransactionStatus) transaction;
@@ -450,12 +927,7 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
                 eventsInfo = entityChangedEventManager.collect(persistenceSupport.getInstances(em));
                 ((EntityManager) em.getDelegate()).flush();
             } catch (PersistenceException e) {
-                Pattern pattern = getUniqueConstraintViolationPattern();
-                Matcher matcher = pattern.matcher(e.toString());
-                if (matcher.find()) {
-                    throw new UniqueConstraintViolationException(e.getMessage(), resolveConstraintName(matcher), e);
-                }
-                throw e;
+                throw translateFlushException(e);
             } finally {
                 em.setProperty(PersistenceHints.SOFT_DELETION, softDeletionBefore);
             }
@@ -464,7 +936,7 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
             List<EntityChangedEvent> events = new ArrayList<>(eventsInfo.size());
             for (EntityChangedEventInfo info : eventsInfo) {
                 events.add(new EntityChangedEvent<>(info.getSource(),
-                        Id.of(info.getEntity()), info.getType(), info.getChanges(), info.getOriginalMetaClass()));
+                        info.getEntityId(), info.getType(), info.getChanges(), info.getOriginalMetaClass()));
             }
 
             for (Object entity : entities) {
@@ -601,17 +1073,20 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
                 list = query.getResultList();
             }
         } catch (PersistenceException e) {
-            if (e.getCause() instanceof QueryException
-                    && e.getMessage() != null
-                    && e.getMessage().contains("Fetch group cannot be set on report query")) {
-                throw new DevelopmentException("DataManager cannot execute query for single attributes");
-            } else {
-                throw e;
-            }
+            throw translateQueryException(e);
         }
         return list;
     }
 
+    protected RuntimeException translateQueryException(PersistenceException e) {
+        if (e.getCause() instanceof QueryException
+                && e.getMessage() != null
+                && e.getMessage().contains("Fetch group cannot be set on report query")) {
+            return new DevelopmentException("DataManager cannot execute query for single attributes");
+        }
+        return e;
+    }
+
 
     protected <E> void detachEntity(EntityManager em, @Nullable E rootEntity, @Nullable FetchPlan fetchPlan, boolean loadedOnly) {
         if (rootEntity == null)
@@ -669,6 +1144,15 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return dbmsSpecifics.getDbmsFeatures(storeName).supportsLobSortingAndFiltering();
     }
 
+    protected RuntimeException translateFlushException(PersistenceException e) {
+        Pattern pattern = getUniqueConstraintViolationPattern();
+        Matcher matcher = pattern.matcher(e.toString());
+        if (matcher.find()) {
+            return new UniqueConstraintViolationException(e.getMessage(), resolveConstraintName(matcher), e);
+        }
+        return e;
+    }
+
     protected Pattern getUniqueConstraintViolationPattern() {
         String defaultPatternExpression = dbmsSpecifics.getDbmsFeatures().getUniqueConstraintViolationPattern();
         String patternExpression = properties.getUniqueConstraintViolationPattern();
@@ -53,4 +53,11 @@ public interface QueryCache {
      * Returns number of entries in this cache.
      */
     long size();
+
+    /**
+     * Returns usage counters of this cache.
+     */
+    default QueryCacheStatistics getStatistics() {
+        return QueryCacheStatistics.EMPTY;
+    }
 }
@@ -40,6 +40,36 @@ public class QueryCacheManagementFacade {
         return queryCache.size();
     }
 
+    @ManagedAttribute(description = "Number of lookups that found a cached query result")
+    public long getHitCount() {
+        return queryCache.getStatistics().getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of lookups that did not find a cached query result")
+    public long getMissCount() {
+        return queryCache.getStatistics().getMissCount();
+    }
+
+    @ManagedAttribute(description = "Number of cached queries evicted because of the cache size limit")
+    public long getEvictionCount() {
+        return queryCache.getStatistics().getEvictionCount();
+    }
+
+    @ManagedAttribute(description = "Number of invalidation requests by entity types")
+    public long getInvalidationCount() {
+        return queryCache.getStatistics().getInvalidationCount();
+    }
+
+    @ManagedAttribute(description = "Number of cached queries discarded by invalidation requests")
+    public long getInvalidatedEntryCount() {
+        return queryCache.getStatistics().getInvalidatedEntryCount();
+    }
+
+    @ManagedOperation(description = "Print query cache statistics")
+    public String printStatistics() {
+        return "Size: " + queryCache.size() + ", " + queryCache.getStatistics();
+    }
+
     @ManagedOperation(description = "Discard all cached queries")
     public String evictAll() {
         queryCacheMgr.invalidateAll();
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.eclipselink.impl.entitycache;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of {@link QueryCache} usage counters.
+ */
+public class QueryCacheStatistics implements Serializable {
+    private static final long serialVersionUID = 4160518271920127416L;
+
+    public static final QueryCacheStatistics EMPTY = new QueryCacheStatistics(0, 0, 0, 0, 0);
+
+    protected final long hitCount;
+    protected final long missCount;
+    protected final long evictionCount;
+    protected final long invalidationCount;
+    protected final long invalidatedEntryCount;
+
+    public QueryCacheStatistics(long hitCount, long missCount, long evictionCount,
+                                long invalidationCount, long invalidatedEntryCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+        this.invalidatedEntryCount = invalidatedEntryCount;
+    }
+
+    /**
+     * Returns number of lookups that found a cached query result.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns number of lookups that did not find a cached query result.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns number of query results evicted because of the cache size limit.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns number of invalidation requests by entity types.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Returns number of query results discarded by invalidation requests.
+     */
+    public long getInvalidatedEntryCount() {
+        return invalidatedEntryCount;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", invalidationCount=" + invalidationCount +
+                ", invalidatedEntryCount=" + invalidatedEntryCount +
+                '}';
+    }
+}
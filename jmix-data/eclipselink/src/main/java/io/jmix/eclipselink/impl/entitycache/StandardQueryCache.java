@@ -14,59 +14,98 @@
  * limitations under the License.
  */
 
+
 package io.jmix.eclipselink.impl.entitycache;
 
-import com.google.common.collect.Sets;
-import io.jmix.core.CacheOperations;
-import org.apache.commons.collections4.CollectionUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import io.jmix.eclipselink.EclipselinkProperties;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
-@Component("eclipselink_QueryCache")
+/**
+ * In-memory query cache bounded by {@link EclipselinkProperties#getQueryCacheMaxSize()} entries.
+ * <p>
+ * Cached queries are indexed by the names of entities they depend on, so invalidation by entity type discards only
+ * the affected entries without iterating over the whole cache. The cache is local to the current node.
+ * <p>
+ * Used if the {@code jmix.eclipselink.query-cache-type} property is set to {@code local}.
+ *
+ * @see CacheManagerQueryCache
+ */
 public class StandardQueryCache implements QueryCache {
 
-    protected Cache queries;
+    /**
+     * @deprecated the cache with this name is used by {@link CacheManagerQueryCache},
+     * use {@link CacheManagerQueryCache#QUERY_CACHE_NAME}
+     */
+    @Deprecated
+    public static final String QUERY_CACHE_NAME = CacheManagerQueryCache.QUERY_CACHE_NAME;
+
+    protected static final Logger log = LoggerFactory.getLogger(QueryCache.class);
 
     @Autowired
-    protected CacheManager cacheManager;
-    @Autowired
-    protected CacheOperations cacheOperations;
+    protected EclipselinkProperties properties;
 
-    public static final String QUERY_CACHE_NAME = "jmix-eclipselink-query-cache";
+    protected Cache<QueryKey, QueryResult> queries;
 
-    protected static final Logger log = LoggerFactory.getLogger(QueryCache.class);
+    /**
+     * Keys of cached queries by names of the related entities.
+     */
+    protected final ConcurrentMap<String, Set<QueryKey>> keysByType = new ConcurrentHashMap<>();
+
+    /**
+     * Keys of cached queries without related types. Such queries are discarded on any invalidation.
+     */
+    protected final Set<QueryKey> untypedKeys = ConcurrentHashMap.newKeySet();
+
+    protected final AtomicLong invalidationCount = new AtomicLong();
+    protected final AtomicLong invalidatedEntryCount = new AtomicLong();
 
     @PostConstruct
     protected void init() {
-        queries = cacheManager.getCache(QUERY_CACHE_NAME);
-        if (queries == null) {
-            throw new IllegalStateException(String.format("Unable to find cache: %s", QUERY_CACHE_NAME));
-        }
+        queries = CacheBuilder.newBuilder()
+                .maximumSize(properties.getQueryCacheMaxSize())
+                .recordStats()
+                .<QueryKey, QueryResult>removalListener(this::onRemoval)
+                .build();
     }
 
     @Override
     public QueryResult get(QueryKey queryKey) {
-        return queries.get(queryKey, QueryResult.class);
+        return queries.getIfPresent(queryKey);
     }
 
     @Override
     public void put(QueryKey queryKey, QueryResult queryResult) {
         queries.put(queryKey, queryResult);
+        // index after putting, so that an entry is never left in the cache without being indexed
+        Set<String> relatedTypes = queryResult.getRelatedTypes();
+        if (relatedTypes == null || relatedTypes.isEmpty()) {
+            untypedKeys.add(queryKey);
+        } else {
+            for (String type : relatedTypes) {
+                keysByType.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()).add(queryKey);
+            }
+        }
     }
 
     @Override
     public void invalidate(String typeName) {
         log.debug("Invalidate cache for type {}", typeName);
-        invalidateByTypes(Sets.newHashSet(typeName));
+        invalidateByTypes(Collections.singleton(typeName));
     }
 
     @Override
@@ -76,38 +115,82 @@ public class StandardQueryCache implements QueryCache {
     }
 
     protected void invalidateByTypes(Set<String> typeNames) {
-        if (cacheOperations.isIterableCache(queries)) {
-            Set<QueryKey> evicted = new HashSet<>();
+        invalidationCount.incrementAndGet();
 
-            cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
-                if (CollectionUtils.containsAny(queryResult.getRelatedTypes(), typeNames)) {
-                    evicted.add(queryKey);
-                }
-            });
-
-            for (QueryKey queryKey : evicted) {
-                queries.evictIfPresent(queryKey);
+        Set<QueryKey> affectedKeys = new HashSet<>();
+        for (String typeName : typeNames) {
+            Set<QueryKey> keys = keysByType.remove(typeName);
+            if (keys != null) {
+                affectedKeys.addAll(keys);
+            }
+        }
+        if (!untypedKeys.isEmpty()) {
+            affectedKeys.addAll(untypedKeys);
+        }
 
+        long invalidated = 0;
+        ConcurrentMap<QueryKey, QueryResult> queriesMap = queries.asMap();
+        for (QueryKey queryKey : affectedKeys) {
+            if (queriesMap.remove(queryKey) != null) {
+                invalidated++;
             }
-        } else {
-            queries.invalidate();
         }
+        invalidatedEntryCount.addAndGet(invalidated);
+        log.trace("Invalidated {} cached queries for types {}", invalidated, typeNames);
     }
 
     @Override
     public void invalidateAll() {
         log.debug("Invalidate all cache");
-        queries.invalidate();
+        queries.invalidateAll();
+        keysByType.clear();
+        untypedKeys.clear();
     }
 
     @Override
     public long size() {
-        if (cacheOperations.isIterableCache(queries)) {
-            AtomicLong count = new AtomicLong();
-            cacheOperations.forEach(queries, (queryKey, queryResult) -> count.incrementAndGet());
-            return count.get();
-        } else {
-            return 0;
+        queries.cleanUp();
+        return queries.size();
+    }
+
+    @Override
+    public QueryCacheStatistics getStatistics() {
+        CacheStats stats = queries.stats();
+        return new QueryCacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                invalidationCount.get(), invalidatedEntryCount.get());
+    }
+
+    /**
+     * Removes keys of discarded entries from the type index.
+     */
+    protected void onRemoval(RemovalNotification<QueryKey, QueryResult> notification) {
+        QueryKey queryKey = notification.getKey();
+        QueryResult queryResult = notification.getValue();
+        if (queryKey == null || queryResult == null) {
+            return;
+        }
+
+        QueryResult currentResult = notification.getCause() == RemovalCause.REPLACED
+                ? queries.asMap().get(queryKey)
+                : null;
+
+        Set<String> relatedTypes = queryResult.getRelatedTypes();
+        if (relatedTypes == null || relatedTypes.isEmpty()) {
+            if (currentResult == null) {
+                untypedKeys.remove(queryKey);
+            }
+            return;
+        }
+        for (String type : relatedTypes) {
+            if (currentResult != null
+                    && currentResult.getRelatedTypes() != null
+                    && currentResult.getRelatedTypes().contains(type)) {
+                continue;
+            }
+            Set<QueryKey> keys = keysByType.get(type);
+            if (keys != null) {
+                keys.remove(queryKey);
+            }
         }
     }
 }
@@ -34,6 +34,8 @@ import org.springframework.beans.factory.BeanFactory;
 
 import java.io.Serializable;
 import java.rmi.server.ObjID;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implements ValueHolderInterface, WeavedAttributeValueHolderInterface,
@@ -47,6 +49,7 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
     private volatile boolean isInstantiated;
     private volatile Object value;
     private LoadOptions loadOptions;
+    private transient ValueHolderBatch batch;
 
     public AbstractValueHolder(BeanFactory beanFactory,
                                ValueHolderInterface originalValueHolder,
@@ -287,6 +290,31 @@ public abstract class AbstractValueHolder extends UnitOfWorkValueHolder implemen
 
     protected abstract void afterLoadValue(Object value);
 
+    /**
+     * Sets the value loaded by another holder of the same batch together with its own value.
+     * Does nothing if this holder is already instantiated.
+     */
+    protected void setBatchLoadedValue(Object value) {
+        // not synchronized on this holder to avoid deadlocks between holders loading the same batch
+        if (!isInstantiated) {
+            this.value = value;
+            afterLoadValue(value);
+            isInstantiated = true;
+        }
+    }
+
+    /**
+     * @return this holder followed by not instantiated holders of the same property of other entities
+     * loaded together with the owner, or only this holder if batch loading is not available
+     */
+    protected List<AbstractValueHolder> getBatchHolders() {
+        return batch == null ? Collections.singletonList(this) : batch.getHolders(this);
+    }
+
+    void setBatch(ValueHolderBatch batch) {
+        this.batch = batch;
+    }
+
     @Override
     public void setValue(Object value) {
         this.value = value;
@@ -55,10 +55,41 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
     @Override
     protected Object loadValue() {
         MetaClass metaClass = getMetadata().getClass(getOwner());
+        MetaProperty primaryKeyProperty = getMetadataTools().getPrimaryKeyProperty(metaClass);
+
+        List<AbstractValueHolder> holders = getBatchHolders();
+        if (holders.size() > 1 && primaryKeyProperty != null && !getMetadataTools().isEmbedded(primaryKeyProperty)) {
+            List<Object> ids = new ArrayList<>();
+            for (AbstractValueHolder holder : holders) {
+                ids.add(EntityValues.getId(holder.getOwner()));
+            }
+
+            Map<Object, Object> reloadedOwners = new HashMap<>();
+            for (Object reloadedOwner : getDataManager().loadList(createLoadContextByOwners(metaClass, primaryKeyProperty, ids))) {
+                reloadedOwners.put(EntityValues.getId(reloadedOwner), reloadedOwner);
+            }
+
+            Object reloadedOwner = reloadedOwners.get(EntityValues.getId(getOwner()));
+            if (reloadedOwner != null) {
+                for (AbstractValueHolder holder : holders) {
+                    Object siblingReloadedOwner = reloadedOwners.get(EntityValues.getId(holder.getOwner()));
+                    // holders of owners which are not reloaded keep loading their values separately
+                    if (holder != this && siblingReloadedOwner != null) {
+                        CollectionValuePropertyHolder sibling = (CollectionValuePropertyHolder) holder;
+                        sibling.setBatchLoadedValue(sibling.getValueFromReloadedOwner(siblingReloadedOwner));
+                    }
+                }
+                return getValueFromReloadedOwner(reloadedOwner);
+            }
+        }
 
         LoadContext<?> loadContext = createLoadContextByOwner(metaClass);
 
         Object reloadedOwner = getDataManager().load(loadContext);
+        return getValueFromReloadedOwner(reloadedOwner);
+    }
+
+    protected Collection<Object> getValueFromReloadedOwner(Object reloadedOwner) {
         Collection<Object> value = EntityValues.getValue(reloadedOwner, getPropertyInfo().getName());
 
         getSecurityState(getOwner()).addErasedIds(getPropertyInfo().getName(),
@@ -82,12 +113,26 @@ public class CollectionValuePropertyHolder extends AbstractValueHolder {
     protected LoadContext<?> createLoadContextByOwner(MetaClass metaClass) {
         return new LoadContext<>(metaClass)
                 .setId(Objects.requireNonNull(EntityValues.getId(getOwner())))
-                .setFetchPlan(
-                        getFetchPlans().builder(metaClass.getJavaClass())
-                                .add(getPropertyInfo().getName(), builder -> builder.addFetchPlan(FetchPlan.BASE))
-                                .build())
+                .setFetchPlan(createOwnerFetchPlan(metaClass))
+                .setAccessConstraints(getLoadOptions().getAccessConstraints())
+                .setHints(getLoadOptions().getHintsCopy());
+    }
+
+    protected LoadContext<?> createLoadContextByOwners(MetaClass metaClass, MetaProperty primaryKeyProperty, List<Object> ids) {
+        LoadContext<?> loadContext = new LoadContext<>(metaClass)
+                .setFetchPlan(createOwnerFetchPlan(metaClass))
                 .setAccessConstraints(getLoadOptions().getAccessConstraints())
                 .setHints(getLoadOptions().getHintsCopy());
+        loadContext.setQueryString(String.format("select e from %s e where e.%s in :ids",
+                        metaClass.getName(), primaryKeyProperty.getName()))
+                .setParameter("ids", ids);
+        return loadContext;
+    }
+
+    protected FetchPlan createOwnerFetchPlan(MetaClass metaClass) {
+        return getFetchPlans().builder(metaClass.getJavaClass())
+                .add(getPropertyInfo().getName(), builder -> builder.addFetchPlan(FetchPlan.BASE))
+                .build();
     }
 
     protected void replaceCollectionExistingReferences(Collection<Object> collection, Object entityToReplace) {
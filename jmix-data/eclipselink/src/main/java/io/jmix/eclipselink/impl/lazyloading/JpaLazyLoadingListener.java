@@ -25,6 +25,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.Range;
 import io.jmix.data.PersistenceHints;
+import io.jmix.eclipselink.EclipselinkProperties;
 import jakarta.persistence.Basic;
 import jakarta.persistence.FetchType;
 import org.eclipse.persistence.expressions.Expression;
@@ -36,6 +37,7 @@ import org.eclipse.persistence.internal.expressions.RelationExpression;
 import org.eclipse.persistence.internal.indirection.QueryBasedValueHolder;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
@@ -66,6 +68,8 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
     protected ExtendedEntities extendedEntities;
     @Autowired
     protected FetchPlans fetchPlans;
+    @Autowired
+    protected EclipselinkProperties properties;
 
     @Override
     public void afterEntityLoad(DataStoreAfterEntityLoadEvent event) {
@@ -77,12 +81,28 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         if (fetchPlan == null) {
             fetchPlan = fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.LOCAL);
         }
+        ValueHolderBatch batch = createBatch();
         for (Object entity : event.getResultEntities()) {
-            processValueHolders(entity, context, fetchPlan);
+            processValueHolders(entity, context, fetchPlan, batch);
         }
     }
 
     public void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan) {
+        processValueHolders(entity, loadContext, fetchPlan, createBatch());
+    }
+
+    /**
+     * Creates a batch shared by value holders of all entities of a load operation,
+     * or returns null if batch lazy loading is disabled.
+     */
+    @Nullable
+    protected ValueHolderBatch createBatch() {
+        int batchSize = properties.getLazyLoadingBatchSize();
+        return batchSize > 1 ? new ValueHolderBatch(batchSize) : null;
+    }
+
+    protected void processValueHolders(Object entity, LoadContext<?> loadContext, FetchPlan fetchPlan,
+                                       @Nullable ValueHolderBatch batch) {
         Map<Object, Set<FetchPlan>> collectedFetchPlans = new HashMap<>();
 
         if (fetchPlan != null) {
@@ -114,11 +134,11 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                         metadataTools.getCrossDataStoreReferenceIdProperty(property.getStore().getName(), property) == null) {
                     if (!entityStates.isLoaded(entry.getKey(), property.getName())) {
                         if (property.getRange().getCardinality().isMany()) {
-                            processCollectionValueHolder(entry.getKey(), property, loadOptions);
+                            processCollectionValueHolder(entry.getKey(), property, loadOptions, batch);
                         } else if (property.getRange().getCardinality() == Range.Cardinality.ONE_TO_ONE) {
-                            processOneToOneValueHolder(entry.getKey(), property, loadOptions);
+                            processOneToOneValueHolder(entry.getKey(), property, loadOptions, batch);
                         } else if (property.getRange().getCardinality() == Range.Cardinality.MANY_TO_ONE) {
-                            processManyToOneValueHolder(entry.getKey(), property, loadOptions);
+                            processManyToOneValueHolder(entry.getKey(), property, loadOptions, batch);
                         }
                     }
                 }
@@ -140,19 +160,24 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         }
     }
 
-    protected void processCollectionValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processCollectionValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                                @Nullable ValueHolderBatch batch) {
         Object valueHolder = getCollectionValueHolder(owner, property.getName());
         if (valueHolder != null && !(valueHolder instanceof AbstractValueHolder)) {
             AbstractValueHolder wrappedValueHolder =
                     new CollectionValuePropertyHolder(beanFactory, (ValueHolderInterface) valueHolder, owner, property);
 
             wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
+            if (batch != null) {
+                batch.add(wrappedValueHolder);
+            }
 
             setCollectionValueHolder(owner, property.getName(), wrappedValueHolder);
         }
     }
 
-    protected void processOneToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processOneToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                              @Nullable ValueHolderBatch batch) {
         Object originalValueHolder = getSingleValueHolder(owner, property.getName());
 
         if (originalValueHolder != null && !(originalValueHolder instanceof AbstractValueHolder)) {
@@ -175,6 +200,9 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                                     owner, property, entityId);
 
                     wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
+                    if (batch != null) {
+                        batch.add(wrappedValueHolder);
+                    }
                 }
             } else {
                 //noinspection ConstantConditions
@@ -188,7 +216,8 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
         }
     }
 
-    protected void processManyToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions) {
+    protected void processManyToOneValueHolder(Object owner, MetaProperty property, LoadOptions loadOptions,
+                                               @Nullable ValueHolderBatch batch) {
         Object originalValueHolder = getSingleValueHolder(owner, property.getName());
 
         if (originalValueHolder != null && !(originalValueHolder instanceof AbstractValueHolder)) {
@@ -207,6 +236,9 @@ public class JpaLazyLoadingListener implements DataStoreEventListener {
                                 owner, property, entityId);
 
                 wrappedValueHolder.setLoadOptions(LoadOptions.with(loadOptions));
+                if (batch != null) {
+                    batch.add(wrappedValueHolder);
+                }
 
                 setSingleValueHolder(owner, property.getName(), wrappedValueHolder);
             }
@@ -18,6 +18,7 @@ package io.jmix.eclipselink.impl.lazyloading;
 
 import io.jmix.core.LoadContext;
 import io.jmix.core.UuidProvider;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.core.impl.SerializationContext;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
@@ -26,7 +27,7 @@ import org.eclipse.persistence.indirection.ValueHolderInterface;
 import org.springframework.beans.factory.BeanFactory;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.*;
 
 import static io.jmix.core.entity.EntitySystemAccess.getSecurityState;
 
@@ -50,15 +51,53 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
 
     protected Object loadValue() {
         MetaClass metaClass = getMetadata().getClass(getPropertyInfo().getJavaType());
-        LoadOptions loadOptions = getLoadOptions();
+        MetaProperty primaryKeyProperty = getMetadataTools().getPrimaryKeyProperty(metaClass);
 
-        LoadContext<?> loadContext = new LoadContext<>(metaClass)
-                .setId(getEntityId())
-                .setHints(loadOptions.getHintsCopy())
-                .setHint(PREV_SOFT_DELETION,
-                        getLoadOptions().getHints().getOrDefault(PersistenceHints.SOFT_DELETION, SOFT_DELETION_ABSENT))
-                .setHint(PersistenceHints.SOFT_DELETION, false)
-                .setAccessConstraints(loadOptions.getAccessConstraints());
+        List<SingleValueOwningPropertyHolder> holders = new ArrayList<>();
+        for (AbstractValueHolder holder : getBatchHolders()) {
+            if (((SingleValueOwningPropertyHolder) holder).entityId != null) {
+                holders.add((SingleValueOwningPropertyHolder) holder);
+            }
+        }
+        if (holders.size() <= 1 || holders.get(0) != this
+                || primaryKeyProperty == null || getMetadataTools().isEmbedded(primaryKeyProperty)) {
+            return loadSingleValue(metaClass);
+        }
+
+        Set<Object> ids = new LinkedHashSet<>();
+        for (SingleValueOwningPropertyHolder holder : holders) {
+            ids.add(holder.getEntityId());
+        }
+
+        LoadContext<?> loadContext = createLoadContext(metaClass);
+        loadContext.setQueryString(String.format("select e from %s e where e.%s in :ids",
+                        metaClass.getName(), primaryKeyProperty.getName()))
+                .setParameter("ids", new ArrayList<>(ids));
+
+        Map<String, Object> entitiesById = new HashMap<>();
+        for (Object entity : getDataManager().loadList(loadContext)) {
+            entitiesById.put(getIdKey(EntityValues.getId(entity)), entity);
+        }
+
+        Object value = null;
+        for (SingleValueOwningPropertyHolder holder : holders) {
+            Object entityId = holder.getEntityId();
+            Object entity = entitiesById.get(getIdKey(entityId));
+            if (entity == null) {
+                getSecurityState(holder.getOwner()).addErasedId(getPropertyInfo().getName(), entityId);
+            }
+            if (holder == this) {
+                value = entity;
+            } else {
+                holder.setBatchLoadedValue(entity);
+            }
+        }
+        return value;
+    }
+
+    protected Object loadSingleValue(MetaClass metaClass) {
+        LoadContext<?> loadContext = createLoadContext(metaClass)
+                .setId(getEntityId());
 
         Object value = getDataManager().load(loadContext);
 
@@ -69,6 +108,24 @@ public class SingleValueOwningPropertyHolder extends AbstractSingleValueHolder {
         return value;
     }
 
+    protected LoadContext<?> createLoadContext(MetaClass metaClass) {
+        LoadOptions loadOptions = getLoadOptions();
+        return new LoadContext<>(metaClass)
+                .setHints(loadOptions.getHintsCopy())
+                .setHint(PREV_SOFT_DELETION,
+                        loadOptions.getHints().getOrDefault(PersistenceHints.SOFT_DELETION, SOFT_DELETION_ABSENT))
+                .setHint(PersistenceHints.SOFT_DELETION, false)
+                .setAccessConstraints(loadOptions.getAccessConstraints());
+    }
+
+    /**
+     * Identifiers read from the database row of the owner may have another Java type than identifiers of loaded
+     * entities, e.g. Integer instead of Long, so they are matched by string representation.
+     */
+    protected String getIdKey(Object id) {
+        return String.valueOf(id);
+    }
+
     protected Object convertId(Object entityId, MetaClass metaClass) {
         MetaProperty primaryKeyProperty = getMetadataTools().getPrimaryKeyProperty(metaClass);
         if (primaryKeyProperty != null && UUID.class.equals(primaryKeyProperty.getJavaType())) {
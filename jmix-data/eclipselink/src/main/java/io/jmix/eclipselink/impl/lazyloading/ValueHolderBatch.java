@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.eclipselink.impl.lazyloading;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Value holders created for entities of the same load operation. When a holder loads its value, it takes not
+ * instantiated holders of the same property of other entities from the batch and loads their values by the same query.
+ * <p>
+ * Holders are referenced weakly, so the batch does not prevent garbage collection of loaded entities.
+ */
+class ValueHolderBatch {
+
+    private final int batchSize;
+    private final Map<String, List<WeakReference<AbstractValueHolder>>> holders = new HashMap<>();
+
+    ValueHolderBatch(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    synchronized void add(AbstractValueHolder holder) {
+        holders.computeIfAbsent(getKey(holder), k -> new ArrayList<>()).add(new WeakReference<>(holder));
+        holder.setBatch(this);
+    }
+
+    /**
+     * Returns the given holder followed by not instantiated holders of the same type and property having the same
+     * load options. The number of returned holders is limited by the batch size.
+     */
+    synchronized List<AbstractValueHolder> getHolders(AbstractValueHolder holder) {
+        List<AbstractValueHolder> result = new ArrayList<>();
+        result.add(holder);
+
+        List<WeakReference<AbstractValueHolder>> references = holders.get(getKey(holder));
+        if (references == null) {
+            return result;
+        }
+        for (Iterator<WeakReference<AbstractValueHolder>> iterator = references.iterator(); iterator.hasNext(); ) {
+            AbstractValueHolder sibling = iterator.next().get();
+            if (sibling == null || sibling.isInstantiated()) {
+                iterator.remove();
+                continue;
+            }
+            if (result.size() >= batchSize) {
+                break;
+            }
+            if (sibling != holder && hasSameLoadOptions(sibling, holder)) {
+                result.add(sibling);
+            }
+        }
+        return result;
+    }
+
+    private String getKey(AbstractValueHolder holder) {
+        return holder.getClass().getName() + ":" + holder.getOwner().getClass().getName()
+                + "." + holder.getPropertyInfo().getName();
+    }
+
+    private boolean hasSameLoadOptions(AbstractValueHolder holder1, AbstractValueHolder holder2) {
+        LoadOptions options1 = holder1.getLoadOptions();
+        LoadOptions options2 = holder2.getLoadOptions();
+        return options1.getHints().equals(options2.getHints())
+                && options1.getAccessConstraints().equals(options2.getAccessConstraints());
+    }
+}
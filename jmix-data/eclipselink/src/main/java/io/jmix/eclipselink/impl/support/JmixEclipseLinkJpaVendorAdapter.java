@@ -17,9 +17,12 @@ package io.jmix.eclipselink.impl.support;
 
 import io.jmix.core.EnvironmentUtils;
 import io.jmix.core.MetadataTools;
+import io.jmix.eclipselink.EclipselinkProperties;
 import io.jmix.eclipselink.impl.JmixPersistenceProvider;
 import jakarta.persistence.spi.PersistenceProvider;
 import jakarta.validation.ValidatorFactory;
+import org.eclipse.persistence.config.BatchWriting;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.eclipse.persistence.config.SessionCustomizer;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 import org.eclipse.persistence.sessions.Session;
@@ -50,6 +53,9 @@ public class JmixEclipseLinkJpaVendorAdapter extends EclipseLinkJpaVendorAdapter
 
     protected final ValidatorFactory validatorFactory;
 
+    @Autowired
+    protected EclipselinkProperties eclipselinkProperties;
+
     @Autowired
     public JmixEclipseLinkJpaVendorAdapter(Environment environment,
                                            JmixEclipseLinkJpaDialect jpaDialect,
@@ -82,6 +88,9 @@ public class JmixEclipseLinkJpaVendorAdapter extends EclipseLinkJpaVendorAdapter
         map.put("eclipselink.weaving", "static");
         map.put("eclipselink.flush-clear.cache", "Merge");
         map.put("eclipselink.cache.shared.default", "false");
+        if (eclipselinkProperties.isJdbcBatchWritingEnabled()) {
+            map.put(PersistenceUnitProperties.BATCH_WRITING, BatchWriting.JDBC);
+        }
 
         map.put("jakarta.persistence.validation.mode", "AUTO");
         map.put("jakarta.persistence.validation.factory", validatorFactory);
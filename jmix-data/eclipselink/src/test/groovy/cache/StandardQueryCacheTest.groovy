@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cache
+
+import io.jmix.eclipselink.EclipselinkProperties
+import io.jmix.eclipselink.QueryCacheType
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache
+import spock.lang.Specification
+
+class StandardQueryCacheTest extends Specification {
+
+    StandardQueryCache queryCache
+
+    void setup() {
+        queryCache = new StandardQueryCache()
+        queryCache.properties = new EclipselinkProperties(true, 3, 2000, 100, QueryCacheType.LOCAL, false)
+        queryCache.init()
+    }
+
+    def "invalidation by type discards only related queries"() {
+        def fooKey = key('select e from test_Foo e')
+        def barKey = key('select e from test_Bar e')
+        def fooBarKey = key('select e from test_Foo e join e.bar b')
+
+        queryCache.put(fooKey, result('test_Foo', ['test_Foo']))
+        queryCache.put(barKey, result('test_Bar', ['test_Bar']))
+        queryCache.put(fooBarKey, result('test_Foo', ['test_Foo', 'test_Bar']))
+
+        when:
+
+        queryCache.invalidate('test_Bar')
+
+        then:
+
+        queryCache.get(fooKey) != null
+        queryCache.get(barKey) == null
+        queryCache.get(fooBarKey) == null
+        queryCache.size() == 1
+        queryCache.statistics.invalidationCount == 1
+        queryCache.statistics.invalidatedEntryCount == 2
+    }
+
+    def "cache size is bounded"() {
+        when:
+
+        (1..5).each {
+            queryCache.put(key("select e from test_Foo e where e.id = $it"), result('test_Foo', ['test_Foo']))
+        }
+
+        then:
+
+        queryCache.size() == 3
+        queryCache.statistics.evictionCount == 2
+
+        when:
+
+        queryCache.invalidate('test_Foo')
+
+        then:
+
+        queryCache.size() == 0
+    }
+
+    private static QueryKey key(String query) {
+        new QueryKey(query, 0, 0, true, false, null, null, null)
+    }
+
+    private static QueryResult result(String type, List<String> relatedTypes) {
+        new QueryResult([], type, relatedTypes as Set<String>)
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.constraint.RowLevelConstraint
+import io.jmix.core.event.EntityBulkChangedEvent
+import io.jmix.core.event.EntityChangedEvent
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.data.PersistenceHints
+import io.jmix.data.accesscontext.ReadEntityQueryContext
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Status
+import test_support.listeners.TestCustomerListener
+
+class DataManagerBulkOperationTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    TestCustomerListener listener
+
+    List<EntityBulkChangedEvent<Customer>> bulkChangedEvents = []
+    List<EntityChangedEvent<Customer>> changedEvents = []
+
+    void setup() {
+        dataManager.save(
+                dataManager.create(Customer).tap { name = 'a1'; status = Status.OK },
+                dataManager.create(Customer).tap { name = 'a2'; status = Status.OK },
+                dataManager.create(Customer).tap { name = 'b1'; status = Status.OK },
+                dataManager.create(Customer).tap { name = 'b2'; status = Status.NOT_OK }
+        )
+        listener.bulkChangedEventConsumer = { bulkChangedEvents << it }
+        listener.changedEventConsumer = { changedEvents << it }
+    }
+
+    void cleanup() {
+        listener.bulkChangedEventConsumer = null
+        listener.changedEventConsumer = null
+        jdbc.update('delete from SALES_CUSTOMER')
+    }
+
+    def "entities are updated by a JPQL condition"() {
+        when:
+        def count = dataManager.bulkUpdate(Customer)
+                .set('status', Status.NOT_OK)
+                .query('e.name like :name')
+                .parameter('name', 'a%')
+                .execute()
+
+        then:
+        count == 2
+        dataManager.load(Customer).query('e.status = :status').parameter('status', Status.NOT_OK).list()
+                .collect { it.name }.sort() == ['a1', 'a2', 'b2']
+        jdbc.queryForObject("select count(*) from SALES_CUSTOMER where VERSION = 2 and UPDATE_TS is not null", Integer) == 2
+
+        and: 'a single event is sent instead of EntityChangedEvent for each entity'
+        bulkChangedEvents.size() == 1
+        bulkChangedEvents[0].type == EntityChangedEvent.Type.UPDATED
+        bulkChangedEvents[0].count == 2
+        bulkChangedEvents[0].attributes.containsAll(['status', 'version'])
+        changedEvents.isEmpty()
+    }
+
+    def "entities are soft deleted by a condition"() {
+        when:
+        def count = dataManager.bulkDelete(Customer)
+                .condition(PropertyCondition.equal('status', Status.OK))
+                .execute()
+
+        then:
+        count == 3
+        dataManager.load(Customer).all().list()*.name == ['b2']
+        jdbc.queryForObject('select count(*) from SALES_CUSTOMER where DELETE_TS is not null', Integer) == 3
+        bulkChangedEvents.size() == 1
+        bulkChangedEvents[0].type == EntityChangedEvent.Type.DELETED
+    }
+
+    def "entities are hard deleted without soft deletion"() {
+        when:
+        def count = dataManager.bulkDelete(Customer)
+                .query('e.name like :name')
+                .parameter('name', 'b%')
+                .hint(PersistenceHints.SOFT_DELETION, false)
+                .execute()
+
+        then:
+        count == 2
+        jdbc.queryForObject('select count(*) from SALES_CUSTOMER', Integer) == 2
+    }
+
+    def "condition without values is rejected"() {
+        when:
+        dataManager.bulkDelete(Customer)
+                .condition(PropertyCondition.equal('name', null))
+                .execute()
+
+        then:
+        thrown(IllegalArgumentException)
+        jdbc.queryForObject('select count(*) from SALES_CUSTOMER where DELETE_TS is null', Integer) == 4
+    }
+
+    def "row-level constraints restrict affected entities"() {
+        when:
+        def count = dataManager.bulkUpdate(Customer)
+                .set('name', 'changed')
+                .query('e.status = :status')
+                .parameter('status', Status.OK)
+                .accessConstraints([new NamePrefixConstraint()])
+                .execute()
+
+        then:
+        count == 2
+        dataManager.load(Customer).all().list()*.name.sort() == ['b1', 'b2', 'changed', 'changed']
+    }
+
+    static class NamePrefixConstraint implements RowLevelConstraint<ReadEntityQueryContext> {
+
+        @Override
+        Class<ReadEntityQueryContext> getContextType() {
+            return ReadEntityQueryContext
+        }
+
+        @Override
+        void applyTo(ReadEntityQueryContext context) {
+            context.addJoinAndWhere(null, "{E}.name like 'a%'")
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityStates
+import io.jmix.core.SaveContext
+import io.jmix.core.event.EntityBulkChangedEvent
+import io.jmix.core.event.EntityBulkSavingEvent
+import io.jmix.core.event.EntityChangedEvent
+import io.jmix.data.DataProperties
+import io.jmix.data.PersistenceHints
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Status
+import test_support.listeners.TestCustomerListener
+
+class DataManagerBulkSaveTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    EntityStates entityStates
+    @Autowired
+    DataProperties dataProperties
+    @Autowired
+    TestCustomerListener listener
+
+    int customersCount
+    List<EntityChangedEvent<Customer>> changedEvents = []
+    List<EntityBulkSavingEvent<Customer>> bulkSavingEvents = []
+    List<EntityBulkChangedEvent<Customer>> bulkChangedEvents = []
+
+    void setup() {
+        customersCount = dataProperties.bulkSaveBatchSize * 2 + 5
+        listener.changedEventConsumer = { changedEvents << it }
+        listener.bulkSavingEventConsumer = { bulkSavingEvents << it }
+        listener.bulkChangedEventConsumer = { bulkChangedEvents << it }
+    }
+
+    void cleanup() {
+        listener.changedEventConsumer = null
+        listener.bulkSavingEventConsumer = null
+        listener.bulkChangedEventConsumer = null
+        jdbc.update('delete from SALES_CUSTOMER')
+    }
+
+    def "new entities are saved by chunks with per-entity events"() {
+        def customers = createCustomers()
+        def saveContext = new SaveContext().saving(customers.toArray()).setHint(PersistenceHints.BULK_SAVE, true)
+
+        when:
+        def saved = dataManager.save(saveContext)
+
+        then:
+        saved.size() == customersCount
+        customers.every { saved.get(it).is(it) }
+        customers.every { !entityStates.isNew(it) && entityStates.isDetached(it) }
+
+        and: 'EntitySavingEvent and EntityChangedEvent are sent for each entity'
+        customers.every { it.status == Status.OK }
+        changedEvents.size() == customersCount
+        changedEvents.every { it.type == EntityChangedEvent.Type.CREATED }
+        changedEvents.collect { it.entityId.value } as Set == customers.collect { it.id } as Set
+        bulkSavingEvents.isEmpty()
+
+        and:
+        jdbc.queryForObject('select count(*) from SALES_CUSTOMER', Integer) == customersCount
+    }
+
+    def "per-entity events are replaced by batched events"() {
+        def customers = createCustomers()
+        def saveContext = new SaveContext().saving(customers.toArray())
+                .setHint(PersistenceHints.BULK_SAVE, true)
+                .setHint(PersistenceHints.BULK_SAVE_BATCHED_EVENTS, true)
+
+        when:
+        dataManager.save(saveContext)
+
+        then:
+        bulkSavingEvents.size() == 3
+        bulkSavingEvents.every { it.newEntities }
+        bulkSavingEvents.collectMany { it.entities } == customers
+        changedEvents.isEmpty()
+
+        and: 'a single EntityBulkChangedEvent is sent for all created entities'
+        bulkChangedEvents.size() == 1
+        bulkChangedEvents[0].type == EntityChangedEvent.Type.CREATED
+        bulkChangedEvents[0].count == customersCount
+
+        and: 'the listener of EntitySavingEvent is not invoked'
+        customers.every { it.status == null }
+        jdbc.queryForObject('select count(*) from SALES_CUSTOMER', Integer) == customersCount
+    }
+
+    def "existing entities are updated by chunks"() {
+        dataManager.save(new SaveContext().saving(createCustomers().toArray()).setDiscardSaved(true))
+        def customers = dataManager.load(Customer).all().list()
+        customers.each { it.name = it.name + '-updated' }
+        changedEvents.clear()
+
+        when:
+        def saved = dataManager.save(new SaveContext().saving(customers.toArray()).setHint(PersistenceHints.BULK_SAVE, true))
+
+        then:
+        saved.size() == customersCount
+        saved.every { entityStates.isDetached(it) }
+        jdbc.queryForObject("select count(*) from SALES_CUSTOMER where NAME like '%-updated'", Integer) == customersCount
+
+        and: 'EntityChangedEvent is sent for each entity with its changes'
+        changedEvents.size() == customersCount
+        changedEvents.every { it.type == EntityChangedEvent.Type.UPDATED && it.changes.isChanged('name') }
+    }
+
+    protected List<Customer> createCustomers() {
+        (0..<customersCount).collect { i ->
+            dataManager.create(Customer).tap { name = String.format('c%05d', i) }
+        }
+    }
+}
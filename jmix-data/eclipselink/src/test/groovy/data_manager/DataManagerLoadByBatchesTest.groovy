@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.SaveContext
+import io.jmix.core.Sort
+import io.jmix.core.Stores
+import io.jmix.core.accesscontext.InMemoryCrudEntityContext
+import io.jmix.core.constraint.InMemoryConstraint
+import io.jmix.core.constraint.RowLevelConstraint
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.core.querycondition.LogicalCondition
+import io.jmix.core.querycondition.PropertyCondition
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+
+import java.util.function.BiPredicate
+
+class DataManagerLoadByBatchesTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    void setup() {
+        def customers = (0..<20).collect { i ->
+            dataManager.create(Customer).tap { name = String.format('c%02d', i) }
+        }
+        dataManager.save(new SaveContext().saving(customers.toArray()).setDiscardSaved(true))
+    }
+
+    void cleanup() {
+        jdbc.update('delete from SALES_CUSTOMER')
+    }
+
+    def "page is filled up after entities are filtered in memory"() {
+        def expected = dataManager.load(Customer).query(query).list()
+                .findAll { permitted(it) }
+                .drop(2).take(4)*.name
+
+        when:
+        def page = dataManager.load(Customer)
+                .query(query)
+                .firstResult(2)
+                .maxResults(4)
+                .accessConstraints([new EvenNumberConstraint()])
+                .list()
+
+        then:
+        page*.name == expected
+
+        where:
+        query << ['select e from sales_Customer e order by e.id',
+                  'select e from sales_Customer e order by e.id desc',
+                  'select e from sales_Customer e order by e.name desc']
+    }
+
+    def "next batch is loaded after the key of the last entity if query is ordered by primary key"() {
+        def dataStore = dataStoreFactory.get(Stores.MAIN)
+        def lastEntity = dataManager.load(Customer).all().list()[0]
+
+        def context = new LoadContext<Customer>(metadata.getClass(Customer))
+        context.setQueryString('select e from sales_Customer e where e.name like :name order by e.id desc')
+                .setParameter('name', 'c%')
+
+        when:
+        def batchContext = dataStore.createBatchContext(context, 10, 5, lastEntity)
+
+        then:
+        batchContext.query.firstResult == 0
+        batchContext.query.maxResults == 5
+        with(batchContext.query.condition as PropertyCondition) {
+            property == 'id'
+            operation == PropertyCondition.Operation.LESS
+            parameterValue == lastEntity.id
+        }
+
+        when: 'the query is sorted by a primary key and has condition'
+        context.query.setSort(Sort.by('id'))
+        context.query.setCondition(PropertyCondition.equal('name', 'c01'))
+        batchContext = dataStore.createBatchContext(context, 10, 5, lastEntity)
+
+        then:
+        batchContext.query.firstResult == 0
+        with(batchContext.query.condition as LogicalCondition) {
+            conditions.size() == 2
+            (conditions[1] as PropertyCondition).operation == PropertyCondition.Operation.GREATER
+        }
+        context.query.condition instanceof PropertyCondition
+
+        when: 'the query is sorted by another property'
+        context.query.setSort(Sort.by('name'))
+        batchContext = dataStore.createBatchContext(context, 10, 5, lastEntity)
+
+        then:
+        batchContext.query.firstResult == 10
+        batchContext.query.condition instanceof PropertyCondition
+    }
+
+    private static boolean permitted(Customer customer) {
+        Integer.parseInt(customer.name.substring(1)) % 2 == 0
+    }
+
+    static class EvenNumberConstraint implements InMemoryConstraint<InMemoryCrudEntityContext>, RowLevelConstraint<InMemoryCrudEntityContext> {
+
+        @Override
+        Class<InMemoryCrudEntityContext> getContextType() {
+            return InMemoryCrudEntityContext
+        }
+
+        @Override
+        void applyTo(InMemoryCrudEntityContext context) {
+            context.addReadPredicate({ entity, ctx -> permitted(entity as Customer) } as BiPredicate)
+        }
+    }
+}
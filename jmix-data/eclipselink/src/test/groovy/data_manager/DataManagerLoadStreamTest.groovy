@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityStates
+import io.jmix.core.SaveContext
+import io.jmix.data.DataProperties
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+
+import java.util.stream.Collectors
+
+class DataManagerLoadStreamTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    EntityStates entityStates
+    @Autowired
+    DataProperties dataProperties
+
+    int customersCount
+
+    void setup() {
+        customersCount = dataProperties.loadStreamFetchSize * 2 + 10
+
+        SaveContext saveContext = new SaveContext().setDiscardSaved(true)
+        for (int i = 0; i < customersCount; i++) {
+            saveContext.saving(dataManager.create(Customer).tap { name = String.format('c%05d', i) })
+        }
+        dataManager.save(saveContext)
+    }
+
+    def "entities are read from the stream in chunks"() {
+        when:
+        List<Customer> customers
+        try (def stream = dataManager.load(Customer)
+                .query('select c from sales_Customer c order by c.name')
+                .stream()) {
+            customers = stream.collect(Collectors.toList())
+        }
+
+        then:
+        customers.size() == customersCount
+        customers.first().name == 'c00000'
+        customers.last().name == String.format('c%05d', customersCount - 1)
+        customers.every { entityStates.isDetached(it) }
+        !TransactionSynchronizationManager.isActualTransactionActive()
+    }
+
+    def "transaction is completed when the stream is closed before the end"() {
+        when:
+        List<String> names
+        try (def stream = dataManager.load(Customer).all().stream()) {
+            names = stream.limit(5).map { it.name }.collect(Collectors.toList())
+        }
+
+        then:
+        names.size() == 5
+        !TransactionSynchronizationManager.isActualTransactionActive()
+
+        and: 'the data store is usable after that'
+        dataManager.load(Customer).query('e.name = ?1', 'c00001').one().name == 'c00001'
+    }
+
+    def "entities saved while consuming the stream are committed independently of it"() {
+        when:
+        List<Boolean> txActive = []
+        try (def stream = dataManager.load(Customer)
+                .query('select c from sales_Customer c order by c.name')
+                .stream()) {
+            stream.limit(3).forEach {
+                txActive << TransactionSynchronizationManager.isActualTransactionActive()
+                it.name = it.name + '-changed'
+                dataManager.save(it)
+            }
+        }
+
+        then:
+        txActive == [false, false, false]
+        dataManager.load(Customer).query('e.name like ?1', '%-changed').list()*.name.sort() ==
+                ['c00000-changed', 'c00001-changed', 'c00002-changed']
+    }
+
+    def "stream of a page is loaded as a list"() {
+        when:
+        List<Customer> customers
+        try (def stream = dataManager.load(Customer)
+                .query('select c from sales_Customer c order by c.name')
+                .firstResult(10)
+                .maxResults(20)
+                .stream()) {
+            customers = stream.collect(Collectors.toList())
+        }
+
+        then:
+        customers*.name == (10..29).collect { String.format('c%05d', it) }
+    }
+}
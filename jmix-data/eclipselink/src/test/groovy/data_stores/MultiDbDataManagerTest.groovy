@@ -48,6 +48,7 @@ class MultiDbDataManagerTest extends DataSpec {
     def cleanup() {
         try {
             jdbcTemplate.update("delete from CARS_COLOUR")
+            storeAwareLocator.getJdbcTemplate("db1").update("delete from ORDER_")
             storeAwareLocator.getJdbcTemplate("db1").update("delete from CUSTOMER")
         } catch (DataAccessException e) {
             // ignore
@@ -160,6 +161,39 @@ class MultiDbDataManagerTest extends DataSpec {
         loadedOrder.mem1Customer != null
     }
 
+    void testCrossDataStoreReferencesLoadedByDistinctIds() {
+        def memStore = (TestInMemoryDataStore) dataStoreFactory.get("mem1")
+        def customers = (1..3).collect { i ->
+            dataManager.save(metadata.create(Mem1Customer).tap { name = "customer-$i" })
+        }
+        [0, 0, 1, 2, 2].each { i ->
+            dataManager.save(metadata.create(Db1Order).tap {
+                orderDate = new Date()
+                mem1Customer = customers[i]
+                mem1CustomerId = customers[i].id
+            })
+        }
+        int loadCount = memStore.loadCount
+        int loadListCount = memStore.loadListCount
+
+        when:
+        List<Db1Order> orders = dataManager.load(Db1Order)
+                .all()
+                .fetchPlan({ builder -> builder.addFetchPlan(FetchPlan.BASE).add("mem1Customer") })
+                .list()
+
+        then: "all referenced entities are loaded by a single query"
+        memStore.loadListCount == loadListCount + 1
+        memStore.loadCount == loadCount
+
+        and: "loaded entities are assigned to all orders referencing them"
+        orders.size() == 5
+        orders.every { it.mem1Customer != null && it.mem1Customer.id == it.mem1CustomerId }
+        def firstCustomerOrders = orders.findAll { it.mem1CustomerId == customers[0].id }
+        firstCustomerOrders.size() == 2
+        firstCustomerOrders[0].mem1Customer.is(firstCustomerOrders[1].mem1Customer)
+    }
+
     void testNestedCrossDatastoreEntitiesSaving() {
         when:
         Db1Order order = metadata.create(Db1Order)
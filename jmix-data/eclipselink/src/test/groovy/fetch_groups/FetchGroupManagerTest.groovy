@@ -17,6 +17,7 @@
 package fetch_groups
 
 import io.jmix.core.*
+import io.jmix.core.impl.FetchPlanRepositoryImpl
 import io.jmix.eclipselink.impl.FetchGroupManager
 import org.eclipse.persistence.config.QueryHints
 import org.springframework.beans.factory.annotation.Autowired
@@ -33,6 +34,8 @@ class FetchGroupManagerTest extends DataSpec {
     FetchPlans fetchPlans
     @Autowired
     FetchGroupManager fetchGroupManager
+    @Autowired
+    FetchPlanRepositoryImpl fetchPlanRepository
 
     Customer customer
     Order order
@@ -212,4 +215,44 @@ class FetchGroupManagerTest extends DataSpec {
         entityStates.isLoaded(order.orderLines[0], 'product')
         entityStates.isLoaded(order.orderLines[0].product, 'quantity')
     }
+
+    def "fetch group is cached for equal fetch plans and query"() {
+        def buildPlan = { FetchMode mode ->
+            fetchPlans.builder(Order)
+                    .addFetchPlan(FetchPlan.BASE)
+                    .add('customer', { it.addFetchPlan(FetchPlan.BASE) }, mode)
+                    .add('orderLines', FetchPlan.BASE)
+                    .build()
+        }
+
+        when:
+        def description = fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', buildPlan(FetchMode.JOIN), false, true)
+
+        then:
+        description.sealed
+        fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', buildPlan(FetchMode.JOIN), false, true).is(description)
+
+        and: 'different fetch mode, query or result expectation produce another fetch group'
+        !fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', buildPlan(FetchMode.BATCH), false, true).is(description)
+        !fetchGroupManager.calculateFetchGroup(
+                'select e from sales_Order e', buildPlan(FetchMode.JOIN), false, true).is(description)
+        !fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', buildPlan(FetchMode.JOIN), true, true).is(description)
+
+        when:
+        description.addAttribute('number')
+
+        then:
+        thrown(IllegalStateException)
+
+        when: 'fetch plans are reloaded'
+        fetchPlanRepository.reset()
+
+        then:
+        !fetchGroupManager.calculateFetchGroup(
+                'select o from sales_Order o', buildPlan(FetchMode.JOIN), false, true).is(description)
+    }
 }
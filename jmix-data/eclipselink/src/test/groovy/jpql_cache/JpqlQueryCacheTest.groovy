@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jpql_cache
+
+import io.jmix.core.DataManager
+import io.jmix.core.Sort
+import io.jmix.core.querycondition.Condition
+import io.jmix.core.querycondition.LogicalCondition
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.data.impl.JpqlQueryBuilder
+import io.jmix.data.impl.JpqlQueryCache
+import org.springframework.beans.factory.BeanFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import test_support.DataSpec
+import test_support.TestPropertyConditionGenerator
+import test_support.entity.sales.Customer
+
+class JpqlQueryCacheTest extends DataSpec {
+
+    @Autowired
+    BeanFactory beanFactory
+    @Autowired
+    JpqlQueryCache jpqlQueryCache
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    JdbcTemplate jdbcTemplate
+    @Autowired
+    TestPropertyConditionGenerator testPropertyConditionGenerator
+
+    void setup() {
+        jpqlQueryCache.invalidateAll()
+    }
+
+    void cleanup() {
+        testPropertyConditionGenerator.targetProperty = null
+    }
+
+    def "transformed query is taken from the cache for the same inputs"() {
+        def condition = LogicalCondition.and(
+                PropertyCondition.createWithParameterName('name', PropertyCondition.Operation.EQUAL, 'name'),
+                PropertyCondition.createWithParameterName('status', PropertyCondition.Operation.EQUAL, 'status')
+                        .skipNullOrEmpty())
+
+        when:
+        def first = builder(condition, [name: 'a', status: 'O'], Sort.by('name'))
+        def hits = jpqlQueryCache.stats.hitCount()
+        def second = builder(condition, [name: 'b', status: 'N'], Sort.by('name'))
+
+        then:
+        second.resultQueryString == first.resultQueryString
+        jpqlQueryCache.stats.hitCount() == hits + 1
+        second.resultParameters == [name: 'b', status: 'N']
+
+        when: 'a part of the condition is skipped because of the empty parameter'
+        def third = builder(condition, [name: 'b', status: null], Sort.by('name'))
+
+        then:
+        third.resultQueryString != first.resultQueryString
+        !third.resultQueryString.contains(':status')
+        jpqlQueryCache.stats.hitCount() == hits + 1
+
+        when: 'the sort is different'
+        def fourth = builder(condition, [name: 'a', status: 'O'], Sort.by(Sort.Direction.DESC, 'name'))
+
+        then:
+        fourth.resultQueryString != first.resultQueryString
+        fourth.resultQueryString.contains('desc')
+    }
+
+    def "conditions with generated parameter names share the cached query"() {
+        def firstCondition = LogicalCondition.and(
+                PropertyCondition.equal('name', 'a'),
+                PropertyCondition.equal('status', 'O'))
+        def secondCondition = LogicalCondition.and(
+                PropertyCondition.equal('name', 'b'),
+                PropertyCondition.equal('status', 'N'))
+        def secondNameParam = secondCondition.conditions[0].parameterName
+        def secondStatusParam = secondCondition.conditions[1].parameterName
+
+        when:
+        def first = builder(firstCondition, [:], null)
+        first.resultQueryString
+        def hits = jpqlQueryCache.stats.hitCount()
+        def second = builder(secondCondition, [:], null)
+
+        then:
+        jpqlQueryCache.stats.hitCount() == hits + 1
+        second.resultQueryString.contains(':' + secondNameParam)
+        second.resultQueryString.contains(':' + secondStatusParam)
+        !second.resultQueryString.contains(':' + firstCondition.conditions[0].parameterName)
+        second.resultParameters == [(secondNameParam): 'b', (secondStatusParam): 'N']
+    }
+
+    def "loading with generated parameter names uses actual parameters"() {
+        def customer1 = dataManager.create(Customer)
+        customer1.name = 'c1'
+        def customer2 = dataManager.create(Customer)
+        customer2.name = 'c2'
+        dataManager.save(customer1, customer2)
+
+        when:
+        def loaded1 = dataManager.load(Customer).condition(PropertyCondition.equal('name', 'c1')).list()
+        def loaded2 = dataManager.load(Customer).condition(PropertyCondition.equal('name', 'c2')).list()
+
+        then:
+        loaded1 == [customer1]
+        loaded2 == [customer2]
+
+        cleanup:
+        jdbcTemplate.update('delete from SALES_CUSTOMER')
+    }
+
+    def "value of unary condition is a part of the key"() {
+        when:
+        def isSet = builder(PropertyCondition.createWithValue('name', PropertyCondition.Operation.IS_SET, true), [:], null)
+        def isNotSet = builder(PropertyCondition.createWithValue('name', PropertyCondition.Operation.IS_SET, false), [:], null)
+
+        then:
+        isSet.resultQueryString.contains('is not null')
+        isNotSet.resultQueryString.contains('is null')
+        !isNotSet.resultQueryString.contains('is not null')
+    }
+
+    def "condition generated by a custom generator is not cached"() {
+        def condition = PropertyCondition.createWithParameterName('name', PropertyCondition.Operation.EQUAL, 'name')
+
+        when:
+        testPropertyConditionGenerator.targetProperty = 'name'
+        def first = builder(condition, [name: 'a'], null)
+        first.resultQueryString
+        testPropertyConditionGenerator.targetProperty = 'status'
+        def second = builder(condition, [name: 'a'], null)
+
+        then:
+        first.resultQueryString.contains('e.name = :name')
+        second.resultQueryString.contains('e.status = :name')
+    }
+
+    def "count and distinct queries are cached separately"() {
+        when:
+        def list = builder(null, [:], null)
+        def count = builder(null, [:], null).setCountQuery()
+
+        then:
+        list.resultQueryString == 'select e from sales_Customer e'
+        count.resultQueryString.contains('count(e)')
+    }
+
+    protected JpqlQueryBuilder builder(Condition condition, Map<String, Object> params, Sort sort) {
+        def builder = beanFactory.getBean(JpqlQueryBuilder)
+                .setEntityName('sales_Customer')
+                .setQueryString('select e from sales_Customer e')
+                .setQueryParameters(new HashMap<>(params))
+        if (condition != null) {
+            builder.setCondition(condition)
+        }
+        if (sort != null) {
+            builder.setSort(sort)
+        }
+        builder
+    }
+}
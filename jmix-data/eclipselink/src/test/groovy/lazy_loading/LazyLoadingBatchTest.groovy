@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package lazy_loading
+
+import io.jmix.core.DataManager
+import io.jmix.core.FetchPlan
+import io.jmix.eclipselink.impl.lazyloading.AbstractValueHolder
+import io.jmix.eclipselink.impl.lazyloading.ValueHoldersSupport
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+import test_support.entity.sales.OrderLineA
+
+class LazyLoadingBatchTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    List<Customer> customers
+
+    void setup() {
+        customers = (1..3).collect { i -> dataManager.create(Customer).tap { name = "c$i" } }
+        dataManager.save(*customers)
+
+        customers.eachWithIndex { customer, i ->
+            def order = dataManager.create(Order).tap { number = "o$i"; it.customer = customer }
+            def lines = (1..2).collect { j -> dataManager.create(OrderLineA).tap { quantity = j; it.order = order } }
+            dataManager.save(order, *lines)
+        }
+    }
+
+    def "references of entities loaded together are loaded by one query"() {
+        def orders = loadOrders()
+
+        expect:
+        orders.every { !isInstantiated(ValueHoldersSupport.getSingleValueHolder(it, 'customer')) }
+
+        when:
+        def customer = orders[0].customer
+
+        then:
+        customer == customers[0]
+        orders.every { isInstantiated(ValueHoldersSupport.getSingleValueHolder(it, 'customer')) }
+        orders.collect { it.customer } == customers
+    }
+
+    def "collections of entities loaded together are loaded by one query"() {
+        def orders = loadOrders()
+
+        when:
+        def lines = orders[1].orderLines
+
+        then:
+        lines.collect { it.quantity }.sort() == [1, 2]
+        orders.every { isInstantiated(ValueHoldersSupport.getCollectionValueHolder(it, 'orderLines')) }
+        orders.every { order -> order.orderLines.size() == 2 && order.orderLines.every { it.order == order } }
+    }
+
+    private List<Order> loadOrders() {
+        dataManager.load(Order)
+                .query('select e from sales_Order e order by e.number')
+                .fetchPlan(FetchPlan.LOCAL)
+                .list()
+    }
+
+    private static boolean isInstantiated(Object valueHolder) {
+        valueHolder instanceof AbstractValueHolder && ((AbstractValueHolder) valueHolder).isInstantiated()
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package number_id_generation
+
+import io.jmix.core.Metadata
+import io.jmix.data.DataConfigPropertiesAccess
+import io.jmix.data.DataProperties
+import io.jmix.data.impl.NumberIdCache
+import io.jmix.data.impl.NumberIdWorker
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.beans.factory.annotation.Autowired
+import spock.util.concurrent.PollingConditions
+import test_support.DataSpec
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+class NumberIdPrefetchTest extends DataSpec {
+
+    private static final String SEQUENCE = 'test$PrefetchSequence'
+    private static final int BLOCK_SIZE = 10
+    private static final int MAX_BLOCKS = 4
+
+    @Autowired
+    private Metadata metadata
+    @Autowired
+    private DataProperties dataProperties
+
+    private TestNumberIdWorker worker
+    private SimpleMeterRegistry meterRegistry
+    private NumberIdCache numberIdCache
+
+    private PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void setup() {
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, BLOCK_SIZE)
+        DataConfigPropertiesAccess.setNumberIdPrefetchEnabled(dataProperties, true)
+        DataConfigPropertiesAccess.setNumberIdPrefetchMaxBlocks(dataProperties, MAX_BLOCKS)
+
+        worker = new TestNumberIdWorker(dataProperties)
+        meterRegistry = new SimpleMeterRegistry()
+
+        numberIdCache = new NumberIdCache()
+        numberIdCache.metadata = metadata
+        numberIdCache.numberIdWorker = worker
+        numberIdCache.dataProperties = dataProperties
+        numberIdCache.meterRegistry = meterRegistry
+        numberIdCache.init()
+    }
+
+    void cleanup() {
+        numberIdCache.destroy()
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+        DataConfigPropertiesAccess.setNumberIdPrefetchEnabled(dataProperties, false)
+        DataConfigPropertiesAccess.setNumberIdPrefetchMaxBlocks(dataProperties, 8)
+    }
+
+    def "next block is prefetched when half of the current block is used"() {
+
+        when:
+
+        def ids = generateIds(5)
+
+        then:
+
+        ids == (1..5).toList()
+
+        when: "the current block is exhausted"
+
+        waitForPrefetch()
+        ids = generateIds(7)
+
+        then: "the prefetched block is used without fetching synchronously"
+
+        ids == (6..12).toList()
+        worker.fetchCount.get() == 2
+        fetchCount('sync') == 1
+        fetchCount('async') == 1
+    }
+
+    def "block is fetched synchronously if prefetch is not completed when the current block is exhausted"() {
+
+        worker.prefetchLatch = new CountDownLatch(1)
+
+        when:
+
+        def ids = generateIds(15)
+
+        then:
+
+        ids == (1..15).toList()
+        fetchCount('sync') == 2
+
+        when: "the delayed prefetch completes"
+
+        worker.prefetchLatch.countDown()
+        waitForPrefetch()
+
+        ids = generateIds(10)
+
+        then: "ids continue across the block boundary without gaps and duplicates"
+
+        ids == (16..25).toList()
+        fetchCount('sync') == 2
+    }
+
+    def "failed prefetch doesn't break id generation"() {
+
+        worker.failPrefetch = true
+
+        when:
+
+        def ids = generateIds(35)
+
+        then:
+
+        ids == (1..35).toList()
+        worker.fetchCount.get() == 4
+        fetchCount('sync') == 4
+    }
+
+    def "blocks are not prefetched if prefetch is disabled"() {
+
+        DataConfigPropertiesAccess.setNumberIdPrefetchEnabled(dataProperties, false)
+
+        when:
+
+        def ids = generateIds(25)
+
+        then:
+
+        ids == (1..25).toList()
+        worker.fetchCount.get() == 3
+        fetchCount('sync') == 3
+        fetchCount('async') == 0
+    }
+
+    def "number of prefetched blocks is limited"() {
+
+        when: "blocks are exhausted fast"
+
+        def ids = generateIds(50 * BLOCK_SIZE)
+        waitForPrefetch()
+
+        then:
+
+        (ids as Set).size() == 50 * BLOCK_SIZE
+        generator().prefetchDepth == MAX_BLOCKS
+        generator().prefetchedBlocks.size() <= MAX_BLOCKS
+    }
+
+    def "ids are unique when generated concurrently"() {
+
+        int threads = 8
+        int idsPerThread = 500
+        Queue<Long> ids = new ConcurrentLinkedQueue<>()
+
+        when:
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads)
+        threads.times {
+            executorService.submit {
+                idsPerThread.times {
+                    ids.add(numberIdCache.createLongId(SEQUENCE))
+                }
+            }
+        }
+        executorService.shutdown()
+        executorService.awaitTermination(10, TimeUnit.SECONDS)
+        waitForPrefetch()
+
+        then:
+
+        ids.size() == threads * idsPerThread
+        (ids as Set).size() == threads * idsPerThread
+        ids.min() >= 1
+        ids.max() <= worker.sequence.get()
+
+        and: "only the rest of the current block and prefetched blocks are not used"
+
+        worker.sequence.get() - ids.size() <= (MAX_BLOCKS + 1) * BLOCK_SIZE
+    }
+
+    private List<Long> generateIds(int count) {
+        return (1..count).collect { numberIdCache.createLongId(SEQUENCE) }
+    }
+
+    private def generator() {
+        return numberIdCache.cache[SEQUENCE]
+    }
+
+    private void waitForPrefetch() {
+        conditions.eventually {
+            assert !generator().prefetchInProgress.get()
+        }
+    }
+
+    private long fetchCount(String mode) {
+        return meterRegistry.timer('jmix.data.numberId.blockFetch', 'sequence', SEQUENCE, 'mode', mode).count()
+    }
+
+    /**
+     * Emulates cached sequence: each call returns the start of the next block of {@link #BLOCK_SIZE} ids.
+     */
+    static class TestNumberIdWorker extends NumberIdWorker {
+
+        final AtomicLong sequence = new AtomicLong()
+        final AtomicInteger fetchCount = new AtomicInteger()
+
+        volatile CountDownLatch prefetchLatch
+        volatile boolean failPrefetch
+
+        TestNumberIdWorker(DataProperties dataProperties) {
+            this.dataProperties = dataProperties
+        }
+
+        @Override
+        Long createCachedLongId(String entityName, String sequenceName) {
+            if (Thread.currentThread().name.startsWith('jmix-number-id-prefetch')) {
+                if (failPrefetch) {
+                    throw new IllegalStateException('Sequence is not available')
+                }
+                prefetchLatch?.await(5, TimeUnit.SECONDS)
+            }
+            fetchCount.incrementAndGet()
+            return sequence.getAndAdd(dataProperties.getNumberIdCacheSize())
+        }
+    }
+}
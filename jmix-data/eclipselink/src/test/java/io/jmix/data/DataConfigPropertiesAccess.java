@@ -24,4 +24,12 @@ public class DataConfigPropertiesAccess {
     public static void setNumberIdCacheSize(DataProperties properties, int value) {
         properties.numberIdCacheSize = value;
     }
+
+    public static void setNumberIdPrefetchEnabled(DataProperties properties, boolean value) {
+        properties.numberIdPrefetchEnabled = value;
+    }
+
+    public static void setNumberIdPrefetchMaxBlocks(DataProperties properties, int value) {
+        properties.numberIdPrefetchMaxBlocks = value;
+    }
 }
@@ -17,6 +17,9 @@
 package test_support;
 
 import io.jmix.core.JmixModules;
+import io.jmix.core.JmixOrder;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
 import io.jmix.core.Resources;
 import io.jmix.core.Stores;
 import io.jmix.core.annotation.JmixModule;
@@ -35,6 +38,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.*;
+import org.springframework.core.annotation.Order;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
@@ -141,6 +145,12 @@ public class DataTestConfiguration {
         return new TestJpqlSortExpressionProvider();
     }
 
+    @Bean
+    @Order(JmixOrder.HIGHEST_PRECEDENCE)
+    TestPropertyConditionGenerator testPropertyConditionGenerator(MetadataTools metadataTools, Metadata metadata) {
+        return new TestPropertyConditionGenerator(metadataTools, metadata);
+    }
+
     @Bean
     public CacheManager cacheManager() {
         return new ConcurrentMapCacheManager();
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component("test_InMemoryDataStore")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -36,6 +37,9 @@ public class TestInMemoryDataStore implements DataStore {
 
     private Map<String, Map<Object, Object>> entities = new ConcurrentHashMap<>();
 
+    private AtomicInteger loadCount = new AtomicInteger();
+    private AtomicInteger loadListCount = new AtomicInteger();
+
     @Autowired
     private Metadata metadata;
 
@@ -52,6 +56,7 @@ public class TestInMemoryDataStore implements DataStore {
     @Nullable
     @Override
     public Object load(LoadContext<?> context) {
+        loadCount.incrementAndGet();
         Map<Object, Object> instances = entities.get(context.getEntityMetaClass().getName());
         if (instances == null)
             return null;
@@ -61,6 +66,7 @@ public class TestInMemoryDataStore implements DataStore {
 
     @Override
     public List<Object> loadList(LoadContext<?> context) {
+        loadListCount.incrementAndGet();
         Map<Object, Object> instances = entities.get(context.getEntityMetaClass().getName());
         if (instances == null)
             return Collections.emptyList();
@@ -115,5 +121,15 @@ public class TestInMemoryDataStore implements DataStore {
 
     public void clear() {
         entities.clear();
+        loadCount.set(0);
+        loadListCount.set(0);
+    }
+
+    public int getLoadCount() {
+        return loadCount.get();
+    }
+
+    public int getLoadListCount() {
+        return loadListCount.get();
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package test_support;
+
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.data.impl.jpql.generator.ConditionGenerationContext;
+import io.jmix.data.impl.jpql.generator.PropertyConditionGenerator;
+
+/**
+ * Generates conditions on the {@link #PROPERTY} property of {@link #ENTITY_NAME} using the column set
+ * by {@link #setTargetProperty(String)}, like generators of dynamic attributes use metadata that can be reloaded.
+ * Disabled by default.
+ */
+public class TestPropertyConditionGenerator extends PropertyConditionGenerator {
+
+    public static final String ENTITY_NAME = "sales_Customer";
+    public static final String PROPERTY = "name";
+
+    protected volatile String targetProperty;
+
+    public TestPropertyConditionGenerator(MetadataTools metadataTools, Metadata metadata) {
+        super(metadataTools, metadata);
+    }
+
+    public void setTargetProperty(String targetProperty) {
+        this.targetProperty = targetProperty;
+    }
+
+    @Override
+    public boolean supports(ConditionGenerationContext context) {
+        return targetProperty != null
+                && ENTITY_NAME.equals(context.getEntityName())
+                && context.getCondition() instanceof PropertyCondition propertyCondition
+                && PROPERTY.equals(propertyCondition.getProperty());
+    }
+
+    @Override
+    public String generateJoin(ConditionGenerationContext context) {
+        return "";
+    }
+
+    @Override
+    public String generateWhere(ConditionGenerationContext context) {
+        PropertyCondition propertyCondition = (PropertyCondition) context.getCondition();
+        return generateWhere(propertyCondition, context.getEntityAlias(), targetProperty);
+    }
+}
@@ -16,6 +16,8 @@
 
 package test_support.listeners;
 
+import io.jmix.core.event.EntityBulkChangedEvent;
+import io.jmix.core.event.EntityBulkSavingEvent;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.event.EntitySavingEvent;
 import io.jmix.data.listener.BeforeDetachEntityListener;
@@ -37,6 +39,10 @@ public class TestCustomerListener implements BeforeDetachEntityListener<Customer
 
     public Consumer<Customer> beforeDetachConsumer;
 
+    public Consumer<EntityBulkSavingEvent<Customer>> bulkSavingEventConsumer;
+
+    public Consumer<EntityBulkChangedEvent<Customer>> bulkChangedEventConsumer;
+
     public Consumer<EntityChangedEvent<Customer>> getChangedEventConsumer() {
         return changedEventConsumer;
     }
@@ -74,6 +80,20 @@ public class TestCustomerListener implements BeforeDetachEntityListener<Customer
         }
     }
 
+    @EventListener
+    public void onCustomersBulkSaving(EntityBulkSavingEvent<Customer> event) {
+        if (bulkSavingEventConsumer != null) {
+            bulkSavingEventConsumer.accept(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCustomersBulkChanged(EntityBulkChangedEvent<Customer> event) {
+        if (bulkChangedEventConsumer != null) {
+            bulkChangedEventConsumer.accept(event);
+        }
+    }
+
     @Override
     public void onBeforeDetach(Customer entity) {
         if (beforeDetachConsumer != null) {
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.localfs;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.UuidProvider;
+import io.jmix.core.annotation.Internal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Replicates files of the primary storage root to secondary roots in background.
+ * <p>
+ * Each operation is written to the journal directory of the primary root as a task file before it's executed
+ * and the file is removed when the operation succeeds for all secondary roots. Failed operations, for example,
+ * when a secondary root is not mounted, are retried periodically, and operations interrupted by a restart are
+ * executed again when the replicator starts. Operations on the same file are executed in the order they
+ * were requested.
+ * <p>
+ * The journal can be shared by several application instances using the same primary root. Task files are named by
+ * a time-based sequence and a random suffix, so names never collide and tasks of different instances are ordered by
+ * their creation time. The journal is processed by one instance at a time holding the lock of the journal directory,
+ * so the file system must support file locks.
+ */
+@Internal
+public class FileReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(FileReplicator.class);
+
+    public static final String JOURNAL_DIR = ".replication";
+
+    protected static final String TASK_EXTENSION = ".task";
+    protected static final String LOCK_FILE = ".lock";
+
+    protected enum Operation {
+        COPY, DELETE
+    }
+
+    protected final Path primaryRoot;
+    protected final List<Path> secondaryRoots;
+    protected final Path journalDir;
+    protected final Duration retryInterval;
+    protected final AtomicLong sequence = new AtomicLong();
+
+    protected ScheduledExecutorService executor;
+
+    public FileReplicator(Path primaryRoot, List<Path> secondaryRoots, Duration retryInterval) {
+        this.primaryRoot = primaryRoot;
+        this.secondaryRoots = secondaryRoots;
+        this.journalDir = primaryRoot.resolve(JOURNAL_DIR);
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Starts processing of the journal including the tasks left from the previous run.
+     */
+    public synchronized void start() throws IOException {
+        Files.createDirectories(journalDir);
+        List<Path> tasks = listTasks();
+        if (!tasks.isEmpty()) {
+            log.info("Found {} unfinished replication tasks in {}", tasks.size(), journalDir);
+            sequence.set(parseSequence(tasks.get(tasks.size() - 1)));
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("FileStorageReplicator-%d")
+                .setDaemon(true)
+                .build());
+        executor.scheduleWithFixedDelay(this::processJournal, 0, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Copies the file to secondary roots.
+     *
+     * @param relativePath path of the file relative to storage roots
+     */
+    public void replicate(Path relativePath) throws IOException {
+        addTask(Operation.COPY, relativePath);
+    }
+
+    /**
+     * Deletes the file from secondary roots.
+     *
+     * @param relativePath path of the file relative to storage roots
+     */
+    public void remove(Path relativePath) throws IOException {
+        addTask(Operation.DELETE, relativePath);
+    }
+
+    protected void addTask(Operation operation, Path relativePath) throws IOException {
+        String name = String.format("%019d", nextSequence()) + "-" + UuidProvider.createUuid();
+        Path tempFile = journalDir.resolve(name + ".tmp");
+        Files.writeString(tempFile, operation.name() + "\n" + pathToString(relativePath), UTF_8);
+        Files.move(tempFile, journalDir.resolve(name + TASK_EXTENSION), StandardCopyOption.ATOMIC_MOVE);
+
+        ScheduledExecutorService executor = this.executor;
+        if (executor != null) {
+            try {
+                executor.execute(this::processJournal);
+            } catch (RejectedExecutionException e) {
+                log.debug("Replicator is stopped, the task will be executed after restart");
+            }
+        }
+    }
+
+    /**
+     * Returns the next task sequence number. Numbers grow monotonically in this JVM and follow the system time
+     * in microseconds, so they are comparable with numbers generated by other instances sharing the journal.
+     */
+    protected long nextSequence() {
+        long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return sequence.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    /**
+     * Executes journaled tasks if the journal is not being processed by another instance.
+     */
+    protected synchronized void processJournal() {
+        try (FileChannel channel = FileChannel.open(journalDir.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock fileLock;
+            try {
+                fileLock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                fileLock = null;
+            }
+            if (fileLock == null) {
+                log.debug("Replication journal {} is being processed by another instance", journalDir);
+                return;
+            }
+            try {
+                processTasks();
+            } finally {
+                fileLock.release();
+            }
+        } catch (IOException e) {
+            log.error("Unable to lock replication journal {}", journalDir, e);
+        }
+    }
+
+    /**
+     * Executes journaled tasks in their order. If a task fails, the next tasks of the same file are postponed
+     * till the next run.
+     */
+    protected void processTasks() {
+        List<Path> tasks;
+        try {
+            tasks = listTasks();
+        } catch (IOException e) {
+            log.error("Unable to read replication journal {}", journalDir, e);
+            return;
+        }
+
+        Set<String> postponedPaths = new HashSet<>();
+        for (Path task : tasks) {
+            Operation operation;
+            String relativePath;
+            try {
+                List<String> lines = Files.readAllLines(task, UTF_8);
+                operation = Operation.valueOf(lines.get(0));
+                relativePath = lines.get(1);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Invalid replication task {} is skipped", task, e);
+                deleteTask(task);
+                continue;
+            }
+
+            if (postponedPaths.contains(relativePath)) {
+                continue;
+            }
+            try {
+                execute(operation, Paths.get(relativePath));
+                deleteTask(task);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to {} {} in secondary storage roots, will retry in {}",
+                        operation.name().toLowerCase(), relativePath, retryInterval, e);
+                postponedPaths.add(relativePath);
+            }
+        }
+    }
+
+    protected void execute(Operation operation, Path relativePath) throws IOException {
+        for (Path root : secondaryRoots) {
+            if (!Files.isDirectory(root)) {
+                throw new IOException("Directory " + root + " doesn't exist");
+            }
+            Path target = root.resolve(relativePath);
+            if (operation == Operation.DELETE) {
+                Files.deleteIfExists(target);
+            } else {
+                copy(primaryRoot.resolve(relativePath), target);
+            }
+        }
+    }
+
+    protected void copy(Path source, Path target) throws IOException {
+        if (!Files.exists(source)) {
+            // the file has been deleted after the task was created
+            return;
+        }
+        if (Files.exists(target) && Files.size(target) == Files.size(source)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path tempFile = target.resolveSibling(target.getFileName() + "." + UuidProvider.createUuid() + ".tmp");
+        try {
+            Files.copy(source, tempFile, StandardCopyOption.COPY_ATTRIBUTES);
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    protected List<Path> listTasks() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(TASK_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    protected long parseSequence(Path task) {
+        String name = task.getFileName().toString();
+        int end = name.indexOf('-');
+        return Long.parseLong(name.substring(0, end >= 0 ? end : name.length() - TASK_EXTENSION.length()));
+    }
+
+    protected void deleteTask(Path task) {
+        try {
+            Files.deleteIfExists(task);
+        } catch (IOException e) {
+            log.error("Unable to delete replication task {}", task, e);
+        }
+    }
+
+    protected String pathToString(Path path) {
+        return path.toString().replace('\\', '/');
+    }
+}
@@ -17,8 +17,12 @@
 package io.jmix.localfs;
 
 import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.util.concurrent.Striped;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.CoreProperties;
+import io.jmix.core.FileAttributes;
 import io.jmix.core.FileRef;
 import io.jmix.core.FileStorage;
 import io.jmix.core.FileStorageException;
@@ -33,21 +37,34 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
 
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
 
@@ -59,6 +76,16 @@ public class LocalFileStorage implements FileStorage {
 
     public static final String DEFAULT_STORAGE_NAME = "fs";
 
+    /**
+     * Directory of files stored by their content hash, see {@link LocalFileStorageProperties#isContentAddressingEnabled()}.
+     */
+    public static final String CONTENT_ADDRESSED_DIR = "cas";
+
+    protected static final String TEMP_DIR = ".tmp";
+    protected static final String REFERENCES_EXTENSION = ".refs";
+    protected static final String LOCK_FILE = ".lock";
+    protected static final char TOKEN_SEPARATOR = '_';
+
     protected String storageName;
     protected String storageDir;
 
@@ -78,6 +105,12 @@ public class LocalFileStorage implements FileStorage {
 
     protected volatile Path[] storageRoots;
 
+    protected Boolean contentAddressingEnabled;
+
+    protected final Striped<Lock> contentLocks = Striped.lock(64);
+
+    protected FileReplicator replicator;
+
     public LocalFileStorage() {
         this(DEFAULT_STORAGE_NAME);
     }
@@ -194,13 +227,225 @@ public class LocalFileStorage implements FileStorage {
 
     @Override
     public FileRef saveStream(String fileName, InputStream inputStream, Map<String, Object> parameters) {
-        Path relativePath = createRelativeFilePath(fileName);
         Map<String, String> fileRefParams = Maps.toMap(parameters.keySet(), key -> parameters.get(key).toString());
+        if (isContentAddressingEnabled()) {
+            String path = saveContentAddressed(fileName, inputStream);
+            return new FileRef(storageName, path, fileName, fileRefParams);
+        }
+
+        Path relativePath = createRelativeFilePath(fileName);
         FileRef fileRef = new FileRef(storageName, pathToString(relativePath), fileName, fileRefParams);
         saveStream(fileRef, inputStream);
         return fileRef;
     }
 
+    /**
+     * Stores the content to the file named by its SHA-256 hash. The hash is calculated while the content is written
+     * to a temporary file. If a file with the same content already exists, the temporary file is removed.
+     * <p>
+     * Every saved reference gets its own token which is registered as a marker file in the references directory
+     * of the content, see {@link #getReferencesDir(Path)}. The token is a part of the returned path, so removing
+     * the same reference more than once doesn't affect other references to the content.
+     *
+     * @return path of the stored file including the reference token
+     */
+    protected String saveContentAddressed(String fileName, InputStream inputStream) {
+        Path[] roots = getStorageRoots();
+        checkStorageDefined(roots, fileName);
+        checkPrimaryStorageAccessible(roots, fileName);
+
+        Path tempDir = roots[0].resolve(TEMP_DIR);
+        Path tempFile = tempDir.resolve(UuidProvider.createUuid().toString());
+        String hash;
+        try {
+            Files.createDirectories(tempDir);
+            try (HashingOutputStream outputStream = new HashingOutputStream(Hashing.sha256(),
+                    Files.newOutputStream(tempFile, CREATE_NEW))) {
+                IOUtils.copyLarge(inputStream, outputStream);
+                hash = outputStream.hash().toString();
+            }
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(tempFile.toFile());
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, tempFile.toAbsolutePath().toString(), e);
+        }
+
+        String token = UuidProvider.createUuid().toString();
+        Path relativePath = Paths.get(CONTENT_ADDRESSED_DIR, hash.substring(0, 2), hash.substring(2, 4), hash);
+        Path path = roots[0].resolve(relativePath);
+        try {
+            Files.createDirectories(path.getParent());
+            try (ContentLock ignored = lockContent(path)) {
+                Path referencesDir = getReferencesDir(path);
+                Files.createDirectories(referencesDir);
+                Path marker = Files.createFile(referencesDir.resolve(token));
+                try {
+                    if (Files.exists(path)) {
+                        log.debug("File {} with the same content is already stored in {}", fileName, path);
+                    } else {
+                        Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+
+                        FileReplicator replicator = getReplicator();
+                        if (replicator != null) {
+                            replicator.replicate(relativePath);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(marker);
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        } finally {
+            FileUtils.deleteQuietly(tempFile.toFile());
+        }
+        return pathToString(relativePath) + TOKEN_SEPARATOR + token;
+    }
+
+    /**
+     * Removes the reference token of the content addressed file and removes the file if it's not referenced anymore.
+     * Does nothing if the token has already been removed.
+     */
+    protected void removeContentAddressed(FileRef reference) {
+        Path[] roots = getStorageRoots();
+        checkStorageDefined(roots, reference.getFileName());
+
+        String token = getReferenceToken(reference.getPath());
+        if (token == null) {
+            log.warn("Content addressed file reference {} has no token, the file is not removed", reference);
+            return;
+        }
+
+        Path relativePath = getRelativePath(reference.getPath());
+        Path path = roots[0].resolve(relativePath);
+        if (!Files.exists(path.getParent())) {
+            return;
+        }
+        try (ContentLock ignored = lockContent(path)) {
+            Path referencesDir = getReferencesDir(path);
+            if (!Files.deleteIfExists(referencesDir.resolve(token))) {
+                log.debug("Reference {} has already been removed", reference);
+                return;
+            }
+            if (hasReferences(referencesDir)) {
+                return;
+            }
+
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(referencesDir);
+            FileReplicator replicator = getReplicator();
+            if (replicator != null) {
+                replicator.remove(relativePath);
+            }
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    protected boolean hasReferences(Path referencesDir) throws IOException {
+        if (!Files.exists(referencesDir)) {
+            return false;
+        }
+        try (Stream<Path> references = Files.list(referencesDir)) {
+            return references.findAny().isPresent();
+        }
+    }
+
+    /**
+     * Locks the directory of the content addressed file both in this JVM and for other processes sharing
+     * the storage directory. Locking for other processes relies on {@link FileChannel#lock()}, so the file system
+     * of a storage directory shared by several application instances must support file locks.
+     */
+    protected ContentLock lockContent(Path path) throws IOException {
+        Path lockFile = path.resolveSibling(LOCK_FILE);
+        Lock lock = contentLocks.get(lockFile.toString());
+        lock.lock();
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock fileLock = channel.lock();
+            return new ContentLock(lock, channel, fileLock);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(channel);
+            lock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the directory containing marker files of the references to the content addressed file.
+     */
+    protected Path getReferencesDir(Path path) {
+        return path.resolveSibling(path.getFileName() + REFERENCES_EXTENSION);
+    }
+
+    /**
+     * @return token of the content addressed file reference or null if the path has no token
+     */
+    @Nullable
+    protected String getReferenceToken(String path) {
+        int index = path.lastIndexOf(TOKEN_SEPARATOR);
+        if (index < 0 || index < path.lastIndexOf('/')) {
+            return null;
+        }
+        String token = path.substring(index + 1);
+        if (!token.matches("[0-9a-fA-F-]+")) {
+            throw new IllegalArgumentException("Invalid path");
+        }
+        return token;
+    }
+
+    protected boolean isContentAddressed(FileRef reference) {
+        return isContentAddressed(reference.getPath());
+    }
+
+    protected boolean isContentAddressed(String path) {
+        return path.startsWith(CONTENT_ADDRESSED_DIR + "/");
+    }
+
+    /**
+     * Returns the replicator of content addressed files, starting it on the first invocation.
+     *
+     * @return replicator or null if there are no secondary storage roots
+     */
+    @Nullable
+    protected synchronized FileReplicator getReplicator() throws IOException {
+        if (replicator == null) {
+            Path[] roots = getStorageRoots();
+            if (roots.length < 2) {
+                return null;
+            }
+            FileReplicator newReplicator = new FileReplicator(roots[0],
+                    Arrays.asList(roots).subList(1, roots.length), properties.getReplicationRetryInterval());
+            newReplicator.start();
+            replicator = newReplicator;
+        }
+        return replicator;
+    }
+
+    @EventListener
+    protected void startReplication(ApplicationStartedEvent event) {
+        if (isContentAddressingEnabled()) {
+            try {
+                // resumes replication interrupted by the previous shutdown
+                getReplicator();
+            } catch (IOException e) {
+                log.error("Unable to start replication of storage {}", storageName, e);
+            }
+        }
+    }
+
+    public boolean isContentAddressingEnabled() {
+        return contentAddressingEnabled != null ? contentAddressingEnabled : properties.isContentAddressingEnabled();
+    }
+
+    /**
+     * Overrides {@link LocalFileStorageProperties#isContentAddressingEnabled()} for this storage.
+     */
+    public void setContentAddressingEnabled(boolean contentAddressingEnabled) {
+        this.contentAddressingEnabled = contentAddressingEnabled;
+    }
+
     protected Path createRelativeFilePath(String fileName) {
         return createDateDirPath().resolve(createUuidFilename(fileName));
     }
@@ -238,8 +483,91 @@ public class LocalFileStorage implements FileStorage {
         }
     }
 
+    @Override
+    public InputStream openStream(FileRef reference, long position) {
+        Path path = getExistingFile(reference);
+        SeekableByteChannel channel = null;
+        try {
+            channel = Files.newByteChannel(path);
+            channel.position(position);
+            return Channels.newInputStream(channel);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(channel);
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    @Override
+    public long getFileSize(FileRef reference) {
+        Path path = getExistingFile(reference);
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    @Override
+    public long getLastModified(FileRef reference) {
+        Path path = getExistingFile(reference);
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public FileAttributes getFileAttributes(FileRef reference) {
+        Path path = findFile(reference);
+        if (path == null) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileAttributes(attributes.size(), attributes.lastModifiedTime().toMillis(), null);
+        } catch (IOException e) {
+            throw new FileStorageException(FileStorageException.Type.IO_EXCEPTION, path.toAbsolutePath().toString(), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Path getLocalFile(FileRef reference) {
+        return findFile(reference);
+    }
+
+    /**
+     * Returns the file in the first storage root containing it.
+     */
+    @Nullable
+    protected Path findFile(FileRef reference) {
+        Path relativePath = getRelativePath(reference.getPath());
+        for (Path root : getStorageRoots()) {
+            Path path = root.resolve(relativePath);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    protected Path getExistingFile(FileRef reference) {
+        Path path = findFile(reference);
+        if (path == null) {
+            throw new FileStorageException(FileStorageException.Type.FILE_NOT_FOUND, reference.toString());
+        }
+        return path;
+    }
+
     @Override
     public void removeFile(FileRef reference) {
+        if (isContentAddressed(reference)) {
+            removeContentAddressed(reference);
+            return;
+        }
+
         Path[] roots = getStorageRoots();
         if (roots.length == 0) {
             log.error("No storage directories defined");
@@ -326,6 +654,9 @@ public class LocalFileStorage implements FileStorage {
      * Converts string path to {@link Path}.
      */
     protected Path getRelativePath(String path) {
+        if (isContentAddressed(path) && getReferenceToken(path) != null) {
+            path = path.substring(0, path.lastIndexOf(TOKEN_SEPARATOR));
+        }
         String[] parts = path.split("/", 4);
         if (parts.length < 4) {
             throw new IllegalArgumentException("Invalid path");
@@ -340,9 +671,43 @@ public class LocalFileStorage implements FileStorage {
         return path.toString().replace('\\', '/');
     }
 
+    /**
+     * Lock of the content addressed file acquired by {@link #lockContent(Path)}.
+     */
+    protected static class ContentLock implements AutoCloseable {
+
+        protected final Lock lock;
+        protected final FileChannel channel;
+        protected final FileLock fileLock;
+
+        protected ContentLock(Lock lock, FileChannel channel, FileLock fileLock) {
+            this.lock = lock;
+            this.channel = channel;
+            this.fileLock = fileLock;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fileLock.release();
+            } finally {
+                try {
+                    channel.close();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
     @PreDestroy
     protected void stopWriteExecutor() {
         writeExecutor.shutdown();
+        synchronized (this) {
+            if (replicator != null) {
+                replicator.stop();
+            }
+        }
     }
 
 }
@@ -17,6 +17,9 @@
 package io.jmix.localfs;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "jmix.localfs")
 public class LocalFileStorageProperties {
@@ -26,9 +29,28 @@ public class LocalFileStorageProperties {
      */
     String storageDir;
 
+    /**
+     * Whether {@link LocalFileStorage} stores files by the SHA-256 hash of their content. Files with the same content
+     * are stored once and removed when all references to them are removed. Each saved reference is registered by its
+     * own marker file, so removing the same reference twice is harmless. Access to a storage directory shared by
+     * several application instances is synchronized by file locks, so its file system must support them. Files of
+     * secondary storage directories are replicated by a journaled {@link FileReplicator}, whose journal is processed
+     * by one instance at a time.
+     */
+    boolean contentAddressingEnabled;
+
+    /**
+     * Interval of retrying failed replication of files to secondary storage directories.
+     */
+    Duration replicationRetryInterval;
+
     public LocalFileStorageProperties(
-            String storageDir) {
+            String storageDir,
+            @DefaultValue("false") boolean contentAddressingEnabled,
+            @DefaultValue("30s") Duration replicationRetryInterval) {
         this.storageDir = storageDir;
+        this.contentAddressingEnabled = contentAddressingEnabled;
+        this.replicationRetryInterval = replicationRetryInterval;
     }
 
     /**
@@ -37,4 +59,18 @@ public class LocalFileStorageProperties {
     public String getStorageDir() {
         return storageDir;
     }
+
+    /**
+     * @see #contentAddressingEnabled
+     */
+    public boolean isContentAddressingEnabled() {
+        return contentAddressingEnabled;
+    }
+
+    /**
+     * @see #replicationRetryInterval
+     */
+    public Duration getReplicationRetryInterval() {
+        return replicationRetryInterval;
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.jmix.localfs.LocalFileStorage
+import io.jmix.localfs.LocalFileStorageProperties
+import org.apache.commons.io.IOUtils
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class ContentAddressedFileStorageTest extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    Path primary
+    Path secondary
+    LocalFileStorage storage
+
+    void setup() {
+        primary = Files.createDirectories(tempDir.resolve('primary'))
+        secondary = tempDir.resolve('secondary')
+        storage = new LocalFileStorage('cas', "$primary,$secondary")
+        storage.properties = new LocalFileStorageProperties(null, true, Duration.ofMillis(50))
+    }
+
+    void cleanup() {
+        storage.stopWriteExecutor()
+    }
+
+    def "same content is stored once and removed with the last reference"() {
+        Files.createDirectories(secondary)
+        byte[] content = 'Invoice template'.bytes
+
+        when:
+        def first = storage.saveStream('invoice.docx', new ByteArrayInputStream(content))
+        def second = storage.saveStream('copy.docx', new ByteArrayInputStream(content))
+
+        then:
+        first.path != second.path
+        storage.getLocalFile(first) == storage.getLocalFile(second)
+        first.path.startsWith('cas/')
+        first.fileName == 'invoice.docx'
+        second.fileName == 'copy.docx'
+        IOUtils.toByteArray(storage.openStream(second)) == content
+
+        when:
+        storage.removeFile(first)
+
+        then:
+        storage.fileExists(second)
+        IOUtils.toByteArray(storage.openStream(second)) == content
+
+        when:
+        storage.removeFile(second)
+
+        then:
+        !Files.exists(primary.resolve(storage.getRelativePath(second.path)))
+        waitFor { !storage.fileExists(second) }
+    }
+
+    def "removing the same reference twice keeps content of other references"() {
+        byte[] content = 'Contract'.bytes
+        def first = storage.saveStream('contract.pdf', new ByteArrayInputStream(content))
+        def second = storage.saveStream('contract-copy.pdf', new ByteArrayInputStream(content))
+
+        when:
+        storage.removeFile(first)
+        storage.removeFile(first)
+
+        then:
+        storage.fileExists(second)
+        IOUtils.toByteArray(storage.openStream(second)) == content
+
+        when:
+        storage.removeFile(second)
+
+        then:
+        !storage.fileExists(second)
+    }
+
+    def "content stored after its last reference is removed is available"() {
+        byte[] content = 'Report'.bytes
+        def first = storage.saveStream('report.pdf', new ByteArrayInputStream(content))
+        storage.removeFile(first)
+
+        when:
+        def second = storage.saveStream('report.pdf', new ByteArrayInputStream(content))
+        storage.removeFile(first)
+
+        then:
+        IOUtils.toByteArray(storage.openStream(second)) == content
+    }
+
+    def "different content is stored in different files"() {
+        Files.createDirectories(secondary)
+
+        when:
+        def first = storage.saveStream('a.txt', new ByteArrayInputStream('a'.bytes))
+        def second = storage.saveStream('b.txt', new ByteArrayInputStream('b'.bytes))
+
+        then:
+        first.path != second.path
+        IOUtils.toByteArray(storage.openStream(first)) == 'a'.bytes
+        IOUtils.toByteArray(storage.openStream(second)) == 'b'.bytes
+    }
+
+    def "files are replicated to secondary root when it becomes available"() {
+        byte[] content = 'Logo'.bytes
+
+        when: 'secondary root does not exist'
+        def fileRef = storage.saveStream('logo.png', new ByteArrayInputStream(content))
+        def contentPath = storage.getRelativePath(fileRef.path)
+        Thread.sleep(200)
+
+        then:
+        !Files.exists(secondary.resolve(contentPath))
+
+        when:
+        Files.createDirectories(secondary)
+
+        then:
+        waitFor { Files.exists(secondary.resolve(contentPath)) }
+        Files.readAllBytes(secondary.resolve(contentPath)) == content
+
+        when:
+        storage.removeFile(fileRef)
+
+        then:
+        waitFor { !Files.exists(secondary.resolve(contentPath)) }
+    }
+
+    private static boolean waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition.call() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20)
+        }
+        condition.call()
+    }
+}
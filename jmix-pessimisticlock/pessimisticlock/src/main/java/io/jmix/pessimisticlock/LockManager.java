@@ -20,7 +20,10 @@ import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
 import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 public interface LockManager {
 
@@ -49,6 +52,30 @@ public interface LockManager {
     @Nullable
     LockInfo lock(Object entity);
 
+    /**
+     * Try to lock all given entities. Either all entities are locked or none of them.
+     * <p>
+     * The default implementation locks entities one by one and unlocks the locked ones if an entity can't be locked.
+     *
+     * @param entities entity instances
+     * @return - null in case of successful lock of all entities,<br>
+     * - {@link LockNotSupported} instance in case of locking is not configured for one of the entities,<br>
+     * - {@link LockInfo} instance of the first entity already locked by someone
+     */
+    @Nullable
+    default LockInfo lockAll(Collection<?> entities) {
+        List<Object> locked = new ArrayList<>(entities.size());
+        for (Object entity : new LinkedHashSet<>(entities)) {
+            LockInfo lockInfo = lock(entity);
+            if (lockInfo != null) {
+                locked.forEach(this::unlock);
+                return lockInfo;
+            }
+            locked.add(entity);
+        }
+        return null;
+    }
+
     /**
      * Unlock an arbitrary object.
      *
@@ -64,6 +91,17 @@ public interface LockManager {
      */
     void unlock(Object entity);
 
+    /**
+     * Unlock all given entities.
+     *
+     * @param entities entity instances
+     */
+    default void unlockAll(Collection<?> entities) {
+        for (Object entity : entities) {
+            unlock(entity);
+        }
+    }
+
     /**
      * Get locking status for particular object
      *
@@ -32,10 +32,19 @@ public class PessimisticLockProperties {
      */
     boolean useDefaultQuartzConfiguration;
 
+    /**
+     * Whether locks are kept in an in-memory lock table of the current node instead of the
+     * {@link LockManager#LOCKS_CACHE_NAME} cache. The lock table expires locks in time proportional to the number of
+     * expired locks, but it does not share locks between cluster nodes.
+     */
+    boolean inMemoryLockTableEnabled;
+
     public PessimisticLockProperties(@DefaultValue("0 * * * * ?") String expirationCron,
-                           @DefaultValue("true") boolean useDefaultQuartzConfiguration) {
+                           @DefaultValue("true") boolean useDefaultQuartzConfiguration,
+                           @DefaultValue("false") boolean inMemoryLockTableEnabled) {
         this.expirationCron = expirationCron;
         this.useDefaultQuartzConfiguration = useDefaultQuartzConfiguration;
+        this.inMemoryLockTableEnabled = inMemoryLockTableEnabled;
     }
 
     /**
@@ -51,4 +60,11 @@ public class PessimisticLockProperties {
     public boolean isUseDefaultQuartzConfiguration() {
         return useDefaultQuartzConfiguration;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #inMemoryLockTableEnabled
+     */
+    public boolean isInMemoryLockTableEnabled() {
+        return inMemoryLockTableEnabled;
+    }
+}
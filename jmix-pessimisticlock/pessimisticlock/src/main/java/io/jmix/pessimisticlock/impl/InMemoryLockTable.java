@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.core.TimeSource;
+import io.jmix.pessimisticlock.entity.LockDescriptor;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Stores locks of the current node in a concurrent hash table.
+ * <p>
+ * Each lock with a timeout holds a lease placed to a hashed timer wheel by its expiration time. Expiring locks
+ * visits only the wheel buckets passed since the previous invocation, so its cost depends on the number of expired
+ * locks rather than on the total number of locks. A lock whose lease has ended is also treated as absent by
+ * {@link #putIfAbsent} and {@link #get} before it is removed from the table.
+ */
+public class InMemoryLockTable implements LockStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryLockTable.class);
+
+    protected static final long NO_EXPIRATION = Long.MAX_VALUE;
+
+    protected final TimeSource timeSource;
+    protected final long tickMillis;
+
+    protected final ConcurrentHashMap<LockManagerImpl.LockKey, Lease> leases = new ConcurrentHashMap<>();
+    protected final Queue<Lease>[] wheel;
+
+    protected volatile long lastExpiredTick = Long.MIN_VALUE;
+
+    /**
+     * @param wheelSize  number of timer wheel buckets
+     * @param tickMillis time span of a timer wheel bucket
+     */
+    @SuppressWarnings("unchecked")
+    public InMemoryLockTable(TimeSource timeSource, int wheelSize, long tickMillis) {
+        this.timeSource = timeSource;
+        this.tickMillis = tickMillis;
+        this.wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    @Nullable
+    @Override
+    public LockInfo putIfAbsent(LockManagerImpl.LockKey key, LockInfo lockInfo, long timeoutMillis) {
+        long now = currentTimeMillis();
+        long expiresAt = timeoutMillis > 0 ? lockInfo.getSince().getTime() + timeoutMillis : NO_EXPIRATION;
+        Lease lease = new Lease(key, lockInfo, expiresAt);
+
+        Lease current = leases.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now) ? lease : existing);
+        if (current != lease) {
+            return current.lockInfo;
+        }
+        schedule(lease);
+        return null;
+    }
+
+    @Override
+    public boolean remove(LockManagerImpl.LockKey key) {
+        Lease lease = leases.remove(key);
+        if (lease == null) {
+            return false;
+        }
+        lease.released = true;
+        return !lease.isExpired(currentTimeMillis());
+    }
+
+    @Nullable
+    @Override
+    public LockInfo get(LockManagerImpl.LockKey key) {
+        Lease lease = leases.get(key);
+        return lease == null || lease.isExpired(currentTimeMillis()) ? null : lease.lockInfo;
+    }
+
+    @Override
+    public Collection<LockInfo> getAll() {
+        long now = currentTimeMillis();
+        List<LockInfo> result = new ArrayList<>(leases.size());
+        for (Lease lease : leases.values()) {
+            if (!lease.isExpired(now)) {
+                result.add(lease.lockInfo);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void expire(Function<String, LockDescriptor> descriptors, boolean configChanged) {
+        long now = currentTimeMillis();
+        if (configChanged) {
+            removeNotConfigured(descriptors);
+        }
+
+        long currentTick = now / tickMillis;
+        long fromTick = lastExpiredTick == Long.MIN_VALUE
+                ? currentTick - wheel.length + 1
+                : Math.max(lastExpiredTick + 1, currentTick - wheel.length + 1);
+
+        for (long tick = fromTick; tick <= currentTick; tick++) {
+            Queue<Lease> bucket = wheel[bucketIndex(tick)];
+            List<Lease> pending = new ArrayList<>();
+            Lease lease;
+            while ((lease = bucket.poll()) != null) {
+                if (lease.released) {
+                    continue;
+                }
+                if (lease.isExpired(now)) {
+                    if (leases.remove(lease.key, lease)) {
+                        log.debug("Lock {}/{} expired", lease.key.getName(), lease.key.getId());
+                    }
+                } else {
+                    // the lease belongs to one of the next wheel rotations
+                    pending.add(lease);
+                }
+            }
+            bucket.addAll(pending);
+        }
+        lastExpiredTick = currentTick;
+    }
+
+    protected void removeNotConfigured(Function<String, LockDescriptor> descriptors) {
+        for (Lease lease : leases.values()) {
+            if (descriptors.apply(lease.key.getName()) == null && leases.remove(lease.key, lease)) {
+                lease.released = true;
+                log.debug("Lock {}/{} configuration not found, remove it", lease.key.getName(), lease.key.getId());
+            }
+        }
+    }
+
+    protected void schedule(Lease lease) {
+        if (lease.expiresAt == NO_EXPIRATION) {
+            return;
+        }
+        // a lease expiring in an already processed tick is placed to the next one
+        long tick = Math.max(lease.expiresAt / tickMillis, lastExpiredTick + 1);
+        wheel[bucketIndex(tick)].add(lease);
+    }
+
+    protected int bucketIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+
+    protected long currentTimeMillis() {
+        return timeSource.currentTimeMillis();
+    }
+
+    protected static class Lease {
+
+        protected final LockManagerImpl.LockKey key;
+        protected final LockInfo lockInfo;
+        protected final long expiresAt;
+
+        protected volatile boolean released;
+
+        protected Lease(LockManagerImpl.LockKey key, LockInfo lockInfo, long expiresAt) {
+            this.key = key;
+            this.lockInfo = lockInfo;
+            this.expiresAt = expiresAt;
+        }
+
+        protected boolean isExpired(long now) {
+            return expiresAt < now;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.pessimisticlock.LockDescriptorProvider;
 import io.jmix.pessimisticlock.LockManager;
+import io.jmix.pessimisticlock.PessimisticLockProperties;
 import io.jmix.pessimisticlock.entity.LockDescriptor;
 import io.jmix.pessimisticlock.entity.LockInfo;
 import io.jmix.pessimisticlock.entity.LockNotSupported;
@@ -51,11 +52,13 @@ public class LockManagerImpl implements LockManager {
     protected final CurrentAuthentication currentAuthentication;
     protected final CacheManager cacheManager;
     protected final CacheOperations cacheOperations;
+    protected final PessimisticLockProperties properties;
     protected List<LockDescriptorProvider> lockDescriptorProviders;
 
     protected volatile Map<String, LockDescriptor> config;
+    protected volatile boolean configReloaded;
 
-    protected Cache locks;
+    protected LockStorage locks;
 
     public LockManagerImpl(ExtendedEntities extendedEntities,
                            Metadata metadata,
@@ -64,6 +67,7 @@ public class LockManagerImpl implements LockManager {
                            CurrentAuthentication currentAuthentication,
                            CacheManager cacheManager,
                            CacheOperations cacheOperations,
+                           PessimisticLockProperties properties,
                            List<LockDescriptorProvider> lockDescriptorProviders) {
         this.extendedEntities = extendedEntities;
         this.metadata = metadata;
@@ -72,15 +76,21 @@ public class LockManagerImpl implements LockManager {
         this.currentAuthentication = currentAuthentication;
         this.cacheManager = cacheManager;
         this.cacheOperations = cacheOperations;
+        this.properties = properties;
         this.lockDescriptorProviders = lockDescriptorProviders;
     }
 
     @PostConstruct
     protected void init() {
-        locks = cacheManager.getCache(LOCKS_CACHE_NAME);
-        if (locks == null) {
+        if (properties.isInMemoryLockTableEnabled()) {
+            locks = new InMemoryLockTable(timeSource, 512, 1000);
+            return;
+        }
+        Cache cache = cacheManager.getCache(LOCKS_CACHE_NAME);
+        if (cache == null) {
             throw new IllegalStateException(String.format("Unable to find cache: %s", LOCKS_CACHE_NAME));
         }
+        locks = new CacheLockStorage(cache, cacheOperations, timeSource);
     }
 
     protected Map<String, LockDescriptor> getConfig() {
@@ -110,17 +120,21 @@ public class LockManagerImpl implements LockManager {
         UserDetails user = currentAuthentication.getUser();
         LockInfo lockInfo = new LockInfo(user.getUsername(), name, id, timeSource.currentTimestamp());
 
-        Cache.ValueWrapper lockInfoWrapper = locks.putIfAbsent(key, lockInfo);
-        if (lockInfoWrapper == null) {
+        LockInfo existingLockInfo = locks.putIfAbsent(key, lockInfo, getTimeoutMillis(ld));
+        if (existingLockInfo == null) {
             log.debug("Locked {}/{}", name, id);
             return null;
         } else {
-            LockInfo existingLockInfo = (LockInfo) lockInfoWrapper.get();
             log.debug("Already locked: {}", existingLockInfo);
             return existingLockInfo;
         }
     }
 
+    protected long getTimeoutMillis(LockDescriptor ld) {
+        Integer timeoutSec = ld.getTimeoutSec();
+        return timeoutSec != null && timeoutSec > 0 ? timeoutSec * 1000L : 0;
+    }
+
     @Nullable
     @Override
     public LockInfo lock(Object entity) {
@@ -132,13 +146,56 @@ public class LockManagerImpl implements LockManager {
         return lock(originalMetaClass.getName(), EntityValues.getId(entity).toString());
     }
 
+    @Nullable
+    @Override
+    public LockInfo lockAll(Collection<?> entities) {
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+
+        Set<LockKey> keys = new LinkedHashSet<>(entities.size());
+        for (Object entity : entities) {
+            keys.add(getLockKey(entity));
+        }
+
+        List<LockKey> acquired = new ArrayList<>(keys.size());
+        for (LockKey key : keys) {
+            LockInfo lockInfo = lock(key.getName(), key.getId());
+            if (lockInfo != null) {
+                for (LockKey acquiredKey : acquired) {
+                    unlock(acquiredKey.getName(), acquiredKey.getId());
+                }
+                return lockInfo;
+            }
+            acquired.add(key);
+        }
+        return null;
+    }
+
     @Override
     public void unlock(String name, String id) {
-        if (locks.evictIfPresent(new LockKey(name, id))) {
+        if (locks.remove(new LockKey(name, id))) {
             log.debug("Unlocked {}/{}", name, id);
         }
     }
 
+    @Override
+    public void unlockAll(Collection<?> entities) {
+        Preconditions.checkNotNullArgument(entities, "entities is null");
+
+        for (Object entity : entities) {
+            LockKey key = getLockKey(entity);
+            unlock(key.getName(), key.getId());
+        }
+    }
+
+    protected LockKey getLockKey(Object entity) {
+        Preconditions.checkNotNullArgument(entity, "entity is null");
+
+        MetaClass metaClass = metadata.getClass(entity);
+        MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+
+        return new LockKey(originalMetaClass.getName(), EntityValues.getId(entity).toString());
+    }
+
     @Override
     public void unlock(Object entity) {
         Preconditions.checkNotNullArgument(entity, "entity is null");
@@ -156,53 +213,25 @@ public class LockManagerImpl implements LockManager {
             return new LockNotSupported();
         }
 
-        return locks.get(new LockKey(name, id), LockInfo.class);
+        return locks.get(new LockKey(name, id));
     }
 
     @Override
     public Collection<LockInfo> getCurrentLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            return cacheOperations.getValues(locks);
-        } else {
-            log.debug("Current locks list operation is unsupported by cache provider");
-            return Collections.emptyList();
-        }
+        return locks.getAll();
     }
 
     @Override
     public void expireLocks() {
-        if (cacheOperations.isIterableCache(locks)) {
-            log.trace("Start expiring locks operation");
-            Collection<LockKey> keys = cacheOperations.getKeys(locks);
-            for (LockKey key : keys) {
-                LockInfo lockInfo = locks.get(key, LockInfo.class);
-                if (lockInfo != null) {
-                    LockDescriptor ld = getConfig().get(key.name);
-                    if (ld == null) {
-                        log.debug("Lock {}/{} configuration not found, remove it", key.name, key.id);
-                        locks.evict(key);
-                    } else {
-                        Integer timeoutSec = ld.getTimeoutSec();
-                        if (timeoutSec != null && timeoutSec > 0) {
-                            Date since = lockInfo.getSince();
-                            if (since.getTime() + timeoutSec * 1000 < timeSource.currentTimestamp().getTime()) {
-                                log.debug("Lock {}/{} expired", key.name, key.id);
-                                locks.evict(key);
-                            }
-                        }
-                    }
-                } else {
-                    log.trace("Lock info not found for key '{}'", key);
-                }
-            }
-        } else {
-            log.debug("Expiring locks operation is unsupported by cache provider");
-        }
+        boolean configChanged = configReloaded;
+        configReloaded = false;
+        locks.expire(name -> getConfig().get(name), configChanged);
     }
 
     @Override
     public void reloadConfiguration() {
         config = null;
+        configReloaded = true;
     }
 
     public static class LockKey implements Serializable {
@@ -216,6 +245,14 @@ public class LockManagerImpl implements LockManager {
             this.id = id;
         }
 
+        public String getName() {
+            return name;
+        }
+
+        public String getId() {
+            return id;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pessimisticlock.impl;
+
+import io.jmix.pessimisticlock.entity.LockDescriptor;
+import io.jmix.pessimisticlock.entity.LockInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Holds pessimistic locks of {@link LockManagerImpl}.
+ */
+public interface LockStorage {
+
+    /**
+     * Registers the lock if the object is not locked yet.
+     *
+     * @param timeoutMillis lock lease duration, 0 if the lock never expires
+     * @return null if the lock is registered, otherwise the existing lock
+     */
+    @Nullable
+    LockInfo putIfAbsent(LockManagerImpl.LockKey key, LockInfo lockInfo, long timeoutMillis);
+
+    /**
+     * Removes the lock.
+     *
+     * @return true if the lock existed
+     */
+    boolean remove(LockManagerImpl.LockKey key);
+
+    @Nullable
+    LockInfo get(LockManagerImpl.LockKey key);
+
+    Collection<LockInfo> getAll();
+
+    /**
+     * Removes expired locks and locks which are not configured anymore.
+     *
+     * @param descriptors   returns lock configuration by lock name
+     * @param configChanged whether lock configuration has been reloaded since the previous invocation
+     */
+    void expire(Function<String, LockDescriptor> descriptors, boolean configChanged);
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package pessimisticlock
+
+import io.jmix.core.TimeSource
+import io.jmix.pessimisticlock.entity.LockDescriptor
+import io.jmix.pessimisticlock.entity.LockInfo
+import io.jmix.pessimisticlock.impl.InMemoryLockTable
+import io.jmix.pessimisticlock.impl.LockManagerImpl
+import spock.lang.Specification
+
+class InMemoryLockTableTest extends Specification {
+
+    long now = 1_000_000
+    TimeSource timeSource = Stub() {
+        currentTimeMillis() >> { now }
+    }
+    InMemoryLockTable table = new InMemoryLockTable(timeSource, 8, 1000)
+    def descriptors = { String name -> name == 'test' ? new LockDescriptor('test', 10) : null }
+
+    def "lock is held until its lease expires"() {
+        def key = key('test', '1')
+
+        when:
+        def first = table.putIfAbsent(key, lockInfo('test', '1'), 10_000)
+        def second = table.putIfAbsent(key, lockInfo('test', '1'), 10_000)
+
+        then:
+        first == null
+        second != null
+        table.get(key) != null
+
+        when:
+        now += 5_000
+        table.expire(descriptors, false)
+
+        then:
+        table.get(key) != null
+
+        when:
+        now += 6_000
+        table.expire(descriptors, false)
+
+        then:
+        table.get(key) == null
+        table.getAll().isEmpty()
+    }
+
+    def "expired lock can be acquired before it is removed by expiration"() {
+        def key = key('test', '1')
+        table.putIfAbsent(key, lockInfo('test', '1'), 1_000)
+
+        when:
+        now += 2_000
+
+        then:
+        table.get(key) == null
+        table.putIfAbsent(key, lockInfo('test', '1'), 1_000) == null
+    }
+
+    def "lease longer than wheel rotation is kept"() {
+        def key = key('test', '1')
+        table.putIfAbsent(key, lockInfo('test', '1'), 20_000)
+
+        when:
+        (1..15).each {
+            now += 1_000
+            table.expire(descriptors, false)
+        }
+
+        then:
+        table.get(key) != null
+
+        when:
+        now += 6_000
+        table.expire(descriptors, false)
+
+        then:
+        table.get(key) == null
+    }
+
+    def "locks without timeout are removed only when not configured"() {
+        def configured = key('test', '1')
+        def notConfigured = key('other', '1')
+        table.putIfAbsent(configured, lockInfo('test', '1'), 0)
+        table.putIfAbsent(notConfigured, lockInfo('other', '1'), 0)
+
+        when:
+        now += 100_000
+        table.expire(descriptors, true)
+
+        then:
+        table.get(configured) != null
+        table.get(notConfigured) == null
+    }
+
+    def "removed lock is reported once"() {
+        def key = key('test', '1')
+        table.putIfAbsent(key, lockInfo('test', '1'), 10_000)
+
+        expect:
+        table.remove(key)
+        !table.remove(key)
+    }
+
+    private LockInfo lockInfo(String name, String id) {
+        new LockInfo('admin', name, id, new Date(now))
+    }
+
+    private static LockManagerImpl.LockKey key(String name, String id) {
+        // LockKey has a private constructor
+        def constructor = LockManagerImpl.LockKey.getDeclaredConstructor(String, String)
+        constructor.accessible = true
+        constructor.newInstance(name, id)
+    }
+}
@@ -92,4 +92,28 @@ class LockManagerTest extends Specification {
         then:
         assertNull(lockInfo)
     }
+
+    def "Test bulk lock of entities"() {
+        LockableParentEntity first = metadata.create(LockableParentEntity.class)
+        LockableParentEntity second = metadata.create(LockableParentEntity.class)
+        LockableParentEntity third = metadata.create(LockableParentEntity.class)
+
+        when:
+        LockInfo lockInfo = lockManager.lockAll([first, second])
+        then:
+        assertNull(lockInfo)
+        assertNotNull(lockManager.getLockInfo("pslock_LockableParentEntity", second.getId().toString()))
+
+        when: "one of the entities is already locked"
+        lockInfo = lockManager.lockAll([third, second])
+        then: "nothing is locked"
+        assertNotNull(lockInfo)
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", third.getId().toString()))
+
+        when:
+        lockManager.unlockAll([first, second])
+        then:
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", first.getId().toString()))
+        assertNull(lockManager.getLockInfo("pslock_LockableParentEntity", second.getId().toString()))
+    }
 }
@@ -19,13 +19,24 @@ package io.jmix.reports;
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.reports.entity.Report;
 import io.jmix.reports.entity.ReportExecution;
+import org.springframework.lang.Nullable;
 
+import java.util.Date;
 import java.util.Map;
 
 public interface ReportExecutionHistoryRecorder {
 
     ReportExecution startExecution(Report report, Map<String, Object> params);
 
+    /**
+     * Creates the execution of the report which has been waiting in the asynchronous execution queue.
+     *
+     * @param queuedTime time when the execution was submitted to the queue
+     */
+    default ReportExecution startExecution(Report report, Map<String, Object> params, @Nullable Date queuedTime) {
+        return startExecution(report, params);
+    }
+
     void markAsSuccess(ReportExecution execution, ReportOutputDocument document);
 
     void markAsError(ReportExecution execution, Exception e);
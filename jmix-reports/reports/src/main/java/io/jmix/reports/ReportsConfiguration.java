@@ -102,6 +102,7 @@ public class ReportsConfiguration {
     public JmixSqlDataLoader sqlDataLoader(SqlParametersConverter converter) {
         JmixSqlDataLoader sqlDataLoader = new JmixSqlDataLoader(dataSource);
         sqlDataLoader.setParametersConverter(converter);
+        sqlDataLoader.setFetchSize(reportsProperties.getSqlFetchSize());
         return sqlDataLoader;
     }
 
@@ -144,6 +144,42 @@ public class ReportsProperties {
      */
     boolean formulasPostProcessingEvaluationEnabled;
 
+    /**
+     * Maximum number of compiled Groovy scripts of reports kept in memory. Value == 0 means that scripts
+     * are compiled on each evaluation.
+     */
+    int compiledScriptCacheSize;
+
+    /**
+     * Number of threads executing reports run by {@link io.jmix.reports.runner.AsyncReportRunner}.
+     */
+    int asyncExecutionPoolSize;
+
+    /**
+     * Maximum number of asynchronous report runs waiting for execution. Runs submitted when the queue is full
+     * are rejected.
+     */
+    int asyncExecutionQueueCapacity;
+
+    /**
+     * Maximum number of asynchronous runs of the same report executed at the same time. Other runs of the report
+     * wait in the queue.
+     */
+    int asyncExecutionMaxRunsPerReport;
+
+    /**
+     * Time in seconds during which documents of asynchronous report runs are stored in the temporary directory and
+     * returned for runs of the same report with the same parameters by the same user. Value == 0 means that documents
+     * are not cached. Documents left by the previous run of the application are removed on startup.
+     */
+    int asyncExecutionResultCacheTtlSec;
+
+    /**
+     * Number of rows fetched from the database at once by SQL datasets. Value == 0 means that the default fetch size
+     * of the JDBC driver is used.
+     */
+    int sqlFetchSize;
+
     public ReportsProperties(@DefaultValue("/") String officePath,
                              @DefaultValue({"8100", "8101", "8102", "8103"}) List<Integer> officePorts,
                              @DefaultValue("20") int docFormatterTimeout,
@@ -166,7 +202,13 @@ public class ReportsProperties {
                              @DefaultValue("1000") int historyCleanupMaxItemsPerReport,
                              @DefaultValue("3") int countOfRetry,
                              @DefaultValue("false") boolean useOfficeForDocumentConversion,
-                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled) {
+                             @DefaultValue("false") boolean formulasPostProcessingEvaluationEnabled,
+                             @DefaultValue("500") int compiledScriptCacheSize,
+                             @DefaultValue("4") int asyncExecutionPoolSize,
+                             @DefaultValue("100") int asyncExecutionQueueCapacity,
+                             @DefaultValue("2") int asyncExecutionMaxRunsPerReport,
+                             @DefaultValue("0") int asyncExecutionResultCacheTtlSec,
+                             @DefaultValue("1000") int sqlFetchSize) {
         this.officePath = officePath;
         this.officePorts = officePorts;
         this.docFormatterTimeout = docFormatterTimeout;
@@ -190,6 +232,12 @@ public class ReportsProperties {
         this.countOfRetry = countOfRetry;
         this.useOfficeForDocumentConversion = useOfficeForDocumentConversion;
         this.formulasPostProcessingEvaluationEnabled = formulasPostProcessingEvaluationEnabled;
+        this.compiledScriptCacheSize = compiledScriptCacheSize;
+        this.asyncExecutionPoolSize = asyncExecutionPoolSize;
+        this.asyncExecutionQueueCapacity = asyncExecutionQueueCapacity;
+        this.asyncExecutionMaxRunsPerReport = asyncExecutionMaxRunsPerReport;
+        this.asyncExecutionResultCacheTtlSec = asyncExecutionResultCacheTtlSec;
+        this.sqlFetchSize = sqlFetchSize;
     }
 
     /**
@@ -343,4 +391,46 @@ public class ReportsProperties {
     public boolean isFormulasPostProcessingEvaluationEnabled() {
         return formulasPostProcessingEvaluationEnabled;
     }
-}
\ No newline at end of file
+
+    /**
+     * @see #compiledScriptCacheSize
+     */
+    public int getCompiledScriptCacheSize() {
+        return compiledScriptCacheSize;
+    }
+
+    /**
+     * @see #asyncExecutionPoolSize
+     */
+    public int getAsyncExecutionPoolSize() {
+        return asyncExecutionPoolSize;
+    }
+
+    /**
+     * @see #asyncExecutionQueueCapacity
+     */
+    public int getAsyncExecutionQueueCapacity() {
+        return asyncExecutionQueueCapacity;
+    }
+
+    /**
+     * @see #asyncExecutionMaxRunsPerReport
+     */
+    public int getAsyncExecutionMaxRunsPerReport() {
+        return asyncExecutionMaxRunsPerReport;
+    }
+
+    /**
+     * @see #asyncExecutionResultCacheTtlSec
+     */
+    public int getAsyncExecutionResultCacheTtlSec() {
+        return asyncExecutionResultCacheTtlSec;
+    }
+
+    /**
+     * @see #sqlFetchSize
+     */
+    public int getSqlFetchSize() {
+        return sqlFetchSize;
+    }
+}
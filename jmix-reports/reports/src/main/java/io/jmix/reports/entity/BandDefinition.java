@@ -57,6 +57,8 @@ public class BandDefinition implements ReportBand {
 
     protected Boolean multiDataSet = false;
 
+    protected Integer batchSize;
+
     public UUID getId() {
         return id;
     }
@@ -149,4 +151,13 @@ public class BandDefinition implements ReportBand {
     public void setMultiDataSet(Boolean multiDataSet) {
         this.multiDataSet = multiDataSet;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -23,6 +23,7 @@ import io.jmix.core.metamodel.annotation.JmixEntity;
 import io.jmix.core.metamodel.annotation.JmixProperty;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.lang.Nullable;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.*;
@@ -65,6 +66,12 @@ public class ReportExecution {
     @Column(name = "USERNAME")
     private String username;
 
+    /**
+     * Time when the execution was submitted to the asynchronous execution queue
+     */
+    @Column(name = "QUEUED_TIME")
+    private Date queuedTime;
+
     @Column(name = "START_TIME", nullable = false)
     private Date startTime;
 
@@ -158,6 +165,15 @@ public class ReportExecution {
         this.startTime = startTime;
     }
 
+    @Nullable
+    public Date getQueuedTime() {
+        return queuedTime;
+    }
+
+    public void setQueuedTime(@Nullable Date queuedTime) {
+        this.queuedTime = queuedTime;
+    }
+
     public Date getFinishTime() {
         return finishTime;
     }
@@ -214,4 +230,13 @@ public class ReportExecution {
 
         return (finishTime.getTime() - startTime.getTime()) / 1000;
     }
+
+    @JmixProperty
+    @DependsOnProperties({"queuedTime", "startTime"})
+    public Long getQueueTimeSec() {
+        if (queuedTime == null || startTime == null)
+            return null;
+
+        return (startTime.getTime() - queuedTime.getTime()) / 1000;
+    }
 }
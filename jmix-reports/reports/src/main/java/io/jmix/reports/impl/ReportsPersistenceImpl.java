@@ -23,6 +23,7 @@ import io.jmix.data.PersistenceHints;
 import io.jmix.dynattr.DynAttrQueryHints;
 import io.jmix.reports.ReportsPersistence;
 import io.jmix.reports.entity.*;
+import io.jmix.reports.libintegration.CompiledScriptCache;
 import io.jmix.security.constraint.PolicyStore;
 import io.jmix.security.constraint.SecureOperations;
 import org.apache.commons.collections4.CollectionUtils;
@@ -60,6 +61,8 @@ public class ReportsPersistenceImpl implements ReportsPersistence {
     protected FetchPlanRepository fetchPlanRepository;
     @Autowired
     private MetadataTools metadataTools;
+    @Autowired
+    protected CompiledScriptCache compiledScriptCache;
 
     @Override
     public Report save(Report report) {
@@ -68,10 +71,12 @@ public class ReportsPersistenceImpl implements ReportsPersistence {
         Report savedReport = transaction.execute(action -> saveReport(report));
 
         FetchPlan reportEditFetchPlan = fetchPlanRepository.getFetchPlan(metadata.getClass(savedReport), REPORT_EDIT_FETCH_PLAN_NAME);
-        return dataManager.load(Id.of(savedReport))
+        Report reloadedReport = dataManager.load(Id.of(savedReport))
                 .fetchPlan(reportEditFetchPlan)
                 .hint(DynAttrQueryHints.LOAD_DYN_ATTR, true)
                 .one();
+        compiledScriptCache.prewarm(reloadedReport);
+        return reloadedReport;
     }
 
     @NotNull
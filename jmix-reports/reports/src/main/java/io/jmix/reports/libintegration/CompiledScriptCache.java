@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.libintegration;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import groovy.lang.Binding;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.GroovyShell;
+import io.jmix.core.Resources;
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.entity.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.scripting.ScriptCompilationException;
+import org.springframework.scripting.ScriptEvaluator;
+import org.springframework.scripting.groovy.GroovyScriptEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps compiled classes of Groovy scripts used by reports: datasets, value formats and parameter transformations.
+ * <p>
+ * Classes are cached by the hash of the script text, the number of cached classes is limited by
+ * {@link ReportsProperties#getCompiledScriptCacheSize()}. A new script instance is created for each evaluation,
+ * so cached classes can be used by concurrent report runs.
+ * <p>
+ * Scripts are compiled with the {@link CompilerConfiguration} of the standard {@link GroovyScriptEvaluator} bean,
+ * so its compilation customizers are applied. If the {@link ScriptEvaluator} bean is replaced by a custom
+ * implementation, the cache is disabled and scripts are evaluated by that bean.
+ */
+@Component("report_CompiledScriptCache")
+public class CompiledScriptCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CompiledScriptCache.class);
+
+    protected static final String CACHE_NAME = "report_CompiledScriptCache";
+
+    @Autowired
+    protected ReportsProperties reportsProperties;
+
+    @Autowired
+    protected Resources resources;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    @Autowired
+    protected ScriptEvaluator scriptEvaluator;
+
+    protected Cache<String, Class<?>> cache;
+    protected CompilerConfiguration compilerConfiguration;
+    protected Timer compileTimer;
+    protected ExecutorService prewarmExecutor;
+
+    @PostConstruct
+    protected void init() {
+        if (scriptEvaluator.getClass() == GroovyScriptEvaluator.class) {
+            compilerConfiguration = ((GroovyScriptEvaluator) scriptEvaluator).getCompilerConfiguration();
+        } else {
+            compilerConfiguration = null;
+            if (reportsProperties.getCompiledScriptCacheSize() > 0) {
+                log.info("Compiled script cache is disabled because of custom script evaluator {}",
+                        scriptEvaluator.getClass().getName());
+            }
+        }
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(reportsProperties.getCompiledScriptCacheSize())
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        compileTimer = meterRegistry.timer("jmix.reports.CompiledScriptCache.compile");
+
+        prewarmExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("ReportScriptCompiler-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        prewarmExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return compilerConfiguration != null && reportsProperties.getCompiledScriptCacheSize() > 0;
+    }
+
+    /**
+     * Evaluates the script using the cached class if the script has been already compiled.
+     *
+     * @param scriptText text of the Groovy script
+     * @param params     variables of the script
+     * @return result of the script
+     */
+    @Nullable
+    public Object evaluate(String scriptText, Map<String, Object> params) {
+        return InvokerHelper.createScript(getScriptClass(scriptText), new Binding(params)).run();
+    }
+
+    /**
+     * Returns the compiled class of the script, compiles the script if it's not cached yet.
+     * Concurrent calls with the same script wait for a single compilation.
+     */
+    public Class<?> getScriptClass(String scriptText) {
+        String key = Hashing.sha256().hashString(scriptText, StandardCharsets.UTF_8).toString();
+        try {
+            return cache.get(key, () -> compile(key, scriptText));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompilationFailedException) {
+                throw new ScriptCompilationException("Could not compile Groovy script", cause);
+            }
+            Throwables.throwIfUnchecked(cause);
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Compiles Groovy scripts of the report in background, so the first run of the report doesn't wait
+     * for compilation.
+     */
+    public void prewarm(Report report) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<String> scripts = collectScripts(report);
+        if (scripts.isEmpty()) {
+            return;
+        }
+        try {
+            prewarmExecutor.execute(() -> {
+                for (String script : scripts) {
+                    try {
+                        getScriptClass(script);
+                    } catch (RuntimeException e) {
+                        log.debug("Unable to compile script of report {}", report.getName(), e);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Script compiler is stopped, scripts of report {} are not compiled", report.getName());
+        }
+    }
+
+    protected Class<?> compile(String key, String scriptText) {
+        return compileTimer.record(() -> {
+            // classes of each script are defined by a separate class loader to be unloaded after eviction
+            GroovyClassLoader classLoader = new GroovyClassLoader(ClassUtils.getDefaultClassLoader(), compilerConfiguration);
+            GroovyCodeSource codeSource = new GroovyCodeSource(scriptText,
+                    "ReportScript_" + key.substring(0, 16) + ".groovy", GroovyShell.DEFAULT_CODE_BASE);
+            codeSource.setCachable(false);
+            return classLoader.parseClass(codeSource, false);
+        });
+    }
+
+    protected List<String> collectScripts(Report report) {
+        Set<String> scripts = new LinkedHashSet<>();
+        if (report.getBands() != null) {
+            for (BandDefinition band : report.getBands()) {
+                if (band.getDataSets() == null) {
+                    continue;
+                }
+                for (DataSet dataSet : band.getDataSets()) {
+                    if (dataSet.getType() == DataSetType.GROOVY) {
+                        addScript(scripts, resolveScript(dataSet.getText()));
+                    } else if (dataSet.getType() == DataSetType.JSON
+                            && dataSet.getJsonSourceType() == JsonSourceType.GROOVY_SCRIPT) {
+                        addScript(scripts, resolveScript(dataSet.getJsonSourceText()));
+                    }
+                }
+            }
+        }
+        if (report.getValuesFormats() != null) {
+            for (ReportValueFormat valueFormat : report.getValuesFormats()) {
+                if (BooleanUtils.isTrue(valueFormat.getGroovyScript())) {
+                    addScript(scripts, valueFormat.getFormatString());
+                }
+            }
+        }
+        if (report.getInputParameters() != null) {
+            for (ReportInputParameter parameter : report.getInputParameters()) {
+                if (parameter.getPredefinedTransformation() == null) {
+                    addScript(scripts, resolveScript(parameter.getTransformationScript()));
+                }
+            }
+        }
+        return new ArrayList<>(scripts);
+    }
+
+    /**
+     * Returns the script text the same way as data loaders do: trimmed or loaded from the resource.
+     */
+    @Nullable
+    protected String resolveScript(@Nullable String script) {
+        script = StringUtils.trim(script);
+        if (script != null && script.endsWith(".groovy")) {
+            return resources.getResourceAsString(script);
+        }
+        return script;
+    }
+
+    protected void addScript(Set<String> scripts, @Nullable String script) {
+        if (StringUtils.isNotBlank(script)) {
+            scripts.add(script);
+        }
+    }
+}
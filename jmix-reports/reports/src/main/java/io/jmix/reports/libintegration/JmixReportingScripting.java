@@ -29,9 +29,15 @@ public class JmixReportingScripting implements Scripting {
     @Autowired
     private ScriptEvaluator scriptEvaluator;
 
+    @Autowired
+    private CompiledScriptCache compiledScriptCache;
+
     @Override
     @Nullable
     public <T> T evaluateGroovy(String s, Map<String, Object> stringObjectMap) {
+        if (compiledScriptCache.isEnabled()) {
+            return (T) compiledScriptCache.evaluate(s, stringObjectMap);
+        }
         return (T) scriptEvaluator.evaluate(new StaticScriptSource(s), stringObjectMap);
     }
 }
\ No newline at end of file
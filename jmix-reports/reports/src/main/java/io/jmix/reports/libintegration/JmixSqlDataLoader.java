@@ -38,7 +38,7 @@ public class JmixSqlDataLoader extends SqlDataLoader {
 
     @Override
     protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params, ResultSetHandler<List> handler) throws SQLException {
-        QueryRunner runner = new QueryRunner(storeAwareLocator.getDataSource(StoreUtils.getStoreName(reportQuery)));
+        QueryRunner runner = createQueryRunner(storeAwareLocator.getDataSource(StoreUtils.getStoreName(reportQuery)));
         return runner.query(queryString, params, handler);
     }
 }
@@ -22,6 +22,7 @@ import io.jmix.reports.yarg.loaders.impl.AbstractDbDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import io.jmix.core.*;
+import io.jmix.core.entity.EntityValues;
 import io.jmix.data.StoreAwareLocator;
 import io.jmix.reports.app.EntityMap;
 import org.apache.commons.collections4.CollectionUtils;
@@ -139,6 +140,20 @@ public class JpqlDataLoader extends AbstractDbDataLoader implements ReportDataLo
         return "param_" + parameter.getPosition();
     }
 
+    @Override
+    protected String createBatchCondition(String expression, String parameter) {
+        return expression + " in " + parameter;
+    }
+
+    @Override
+    protected Object normalizeBatchKey(Object value) {
+        if (value instanceof Entity) {
+            Object id = EntityValues.getId(value);
+            return id != null ? super.normalizeBatchKey(id) : value;
+        }
+        return super.normalizeBatchKey(value);
+    }
+
     protected String trimQuery(String query) {
         if (query.endsWith(";")) {
             return query.substring(0, query.length() - 1);
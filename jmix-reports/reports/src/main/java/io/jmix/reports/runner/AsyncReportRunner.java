@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner;
+
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs reports in background threads.
+ * <p>
+ * Runs are executed by a bounded pool of threads and at most
+ * {@link io.jmix.reports.ReportsProperties#getAsyncExecutionMaxRunsPerReport()} runs of the same report are executed
+ * at the same time. A run submitted while an identical run (the same report, template, output type and parameters
+ * submitted by the same user) is being executed gets the result of the latter instead of being executed again.
+ */
+public interface AsyncReportRunner {
+
+    /**
+     * Submits the report run to the execution queue. The report is run by {@link ReportRunner#run(ReportRunContext)}
+     * with the authentication of the current user.
+     *
+     * @param context the object that contains all information required to run the report
+     * @return future of the report execution result. Cancelling the future doesn't stop the execution.
+     * @throws io.jmix.reports.exception.ReportingException if the execution queue is full
+     */
+    CompletableFuture<ReportOutputDocument> runAsync(ReportRunContext context);
+}
@@ -19,6 +19,8 @@ package io.jmix.reports.runner;
 import com.google.common.base.Strings;
 import io.jmix.core.DataManager;
 import io.jmix.core.EntityStates;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
 import io.jmix.core.Id;
 import io.jmix.reports.entity.Report;
 import io.jmix.reports.entity.ReportOutputType;
@@ -34,9 +36,11 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class is used to run a report using various additional criteria:
@@ -73,6 +77,9 @@ public class FluentReportRunner {
 
     private ReportRunner reportRunner;
 
+    @Autowired
+    private AsyncReportRunner asyncReportRunner;
+
     public FluentReportRunner(Report report) {
         this.report = report;
     }
@@ -177,6 +184,41 @@ public class FluentReportRunner {
         return reportRunner.run(buildContext());
     }
 
+    /**
+     * Builds a {@link ReportRunContext} instance and submits a report run using this run context to the asynchronous
+     * execution queue.
+     *
+     * @return future of the report execution result
+     * @see AsyncReportRunner#runAsync(ReportRunContext)
+     */
+    public CompletableFuture<ReportOutputDocument> runAsync() {
+        return asyncReportRunner.runAsync(buildContext());
+    }
+
+    /**
+     * Builds a {@link ReportRunContext} instance and runs a report writing the document to the output stream
+     * while the data is being loaded.
+     *
+     * @param outputStream stream to write the document to
+     * @return report execution result without content
+     * @see ReportRunner#runStreaming(ReportRunContext, OutputStream)
+     */
+    public ReportOutputDocument runStreaming(OutputStream outputStream) {
+        return reportRunner.runStreaming(buildContext(), outputStream);
+    }
+
+    /**
+     * Builds a {@link ReportRunContext} instance, runs a report writing the document while the data is being loaded
+     * and saves the document to the file storage.
+     *
+     * @param fileStorage file storage to save the document to
+     * @return reference to the saved document
+     * @see ReportRunner#runStreaming(ReportRunContext, FileStorage)
+     */
+    public FileRef runStreaming(FileStorage fileStorage) {
+        return reportRunner.runStreaming(buildContext(), fileStorage);
+    }
+
     private Optional<Report> loadReportByCode(String reportCode) {
         return dataManager.load(Report.class)
                 .query("e.code = :code")
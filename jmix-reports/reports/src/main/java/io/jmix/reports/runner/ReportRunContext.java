@@ -21,6 +21,7 @@ import io.jmix.reports.entity.ReportOutputType;
 import io.jmix.reports.entity.ReportTemplate;
 
 import org.springframework.lang.Nullable;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -59,6 +60,7 @@ public class ReportRunContext {
     protected ReportOutputType outputType;
     protected Map<String, Object> params = new HashMap<>();
     protected String outputNamePattern;
+    protected Date queuedTime;
 
     public Report getReport() {
         return report;
@@ -120,4 +122,17 @@ public class ReportRunContext {
         return this;
     }
 
+    /**
+     * @return time when the run was submitted to the asynchronous execution queue
+     * @see AsyncReportRunner
+     */
+    @Nullable
+    public Date getQueuedTime() {
+        return queuedTime;
+    }
+
+    public ReportRunContext setQueuedTime(@Nullable Date queuedTime) {
+        this.queuedTime = queuedTime;
+        return this;
+    }
 }
@@ -16,9 +16,16 @@
 
 package io.jmix.reports.runner;
 
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
+import io.jmix.reports.exception.ReportingException;
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.reports.entity.Report;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Interface is used for running reports
  */
@@ -33,6 +40,43 @@ public interface ReportRunner {
      */
     ReportOutputDocument run(ReportRunContext context);
 
+    /**
+     * Runs the report and writes the document to the output stream while the report data is being loaded,
+     * so the whole data and document don't have to be kept in memory. Supported for table-like XLSX and CSV
+     * templates.
+     * <p>
+     * The default implementation runs the report by {@link #run(ReportRunContext)} and writes the resulting content.
+     *
+     * @param context      the object that contains all information required to run the report
+     * @param outputStream stream to write the document to, it's not closed by the method
+     * @return report execution result without content
+     */
+    default ReportOutputDocument runStreaming(ReportRunContext context, OutputStream outputStream) {
+        ReportOutputDocument document = run(context);
+        try {
+            outputStream.write(document.getContent());
+        } catch (IOException e) {
+            throw new ReportingException("Unable to write report document", e);
+        }
+        document.setContent(null);
+        return document;
+    }
+
+    /**
+     * Runs the report like {@link #runStreaming(ReportRunContext, OutputStream)} and saves the document
+     * to the file storage.
+     * <p>
+     * The default implementation runs the report by {@link #run(ReportRunContext)} and saves the resulting content.
+     *
+     * @param context     the object that contains all information required to run the report
+     * @param fileStorage file storage to save the document to
+     * @return reference to the saved document
+     */
+    default FileRef runStreaming(ReportRunContext context, FileStorage fileStorage) {
+        ReportOutputDocument document = run(context);
+        return fileStorage.saveStream(document.getDocumentName(), new ByteArrayInputStream(document.getContent()));
+    }
+
     /**
      * Creates an instance of {@link FluentReportRunner} for a report with specified code.
      * <br>
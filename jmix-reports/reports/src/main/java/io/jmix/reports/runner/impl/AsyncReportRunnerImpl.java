@@ -0,0 +1,356 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.runner.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.*;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.reports.ReportsProperties;
+import io.jmix.reports.entity.ReportTemplate;
+import io.jmix.reports.exception.ReportingException;
+import io.jmix.reports.runner.AsyncReportRunner;
+import io.jmix.reports.runner.ReportRunContext;
+import io.jmix.reports.runner.ReportRunner;
+import io.jmix.reports.yarg.reporting.ReportOutputDocument;
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl;
+import io.jmix.reports.yarg.structure.Report;
+import io.jmix.reports.yarg.structure.ReportOutputType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component("report_AsyncReportRunner")
+public class AsyncReportRunnerImpl implements AsyncReportRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncReportRunnerImpl.class);
+
+    protected static final int RESULT_CACHE_MAX_SIZE = 1000;
+    protected static final String RESULT_CACHE_DIR = "async-report-results";
+
+    @Autowired
+    protected ReportRunner reportRunner;
+    @Autowired
+    protected ReportsProperties reportsProperties;
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected TimeSource timeSource;
+    @Autowired
+    protected CoreProperties coreProperties;
+
+    protected ExecutorService executor;
+    protected final Map<UUID, ReportQueue> reportQueues = new ConcurrentHashMap<>();
+    protected final Map<String, CompletableFuture<ReportOutputDocument>> inFlightRuns = new ConcurrentHashMap<>();
+    protected final AtomicInteger queuedRuns = new AtomicInteger();
+    protected Cache<String, CachedDocument> resultCache;
+    protected Path resultCacheDir;
+
+    @PostConstruct
+    protected void init() {
+        executor = Executors.newFixedThreadPool(reportsProperties.getAsyncExecutionPoolSize(), new ThreadFactoryBuilder()
+                .setNameFormat("ReportRunner-%d")
+                .setDaemon(true)
+                .build());
+
+        int resultCacheTtlSec = reportsProperties.getAsyncExecutionResultCacheTtlSec();
+        if (resultCacheTtlSec > 0) {
+            resultCacheDir = Paths.get(coreProperties.getTempDir(), RESULT_CACHE_DIR);
+            initResultCacheDir();
+            resultCache = CacheBuilder.newBuilder()
+                    .expireAfterWrite(resultCacheTtlSec, TimeUnit.SECONDS)
+                    .maximumSize(RESULT_CACHE_MAX_SIZE)
+                    .removalListener(this::onCachedDocumentRemoved)
+                    .build();
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdownNow();
+        if (resultCache != null) {
+            resultCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public CompletableFuture<ReportOutputDocument> runAsync(ReportRunContext context) {
+        String runKey = createRunKey(context);
+        if (runKey == null) {
+            return submit(context, null);
+        }
+
+        ReportOutputDocument cachedDocument = getCachedDocument(runKey);
+        if (cachedDocument != null) {
+            log.debug("Returning cached document of report {}", context.getReport().getName());
+            return CompletableFuture.completedFuture(cachedDocument);
+        }
+
+        // the run is submitted outside of the map update, as a rejected run completes its future and removes it
+        // from the map immediately
+        CompletableFuture<ReportOutputDocument> future = new CompletableFuture<>();
+        CompletableFuture<ReportOutputDocument> inFlightRun = inFlightRuns.putIfAbsent(runKey, future);
+        if (inFlightRun == null) {
+            future.whenComplete((document, throwable) -> inFlightRuns.remove(runKey, future));
+            try {
+                submit(context, runKey, future);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+            inFlightRun = future;
+        }
+        // the copy is returned, so that a caller cancelling its future doesn't affect other callers
+        return inFlightRun.copy();
+    }
+
+    protected CompletableFuture<ReportOutputDocument> submit(ReportRunContext context, @Nullable String runKey) {
+        return submit(context, runKey, new CompletableFuture<>());
+    }
+
+    protected CompletableFuture<ReportOutputDocument> submit(ReportRunContext context, @Nullable String runKey,
+                                                             CompletableFuture<ReportOutputDocument> future) {
+        if (queuedRuns.incrementAndGet() > reportsProperties.getAsyncExecutionQueueCapacity()) {
+            queuedRuns.decrementAndGet();
+            throw new ReportingException(String.format("Unable to run report [%s], report execution queue is full",
+                    context.getReport().getName()));
+        }
+
+        context.setQueuedTime(timeSource.currentTimestamp());
+        QueuedRun run = new QueuedRun(context, SecurityContextHelper.getAuthentication(), runKey, future);
+        reportQueues.computeIfAbsent(context.getReport().getId(), id -> new ReportQueue()).add(run);
+        return run.future;
+    }
+
+    protected void execute(QueuedRun run, ReportQueue queue) {
+        queuedRuns.decrementAndGet();
+        Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+        try {
+            SecurityContextHelper.setAuthentication(run.authentication);
+            ReportOutputDocument document = reportRunner.run(run.context);
+            if (run.runKey != null) {
+                cacheDocument(run.runKey, document);
+            }
+            run.future.complete(document);
+        } catch (Throwable e) {
+            run.future.completeExceptionally(e);
+        } finally {
+            SecurityContextHelper.setAuthentication(previousAuthentication);
+            queue.finished();
+        }
+    }
+
+    /**
+     * Creates the key identifying runs with the same result.
+     *
+     * @return the key or null if parameters of the run can't be compared
+     */
+    @Nullable
+    protected String createRunKey(ReportRunContext context) {
+        StringBuilder key = new StringBuilder();
+        appendString(key, currentAuthentication.isSet() ? currentAuthentication.getUser().getUsername() : null);
+        appendString(key, String.valueOf(context.getReport().getId()));
+        ReportTemplate template = context.getReportTemplate();
+        appendString(key, template != null ? String.valueOf(template.getId()) : null);
+        appendString(key, context.getOutputType() != null ? context.getOutputType().getId().toString() : null);
+        appendString(key, context.getOutputNamePattern());
+
+        Map<String, Object> params = new TreeMap<>(context.getParams());
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            appendString(key, entry.getKey());
+            if (!appendValue(key, entry.getValue())) {
+                return null;
+            }
+        }
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+    }
+
+    protected boolean appendValue(StringBuilder key, @Nullable Object value) {
+        if (value == null) {
+            appendString(key, null);
+        } else if (value instanceof Entity) {
+            appendString(key, metadata.getClass(value).getName() + "-" + EntityValues.getId(value));
+        } else if (value instanceof Collection<?> collection) {
+            key.append('[');
+            for (Object item : collection) {
+                if (!appendValue(key, item)) {
+                    return false;
+                }
+            }
+            key.append(']');
+        } else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum || value instanceof UUID
+                || value instanceof Date || value instanceof TemporalAccessor) {
+            appendString(key, value.getClass().getName() + "-" + value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    protected void appendString(StringBuilder key, @Nullable String value) {
+        if (value == null) {
+            key.append("-1:");
+        } else {
+            key.append(value.length()).append(':').append(value);
+        }
+    }
+
+    @Nullable
+    protected ReportOutputDocument getCachedDocument(String runKey) {
+        if (resultCache == null) {
+            return null;
+        }
+        CachedDocument cachedDocument = resultCache.getIfPresent(runKey);
+        if (cachedDocument == null) {
+            return null;
+        }
+        try {
+            return new ReportOutputDocumentImpl(cachedDocument.report, Files.readAllBytes(cachedDocument.file),
+                    cachedDocument.documentName, cachedDocument.outputType);
+        } catch (IOException e) {
+            log.warn("Unable to read cached report document {}", cachedDocument.file, e);
+            resultCache.invalidate(runKey);
+            return null;
+        }
+    }
+
+    protected void cacheDocument(String runKey, ReportOutputDocument document) {
+        if (resultCache == null || document.getContent() == null) {
+            return;
+        }
+        try {
+            Path file = Files.write(resultCacheDir.resolve(UUID.randomUUID().toString()), document.getContent());
+            resultCache.put(runKey, new CachedDocument(file, document));
+        } catch (IOException e) {
+            log.warn("Unable to cache document of report {}", document.getDocumentName(), e);
+        }
+    }
+
+    protected void onCachedDocumentRemoved(RemovalNotification<String, CachedDocument> notification) {
+        CachedDocument cachedDocument = notification.getValue();
+        if (cachedDocument == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(cachedDocument.file);
+        } catch (IOException e) {
+            log.warn("Unable to remove cached report document {}", cachedDocument.file, e);
+        }
+    }
+
+    /**
+     * Creates the directory of cached documents and removes documents left by the previous run of the application,
+     * as the cache itself is kept in memory.
+     */
+    protected void initResultCacheDir() {
+        try {
+            FileUtils.forceMkdir(resultCacheDir.toFile());
+            FileUtils.cleanDirectory(resultCacheDir.toFile());
+        } catch (IOException e) {
+            log.warn("Unable to clean directory of cached report documents {}", resultCacheDir, e);
+        }
+    }
+
+    /**
+     * Runs of the same report. Not more than {@link ReportsProperties#getAsyncExecutionMaxRunsPerReport()} runs
+     * are passed to the executor at the same time.
+     */
+    protected class ReportQueue {
+
+        protected final Deque<QueuedRun> waitingRuns = new ArrayDeque<>();
+        protected int runningCount;
+
+        public synchronized void add(QueuedRun run) {
+            waitingRuns.add(run);
+            startNext();
+        }
+
+        public synchronized void finished() {
+            runningCount--;
+            startNext();
+        }
+
+        protected void startNext() {
+            while (runningCount < reportsProperties.getAsyncExecutionMaxRunsPerReport() && !waitingRuns.isEmpty()) {
+                QueuedRun run = waitingRuns.poll();
+                runningCount++;
+                try {
+                    executor.execute(() -> execute(run, this));
+                } catch (RejectedExecutionException e) {
+                    runningCount--;
+                    queuedRuns.decrementAndGet();
+                    run.future.completeExceptionally(new ReportingException("Report execution service is stopped"));
+                }
+            }
+        }
+    }
+
+    protected static class QueuedRun {
+
+        protected final ReportRunContext context;
+        protected final Authentication authentication;
+        protected final String runKey;
+        protected final CompletableFuture<ReportOutputDocument> future;
+
+        protected QueuedRun(ReportRunContext context, @Nullable Authentication authentication, @Nullable String runKey,
+                            CompletableFuture<ReportOutputDocument> future) {
+            this.context = context;
+            this.authentication = authentication;
+            this.runKey = runKey;
+            this.future = future;
+        }
+    }
+
+    protected static class CachedDocument {
+
+        protected final Path file;
+        protected final Report report;
+        protected final String documentName;
+        protected final ReportOutputType outputType;
+
+        protected CachedDocument(Path file, ReportOutputDocument document) {
+            this.file = file;
+            this.report = document.getReport();
+            this.documentName = document.getDocumentName();
+            this.outputType = document.getReportOutputType();
+        }
+    }
+}
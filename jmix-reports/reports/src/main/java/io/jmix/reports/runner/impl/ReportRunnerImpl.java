@@ -18,6 +18,8 @@ package io.jmix.reports.runner.impl;
 
 import io.jmix.core.DataManager;
 import io.jmix.core.EntityStates;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
 import io.jmix.core.Id;
 import io.jmix.reports.PrototypesLoader;
 import io.jmix.reports.ReportExecutionHistoryRecorder;
@@ -39,19 +41,28 @@ import io.jmix.reports.yarg.formatters.impl.doc.connector.NoFreePortsException;
 import io.jmix.reports.yarg.reporting.ReportOutputDocument;
 import io.jmix.reports.yarg.reporting.ReportingAPI;
 import io.jmix.reports.yarg.reporting.RunParams;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Component("report_ReportRunner")
 public class ReportRunnerImpl implements ReportRunner {
@@ -78,14 +89,45 @@ public class ReportRunnerImpl implements ReportRunner {
     @Override
     public ReportOutputDocument run(ReportRunContext context) {
         prepareContext(context);
+        return runWithHistory(context, () -> createReportDocumentInternal(context));
+    }
+
+    @Override
+    public ReportOutputDocument runStreaming(ReportRunContext context, OutputStream outputStream) {
+        prepareContext(context);
+        return runWithHistory(context, () -> createReportDocumentInternal(context, outputStream));
+    }
+
+    @Override
+    public FileRef runStreaming(ReportRunContext context, FileStorage fileStorage) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("report", null);
+            ReportOutputDocument document;
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                document = runStreaming(context, outputStream);
+            }
+            try (InputStream inputStream = Files.newInputStream(tempFile)) {
+                return fileStorage.saveStream(document.getDocumentName(), inputStream);
+            }
+        } catch (IOException e) {
+            throw new ReportingException("Unable to write report document to a temporary file", e);
+        } finally {
+            if (tempFile != null) {
+                FileUtils.deleteQuietly(tempFile.toFile());
+            }
+        }
+    }
+
+    protected ReportOutputDocument runWithHistory(ReportRunContext context, Supplier<ReportOutputDocument> runner) {
         if (!reportsProperties.isHistoryRecordingEnabled()) {
-            return createReportDocumentInternal(context);
+            return runner.get();
         }
 
         ReportExecution reportExecution =
-                executionHistoryRecorder.startExecution(context.getReport(), context.getParams());
+                executionHistoryRecorder.startExecution(context.getReport(), context.getParams(), context.getQueuedTime());
         try {
-            ReportOutputDocument document = createReportDocumentInternal(context);
+            ReportOutputDocument document = runner.get();
             executionHistoryRecorder.markAsSuccess(reportExecution, document);
             return document;
         } catch (ReportCanceledException e) {
@@ -98,6 +140,14 @@ public class ReportRunnerImpl implements ReportRunner {
     }
 
     protected ReportOutputDocument createReportDocumentInternal(ReportRunContext context) {
+        return createReportDocumentInternal(context, null);
+    }
+
+    /**
+     * Runs the report. If the output stream is passed, the document is written to it while the data is loaded
+     * and the content of the returned document is not set.
+     */
+    protected ReportOutputDocument createReportDocumentInternal(ReportRunContext context, @Nullable OutputStream outputStream) {
         Report report = context.getReport();
         ReportTemplate template = context.getReportTemplate();
         ReportOutputType outputType = context.getOutputType();
@@ -131,7 +181,11 @@ public class ReportRunnerImpl implements ReportRunner {
 
             io.jmix.reports.yarg.structure.ReportOutputType resultOutputType = (outputType != null) ? outputType.getOutputType() : template.getOutputType();
 
-            return reportingAPI.runReport(new RunParams(report).template(template).params(resultParams).output(resultOutputType).outputNamePattern(outputNamePattern));
+            RunParams runParams = new RunParams(report).template(template).params(resultParams).output(resultOutputType).outputNamePattern(outputNamePattern);
+            if (outputStream != null) {
+                return reportingAPI.runReport(runParams.streaming(true), outputStream);
+            }
+            return reportingAPI.runReport(runParams);
         } catch (NoFreePortsException nfe) {
             throw new NoOpenOfficeFreePortsException(nfe.getMessage());
         } catch (OpenOfficeException ooe) {
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters;
+
+import io.jmix.reports.yarg.structure.BandData;
+
+/**
+ * Formatter which writes the document band by band, so the bands don't have to be kept in memory
+ * until the whole report data is loaded.
+ * <p>
+ * Methods are called in the following order: {@link #startDocument()}, {@link #writeBand(BandData)}
+ * for each band of the first level, {@link #finishDocument()}.
+ */
+public interface StreamingReportFormatter extends ReportFormatter {
+
+    /**
+     * Prepares the document and writes its content preceding the bands.
+     */
+    void startDocument();
+
+    /**
+     * Writes the band of the first level to the document.
+     */
+    void writeBand(BandData band);
+
+    /**
+     * Writes the rest of the document and flushes it to the output stream.
+     */
+    void finishDocument();
+}
@@ -25,6 +25,7 @@ import io.jmix.reports.yarg.formatters.impl.xls.DocumentConverter;
 import io.jmix.reports.yarg.formatters.impl.xls.DocumentConverterImpl;
 import io.jmix.reports.yarg.exception.UnsupportedFormatException;
 import io.jmix.reports.yarg.formatters.ReportFormatter;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportTemplate;
 import io.jmix.reports.yarg.util.groovy.Scripting;
@@ -45,6 +46,7 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
     protected Scripting scripting;
 
     protected Map<String, FormatterCreator> formattersMap = new HashMap<>();
+    protected Map<String, StreamingFormatterCreator> streamingFormattersMap = new HashMap<>();
 
     protected ReportInlinersProvider inlinersProvider;
 
@@ -107,6 +109,14 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
         formattersMap.put("jasper", jasperCreator);
         formattersMap.put("jrxml", jasperCreator);
 
+        streamingFormattersMap.put("xlsx", factoryInput -> {
+            XlsxStreamingFormatter xlsxFormatter = new XlsxStreamingFormatter(factoryInput);
+            xlsxFormatter.setDefaultFormatProvider(defaultFormatProvider);
+            xlsxFormatter.setScripting(scripting);
+            return xlsxFormatter;
+        });
+        streamingFormattersMap.put("csv", CsvFormatter::new);
+
         if (inlinersProvider == null)
             setDefaultInlinersProvider();
     }
@@ -179,6 +189,21 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
         return reportFormatter;
     }
 
+    @Override
+    public StreamingReportFormatter createStreamingFormatter(FormatterFactoryInput factoryInput) {
+        StreamingFormatterCreator formatterCreator = streamingFormattersMap.get(factoryInput.templateExtension);
+        if (formatterCreator == null) {
+            return ReportFormatterFactory.super.createStreamingFormatter(factoryInput);
+        }
+
+        StreamingReportFormatter reportFormatter = formatterCreator.create(factoryInput);
+        if (reportFormatter instanceof AbstractFormatter) {
+            ((AbstractFormatter) reportFormatter).setContentInliners(new ArrayList<>(inlinersProvider.getContentInliners()));
+        }
+
+        return reportFormatter;
+    }
+
     protected void setDefaultInlinersProvider() {
         inlinersProvider = new DefaultInlinersProvider();
     }
@@ -186,4 +211,8 @@ public class DefaultFormatterFactory implements ReportFormatterFactory {
     protected static interface FormatterCreator {
         ReportFormatter create(FormatterFactoryInput formatterFactoryInput);
     }
+
+    protected static interface StreamingFormatterCreator {
+        StreamingReportFormatter create(FormatterFactoryInput formatterFactoryInput);
+    }
 }
@@ -15,7 +15,9 @@
  */
 package io.jmix.reports.yarg.formatters.factory;
 
+import io.jmix.reports.yarg.exception.UnsupportedFormatException;
 import io.jmix.reports.yarg.formatters.ReportFormatter;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
 
 /**
  * This interface describes a factory which spawns formatters. The default implementation is io.jmix.reports.yarg.formatters.factory.DefaultFormatterFactory
@@ -24,4 +26,14 @@ public interface ReportFormatterFactory {
 
     ReportFormatter createFormatter(FormatterFactoryInput factoryInput);
 
+    /**
+     * Creates a formatter which writes the document band by band.
+     *
+     * @throws UnsupportedFormatException if documents of the template type can't be written by bands
+     */
+    default StreamingReportFormatter createStreamingFormatter(FormatterFactoryInput factoryInput) {
+        throw new UnsupportedFormatException(String.format(
+                "Streaming is not supported for template extension [%s]", factoryInput.getTemplateExtension()));
+    }
+
 }
\ No newline at end of file
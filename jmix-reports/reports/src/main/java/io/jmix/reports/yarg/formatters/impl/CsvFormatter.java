@@ -19,6 +19,7 @@ package io.jmix.reports.yarg.formatters.impl;
 import com.opencsv.CSVWriter;
 import io.jmix.reports.yarg.exception.ReportFormattingException;
 import io.jmix.reports.yarg.exception.UnsupportedFormatException;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportOutputType;
@@ -32,10 +33,11 @@ import java.util.regex.Matcher;
 
 import static io.jmix.reports.yarg.formatters.impl.csv.SimpleSeparatorDetector.detectSeparator;
 
-public class CsvFormatter extends AbstractFormatter {
+public class CsvFormatter extends AbstractFormatter implements StreamingReportFormatter {
     protected char separator;
     protected String[] header;
     protected List<String> parametersToInsert = new ArrayList<>();
+    protected CSVWriter writer;
 
     public CsvFormatter(FormatterFactoryInput formatterFactoryInput) {
         super(formatterFactoryInput);
@@ -45,31 +47,40 @@ public class CsvFormatter extends AbstractFormatter {
 
     @Override
     public void renderDocument() {
-        if (ReportOutputType.csv.equals(outputType)) {
-            writeCsvDocument(rootBand, outputStream);
-        } else {
+        startDocument();
+        for (BandData row : getActualData(rootBand)) {
+            writeBand(row);
+        }
+        finishDocument();
+    }
+
+    @Override
+    public void startDocument() {
+        if (!ReportOutputType.csv.equals(outputType)) {
             throw new UnsupportedFormatException();
         }
+        writer = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), separator,
+                CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
+        writer.writeNext(header);
     }
 
-    protected void writeCsvDocument(BandData rootBand, OutputStream outputStream) {
-        try {
-            List<BandData> actualData = getActualData(rootBand);
-            CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), separator,
-                    CSVWriter.DEFAULT_QUOTE_CHARACTER, CSVWriter.DEFAULT_ESCAPE_CHARACTER, CSVWriter.DEFAULT_LINE_END);
-
-            writer.writeNext(header);
-
-            for (BandData row : actualData) {
-                String[] entries = new String[parametersToInsert.size()];
-                for (int i = 0; i < parametersToInsert.size(); i++) {
-                    String parameterName = parametersToInsert.get(i);
-                    String fullParameterName = row.getName() + "." + parameterName;
-                    entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
-                }
-                writer.writeNext(entries);
-            }
+    @Override
+    public void writeBand(BandData row) {
+        if (row.getData() == null || row.getData().isEmpty()) {
+            return;
+        }
+        String[] entries = new String[parametersToInsert.size()];
+        for (int i = 0; i < parametersToInsert.size(); i++) {
+            String parameterName = parametersToInsert.get(i);
+            String fullParameterName = row.getName() + "." + parameterName;
+            entries[i] = formatValue(row.getData().get(parameterName), parameterName, fullParameterName);
+        }
+        writer.writeNext(entries);
+    }
 
+    @Override
+    public void finishDocument() {
+        try {
             writer.close();
         } catch (IOException e) {
             throw new ReportFormattingException("Error while writing a csv document", e);
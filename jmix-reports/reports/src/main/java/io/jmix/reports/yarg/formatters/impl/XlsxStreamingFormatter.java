@@ -0,0 +1,291 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.formatters.impl;
+
+import io.jmix.reports.yarg.exception.ReportFormattingException;
+import io.jmix.reports.yarg.exception.UnsupportedFormatException;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportOutputType;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes XLSX documents row by row using {@link SXSSFWorkbook}, so only a window of the latest rows is kept
+ * in memory.
+ * <p>
+ * The template is expected to be a table: the first row of the first sheet containing aliases like
+ * {@code ${name}} is the data row, which is repeated for each band. Rows above the data row are kept as is,
+ * rows below it are written after the last band. Aliases of the data row cells are replaced with the values
+ * of the band. All bands must belong to a single first-level band definition: the formatter fails if bands
+ * of different names are written, as the template has only one data row. Other template features like several
+ * bands, named ranges, charts and formulas referencing the data rows are not supported, use {@link XlsxFormatter}
+ * for such templates.
+ */
+public class XlsxStreamingFormatter extends AbstractFormatter implements StreamingReportFormatter {
+
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    protected int windowSize = DEFAULT_WINDOW_SIZE;
+
+    protected XSSFWorkbook templateWorkbook;
+    protected TemplateRow dataRow;
+    protected List<TemplateRow> footerRows = new ArrayList<>();
+    protected String dataBandName;
+
+    protected SXSSFWorkbook workbook;
+    protected Sheet sheet;
+    protected int nextRowNum;
+
+    public XlsxStreamingFormatter(FormatterFactoryInput formatterFactoryInput) {
+        super(formatterFactoryInput);
+        supportedOutputTypes.add(ReportOutputType.xlsx);
+        readTemplateData();
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void renderDocument() {
+        startDocument();
+        for (BandData band : rootBand.getChildrenList()) {
+            writeBand(band);
+        }
+        finishDocument();
+    }
+
+    @Override
+    public void startDocument() {
+        if (!ReportOutputType.xlsx.equals(outputType)) {
+            throw new UnsupportedFormatException();
+        }
+        workbook = new SXSSFWorkbook(templateWorkbook, windowSize);
+        sheet = workbook.getSheetAt(0);
+    }
+
+    @Override
+    public void writeBand(BandData band) {
+        checkThreadInterrupted();
+        checkBandName(band);
+        if (band.getData() == null || band.getData().isEmpty()) {
+            return;
+        }
+
+        Row row = createRow(dataRow);
+        for (TemplateCell templateCell : dataRow.cells) {
+            Cell cell = createCell(row, templateCell);
+            if (templateCell.parameterName != null) {
+                setCellValue(cell, band, templateCell.parameterName);
+            } else if (templateCell.text != null) {
+                cell.setCellValue(insertBandDataToString(band, templateCell.text));
+            } else {
+                copyValue(cell, templateCell);
+            }
+        }
+    }
+
+    protected void checkBandName(BandData band) {
+        if (dataBandName == null) {
+            dataBandName = band.getName();
+        } else if (!dataBandName.equals(band.getName())) {
+            throw new ReportFormattingException(String.format(
+                    "Template [%s] can be filled by streaming with bands of a single first-level band only, " +
+                            "but bands [%s] and [%s] are found. Run the report without streaming",
+                    reportTemplate.getDocumentName(), dataBandName, band.getName()));
+        }
+    }
+
+    @Override
+    public void finishDocument() {
+        try {
+            for (TemplateRow footerRow : footerRows) {
+                Row row = createRow(footerRow);
+                for (TemplateCell templateCell : footerRow.cells) {
+                    copyValue(createCell(row, templateCell), templateCell);
+                }
+            }
+            workbook.write(outputStream);
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new ReportFormattingException("Error while writing a xlsx document", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    protected void readTemplateData() {
+        checkThreadInterrupted();
+        try (InputStream documentContent = reportTemplate.getDocumentContent()) {
+            templateWorkbook = new XSSFWorkbook(documentContent);
+        } catch (IOException e) {
+            throw new ReportFormattingException("Error while reading template data", e);
+        }
+
+        Sheet templateSheet = templateWorkbook.getSheetAt(0);
+        int dataRowNum = -1;
+        for (Row row : templateSheet) {
+            if (containsAliases(row)) {
+                dataRowNum = row.getRowNum();
+                break;
+            }
+        }
+        if (dataRowNum < 0) {
+            throw new ReportFormattingException(String.format(
+                    "Template [%s] doesn't contain a row with aliases", reportTemplate.getDocumentName()));
+        }
+
+        int lastRowNum = templateSheet.getLastRowNum();
+        for (int rowNum = dataRowNum; rowNum <= lastRowNum; rowNum++) {
+            Row row = templateSheet.getRow(rowNum);
+            TemplateRow templateRow = readRow(row);
+            if (rowNum == dataRowNum) {
+                dataRow = templateRow;
+            } else {
+                footerRows.add(templateRow);
+            }
+            if (row != null) {
+                templateSheet.removeRow(row);
+            }
+        }
+        nextRowNum = dataRowNum;
+    }
+
+    protected boolean containsAliases(Row row) {
+        for (Cell cell : row) {
+            if (cell.getCellType() == CellType.STRING
+                    && UNIVERSAL_ALIAS_PATTERN.matcher(cell.getStringCellValue()).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected TemplateRow readRow(Row row) {
+        TemplateRow templateRow = new TemplateRow();
+        if (row == null) {
+            return templateRow;
+        }
+        templateRow.height = row.getHeight();
+        for (Cell cell : row) {
+            TemplateCell templateCell = new TemplateCell();
+            templateCell.column = cell.getColumnIndex();
+            templateCell.styleIndex = cell.getCellStyle().getIndex();
+            templateCell.type = cell.getCellType();
+            switch (cell.getCellType()) {
+                case STRING -> {
+                    String value = cell.getStringCellValue();
+                    if (containsJustOneAlias(value)) {
+                        templateCell.parameterName = unwrapParameterName(value);
+                    } else if (UNIVERSAL_ALIAS_PATTERN.matcher(value).find()) {
+                        templateCell.text = value;
+                    } else {
+                        templateCell.value = value;
+                    }
+                }
+                case NUMERIC -> templateCell.value = cell.getNumericCellValue();
+                case BOOLEAN -> templateCell.value = cell.getBooleanCellValue();
+                case FORMULA -> templateCell.value = cell.getCellFormula();
+                default -> {
+                }
+            }
+            templateRow.cells.add(templateCell);
+        }
+        return templateRow;
+    }
+
+    protected Row createRow(TemplateRow templateRow) {
+        Row row = sheet.createRow(nextRowNum++);
+        if (templateRow.height >= 0) {
+            row.setHeight(templateRow.height);
+        }
+        return row;
+    }
+
+    protected Cell createCell(Row row, TemplateCell templateCell) {
+        Cell cell = row.createCell(templateCell.column);
+        cell.setCellStyle(workbook.getCellStyleAt(templateCell.styleIndex));
+        return cell;
+    }
+
+    protected void setCellValue(Cell cell, BandData band, String parameterName) {
+        Map<String, Object> data = band.getData();
+        Object value = data.get(parameterName);
+        String fullParameterName = getFullParameterName(band, parameterName);
+        if (value == null) {
+            cell.setBlank();
+        } else if (getFormatString(parameterName, fullParameterName) != null) {
+            cell.setCellValue(formatValue(value, parameterName, fullParameterName));
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else if (value instanceof Date date) {
+            cell.setCellValue(date);
+        } else if (value instanceof Calendar calendar) {
+            cell.setCellValue(calendar);
+        } else if (value instanceof LocalDateTime localDateTime) {
+            cell.setCellValue(localDateTime);
+        } else if (value instanceof LocalDate localDate) {
+            cell.setCellValue(localDate);
+        } else {
+            cell.setCellValue(formatValue(value, parameterName, fullParameterName));
+        }
+    }
+
+    protected void copyValue(Cell cell, TemplateCell templateCell) {
+        if (templateCell.value == null) {
+            return;
+        }
+        switch (templateCell.type) {
+            case NUMERIC -> cell.setCellValue((Double) templateCell.value);
+            case BOOLEAN -> cell.setCellValue((Boolean) templateCell.value);
+            case FORMULA -> cell.setCellFormula((String) templateCell.value);
+            default -> cell.setCellValue(String.valueOf(templateCell.value));
+        }
+    }
+
+    protected static class TemplateRow {
+        protected short height = -1;
+        protected List<TemplateCell> cells = new ArrayList<>();
+    }
+
+    protected static class TemplateCell {
+        protected int column;
+        protected short styleIndex;
+        protected CellType type;
+        protected Object value;
+        protected String parameterName;
+        protected String text;
+    }
+}
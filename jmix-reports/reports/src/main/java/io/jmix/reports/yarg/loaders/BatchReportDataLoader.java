@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data loader which is able to load rows of a band for several parent band rows by a single query.
+ *
+ * @see io.jmix.reports.yarg.structure.ReportBand#getBatchSize()
+ */
+public interface BatchReportDataLoader extends ReportDataLoader {
+
+    /**
+     * Loads rows for each of the passed parent bands. All parent bands must have the same name and parent.
+     *
+     * @param reportQuery query of the child band
+     * @param parentBands parent band rows
+     * @param params      report params
+     * @return list of mutable rows for each parent band in the order of {@code parentBands},
+     * or null if the query can't be executed for several parent rows at once
+     */
+    @Nullable
+    List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                  Map<String, Object> params);
+}
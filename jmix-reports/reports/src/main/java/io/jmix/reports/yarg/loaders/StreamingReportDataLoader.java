@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.reports.yarg.loaders;
+
+import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Data loader which is able to pass loaded rows one by one without collecting all rows in memory.
+ * Used by streaming report runs.
+ *
+ * @see io.jmix.reports.yarg.reporting.RunParams#streaming(boolean)
+ */
+public interface StreamingReportDataLoader extends ReportDataLoader {
+
+    /**
+     * Loads rows and passes each of them to the consumer as soon as it's read.
+     *
+     * @param reportQuery query to execute
+     * @param parentBand  parent band
+     * @param params      report params
+     * @param rowConsumer consumer of mutable rows
+     */
+    void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                  Consumer<Map<String, Object>> rowConsumer);
+}
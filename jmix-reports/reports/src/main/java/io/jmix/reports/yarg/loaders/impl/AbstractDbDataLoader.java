@@ -16,20 +16,37 @@
 
 package io.jmix.reports.yarg.loaders.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
+import io.jmix.reports.yarg.structure.ReportQuery;
 import groovy.text.GStringTemplateEngine;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public abstract class AbstractDbDataLoader extends AbstractDataLoader {
+public abstract class AbstractDbDataLoader extends AbstractDataLoader implements BatchReportDataLoader {
 
     public static final Pattern COMMON_PARAM_PATTERN = Pattern.compile("\\$\\{(.+?)\\}");
 
+    // conditions and clauses which may select different rows for a single parent and for several parents
+    protected static final Pattern BATCH_UNSUPPORTED_PATTERN =
+            Pattern.compile("(?i)\\b(or|limit|offset|top|rownum|fetch\\s+first|fetch\\s+next)\\b");
+
+    protected static final int PREPARED_QUERY_CACHE_SIZE = 1000;
+
+    // queries with parameters replaced by placeholders, by query text and the shape of parameter values
+    protected final Cache<String, PreparedQuery> preparedQueries = CacheBuilder.newBuilder()
+            .maximumSize(PREPARED_QUERY_CACHE_SIZE)
+            .build();
+
     protected List<Map<String, Object>> fillOutputData(List resList, List<OutputValue> parametersNames) {
         List<Map<String, Object>> outputData = new ArrayList<>();
 
@@ -78,12 +95,61 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
             parentBand = parentBand.getParentBand();
         }
 
-        List<QueryParameter> queryParameters = new ArrayList<>();
         HashSet<String> paramNames = findParameterNames(query);
+        Map<String, Object> paramValues = new HashMap<>();
+        StringBuilder shape = new StringBuilder();
+        for (String paramName : paramNames) {
+            Object paramValue = currentParams.get(paramName);
+            if (isRemovedParameter(paramName, paramValue, reportParams)) {
+                shape.append('R');
+            } else {
+                Object convertedValue = convertParameter(paramValue);
+                paramValues.put(paramName, convertedValue);
+                if (convertedValue instanceof Collection) {
+                    shape.append('M').append(((Collection<?>) convertedValue).size());
+                } else if (convertedValue instanceof Object[]) {
+                    shape.append('M').append(((Object[]) convertedValue).length);
+                } else {
+                    shape.append('S');
+                }
+            }
+            shape.append(',');
+        }
+
+        String cacheKey = shape.append('|').append(query).toString();
+        PreparedQuery preparedQuery = preparedQueries.getIfPresent(cacheKey);
+        if (preparedQuery == null) {
+            preparedQuery = compileQuery(query, paramNames, paramValues, reportParams);
+            preparedQueries.put(cacheKey, preparedQuery);
+        }
+
+        QueryParameter[] queryParameters = new QueryParameter[preparedQuery.getParameterNames().length];
+        for (int i = 0; i < queryParameters.length; i++) {
+            String paramName = preparedQuery.getParameterNames()[i];
+            queryParameters[i] = new QueryParameter("\\$\\{" + paramName + "\\}", i + 1, paramValues.get(paramName));
+        }
+        return new QueryPack(preparedQuery, queryParameters);
+    }
+
+    protected boolean isRemovedParameter(String paramName, @Nullable Object paramValue,
+                                         @Nullable Map<String, Object> reportParams) {
+        boolean isEmpty = paramValue == null || (paramValue instanceof Collection && ((Collection) paramValue).size() == 0);
+        //if value == null && this is user parameter - condition is removed from query
+        return isEmpty && reportParams != null && reportParams.containsKey(paramName);
+    }
+
+    /**
+     * Removes conditions of empty user parameters from the query and replaces other parameters with placeholders.
+     * The result depends only on the query and on which parameters are removed, single or have a number of values,
+     * so it's cached and reused for executions with other values of the same shape.
+     */
+    protected PreparedQuery compileQuery(String query, Set<String> paramNames, Map<String, Object> paramValues,
+                                         @Nullable Map<String, Object> reportParams) {
+        List<QueryParameter> queryParameters = new ArrayList<>();
+        Map<QueryParameter, String> queryParameterNames = new IdentityHashMap<>();
         Map<String, String> paramsToRemoveFromQuery = new LinkedHashMap<>();
 
         for (String paramName : paramNames) {
-            Object paramValue = currentParams.get(paramName);
             String alias = "${" + paramName + "}";
 
             String paramNameRegexp = "\\$\\{" + paramName + "\\}";
@@ -122,9 +188,7 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
 
             String boundsRegexp = "\\[\\[.+?" + paramNameRegexp + ".+?\\]\\]";
 
-            boolean isEmpty = paramValue == null || (paramValue instanceof Collection && ((Collection) paramValue).size() == 0);
-
-            if (isEmpty && reportParams != null && reportParams.containsKey(paramName)) {//if value == null && this is user parameter - remove condition from query
+            if (!paramValues.containsKey(paramName)) {
 
                 paramsToRemoveFromQuery.put("(?i)" + notAndFirstRgxp, " and 1=1 ");
                 paramsToRemoveFromQuery.put("(?i)" + notAndLastRgxp, " 1=1 and ");
@@ -149,7 +213,9 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
                 int subPosition = 0;
                 while (replaceMatcher.find(subPosition)) {
                     subPosition = replaceMatcher.start();
-                    queryParameters.add(new QueryParameter(paramNameRegexp, subPosition, convertParameter(paramValue)));
+                    QueryParameter queryParameter = new QueryParameter(paramNameRegexp, subPosition, paramValues.get(paramName));
+                    queryParameters.add(queryParameter);
+                    queryParameterNames.put(queryParameter, paramName);
                     subPosition = replaceMatcher.end();
                 }
             }
@@ -169,17 +235,16 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
             }
         });
 
-        //normalize params position to 1..n
-        for (int i = 1; i <= queryParameters.size(); i++) {
-            QueryParameter queryParameter = queryParameters.get(i - 1);
-            queryParameter.setPosition(i);
+        String[] parameterNames = new String[queryParameters.size()];
+        for (int i = 0; i < queryParameters.size(); i++) {
+            parameterNames[i] = queryParameterNames.get(queryParameters.get(i));
         }
 
         for (QueryParameter parameter : queryParameters) {
             query = insertParameterToQuery(query, parameter);
         }
 
-        return new QueryPack(query.trim().replaceAll(" +", " "), queryParameters.toArray(new QueryParameter[queryParameters.size()]));
+        return new PreparedQuery(query.trim().replaceAll(" +", " "), parameterNames);
     }
 
     @SuppressWarnings("unchecked")
@@ -232,15 +297,172 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
         return query;
     }
 
+    /**
+     * Loads rows of several parent bands by a single query. The query must reference exactly one field of the parent
+     * band in a single equality condition, e.g. {@code i.invoice_id = ${Invoice.id}}, and select the compared
+     * expression with an alias, e.g. {@code i.invoice_id as "invoiceId"}. The condition is replaced
+     * with {@code in} condition for all parent values and the loaded rows are distributed by the selected value.
+     * Queries with {@code or} conditions or row limits, as well as template queries, are not rewritten: null is
+     * returned and rows are loaded for each parent band separately.
+     */
+    @Nullable
+    @Override
+    public List<List<Map<String, Object>>> loadBatchData(ReportQuery reportQuery, List<BandData> parentBands,
+                                                         Map<String, Object> params) {
+        if (parentBands.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BatchQuery batchQuery = prepareBatchQuery(reportQuery, parentBands.get(0).getName());
+        if (batchQuery == null) {
+            return null;
+        }
+
+        Map<Object, Object> parentValues = new LinkedHashMap<>();
+        for (BandData parentBand : parentBands) {
+            Object value = parentBand.getData().get(batchQuery.getParentField());
+            if (value != null) {
+                parentValues.putIfAbsent(normalizeBatchKey(convertParameter(value)), value);
+            }
+        }
+
+        Map<Object, List<Map<String, Object>>> rowsByKey = new HashMap<>();
+        if (!parentValues.isEmpty()) {
+            Map<String, Object> batchParams = new HashMap<>();
+            if (params != null) {
+                batchParams.putAll(params);
+            }
+            batchParams.put(batchQuery.getParameterName(), new ArrayList<>(parentValues.values()));
+
+            List<Map<String, Object>> rows = loadData(batchQuery, parentBands.get(0).getParentBand(), batchParams);
+            for (Map<String, Object> row : rows) {
+                Object key = getBatchKey(row, batchQuery.getKeyAlias());
+                if (key != null) {
+                    rowsByKey.computeIfAbsent(normalizeBatchKey(key), k -> new ArrayList<>()).add(row);
+                }
+            }
+        }
+
+        List<List<Map<String, Object>>> result = new ArrayList<>(parentBands.size());
+        Set<Object> distributedKeys = new HashSet<>();
+        for (BandData parentBand : parentBands) {
+            Object value = parentBand.getData().get(batchQuery.getParentField());
+            Object key = value != null ? normalizeBatchKey(convertParameter(value)) : null;
+            List<Map<String, Object>> rows = key != null ? rowsByKey.get(key) : null;
+            if (rows == null) {
+                result.add(new ArrayList<>());
+            } else if (distributedKeys.add(key)) {
+                result.add(rows);
+            } else {
+                // rows must be mutable, so parents with the same key don't share them
+                List<Map<String, Object>> copy = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    copy.add(new HashMap<>(row));
+                }
+                result.add(copy);
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    protected BatchQuery prepareBatchQuery(ReportQuery reportQuery, String parentBandName) {
+        String query = reportQuery.getScript();
+        if (StringUtils.isBlank(query)
+                || Boolean.TRUE.equals(reportQuery.getProcessTemplate())
+                || BATCH_UNSUPPORTED_PATTERN.matcher(query).find()) {
+            return null;
+        }
+
+        String parentPrefix = parentBandName + ".";
+        List<String> parentParams = new ArrayList<>();
+        for (String paramName : findParameterNames(query)) {
+            if (paramName.startsWith(parentPrefix)) {
+                parentParams.add(paramName);
+            }
+        }
+        if (parentParams.size() != 1) {
+            return null;
+        }
+
+        String paramName = parentParams.get(0);
+        String alias = "${" + paramName + "}";
+        if (StringUtils.countMatches(query, alias) != 1) {
+            return null;
+        }
+
+        String paramNameRegexp = "\\$\\{" + Pattern.quote(paramName) + "\\}";
+        Matcher conditionMatcher = Pattern.compile("([\\w.]+)\\s*=\\s*" + paramNameRegexp
+                + "|" + paramNameRegexp + "\\s*=\\s*([\\w.]+)").matcher(query);
+        if (!conditionMatcher.find()) {
+            return null;
+        }
+        String expression = conditionMatcher.group(1) != null ? conditionMatcher.group(1) : conditionMatcher.group(2);
+
+        Matcher aliasMatcher = Pattern.compile("(?i)(?<![\\w.])" + Pattern.quote(expression)
+                + "\\s+as\\s+\"?([\\w.]+)\"?").matcher(query);
+        if (!aliasMatcher.find()) {
+            return null;
+        }
+
+        String script = query.substring(0, conditionMatcher.start())
+                + createBatchCondition(expression, alias)
+                + query.substring(conditionMatcher.end());
+        return new BatchQuery(reportQuery, script, paramName, paramName.substring(parentPrefix.length()),
+                aliasMatcher.group(1));
+    }
+
+    /**
+     * @return condition selecting rows for all parent values passed as a collection parameter
+     */
+    protected String createBatchCondition(String expression, String parameter) {
+        return expression + " in (" + parameter + ")";
+    }
+
+    @Nullable
+    protected Object getBatchKey(Map<String, Object> row, String keyAlias) {
+        if (row.containsKey(keyAlias)) {
+            return row.get(keyAlias);
+        }
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (keyAlias.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts parent and loaded values to comparable form, as the database may return a value of another type
+     * than the parent band contains.
+     */
+    protected Object normalizeBatchKey(Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).stripTrailingZeros();
+        }
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        }
+        if (value instanceof UUID || value instanceof CharSequence) {
+            return value.toString();
+        }
+        return value;
+    }
+
     protected static class QueryPack {
         private String query;
         private QueryParameter[] params;
+        private PreparedQuery preparedQuery;
 
         public QueryPack(String query, QueryParameter[] params) {
             this.query = query;
             this.params = params;
         }
 
+        public QueryPack(PreparedQuery preparedQuery, QueryParameter[] params) {
+            this(preparedQuery.getQuery(), params);
+            this.preparedQuery = preparedQuery;
+        }
+
         public String getQuery() {
             return query;
         }
@@ -248,6 +470,51 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
         public QueryParameter[] getParams() {
             return params;
         }
+
+        /**
+         * @return cached query the pack is created from
+         */
+        @Nullable
+        public PreparedQuery getPreparedQuery() {
+            return preparedQuery;
+        }
+    }
+
+    /**
+     * Query with parameters replaced by placeholders, shared by executions with parameter values of the same shape.
+     */
+    protected static class PreparedQuery {
+        private final String query;
+        private final String[] parameterNames;
+        private volatile List<OutputValue> outputValues;
+
+        public PreparedQuery(String query, String[] parameterNames) {
+            this.query = query;
+            this.parameterNames = parameterNames;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * @return names of parameters in the order of placeholders
+         */
+        public String[] getParameterNames() {
+            return parameterNames;
+        }
+
+        /**
+         * @return output values resolved for result columns on a previous execution of the query
+         */
+        @Nullable
+        public List<OutputValue> getOutputValues() {
+            return outputValues;
+        }
+
+        public void setOutputValues(List<OutputValue> outputValues) {
+            this.outputValues = outputValues;
+        }
     }
 
     protected static class QueryParameter {
@@ -321,4 +588,63 @@ public abstract class AbstractDbDataLoader extends AbstractDataLoader {
             return valueName;
         }
     }
-}
\ No newline at end of file
+
+    protected static class BatchQuery implements ReportQuery {
+        private final ReportQuery reportQuery;
+        private final String script;
+        private final String parameterName;
+        private final String parentField;
+        private final String keyAlias;
+
+        public BatchQuery(ReportQuery reportQuery, String script, String parameterName, String parentField,
+                          String keyAlias) {
+            this.reportQuery = reportQuery;
+            this.script = script;
+            this.parameterName = parameterName;
+            this.parentField = parentField;
+            this.keyAlias = keyAlias;
+        }
+
+        @Override
+        public String getName() {
+            return reportQuery.getName();
+        }
+
+        @Override
+        public String getScript() {
+            return script;
+        }
+
+        @Override
+        public String getLinkParameterName() {
+            return reportQuery.getLinkParameterName();
+        }
+
+        @Override
+        public String getLoaderType() {
+            return reportQuery.getLoaderType();
+        }
+
+        @Override
+        public Boolean getProcessTemplate() {
+            return reportQuery.getProcessTemplate();
+        }
+
+        @Override
+        public Map<String, Object> getAdditionalParams() {
+            return reportQuery.getAdditionalParams();
+        }
+
+        public String getParameterName() {
+            return parameterName;
+        }
+
+        public String getParentField() {
+            return parentField;
+        }
+
+        public String getKeyAlias() {
+            return keyAlias;
+        }
+    }
+}
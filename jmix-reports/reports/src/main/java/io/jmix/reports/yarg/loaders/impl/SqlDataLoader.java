@@ -19,6 +19,8 @@ package io.jmix.reports.yarg.loaders.impl;
 import io.jmix.reports.yarg.util.db.QueryRunner;
 import io.jmix.reports.yarg.util.db.ResultSetHandler;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.exception.ReportingException;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.lang3.StringUtils;
@@ -29,8 +31,10 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,9 +47,10 @@ import java.util.regex.Pattern;
  *
  * ${startDate} is alias of the input parameter, which will be passed to the query
  */
-public class SqlDataLoader extends AbstractDbDataLoader {
+public class SqlDataLoader extends AbstractDbDataLoader implements StreamingReportDataLoader {
 
     private DataSource dataSource;
+    private int fetchSize;
 
     public SqlDataLoader(DataSource dataSource) {
         this.dataSource = dataSource;
@@ -53,12 +58,19 @@ public class SqlDataLoader extends AbstractDbDataLoader {
 
     @Override
     public List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        loadData(reportQuery, parentBand, params, result::add);
+        return result;
+    }
+
+    @Override
+    public void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                         Consumer<Map<String, Object>> rowConsumer) {
         try {
             String query = reportQuery.getScript();
             if (StringUtils.isBlank(query)) {
-                return Collections.emptyList();
+                return;
             }
-            final List<OutputValue> outputValues = new ArrayList<>();
             if (Boolean.TRUE.equals(reportQuery.getProcessTemplate())) {
                 query = processQueryTemplate(query, parentBand, params);
             }
@@ -74,53 +86,107 @@ public class SqlDataLoader extends AbstractDbDataLoader {
                 }
             }
 
-            List resList = runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), new ResultSetHandler<List>() {
+            runQuery(reportQuery, pack.getQuery(), resultingParams.toArray(), new ResultSetHandler<List>() {
                 @Override
                 public List handle(ResultSet rs) throws SQLException {
-                    List<Object[]> resList = new ArrayList<>();
-
+                    OutputValue[] outputValues = null;
+                    int mapCapacity = 0;
                     while (rs.next()) {
-                        ResultSetMetaData metaData = rs.getMetaData();
-                        if (outputValues.size() == 0) {
-                            for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
-                                String columnName = metaData.getColumnLabel(columnIndex);
-                                OutputValue outputValue = new OutputValue(columnName);
-                                setCaseSensitiveSynonym(columnName, outputValue);
-                                outputValues.add(outputValue);
-                            }
+                        if (outputValues == null) {
+                            outputValues = getOutputValues(pack, rs.getMetaData()).toArray(new OutputValue[0]);
+                            mapCapacity = (int) (outputValues.length * 2 / 0.75f) + 1;
                         }
 
-                        Object[] values = new Object[metaData.getColumnCount()];
-                        for (int columnIndex = 0; columnIndex < metaData.getColumnCount(); columnIndex++) {
-                            values[columnIndex] = convertOutputValue(rs.getObject(columnIndex + 1));
+                        // rows are filled directly, as they are added to band data as is
+                        Map<String, Object> row = new HashMap<>(mapCapacity);
+                        for (int columnIndex = 0; columnIndex < outputValues.length; columnIndex++) {
+                            OutputValue outputValue = outputValues[columnIndex];
+                            Object value = convertOutputValue(rs.getObject(columnIndex + 1));
+                            row.put(outputValue.getValueName(), value);
+                            if (outputValue.getSynonym() != null) {
+                                row.put(outputValue.getSynonym(), value);
+                            }
                         }
-                        resList.add(values);
+                        rowConsumer.accept(row);
                     }
 
-                    return resList;
-                }
-
-                private void setCaseSensitiveSynonym(String columnName, OutputValue outputValue) {
-                    Matcher matcher = Pattern.compile("(?i)as\\s*(" + columnName + ")").matcher(pack.getQuery());
-                    if (matcher.find()) {
-                        outputValue.setSynonym(matcher.group(1));
-                    }
+                    return Collections.emptyList();
                 }
             });
-            return fillOutputData(resList, outputValues);
-        } catch (DataLoadingException e) {
+        } catch (ReportingException e) {
             throw e;
         } catch (Throwable e) {
             throw new DataLoadingException(String.format("An error occurred while loading data for data set [%s]", reportQuery.getName()), e);
         }
     }
 
+    /**
+     * Returns output values for result columns. They are resolved once for a prepared query and reused
+     * while the query returns the same columns.
+     */
+    protected List<OutputValue> getOutputValues(QueryPack pack, ResultSetMetaData metaData) throws SQLException {
+        PreparedQuery preparedQuery = pack.getPreparedQuery();
+        List<OutputValue> outputValues = preparedQuery != null ? preparedQuery.getOutputValues() : null;
+        if (outputValues != null && matchColumns(outputValues, metaData)) {
+            return outputValues;
+        }
+
+        outputValues = new ArrayList<>(metaData.getColumnCount());
+        for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+            String columnName = metaData.getColumnLabel(columnIndex);
+            OutputValue outputValue = new OutputValue(columnName);
+            setCaseSensitiveSynonym(pack.getQuery(), columnName, outputValue);
+            outputValues.add(outputValue);
+        }
+        if (preparedQuery != null) {
+            preparedQuery.setOutputValues(outputValues);
+        }
+        return outputValues;
+    }
+
+    protected boolean matchColumns(List<OutputValue> outputValues, ResultSetMetaData metaData) throws SQLException {
+        if (outputValues.size() != metaData.getColumnCount()) {
+            return false;
+        }
+        for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+            if (!outputValues.get(columnIndex - 1).getValueName().equals(metaData.getColumnLabel(columnIndex))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected void setCaseSensitiveSynonym(String query, String columnName, OutputValue outputValue) {
+        Matcher matcher = Pattern.compile("(?i)as\\s*(" + Pattern.quote(columnName) + ")").matcher(query);
+        if (matcher.find() && StringUtils.isNotBlank(matcher.group(1))) {
+            outputValue.setSynonym(matcher.group(1));
+        }
+    }
+
     protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params, ResultSetHandler<List> handler) throws SQLException {
-        QueryRunner runner = new QueryRunner(getDataSource());
-        return runner.query(queryString, params, handler);
+        return createQueryRunner(getDataSource()).query(queryString, params, handler);
+    }
+
+    protected QueryRunner createQueryRunner(DataSource dataSource) {
+        QueryRunner runner = new QueryRunner(dataSource);
+        runner.setFetchSize(fetchSize);
+        return runner;
     }
 
     public DataSource getDataSource() {
         return dataSource;
     }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once, 0 means the driver default.
+     *
+     * @see QueryRunner#setFetchSize(int)
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.Report;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This class should load data using ReportQuery objects, convert data onto BandData object and build BandData object tree (link children and parent bands)
@@ -30,6 +31,15 @@ public interface DataExtractor {
 
     void extractData(Report report, Map<String, Object> params, BandData rootBand);
 
+    /**
+     * Loads data of the report and passes bands of the first level to the consumer. Implementations may pass
+     * the bands as soon as they are loaded without adding them to the root band.
+     */
+    default void extractData(Report report, Map<String, Object> params, BandData rootBand, Consumer<BandData> bandConsumer) {
+        extractData(report, params, rootBand);
+        rootBand.getChildrenList().forEach(bandConsumer);
+    }
+
     default boolean getPutEmptyRowIfNoDataSelected() { return true; }
 
 }
@@ -31,6 +31,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -60,15 +61,9 @@ public class DataExtractorImpl implements DataExtractor {
     }
 
     public void extractData(Report report, Map<String, Object> params, BandData rootBand) {
-        List<Map<String, Object>> rootBandData = controllerFactory.defaultController().extractData(
-                contextFactory.context(report.getRootBand(), null, params)
-        );
-        if (CollectionUtils.isNotEmpty(rootBandData)) {
-            rootBand.getData().putAll(rootBandData.get(0));
-        }
+        extractRootBandData(report, params, rootBand);
 
-        List<ReportBand> firstLevelBands = report.getRootBand().getChildren().stream()
-                .sorted((b1, b2) -> b1.getPosition() - b2.getPosition()).toList();
+        List<ReportBand> firstLevelBands = getFirstLevelBands(report);
         if (firstLevelBands != null) {
             for (ReportBand definition : firstLevelBands) {
                 List<BandData> bands = createBands(definition, rootBand, params);
@@ -78,6 +73,37 @@ public class DataExtractorImpl implements DataExtractor {
         }
     }
 
+    @Override
+    public void extractData(Report report, Map<String, Object> params, BandData rootBand, Consumer<BandData> bandConsumer) {
+        extractRootBandData(report, params, rootBand);
+
+        for (ReportBand definition : getFirstLevelBands(report)) {
+            rootBand.getFirstLevelBandDefinitionNames().add(definition.getName());
+            controllerFactory.controllerBy(definition.getBandOrientation())
+                    .extract(contextFactory.context(definition, rootBand, params), band -> {
+                        // only the first band is kept, e.g. to resolve the output name pattern
+                        if (rootBand.getChildByName(band.getName()) == null) {
+                            rootBand.addChild(band);
+                        }
+                        bandConsumer.accept(band);
+                    });
+        }
+    }
+
+    protected void extractRootBandData(Report report, Map<String, Object> params, BandData rootBand) {
+        List<Map<String, Object>> rootBandData = controllerFactory.defaultController().extractData(
+                contextFactory.context(report.getRootBand(), null, params)
+        );
+        if (CollectionUtils.isNotEmpty(rootBandData)) {
+            rootBand.getData().putAll(rootBandData.get(0));
+        }
+    }
+
+    protected List<ReportBand> getFirstLevelBands(Report report) {
+        return report.getRootBand().getChildren().stream()
+                .sorted((b1, b2) -> b1.getPosition() - b2.getPosition()).toList();
+    }
+
     public void setPutEmptyRowIfNoDataSelected(boolean putEmptyRowIfNoDataSelected) {
         this.putEmptyRowIfNoDataSelected = putEmptyRowIfNoDataSelected;
     }
@@ -21,6 +21,7 @@ import io.jmix.reports.yarg.exception.ReportingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.exception.ValidationException;
 import io.jmix.reports.yarg.formatters.ReportFormatter;
+import io.jmix.reports.yarg.formatters.StreamingReportFormatter;
 import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput;
 import io.jmix.reports.yarg.formatters.factory.ReportFormatterFactory;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
@@ -87,8 +88,14 @@ public class Reporting implements ReportingAPI {
             logReport("Started report [%s] with parameters [%s]", report, handledParams);
 
             ReportOutputType finalOutputType = (outputType != null) ? outputType : reportTemplate.getOutputType();
-            BandData rootBand = loadBandData(report, handledParams);
-            generateReport(report, reportTemplate, finalOutputType, outputStream, handledParams, rootBand);
+            BandData rootBand;
+            if (runParams.streaming && !reportTemplate.isCustom()) {
+                rootBand = createRootBand(report, handledParams);
+                generateStreamingReport(report, reportTemplate, finalOutputType, outputStream, handledParams, rootBand);
+            } else {
+                rootBand = loadBandData(report, handledParams);
+                generateReport(report, reportTemplate, finalOutputType, outputStream, handledParams, rootBand);
+            }
 
             logReport("Finished report [%s] with parameters [%s]", report, handledParams);
 
@@ -133,13 +140,27 @@ public class Reporting implements ReportingAPI {
         }
     }
 
+    protected void generateStreamingReport(Report report, ReportTemplate reportTemplate, ReportOutputType outputType,
+                                           OutputStream outputStream, Map<String, Object> handledParams, BandData rootBand) {
+        String extension = StringUtils.substringAfterLast(reportTemplate.getDocumentName(), ".");
+        FormatterFactoryInput factoryInput = new FormatterFactoryInput(extension, rootBand, reportTemplate, outputType, outputStream);
+        StreamingReportFormatter formatter = formatterFactory.createStreamingFormatter(factoryInput);
+        formatter.startDocument();
+        dataExtractor.extractData(report, handledParams, rootBand, formatter::writeBand);
+        formatter.finishDocument();
+    }
+
     protected BandData loadBandData(Report report, Map<String, Object> handledParams) {
+        BandData rootBand = createRootBand(report, handledParams);
+        dataExtractor.extractData(report, handledParams, rootBand);
+        return rootBand;
+    }
+
+    protected BandData createRootBand(Report report, Map<String, Object> handledParams) {
         BandData rootBand = new BandData(BandData.ROOT_BAND_NAME);
         rootBand.setData(new HashMap<>(handledParams));
         rootBand.addReportFieldFormats(report.getReportFieldFormats());
         rootBand.setFirstLevelBandDefinitionNames(new HashSet<>());
-
-        dataExtractor.extractData(report, handledParams, rootBand);
         return rootBand;
     }
 
@@ -31,6 +31,7 @@ public class RunParams {
     protected ReportOutputType outputType;
     protected Map<String, Object> params = new HashMap<String, Object>();
     protected String outputNamePattern;
+    protected boolean streaming;
 
     public RunParams(Report report) {
         this.report = report;
@@ -97,4 +98,14 @@ public class RunParams {
         this.outputNamePattern = outputNamePattern;
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Write the document while the data is being loaded instead of loading all the bands first.
+     * Supported for table-like XLSX and CSV templates only, bands of the first level are passed to the formatter
+     * one by one and are not kept in the root band.
+     */
+    public RunParams streaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+}
@@ -21,6 +21,7 @@ import io.jmix.reports.yarg.structure.BandData;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface implementation should contains data extraction logic
@@ -37,6 +38,17 @@ public interface ExtractionController {
      */
     List<BandData> extract(ExtractionContext context);
 
+    /**
+     * Method should present controller logic for data extraction in streaming mode: loaded and wrapped bands
+     * are passed to the consumer instead of being collected
+     *
+     * @param context  contains band, parent band data and params
+     * @param consumer consumer of loaded and wrapped for formatting data
+     */
+    default void extract(ExtractionContext context, Consumer<BandData> consumer) {
+        extract(context).forEach(consumer);
+    }
+
     /**
      * <p>Method may presents specific logic for for data extraction without traverse</p>
      * ex: data extraction for root band
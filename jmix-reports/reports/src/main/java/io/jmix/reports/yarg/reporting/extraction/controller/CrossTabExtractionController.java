@@ -26,6 +26,7 @@ import io.jmix.reports.yarg.structure.BandOrientation;
 import org.apache.commons.lang3.ObjectUtils;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -119,6 +120,17 @@ public class CrossTabExtractionController extends DefaultExtractionController {
         return Stream.concat(Stream.of(header), verticalData.stream()).collect(Collectors.toList());
     }
 
+    @Override
+    public void extract(ExtractionContext context, Consumer<BandData> consumer) {
+        // cross-tab rows are combined with the header and master data, so they can't be passed as they are loaded
+        extract(context).forEach(consumer);
+    }
+
+    @Override
+    protected boolean supportsBatchExtraction() {
+        return false;
+    }
+
     @Override
     protected BandData wrapData(ExtractionContext context, Map<String, Object> data) {
         final BandData bandData = new BandData(context.getBand().getName(), context.getParentBandData(), BandOrientation.VERTICAL);
@@ -16,20 +16,28 @@
 
 package io.jmix.reports.yarg.reporting.extraction.controller;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import io.jmix.reports.yarg.reporting.extraction.*;
 import io.jmix.reports.yarg.exception.DataLoadingException;
+import io.jmix.reports.yarg.exception.ReportingException;
 import io.jmix.reports.yarg.exception.ReportingInterruptedException;
 import io.jmix.reports.yarg.exception.ValidationException;
+import io.jmix.reports.yarg.loaders.BatchReportDataLoader;
 import io.jmix.reports.yarg.loaders.ReportDataLoader;
+import io.jmix.reports.yarg.loaders.StreamingReportDataLoader;
 import io.jmix.reports.yarg.loaders.factory.ReportLoaderFactory;
 import io.jmix.reports.yarg.structure.BandData;
 import io.jmix.reports.yarg.structure.ReportBand;
 import io.jmix.reports.yarg.structure.ReportQuery;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -63,6 +71,54 @@ public class DefaultExtractionController implements ExtractionController {
         return traverseData(context, outputData);
     }
 
+    /**
+     * Passes rows of the band to the consumer as soon as they are loaded if the band has a single query
+     * and its loader supports streaming. Otherwise, the band rows are collected before being passed.
+     */
+    @Override
+    public void extract(ExtractionContext context, Consumer<BandData> consumer) {
+        checkNotNull(context);
+
+        List<ReportQuery> reportQueries = context.getBand().getReportQueries();
+        if (reportQueries == null || reportQueries.size() != 1 || isEmptyBand(context.getParentBandData())) {
+            extract(context).forEach(consumer);
+            return;
+        }
+
+        ReportQuery reportQuery = reportQueries.get(0);
+        ReportDataLoader dataLoader = loaderFactory.createDataLoader(reportQuery.getLoaderType());
+        if (!(dataLoader instanceof StreamingReportDataLoader)) {
+            extract(context).forEach(consumer);
+            return;
+        }
+
+        AtomicBoolean empty = new AtomicBoolean(true);
+        try {
+            preprocessorFactory.processorBy(reportQuery.getLoaderType())
+                    .preprocess(reportQuery, new HashMap<>(context.getParams()), (processedQuery, processedParams) -> {
+                        ((StreamingReportDataLoader) dataLoader).loadData(processedQuery, context.getParentBandData(),
+                                processedParams, row -> {
+                                    if (Thread.interrupted()) {
+                                        throw new ReportingInterruptedException("Data extraction interrupted");
+                                    }
+                                    empty.set(false);
+                                    consumer.accept(wrapData(context, row));
+                                });
+                        context.extendParams(processedParams);
+                        return Collections.emptyList();
+                    });
+        } catch (ReportingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                    context.getBand().getName(), reportQuery.getName()), e);
+        }
+
+        if (empty.get() && context.putEmptyRowIfNoDataSelected()) {
+            consumer.accept(wrapData(context, Collections.emptyMap()));
+        }
+    }
+
     @Override
     public List<Map<String, Object>> extractData(ExtractionContext context) {
         checkNotNull(context);
@@ -91,6 +147,10 @@ public class DefaultExtractionController implements ExtractionController {
             }
         }
 
+        return addEmptyRowIfNeeded(context, result);
+    }
+
+    protected List<Map<String, Object>> addEmptyRowIfNeeded(ExtractionContext context, @Nullable List<Map<String, Object>> result) {
         if (result == null) {
             result = Collections.emptyList();
         }
@@ -114,11 +174,144 @@ public class DefaultExtractionController implements ExtractionController {
     }
 
     protected List<BandData> traverseData(ExtractionContext context, List<Map<String, Object>> outputData) {
+        if (outputData.size() > 1 && hasBatchChildren(context.getBand())) {
+            return traverseBatchData(context, outputData);
+        }
         return outputData.stream()
                 .map(data-> wrapData(context, data))
                 .collect(Collectors.toList());
     }
 
+    protected boolean hasBatchChildren(ReportBand band) {
+        if (band.getChildren() != null) {
+            for (ReportBand child : band.getChildren()) {
+                if (child.getBatchSize() != null && child.getBatchSize() > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wraps data rows and loads rows of child bands with batch size by a query per batch of parent rows
+     * instead of a query per parent row. Other child bands are extracted for each parent row.
+     */
+    protected List<BandData> traverseBatchData(ExtractionContext context, List<Map<String, Object>> outputData) {
+        List<BandData> bands = new ArrayList<>(outputData.size());
+        for (Map<String, Object> data : outputData) {
+            BandData band = new BandData(context.getBand().getName(),
+                    context.getParentBandData(), context.getBand().getBandOrientation());
+            band.setData(data);
+            bands.add(band);
+        }
+
+        Collection<ReportBand> childrenBandDefinitions = context.getBand().getChildren();
+        Map<ReportBand, List<List<Map<String, Object>>>> batchData = new IdentityHashMap<>();
+        for (ReportBand childDefinition : childrenBandDefinitions) {
+            if (childDefinition.getBatchSize() != null && childDefinition.getBatchSize() > 0) {
+                ExtractionController childController = controllerRegistry.controllerBy(childDefinition.getBandOrientation());
+                if (childController instanceof DefaultExtractionController) {
+                    List<List<Map<String, Object>>> childData = ((DefaultExtractionController) childController)
+                            .extractBatchData(context.withBand(childDefinition, null), bands);
+                    if (childData != null) {
+                        batchData.put(childDefinition, childData);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < bands.size(); i++) {
+            BandData band = bands.get(i);
+            for (ReportBand childDefinition : childrenBandDefinitions) {
+                ExtractionController childController = controllerRegistry.controllerBy(childDefinition.getBandOrientation());
+                ExtractionContext childContext = context.withBand(childDefinition, band);
+                List<List<Map<String, Object>>> childData = batchData.get(childDefinition);
+                List<BandData> childBands;
+                if (childData != null) {
+                    childBands = ((DefaultExtractionController) childController)
+                            .traverseData(childContext, addEmptyRowIfNeeded(childContext, childData.get(i)));
+                } else {
+                    childBands = childController.extract(childContext);
+                }
+                band.addChildren(childBands);
+            }
+        }
+        return bands;
+    }
+
+    /**
+     * Loads rows of the context band for each of the parent bands by batches of {@link ReportBand#getBatchSize()}
+     * parent rows.
+     *
+     * @param context     context of the band, parent band data isn't set
+     * @param parentBands parent band rows
+     * @return rows for each parent band or null if the band data can't be loaded in batches
+     */
+    @Nullable
+    protected List<List<Map<String, Object>>> extractBatchData(ExtractionContext context, List<BandData> parentBands) {
+        List<ReportQuery> reportQueries = context.getBand().getReportQueries();
+        if (!supportsBatchExtraction() || reportQueries == null || reportQueries.size() != 1) {
+            return null;
+        }
+        ReportQuery reportQuery = reportQueries.get(0);
+        ReportDataLoader dataLoader = loaderFactory.createDataLoader(reportQuery.getLoaderType());
+        if (!(dataLoader instanceof BatchReportDataLoader)) {
+            return null;
+        }
+
+        List<BandData> loadedParents = parentBands.stream()
+                .filter(parentBand -> !isEmptyBand(parentBand))
+                .collect(Collectors.toList());
+        Map<BandData, List<Map<String, Object>>> rowsByParent = new IdentityHashMap<>();
+        for (List<BandData> batch : Lists.partition(loadedParents, context.getBand().getBatchSize())) {
+            if (Thread.interrupted()) {
+                throw new ReportingInterruptedException("Data extraction interrupted");
+            }
+            List<List<Map<String, Object>>> batchRows = getBatchQueryData(context, reportQuery,
+                    (BatchReportDataLoader) dataLoader, batch);
+            if (batchRows == null) {
+                return null;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                rowsByParent.put(batch.get(i), batchRows.get(i));
+            }
+        }
+
+        List<List<Map<String, Object>>> result = new ArrayList<>(parentBands.size());
+        for (BandData parentBand : parentBands) {
+            result.add(rowsByParent.getOrDefault(parentBand, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    /**
+     * @return false if the controller can't wrap data of several parent rows loaded by batch
+     */
+    protected boolean supportsBatchExtraction() {
+        return true;
+    }
+
+    @Nullable
+    protected List<List<Map<String, Object>>> getBatchQueryData(ExtractionContext context, ReportQuery reportQuery,
+                                                                BatchReportDataLoader dataLoader, List<BandData> parentBands) {
+        try {
+            AtomicReference<List<List<Map<String, Object>>>> result = new AtomicReference<>();
+            preprocessorFactory.processorBy(reportQuery.getLoaderType())
+                    .preprocess(reportQuery, new HashMap<>(context.getParams()), (processedQuery, processedParams) -> {
+                        result.set(dataLoader.loadBatchData(processedQuery, parentBands, processedParams));
+                        context.extendParams(processedParams);
+                        return Collections.emptyList();
+                    });
+            return result.get();
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataLoadingException(String.format("An error occurred while loading data for band [%s] and query [%s].",
+                    context.getBand().getName(), reportQuery.getName()), e);
+        }
+    }
+
     protected BandData wrapData(ExtractionContext context, Map<String, Object> data) {
         BandData band = new BandData(context.getBand().getName(),
                 context.getParentBandData(), context.getBand().getBandOrientation());
@@ -37,4 +37,14 @@ public interface ReportBand extends Serializable {
      * @return band orientation. Relevant only for Xls and Xlsx templates.
      */
     BandOrientation getBandOrientation();
+
+    /**
+     * @return number of parent band rows for which the band rows are loaded by a single query,
+     * or null if the band rows are loaded for each parent row separately.
+     * Batch loading is applied only if the data loader supports it for the band query, otherwise rows are loaded
+     * for each parent row.
+     */
+    default Integer getBatchSize() {
+        return null;
+    }
 }
\ No newline at end of file
@@ -162,6 +162,22 @@ public final class DbUtils {
         }
     }
 
+    /**
+     * Rolls back any changes made on the given connection, avoid rolling back if null
+     * and hide any SQLExceptions that occur.
+     *
+     * @param conn Connection to rollback.
+     */
+    public static void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                // quiet
+            }
+        }
+    }
+
     /**
      * Loads and registers a database driver class.
      * If this succeeds, it returns true, else it returns false.
@@ -32,6 +32,11 @@ public class QueryRunner {
      */
     protected DataSource ds = null;
 
+    /**
+     * Number of rows fetched from the database at once by SELECT queries, 0 means the driver default.
+     */
+    protected int fetchSize = 0;
+
     /**
      * Constructor for QueryRunner.
      */
@@ -228,7 +233,11 @@ public class QueryRunner {
     protected PreparedStatement prepareStatement(Connection conn, String sql)
         throws SQLException {
 
-        return conn.prepareStatement(sql);
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize > 0) {
+            stmt.setFetchSize(fetchSize);
+        }
+        return stmt;
     }
 
     /**
@@ -360,11 +369,32 @@ public class QueryRunner {
         throws SQLException {
 
         Connection conn = this.prepareConnection();
+        // some drivers, e.g. PostgreSQL, read rows by a cursor of the fetch size only outside of auto-commit mode
+        boolean cursorMode = fetchSize > 0 && conn.getAutoCommit();
 
         try {
-            return this.query(conn, sql, params, rsh);
+            if (cursorMode) {
+                conn.setAutoCommit(false);
+            }
+            T result = this.query(conn, sql, params, rsh);
+            if (cursorMode) {
+                // keep side effects of the statement, e.g. of a called function, as in auto-commit mode
+                conn.commit();
+            }
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            if (cursorMode) {
+                DbUtils.rollbackQuietly(conn);
+            }
+            throw e;
         } finally {
-            close(conn);
+            try {
+                if (cursorMode) {
+                    conn.setAutoCommit(true);
+                }
+            } finally {
+                close(conn);
+            }
         }
     }
 
@@ -431,6 +461,29 @@ public class QueryRunner {
         this.ds = dataSource;
     }
 
+    /**
+     * Returns the number of rows fetched from the database at once by SELECT queries.
+     *
+     * @return fetch size, 0 means the driver default
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once by SELECT queries.
+     * If the fetch size is set, queries executed on connections retrieved from the
+     * <code>DataSource</code> are executed outside of auto-commit mode, so that
+     * the drivers requiring it read the results by a cursor. The transaction is
+     * committed after the results are read, so side effects of the query are kept
+     * as in auto-commit mode.
+     *
+     * @param fetchSize fetch size, 0 means the driver default
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * Execute an SQL INSERT, UPDATE, or DELETE query without replacement
      * parameters.
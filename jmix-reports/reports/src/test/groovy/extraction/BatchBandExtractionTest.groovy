@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package extraction
+
+import io.jmix.reports.entity.BandDefinition
+import io.jmix.reports.entity.DataSet
+import io.jmix.reports.entity.DataSetType
+import io.jmix.reports.yarg.loaders.ReportDataLoader
+import io.jmix.reports.yarg.loaders.factory.impl.DefaultLoaderFactory
+import io.jmix.reports.yarg.loaders.impl.SqlDataLoader
+import io.jmix.reports.yarg.reporting.DataExtractorImpl
+import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFactory
+import io.jmix.reports.yarg.reporting.extraction.ExtractionContextImpl
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.ReportQuery
+import spock.lang.Specification
+
+class BatchBandExtractionTest extends Specification {
+
+    static final String ITEMS_QUERY = 'select i.invoice_id as "invoiceId", i.name as "name" from item i ' +
+            'where i.invoice_id = ${Invoice.id}'
+
+    RecordingSqlDataLoader itemsLoader = new RecordingSqlDataLoader()
+    DefaultLoaderFactory loaderFactory
+    DataExtractorImpl extractor
+    DefaultExtractionControllerFactory controllerFactory
+
+    void setup() {
+        itemsLoader.rows = [
+                [invoiceId: 1, name: 'Paper'],
+                [invoiceId: 1, name: 'Pen'],
+                [invoiceId: 2, name: 'Ink'],
+                [invoiceId: 5, name: 'Stapler']
+        ]
+        ReportDataLoader invoicesLoader = { query, parentBand, params ->
+            [[id: 1], [id: 1], [id: 2], [id: 3]].collect { new HashMap<String, Object>(it) }
+        } as ReportDataLoader
+
+        loaderFactory = new DefaultLoaderFactory()
+                .setSqlDataLoader(itemsLoader)
+                .setGroovyDataLoader(invoicesLoader)
+        extractor = new DataExtractorImpl(loaderFactory)
+        controllerFactory = new DefaultExtractionControllerFactory(loaderFactory)
+    }
+
+    def "child rows are loaded by a query per batch of parent rows"() {
+        when:
+        def expected = items(extract(ITEMS_QUERY, null))
+
+        then:
+        itemsLoader.executedQueries.size() == 4
+
+        when:
+        itemsLoader.executedQueries.clear()
+        def invoices = extract(ITEMS_QUERY, 3)
+
+        then:
+        itemsLoader.executedQueries == [
+                'select i.invoice_id as "invoiceId", i.name as "name" from item i where i.invoice_id in (?,?)',
+                'select i.invoice_id as "invoiceId", i.name as "name" from item i where i.invoice_id in (?)'
+        ]
+        items(invoices) == expected
+        items(invoices) == [['Paper', 'Pen'], ['Paper', 'Pen'], ['Ink'], [null]]
+
+        and: 'parents with the same key do not share rows'
+        !invoices[0].getChildrenByName('Item')[0].data.is(invoices[1].getChildrenByName('Item')[0].data)
+    }
+
+    def "child rows are loaded for each parent row if the query can't be batched"() {
+        when:
+        def invoices = extract(script, 10)
+
+        then:
+        itemsLoader.executedQueries.size() == 4
+        items(invoices) == [['Paper', 'Pen'], ['Paper', 'Pen'], ['Ink'], [null]]
+
+        where:
+        script << [
+                // the key isn't selected
+                'select i.name as "name" from item i where i.invoice_id = ${Invoice.id}',
+                // the other condition selects rows regardless of the parent
+                ITEMS_QUERY + ' or i.name = \'Unknown\''
+        ]
+    }
+
+    protected List<BandData> extract(String itemsScript, Integer batchSize) {
+        BandDefinition invoiceBand = band('Invoice', DataSetType.GROOVY, 'return invoices')
+        BandDefinition itemBand = band('Item', DataSetType.SQL, itemsScript)
+        itemBand.batchSize = batchSize
+        itemBand.parentBandDefinition = invoiceBand
+        invoiceBand.childrenBandDefinitions.add(itemBand)
+
+        def context = new ExtractionContextImpl(extractor, invoiceBand, new BandData(BandData.ROOT_BAND_NAME), [:])
+        controllerFactory.defaultController().extract(context)
+    }
+
+    protected static BandDefinition band(String name, DataSetType type, String script) {
+        DataSet dataSet = new DataSet()
+        dataSet.name = name
+        dataSet.type = type
+        dataSet.text = script
+
+        BandDefinition band = new BandDefinition()
+        band.name = name
+        band.dataSets = [dataSet]
+        dataSet.bandDefinition = band
+        band
+    }
+
+    protected static List<List<Object>> items(List<BandData> invoices) {
+        invoices.collect { invoice -> invoice.getChildrenByName('Item').collect { it.data.name } }
+    }
+
+    static class RecordingSqlDataLoader extends SqlDataLoader {
+
+        List<Map<String, Object>> rows
+        List<String> executedQueries = []
+
+        RecordingSqlDataLoader() {
+            super(null)
+        }
+
+        @Override
+        List<Map<String, Object>> loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params) {
+            def pack = prepareQuery(reportQuery.script, parentBand, params)
+            executedQueries << pack.query
+            def values = pack.params.collectMany { it.multipleValues }
+            rows.findAll { values.contains(it.invoiceId) }.collect { new HashMap<String, Object>(it) }
+        }
+    }
+}
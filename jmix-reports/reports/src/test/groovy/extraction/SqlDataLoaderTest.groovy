@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package extraction
+
+import io.jmix.reports.yarg.loaders.impl.AbstractDbDataLoader
+import io.jmix.reports.yarg.loaders.impl.SqlDataLoader
+import io.jmix.reports.yarg.structure.ReportQuery
+import io.jmix.reports.yarg.util.db.QueryRunner
+import io.jmix.reports.yarg.util.db.ResultSetHandler
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.ResultSetMetaData
+import java.sql.SQLException
+
+class SqlDataLoaderTest extends Specification {
+
+    static final String QUERY = 'select i.name as "Name", i.amount as "Amount" from item i ' +
+            'where i.invoice_id = ${invoiceId} and i.type in ${types}'
+
+    def "query is prepared once for parameter values of the same shape"() {
+        def loader = new SqlDataLoader(null)
+
+        when:
+        def first = loader.prepareQuery(QUERY, null, [invoiceId: 1, types: ['A', 'B']])
+        def second = loader.prepareQuery(QUERY, null, [invoiceId: 2, types: ['C', 'D']])
+
+        then:
+        first.preparedQuery.is(second.preparedQuery)
+        second.query == 'select i.name as "Name", i.amount as "Amount" from item i where i.invoice_id = ? and i.type in (?,?)'
+        second.params.collect { it.value } == [2, ['C', 'D']]
+        second.params.collect { it.position } == [1, 2]
+
+        when:
+        def removed = loader.prepareQuery(QUERY, null, [invoiceId: 3, types: null])
+        def single = loader.prepareQuery(QUERY, null, [invoiceId: 4, types: ['E']])
+
+        then:
+        !removed.preparedQuery.is(first.preparedQuery)
+        removed.query == 'select i.name as "Name", i.amount as "Amount" from item i where i.invoice_id = ? and 1=1'
+        removed.params.collect { it.value } == [3]
+        single.query.endsWith('i.type in (?)')
+    }
+
+    def "column aliases are resolved once and rows are filled by column values"() {
+        def loader = new ResultSetSqlDataLoader()
+        loader.rows = [['Paper', 10], ['Pen', 2]]
+        String query = 'select i.name as Name, i.amount as Amount from item i where i.type in ${types}'
+        ReportQuery reportQuery = [getScript: { query }, getName: { 'Items' }, getProcessTemplate: { false }] as ReportQuery
+
+        when:
+        def firstRows = loader.loadData(reportQuery, null, [types: ['A']])
+        def secondRows = loader.loadData(reportQuery, null, [types: ['B']])
+
+        then:
+        loader.resolvedSynonyms == 2
+        firstRows == secondRows
+        firstRows == [[NAME: 'Paper', Name: 'Paper', AMOUNT: 10, Amount: 10], [NAME: 'Pen', Name: 'Pen', AMOUNT: 2, Amount: 2]]
+    }
+
+    def "query read by a cursor is committed and auto-commit mode is restored"() {
+        def calls = []
+        boolean autoCommit = true
+        ResultSet resultSet = [next: { false }, close: {}] as ResultSet
+        PreparedStatement statement = [
+                setFetchSize: { int size -> calls << "fetchSize $size".toString() },
+                executeQuery: { resultSet },
+                close       : {}
+        ] as PreparedStatement
+        Connection connection = [
+                getAutoCommit   : { autoCommit },
+                setAutoCommit   : { boolean value -> autoCommit = value; calls << "autoCommit $value".toString() },
+                prepareStatement: { String sql, int type, int concurrency -> statement },
+                commit          : { calls << 'commit' },
+                rollback        : { calls << 'rollback' },
+                close           : { calls << 'close' }
+        ] as Connection
+        def queryRunner = new QueryRunner([getConnection: { connection }] as DataSource)
+        queryRunner.fetchSize = 100
+
+        when:
+        queryRunner.query('select 1', (Object[]) null, { ResultSet rs -> rs.next() } as ResultSetHandler<Boolean>)
+
+        then:
+        calls == ['autoCommit false', 'fetchSize 100', 'commit', 'autoCommit true', 'close']
+    }
+
+    static class ResultSetSqlDataLoader extends SqlDataLoader {
+
+        List<List<Object>> rows
+        int resolvedSynonyms
+
+        ResultSetSqlDataLoader() {
+            super(null)
+        }
+
+        @Override
+        protected void setCaseSensitiveSynonym(String query, String columnName,
+                                               AbstractDbDataLoader.OutputValue outputValue) {
+            resolvedSynonyms++
+            super.setCaseSensitiveSynonym(query, columnName, outputValue)
+        }
+
+        @Override
+        protected List runQuery(ReportQuery reportQuery, String queryString, Object[] params,
+                                ResultSetHandler<List> handler) throws SQLException {
+            ResultSetMetaData metaData = [
+                    getColumnCount: { 2 },
+                    getColumnLabel: { int column -> ['NAME', 'AMOUNT'][column - 1] }
+            ] as ResultSetMetaData
+
+            int index = -1
+            ResultSet resultSet = [
+                    next       : { ++index < rows.size() },
+                    getMetaData: { metaData },
+                    getObject  : { int column -> rows[index][column - 1] }
+            ] as ResultSet
+            handler.handle(resultSet)
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package runner
+
+import io.jmix.core.CoreProperties
+import io.jmix.core.TimeSource
+import io.jmix.core.security.CurrentAuthentication
+import io.jmix.reports.entity.Report
+import io.jmix.reports.exception.ReportingException
+import io.jmix.reports.runner.ReportRunContext
+import io.jmix.reports.runner.ReportRunner
+import io.jmix.reports.runner.impl.AsyncReportRunnerImpl
+import io.jmix.reports.yarg.reporting.ReportOutputDocument
+import io.jmix.reports.yarg.reporting.ReportOutputDocumentImpl
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+import spock.lang.Specification
+import test_support.TestReportsProperties
+
+import java.nio.file.Files
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class AsyncReportRunnerTest extends Specification {
+
+    AsyncReportRunnerImpl asyncRunner = new AsyncReportRunnerImpl()
+    CountDownLatch release = new CountDownLatch(1)
+    AtomicInteger executions = new AtomicInteger()
+    AtomicInteger running = new AtomicInteger()
+    AtomicInteger maxRunning = new AtomicInteger()
+    Report report = new Report(id: UUID.randomUUID(), name: 'Orders')
+
+    void setup() {
+        asyncRunner.reportRunner = [run: { ReportRunContext context ->
+            executions.incrementAndGet()
+            maxRunning.accumulateAndGet(running.incrementAndGet(), { a, b -> Math.max(a, b) })
+            release.await(5, TimeUnit.SECONDS)
+            running.decrementAndGet()
+            new ReportOutputDocumentImpl(null, "${context.params.number}".bytes, 'orders.txt', null)
+        }] as ReportRunner
+        asyncRunner.reportsProperties = TestReportsProperties.create('async-execution-queue-capacity': 3)
+        asyncRunner.currentAuthentication = [isSet: { false }] as CurrentAuthentication
+        asyncRunner.timeSource = [currentTimestamp: { new Date() }] as TimeSource
+        asyncRunner.init()
+    }
+
+    void cleanup() {
+        release.countDown()
+        asyncRunner.shutdown()
+    }
+
+    def "identical runs are executed once"() {
+        when:
+        def futures = (1..3).collect { asyncRunner.runAsync(context(1)) }
+        release.countDown()
+        def documents = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        executions.get() == 1
+        documents.every { new String(it.content) == '1' }
+        asyncRunner.inFlightRuns.isEmpty()
+    }
+
+    def "runs of the same report are executed by the limited number of threads"() {
+        when:
+        def futures = (1..2).collect { asyncRunner.runAsync(context(it)) }
+        waitForRunning(2)
+        futures += (3..4).collect { asyncRunner.runAsync(context(it)) }
+        Thread.sleep(100)
+
+        then:
+        running.get() == 2
+
+        when:
+        release.countDown()
+        List<ReportOutputDocument> documents = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        documents.collect { new String(it.content) } == ['1', '2', '3', '4']
+        maxRunning.get() == 2
+    }
+
+    def "runs are rejected when the queue is full"() {
+        when: 'two runs are executed and three are waiting'
+        (1..2).each { asyncRunner.runAsync(context(it)) }
+        waitForRunning(2)
+        (3..5).each { asyncRunner.runAsync(context(it)) }
+        asyncRunner.runAsync(context(6))
+
+        then:
+        thrown(ReportingException)
+    }
+
+    def "rejected run can be submitted again"() {
+        given: 'two runs are executed and three are waiting'
+        (1..2).each { asyncRunner.runAsync(context(it)) }
+        waitForRunning(2)
+        (3..5).each { asyncRunner.runAsync(context(it)) }
+
+        when:
+        asyncRunner.runAsync(context(6))
+
+        then:
+        thrown(ReportingException)
+        asyncRunner.inFlightRuns.size() == 5
+
+        when:
+        release.countDown()
+        waitForCompletion()
+        def document = asyncRunner.runAsync(context(6)).get(5, TimeUnit.SECONDS)
+
+        then:
+        new String(document.content) == '6'
+    }
+
+    def "run rejected by the stopped executor completes exceptionally"() {
+        given:
+        asyncRunner.executor.shutdownNow()
+
+        when:
+        asyncRunner.runAsync(context(1)).get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ReportingException
+        asyncRunner.inFlightRuns.isEmpty()
+        asyncRunner.queuedRuns.get() == 0
+    }
+
+    def "cached documents are stored in the temporary directory and removed on start and shutdown"() {
+        given:
+        def tempDir = Files.createTempDirectory('async-report-runner')
+        def cacheDir = Files.createDirectories(tempDir.resolve('async-report-results'))
+        def staleFile = Files.write(cacheDir.resolve('stale'), 'stale'.bytes)
+
+        asyncRunner.shutdown()
+        asyncRunner.reportsProperties = TestReportsProperties.create('async-execution-result-cache-ttl-sec': 60)
+        asyncRunner.coreProperties = new Binder(new MapConfigurationPropertySource(['jmix.core.temp-dir': tempDir.toString()]))
+                .bindOrCreate('jmix.core', CoreProperties)
+
+        when: 'the runner is started'
+        asyncRunner.init()
+
+        then: 'documents left by the previous run are removed'
+        !Files.exists(staleFile)
+
+        when:
+        release.countDown()
+        def document = asyncRunner.runAsync(context(1)).get(5, TimeUnit.SECONDS)
+        def cachedDocument = asyncRunner.runAsync(context(1)).get(5, TimeUnit.SECONDS)
+
+        then:
+        executions.get() == 1
+        new String(cachedDocument.content) == new String(document.content)
+        Files.list(cacheDir).count() == 1
+
+        when: 'the runner is stopped'
+        asyncRunner.shutdown()
+
+        then:
+        Files.list(cacheDir).count() == 0
+
+        cleanup:
+        tempDir.toFile().deleteDir()
+    }
+
+    protected void waitForCompletion() {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!asyncRunner.inFlightRuns.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    protected void waitForRunning(int count) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (running.get() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    protected ReportRunContext context(int number) {
+        new ReportRunContext(report).addParam('number', number)
+    }
+}
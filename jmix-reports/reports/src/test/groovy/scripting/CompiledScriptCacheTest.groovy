@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package scripting
+
+import io.jmix.reports.libintegration.CompiledScriptCache
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.codehaus.groovy.control.customizers.SecureASTCustomizer
+import org.springframework.scripting.ScriptCompilationException
+import org.springframework.scripting.ScriptEvaluator
+import org.springframework.scripting.groovy.GroovyScriptEvaluator
+import spock.lang.Specification
+import test_support.TestReportsProperties
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class CompiledScriptCacheTest extends Specification {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    CompiledScriptCache scriptCache
+
+    void setup() {
+        scriptCache = createCache(new GroovyScriptEvaluator())
+    }
+
+    void cleanup() {
+        scriptCache.shutdown()
+    }
+
+    def "script is compiled once and evaluated with different params"() {
+        when:
+        def results = (1..3).collect { scriptCache.evaluate('return value * 2', [value: it]) }
+
+        then:
+        results == [2, 4, 6]
+        compilations() == 1
+        meterRegistry.get('cache.gets').tag('result', 'hit').functionCounter().count() == 2
+    }
+
+    def "least recently used scripts are evicted"() {
+        when:
+        scriptCache.evaluate('return 1', [:])
+        scriptCache.evaluate('return 2', [:])
+        scriptCache.evaluate('return 3', [:])
+        scriptCache.cache.cleanUp()
+
+        then:
+        scriptCache.cache.size() == 2
+
+        when:
+        scriptCache.evaluate('return 1', [:])
+
+        then:
+        compilations() == 4
+    }
+
+    def "concurrent evaluations share the compiled class"() {
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (1..100).collect { i ->
+            executor.submit({ scriptCache.evaluate('return "row " + index', [index: i]) } as Callable)
+        }
+        def results = futures.collect { it.get() }
+
+        then:
+        results == (1..100).collect { "row $it".toString() }
+        compilations() == 1
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "compilation error is reported"() {
+        when:
+        scriptCache.evaluate('return (', [:])
+
+        then:
+        thrown(ScriptCompilationException)
+    }
+
+    def "scripts are compiled with the configuration of the script evaluator"() {
+        def evaluator = new GroovyScriptEvaluator()
+        evaluator.setCompilationCustomizers(new SecureASTCustomizer().tap { allowedReceivers = ['java.lang.Object'] })
+        scriptCache.shutdown()
+        scriptCache = createCache(evaluator)
+
+        when:
+        scriptCache.evaluate('return System.currentTimeMillis()', [:])
+
+        then:
+        thrown(ScriptCompilationException)
+    }
+
+    def "cache is disabled for a custom script evaluator"() {
+        scriptCache.shutdown()
+        scriptCache = createCache([evaluate: { source, params -> null }] as ScriptEvaluator)
+
+        expect:
+        !scriptCache.enabled
+    }
+
+    private CompiledScriptCache createCache(ScriptEvaluator scriptEvaluator) {
+        def cache = new CompiledScriptCache()
+        cache.meterRegistry = meterRegistry
+        cache.reportsProperties = TestReportsProperties.create('compiled-script-cache-size': 2)
+        cache.scriptEvaluator = scriptEvaluator
+        cache.init()
+        cache
+    }
+
+    private long compilations() {
+        meterRegistry.get('jmix.reports.CompiledScriptCache.compile').timer().count()
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package streaming
+
+import io.jmix.reports.entity.BandDefinition
+import io.jmix.reports.entity.DataSet
+import io.jmix.reports.entity.DataSetType
+import io.jmix.reports.entity.ReportTemplate
+import io.jmix.reports.yarg.exception.ReportFormattingException
+import io.jmix.reports.yarg.formatters.factory.FormatterFactoryInput
+import io.jmix.reports.yarg.formatters.impl.CsvFormatter
+import io.jmix.reports.yarg.formatters.impl.XlsxStreamingFormatter
+import io.jmix.reports.yarg.loaders.factory.impl.DefaultLoaderFactory
+import io.jmix.reports.yarg.loaders.impl.SqlDataLoader
+import io.jmix.reports.yarg.reporting.DataExtractorImpl
+import io.jmix.reports.yarg.reporting.extraction.DefaultExtractionControllerFactory
+import io.jmix.reports.yarg.reporting.extraction.ExtractionContextImpl
+import io.jmix.reports.yarg.structure.BandData
+import io.jmix.reports.yarg.structure.ReportOutputType
+import io.jmix.reports.yarg.structure.ReportQuery
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.function.Consumer
+
+class StreamingReportTest extends Specification {
+
+    def "bands are passed to the consumer while rows are being loaded"() {
+        def loader = new StreamingSqlDataLoader(rows: (1..5).collect { [name: "Item $it".toString()] })
+        def loaderFactory = new DefaultLoaderFactory().setSqlDataLoader(loader)
+        def controllerFactory = new DefaultExtractionControllerFactory(loaderFactory)
+
+        BandDefinition band = new BandDefinition(name: 'Items')
+        DataSet dataSet = new DataSet(name: 'Items', type: DataSetType.SQL, text: 'select name from item', bandDefinition: band)
+        band.dataSets = [dataSet]
+
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        def context = new ExtractionContextImpl(new DataExtractorImpl(loaderFactory), band, rootBand, [:])
+        def received = []
+
+        when:
+        controllerFactory.defaultController().extract(context, { BandData item ->
+            received << [item.data.name, loader.loadedRows]
+        } as Consumer<BandData>)
+
+        then:
+        received == (1..5).collect { ["Item $it".toString(), it] }
+    }
+
+    def "csv document is written band by band"() {
+        def template = template('items.csv', 'Name;Amount\n${name};${amount}\n'.getBytes(StandardCharsets.UTF_8))
+        def output = new ByteArrayOutputStream()
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        def formatter = new CsvFormatter(new FormatterFactoryInput('csv', rootBand, template, ReportOutputType.csv, output))
+
+        when:
+        formatter.startDocument()
+        formatter.writeBand(band(rootBand, [name: 'Paper', amount: 10]))
+        formatter.writeBand(band(rootBand, [:]))
+        formatter.writeBand(band(rootBand, [name: 'Pen', amount: 2]))
+        formatter.finishDocument()
+
+        then:
+        new String(output.toByteArray(), StandardCharsets.UTF_8).readLines() ==
+                ['"Name";"Amount"', '"Paper";"10"', '"Pen";"2"']
+    }
+
+    def "xlsx document is written band by band between header and footer"() {
+        def template = template('items.xlsx', xlsxTemplate())
+        def output = new ByteArrayOutputStream()
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        def formatter = new XlsxStreamingFormatter(new FormatterFactoryInput('xlsx', rootBand, template, ReportOutputType.xlsx, output))
+        formatter.windowSize = 2
+
+        when:
+        formatter.startDocument()
+        (1..5).each { formatter.writeBand(band(rootBand, [name: "Item $it".toString(), amount: it])) }
+        formatter.finishDocument()
+
+        then:
+        def sheet = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray())).getSheetAt(0)
+        sheet.getRow(0).getCell(0).stringCellValue == 'Name'
+        (1..5).collect { [sheet.getRow(it).getCell(0).stringCellValue, sheet.getRow(it).getCell(1).numericCellValue] } ==
+                (1..5).collect { ["Item $it".toString(), it as double] }
+        sheet.getRow(1).getCell(2).stringCellValue == 'Item 1 (1)'
+        sheet.getRow(6).getCell(0).stringCellValue == 'Total'
+        sheet.getRow(6).getCell(1).cellFormula == 'SUM(B2:B6)'
+    }
+
+    def "xlsx document can't be written with bands of several first-level bands"() {
+        def template = template('items.xlsx', xlsxTemplate())
+        def output = new ByteArrayOutputStream()
+        def rootBand = new BandData(BandData.ROOT_BAND_NAME)
+        def formatter = new XlsxStreamingFormatter(new FormatterFactoryInput('xlsx', rootBand, template, ReportOutputType.xlsx, output))
+
+        when:
+        formatter.startDocument()
+        formatter.writeBand(band(rootBand, [name: 'Paper', amount: 10]))
+        formatter.writeBand(new BandData('Totals', rootBand).tap { data = [name: 'Total', amount: 10] })
+
+        then:
+        thrown(ReportFormattingException)
+    }
+
+    protected static ReportTemplate template(String name, byte[] content) {
+        def template = new ReportTemplate()
+        template.name = name
+        template.content = content
+        template
+    }
+
+    protected static BandData band(BandData rootBand, Map<String, Object> data) {
+        def band = new BandData('Items', rootBand)
+        band.data = data
+        band
+    }
+
+    protected static byte[] xlsxTemplate() {
+        def workbook = new XSSFWorkbook()
+        def sheet = workbook.createSheet()
+        def header = sheet.createRow(0)
+        header.createCell(0).setCellValue('Name')
+        header.createCell(1).setCellValue('Amount')
+        def data = sheet.createRow(1)
+        data.createCell(0).setCellValue('${name}')
+        data.createCell(1).setCellValue('${amount}')
+        data.createCell(2).setCellValue('${name} (${amount})')
+        def footer = sheet.createRow(2)
+        footer.createCell(0).setCellValue('Total')
+        footer.createCell(1).setCellFormula('SUM(B2:B6)')
+
+        def output = new ByteArrayOutputStream()
+        workbook.write(output)
+        output.toByteArray()
+    }
+
+    static class StreamingSqlDataLoader extends SqlDataLoader {
+
+        List<Map<String, Object>> rows
+        int loadedRows
+
+        StreamingSqlDataLoader() {
+            super(null)
+        }
+
+        @Override
+        void loadData(ReportQuery reportQuery, BandData parentBand, Map<String, Object> params,
+                      Consumer<Map<String, Object>> rowConsumer) {
+            rows.each {
+                loadedRows++
+                rowConsumer.accept(new HashMap<String, Object>(it))
+            }
+        }
+    }
+}
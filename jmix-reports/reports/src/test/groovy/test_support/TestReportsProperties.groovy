@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support
+
+import io.jmix.reports.ReportsProperties
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource
+
+/**
+ * Creates {@link ReportsProperties} with default values and the given properties of the {@code jmix.reports} prefix.
+ */
+class TestReportsProperties {
+
+    static ReportsProperties create(Map<String, Object> properties = [:]) {
+        def source = new MapConfigurationPropertySource(
+                properties.collectEntries { name, value -> ["jmix.reports.$name".toString(), value] })
+        new Binder(source).bindOrCreate('jmix.reports', ReportsProperties)
+    }
+}
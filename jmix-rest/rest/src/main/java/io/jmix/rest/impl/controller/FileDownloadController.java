@@ -31,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -52,13 +53,15 @@ public class FileDownloadController {
     @GetMapping
     public void downloadFile(@RequestParam String fileRef,
                              @RequestParam(required = false) Boolean attachment,
+                             HttpServletRequest request,
                              HttpServletResponse response) {
 
         checkFileDownloadPermission();
         try {
             FileRef fileReference;
             fileReference = FileRef.fromString(fileRef);
-            fileTransferService.downloadAndWriteResponse(fileReference, fileReference.getStorageName(), attachment, response);
+            fileTransferService.downloadAndWriteResponse(fileReference, fileReference.getStorageName(), attachment,
+                    request, response);
         } catch (IllegalArgumentException e) {
             throw new RestAPIException("Invalid file reference",
                     String.format("Cannot convert '%s' into valid file reference", fileRef),
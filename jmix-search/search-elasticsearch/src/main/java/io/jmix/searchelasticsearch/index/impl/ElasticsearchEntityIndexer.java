@@ -21,6 +21,7 @@ import co.elastic.clients.elasticsearch._types.ErrorCause;
 import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.jmix.core.*;
 import io.jmix.search.SearchProperties;
 import io.jmix.search.index.IndexConfiguration;
@@ -79,6 +80,23 @@ public class ElasticsearchEntityIndexer extends BaseEntityIndexer {
         return createIndexResult(bulkResponse);
     }
 
+    @Override
+    protected IndexResult updateDocuments(List<IndexDocumentData> documents) {
+        if (documents.isEmpty()) {
+            return new IndexResult(0, Collections.emptyList());
+        }
+        BulkRequest.Builder requestBuilder = new BulkRequest.Builder();
+        documents.forEach(doc ->
+                requestBuilder.operations(operationsBuilder ->
+                        operationsBuilder.<ObjectNode, ObjectNode>update(updateOperationBuilder ->
+                                updateOperationBuilder.index(doc.indexName()).id(doc.id())
+                                        .action(actionBuilder -> actionBuilder.doc(doc.source())))
+                ));
+
+        BulkResponse response = execute(requestBuilder);
+        return createIndexResult(response);
+    }
+
     @Override
     protected IndexResult deleteByGroupedDocIds(Map<IndexConfiguration, Collection<String>> groupedDocIds) {
         BulkRequest.Builder requestBuilder = new BulkRequest.Builder();
@@ -16,6 +16,7 @@
 
 package io.jmix.searchopensearch.index.impl;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.jmix.core.*;
 import io.jmix.search.SearchProperties;
 import io.jmix.search.index.IndexConfiguration;
@@ -79,6 +80,22 @@ public class OpenSearchEntityIndexer extends BaseEntityIndexer {
         return createIndexResult(bulkResponse);
     }
 
+    @Override
+    protected IndexResult updateDocuments(List<IndexDocumentData> documents) {
+        if (documents.isEmpty()) {
+            return new IndexResult(0, Collections.emptyList());
+        }
+        BulkRequest.Builder requestBuilder = new BulkRequest.Builder();
+        documents.forEach(doc ->
+                requestBuilder.operations(operationsBuilder ->
+                        operationsBuilder.<ObjectNode>update(updateOperationBuilder ->
+                                updateOperationBuilder.index(doc.indexName()).id(doc.id()).document(doc.source()))
+                ));
+
+        BulkResponse response = execute(requestBuilder);
+        return createIndexResult(response);
+    }
+
     @Override
     protected IndexResult deleteByGroupedDocIds(Map<IndexConfiguration, Collection<String>> groupedDocIds) {
         BulkRequest.Builder requestBuilder = new BulkRequest.Builder();
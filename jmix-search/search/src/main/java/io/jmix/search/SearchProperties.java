@@ -24,10 +24,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "jmix.search")
 public class SearchProperties {
@@ -141,6 +144,45 @@ public class SearchProperties {
      */
     protected final boolean wildcardPrefixQueryEnabled;
 
+    /**
+     * Whether 'enqueue index all' operation indexes entity instances directly by the parallel reindex pipeline
+     * instead of putting them to the Indexing Queue. Applies both to the synchronous operation and to
+     * asynchronous enqueueing sessions processed by the scheduled job.
+     */
+    protected final boolean reindexPipelineEnabled;
+
+    /**
+     * Amount of threads loading entity instances and sending bulk requests during reindex of a single entity
+     * by the parallel reindex pipeline.
+     */
+    protected final int reindexThreads;
+
+    /**
+     * Max amount of batches being processed or waiting for a free thread during reindex of a single entity
+     * by the parallel reindex pipeline.
+     */
+    protected final int reindexMaxInFlightBatches;
+
+    /**
+     * Throughput settings of the parallel reindex pipeline for particular entities. Keys are entity names,
+     * settings that are not specified are taken from {@link #reindexEntityEnqueueBatchSize},
+     * {@link #reindexThreads} and {@link #reindexMaxInFlightBatches}.
+     */
+    protected final Map<String, ReindexThroughput> reindexThroughput;
+
+    /**
+     * Time during which changes of entities with {@link io.jmix.search.index.IndexingQueueMode#DIRECT} queue mode
+     * are collected and coalesced before sending them to the search platform.
+     */
+    protected final Duration directIndexingFlushInterval;
+
+    /**
+     * Max amount of entity instances sent in single bulk request for entities with
+     * {@link io.jmix.search.index.IndexingQueueMode#DIRECT} queue mode. Changes are sent before the end of
+     * {@link #directIndexingFlushInterval} if this amount is collected.
+     */
+    protected final int directIndexingBatchSize;
+
     public SearchProperties(
             @DefaultValue("100") int searchResultPageSize,
             @DefaultValue("100") int maxSearchPageCount,
@@ -155,6 +197,12 @@ public class SearchProperties {
             @DefaultValue("true") boolean enqueueIndexAllOnStartupIndexRecreationEnabled,
             @DefaultValue("false") boolean unsupportedSearchStrategyVisible,
             @DefaultValue("true") boolean wildcardPrefixQueryEnabled,
+            @DefaultValue("false") boolean reindexPipelineEnabled,
+            @DefaultValue("4") int reindexThreads,
+            @DefaultValue("8") int reindexMaxInFlightBatches,
+            @Nullable Map<String, ReindexThroughput> reindexThroughput,
+            @DefaultValue("500ms") Duration directIndexingFlushInterval,
+            @DefaultValue("500") int directIndexingBatchSize,
             @DefaultValue("") String enqueueIndexAllOnStartupIndexRecreationEntities,
             @DefaultValue("search_index_") String searchIndexNamePrefix,
             @DefaultValue("anyTermAnyField") String defaultSearchStrategy,
@@ -182,6 +230,12 @@ public class SearchProperties {
         this.maxPrefixLength = maxPrefixLength;
         this.unsupportedSearchStrategyVisible = unsupportedSearchStrategyVisible;
         this.wildcardPrefixQueryEnabled = wildcardPrefixQueryEnabled;
+        this.reindexPipelineEnabled = reindexPipelineEnabled;
+        this.reindexThreads = reindexThreads;
+        this.reindexMaxInFlightBatches = reindexMaxInFlightBatches;
+        this.reindexThroughput = reindexThroughput == null ? Collections.emptyMap() : reindexThroughput;
+        this.directIndexingFlushInterval = directIndexingFlushInterval;
+        this.directIndexingBatchSize = directIndexingBatchSize;
     }
 
     /**
@@ -235,6 +289,59 @@ public class SearchProperties {
         return wildcardPrefixQueryEnabled;
     }
 
+    /**
+     * @see #reindexPipelineEnabled
+     */
+    public boolean isReindexPipelineEnabled() {
+        return reindexPipelineEnabled;
+    }
+
+    /**
+     * Returns size of id batches loaded and indexed together by the parallel reindex pipeline.
+     *
+     * @see #reindexThroughput
+     */
+    public int getReindexBatchSize(String entityName) {
+        ReindexThroughput throughput = reindexThroughput.get(entityName);
+        return throughput == null || throughput.batchSize == null
+                ? reindexEntityEnqueueBatchSize
+                : throughput.batchSize;
+    }
+
+    /**
+     * @see #reindexThreads
+     * @see #reindexThroughput
+     */
+    public int getReindexThreads(String entityName) {
+        ReindexThroughput throughput = reindexThroughput.get(entityName);
+        return throughput == null || throughput.threads == null ? reindexThreads : throughput.threads;
+    }
+
+    /**
+     * @see #reindexMaxInFlightBatches
+     * @see #reindexThroughput
+     */
+    public int getReindexMaxInFlightBatches(String entityName) {
+        ReindexThroughput throughput = reindexThroughput.get(entityName);
+        return throughput == null || throughput.maxInFlightBatches == null
+                ? reindexMaxInFlightBatches
+                : throughput.maxInFlightBatches;
+    }
+
+    /**
+     * @see #directIndexingFlushInterval
+     */
+    public Duration getDirectIndexingFlushInterval() {
+        return directIndexingFlushInterval;
+    }
+
+    /**
+     * @see #directIndexingBatchSize
+     */
+    public int getDirectIndexingBatchSize() {
+        return directIndexingBatchSize;
+    }
+
     /**
      * @see #changedEntitiesIndexingEnabled
      */
@@ -420,6 +527,32 @@ public class SearchProperties {
         }
     }
 
+    public static class ReindexThroughput {
+
+        /**
+         * Size of id batches loaded and indexed together.
+         */
+        protected final Integer batchSize;
+
+        /**
+         * Amount of threads loading entity instances and sending bulk requests.
+         */
+        protected final Integer threads;
+
+        /**
+         * Max amount of batches being processed or waiting for a free thread.
+         */
+        protected final Integer maxInFlightBatches;
+
+        public ReindexThroughput(@Nullable Integer batchSize,
+                                 @Nullable Integer threads,
+                                 @Nullable Integer maxInFlightBatches) {
+            this.batchSize = batchSize;
+            this.threads = threads;
+            this.maxInFlightBatches = maxInFlightBatches;
+        }
+    }
+
     public static class SSL {
 
         /**
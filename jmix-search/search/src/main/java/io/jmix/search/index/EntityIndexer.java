@@ -19,6 +19,8 @@ package io.jmix.search.index;
 import io.jmix.core.Id;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Provides functionality for direct documents indexing.
@@ -57,6 +59,20 @@ public interface EntityIndexer {
      */
     IndexResult indexCollectionByEntityIds(Collection<Id<?>> entityIds);
 
+    /**
+     * Updates indexed documents of entity instances by provided IDs taking into account changed properties.
+     * <p>
+     * Instances without changes of indexed properties are not processed. Implementation may update only
+     * the document fields depending on changed properties instead of storing the entire document.
+     * Instances that can't be updated because their index is not available are returned as failures.
+     *
+     * @param changedProperties IDs of entity instances mapped to names of their changed local properties
+     * @return {@link IndexResult}
+     */
+    default IndexResult indexChangesByEntityIds(Map<Id<?>, Set<String>> changedProperties) {
+        return indexCollectionByEntityIds(changedProperties.keySet());
+    }
+
     /**
      * Deletes provided entity instance from index.
      *
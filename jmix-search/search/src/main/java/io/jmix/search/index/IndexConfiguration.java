@@ -27,6 +27,11 @@ import java.util.function.Predicate;
  */
 public class IndexConfiguration {
 
+    /**
+     * Indexable predicate of index definitions that don't declare any predicate: all instances are indexed.
+     */
+    public static final Predicate<Object> ALL_INSTANCES_INDEXABLE = instance -> true;
+
     protected final String entityName;
 
     protected final Class<?> entityClass;
@@ -41,6 +46,8 @@ public class IndexConfiguration {
 
     protected final ExtendedSearchSettings extendedSearchSettings;
 
+    protected final IndexingQueueMode queueMode;
+
     public IndexConfiguration(String entityName,
                               Class<?> entityClass,
                               String indexName,
@@ -48,6 +55,18 @@ public class IndexConfiguration {
                               Set<Class<?>> affectedEntityClasses,
                               Predicate<Object> indexablePredicate,
                               ExtendedSearchSettings extendedSearchSettings) {
+        this(entityName, entityClass, indexName, mapping, affectedEntityClasses, indexablePredicate,
+                extendedSearchSettings, IndexingQueueMode.DATABASE);
+    }
+
+    public IndexConfiguration(String entityName,
+                              Class<?> entityClass,
+                              String indexName,
+                              IndexMappingConfiguration mapping,
+                              Set<Class<?>> affectedEntityClasses,
+                              Predicate<Object> indexablePredicate,
+                              ExtendedSearchSettings extendedSearchSettings,
+                              IndexingQueueMode queueMode) {
         this.entityName = entityName;
         this.entityClass = entityClass;
         this.indexName = indexName;
@@ -55,6 +74,7 @@ public class IndexConfiguration {
         this.affectedEntityClasses = affectedEntityClasses;
         this.indexablePredicate = indexablePredicate;
         this.extendedSearchSettings = extendedSearchSettings;
+        this.queueMode = queueMode;
     }
 
     /**
@@ -116,4 +136,13 @@ public class IndexConfiguration {
     public ExtendedSearchSettings getExtendedSearchSettings() {
         return extendedSearchSettings;
     }
+
+    /**
+     * Gets the way changes of indexed entity instances are delivered to this index
+     *
+     * @return queue mode
+     */
+    public IndexingQueueMode getQueueMode() {
+        return queueMode;
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index;
+
+/**
+ * Defines how changes of indexed entity instances are delivered to the search index.
+ */
+public enum IndexingQueueMode {
+
+    /**
+     * Changes are stored to the Indexing Queue table and indexed when the queue is processed.
+     */
+    DATABASE,
+
+    /**
+     * Changes are collected in memory after transaction commit and sent to the search platform by bulk requests
+     * without storing them to the database. Changes that failed to be indexed are stored to the Indexing Queue table.
+     */
+    DIRECT
+}
@@ -16,6 +16,7 @@
 
 package io.jmix.search.index.annotation;
 
+import io.jmix.search.index.IndexingQueueMode;
 import io.jmix.search.index.mapping.MappingDefinition;
 
 import java.lang.annotation.ElementType;
@@ -118,4 +119,13 @@ public @interface JmixEntitySearchIndex {
      * @return custom index name
      */
     String indexName() default "";
+
+    /**
+     * Provides the way changes of entity instances are delivered to the search index.
+     * <p>{@link IndexingQueueMode#DIRECT} is suitable for frequently changed entities: changes are sent to
+     * the search platform in bulk requests without storing them to the Indexing Queue table.
+     *
+     * @return queue mode
+     */
+    IndexingQueueMode queueMode() default IndexingQueueMode.DATABASE;
 }
@@ -30,6 +30,7 @@ import io.jmix.search.index.mapping.DisplayedNameDescriptor;
 import io.jmix.search.index.mapping.IndexConfigurationManager;
 import io.jmix.search.index.mapping.IndexMappingConfiguration;
 import io.jmix.search.index.mapping.MappingFieldDescriptor;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,6 +98,72 @@ public abstract class BaseEntityIndexer implements EntityIndexer {
         return indexGroupedInstances(groupedInstances);
     }
 
+    @Override
+    public IndexResult indexChangesByEntityIds(Map<Id<?>, Set<String>> changedProperties) {
+        List<Id<?>> fullyIndexedIds = new ArrayList<>();
+        Map<IndexConfiguration, Map<PartialUpdate, List<Id<?>>>> partialUpdates = new HashMap<>();
+        changedProperties.forEach((entityId, properties) -> {
+            MetaClass metaClass = metadata.getClass(entityId.getEntityClass());
+            Optional<IndexConfiguration> indexConfigurationOpt = indexConfigurationManager.getIndexConfigurationByEntityNameOpt(metaClass.getName());
+            if (indexConfigurationOpt.isEmpty()) {
+                return;
+            }
+            IndexConfiguration indexConfiguration = indexConfigurationOpt.get();
+            if (isSoftDeletionChanged(metaClass, properties)) {
+                fullyIndexedIds.add(entityId);
+                return;
+            }
+            PartialUpdate partialUpdate = createPartialUpdate(indexConfiguration, properties);
+            if (partialUpdate.isEmpty()) {
+                log.trace("Skip {}: indexed properties are not changed", entityId);
+            } else if (isPartialUpdateApplicable(indexConfiguration)) {
+                partialUpdates.computeIfAbsent(indexConfiguration, k -> new HashMap<>())
+                        .computeIfAbsent(partialUpdate, k -> new ArrayList<>())
+                        .add(entityId);
+            } else {
+                fullyIndexedIds.add(entityId);
+            }
+        });
+
+        IndexResult result = fullyIndexedIds.isEmpty()
+                ? new IndexResult(0, Collections.emptyList())
+                : indexCollectionByEntityIds(fullyIndexedIds);
+
+        List<IndexDocumentData> documents = new ArrayList<>();
+        List<IndexResult.Failure> skipped = new ArrayList<>();
+        partialUpdates.forEach((indexConfiguration, updates) -> {
+            if (indexStateRegistry.isIndexAvailable(indexConfiguration.getEntityName())) {
+                MetaClass metaClass = metadata.getClass(indexConfiguration.getEntityClass());
+                updates.forEach((partialUpdate, entityIds) -> {
+                    FetchPlan fetchPlan = createFetchPlan(indexConfiguration, partialUpdate.fields(), partialUpdate.displayedNameChanged());
+                    List<Object> ids = entityIds.stream().map(Id::getValue).collect(Collectors.toList());
+                    for (Object instance : loadEntityInstances(metaClass, ids, fetchPlan)) {
+                        documents.add(generatePartialIndexDocument(indexConfiguration, instance, partialUpdate));
+                    }
+                });
+            } else {
+                // a partial document can't be applied later, so the caller has to index these instances again
+                updates.values().forEach(entityIds -> entityIds.forEach(entityId ->
+                        skipped.add(new IndexResult.Failure(idSerialization.idToString(entityId),
+                                indexConfiguration.getIndexName(), "Index is not available"))));
+            }
+        });
+
+        if (documents.isEmpty() && skipped.isEmpty()) {
+            return result;
+        }
+        List<IndexResult.Failure> failures = new ArrayList<>(result.getFailures());
+        int totalSize = result.getTotalSize() + skipped.size();
+        if (!documents.isEmpty()) {
+            log.debug("[UPDATE] Prepared {} partial documents", documents.size());
+            IndexResult updateResult = updateDocuments(documents);
+            failures.addAll(updateResult.getFailures());
+            totalSize += updateResult.getTotalSize();
+        }
+        failures.addAll(skipped);
+        return new IndexResult(totalSize, failures);
+    }
+
     @Override
     public IndexResult delete(Object entityInstance) {
         return deleteCollection(Collections.singletonList(entityInstance));
@@ -123,6 +190,19 @@ public abstract class BaseEntityIndexer implements EntityIndexer {
 
     protected abstract IndexResult deleteByGroupedDocIds(Map<IndexConfiguration, Collection<String>> groupedDocIds);
 
+    /**
+     * Merges provided partial documents into existing documents.
+     * <p>
+     * The default implementation indexes the corresponding entity instances again as a whole.
+     * Platform-specific indexers override it to send partial updates.
+     */
+    protected IndexResult updateDocuments(List<IndexDocumentData> documents) {
+        List<Id<?>> entityIds = documents.stream()
+                .map(document -> (Id<?>) idSerialization.stringToId(document.id()))
+                .collect(Collectors.toList());
+        return indexCollectionByEntityIds(entityIds);
+    }
+
     protected IndexResult indexGroupedInstances(Map<IndexConfiguration, Collection<Object>> groupedInstances) {
         if (log.isDebugEnabled()) {
             Integer amountOfInstances = groupedInstances.values().stream()
@@ -219,37 +299,49 @@ public abstract class BaseEntityIndexer implements EntityIndexer {
             if (indexConfigurationOpt.isPresent()) {
                 IndexConfiguration indexConfiguration = indexConfigurationOpt.get();
                 FetchPlan fetchPlan = fetchPlanLocalCache.computeIfAbsent(indexConfiguration, this::createFetchPlan);
-                List<Object> loaded;
-                if (metadataTools.hasCompositePrimaryKey(metaClass)) {
-                    loaded = entityIds.stream()
-                            .map(id -> dataManager
-                                    .load(metaClass.getJavaClass())
-                                    .id(id)
-                                    .fetchPlan(fetchPlan)
-                                    .optional())
-                            .filter(Optional::isPresent)
-                            .map(Optional::get)
-                            .collect(Collectors.toList());
-                } else {
-                    String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
-                    String discriminatorCondition = metaClass.getDescendants().isEmpty() ? "" : " and TYPE(e) = " + metaClass.getName();
-                    String queryString = "select e from " + metaClass.getName() + " e where e." + primaryKeyName + " in :ids" + discriminatorCondition;
-                    loaded = dataManager
-                            .load(metaClass.getJavaClass())
-                            .query(queryString)
-                            .parameter("ids", entityIds)
-                            .fetchPlan(fetchPlan)
-                            .list();
-                }
-                result.put(indexConfiguration, loaded);
+                result.put(indexConfiguration, loadEntityInstances(metaClass, entityIds, fetchPlan));
             }
         });
         return result;
     }
 
+    protected List<Object> loadEntityInstances(MetaClass metaClass, List<Object> entityIds, FetchPlan fetchPlan) {
+        if (metadataTools.hasCompositePrimaryKey(metaClass)) {
+            return entityIds.stream()
+                    .map(id -> dataManager
+                            .load(metaClass.getJavaClass())
+                            .id(id)
+                            .fetchPlan(fetchPlan)
+                            .optional())
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
+        } else {
+            String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+            String discriminatorCondition = metaClass.getDescendants().isEmpty() ? "" : " and TYPE(e) = " + metaClass.getName();
+            String queryString = "select e from " + metaClass.getName() + " e where e." + primaryKeyName + " in :ids" + discriminatorCondition;
+            return dataManager
+                    .load(metaClass.getJavaClass())
+                    .query(queryString)
+                    .parameter("ids", entityIds)
+                    .fetchPlan(fetchPlan)
+                    .list();
+        }
+    }
+
     protected FetchPlan createFetchPlan(IndexConfiguration indexConfiguration) {
+        return createFetchPlan(indexConfiguration, indexConfiguration.getMapping().getFields().values(), true);
+    }
+
+    /**
+     * Creates fetch plan containing only properties required to generate values of provided fields
+     * and, optionally, displayed name.
+     */
+    protected FetchPlan createFetchPlan(IndexConfiguration indexConfiguration,
+                                        Collection<MappingFieldDescriptor> fields,
+                                        boolean displayedNameIncluded) {
         FetchPlanBuilder fetchPlanBuilder = fetchPlans.builder(indexConfiguration.getEntityClass());
-        indexConfiguration.getMapping().getFields().values().forEach(field -> {
+        fields.forEach(field -> {
             log.trace("Add property to fetch plan: {}", field.getEntityPropertyFullName());
             fetchPlanBuilder.add(field.getEntityPropertyFullName());
             field.getInstanceNameRelatedProperties().forEach(instanceNameRelatedProperty -> {
@@ -262,21 +354,74 @@ public abstract class BaseEntityIndexer implements EntityIndexer {
             });
         });
 
-        indexConfiguration.getMapping()
-                .getDisplayedNameDescriptor()
-                .getInstanceNameRelatedProperties()
-                .forEach(instanceNameRelatedProperty -> {
-                    log.trace("Add instance name related property (displayed name) to fetch plan: {}", instanceNameRelatedProperty.toPathString());
-                    if (instanceNameRelatedProperty.getRange().isClass()) {
-                        fetchPlanBuilder.add(instanceNameRelatedProperty.toPathString(), FetchPlan.INSTANCE_NAME);
-                    } else {
-                        fetchPlanBuilder.add(instanceNameRelatedProperty.toPathString());
-                    }
-                });
+        if (displayedNameIncluded) {
+            indexConfiguration.getMapping()
+                    .getDisplayedNameDescriptor()
+                    .getInstanceNameRelatedProperties()
+                    .forEach(instanceNameRelatedProperty -> {
+                        log.trace("Add instance name related property (displayed name) to fetch plan: {}", instanceNameRelatedProperty.toPathString());
+                        if (instanceNameRelatedProperty.getRange().isClass()) {
+                            fetchPlanBuilder.add(instanceNameRelatedProperty.toPathString(), FetchPlan.INSTANCE_NAME);
+                        } else {
+                            fetchPlanBuilder.add(instanceNameRelatedProperty.toPathString());
+                        }
+                    });
+        }
 
         return fetchPlanBuilder.build();
     }
 
+    protected boolean isPartialUpdateApplicable(IndexConfiguration indexConfiguration) {
+        // custom predicate may require properties that are not loaded for partial update
+        return indexConfiguration.getIndexablePredicate() == IndexConfiguration.ALL_INSTANCES_INDEXABLE;
+    }
+
+    protected boolean isSoftDeletionChanged(MetaClass metaClass, Set<String> changedProperties) {
+        Class<?> entityClass = metaClass.getJavaClass();
+        return metadataTools.isSoftDeletable(entityClass)
+                && changedProperties.contains(metadataTools.findDeletedDateProperty(entityClass));
+    }
+
+    /**
+     * Determines document fields to be regenerated after changes of provided local properties. If some field
+     * depends on the changed properties, all fields with the same top-level document field are regenerated,
+     * because a partial update replaces values of arrays.
+     */
+    protected PartialUpdate createPartialUpdate(IndexConfiguration indexConfiguration, Set<String> changedProperties) {
+        Set<String> changedLocalProperties = changedProperties.stream()
+                .map(property -> StringUtils.substringBefore(property, "."))
+                .collect(Collectors.toSet());
+        IndexMappingConfiguration mapping = indexConfiguration.getMapping();
+
+        Set<String> changedTopLevelFields = new HashSet<>();
+        for (MappingFieldDescriptor field : mapping.getFields().values()) {
+            if (!field.isStandalone() && isFieldAffected(field, changedLocalProperties)) {
+                changedTopLevelFields.add(getTopLevelFieldName(field.getIndexPropertyFullName()));
+            }
+        }
+        List<MappingFieldDescriptor> fields = mapping.getFields().values().stream()
+                .filter(field -> !field.isStandalone())
+                .filter(field -> changedTopLevelFields.contains(getTopLevelFieldName(field.getIndexPropertyFullName())))
+                .collect(Collectors.toList());
+
+        boolean displayedNameChanged = mapping.getDisplayedNameDescriptor().getInstanceNameRelatedProperties().stream()
+                .anyMatch(path -> changedLocalProperties.contains(path.getMetaProperties()[0].getName()));
+
+        return new PartialUpdate(fields, displayedNameChanged);
+    }
+
+    protected boolean isFieldAffected(MappingFieldDescriptor field, Set<String> changedLocalProperties) {
+        if (changedLocalProperties.contains(StringUtils.substringBefore(field.getEntityPropertyFullName(), "."))) {
+            return true;
+        }
+        return field.getInstanceNameRelatedProperties().stream()
+                .anyMatch(path -> changedLocalProperties.contains(path.getMetaProperties()[0].getName()));
+    }
+
+    protected String getTopLevelFieldName(String indexPropertyFullName) {
+        return StringUtils.substringBefore(indexPropertyFullName, ".");
+    }
+
     // document generation
     protected IndexDocumentData generateIndexDocument(IndexConfiguration indexConfiguration,
                                                       Object instance) {
@@ -297,6 +442,43 @@ public abstract class BaseEntityIndexer implements EntityIndexer {
         return new IndexDocumentData(indexConfiguration.getIndexName(), serializedEntityId, sourceObject);
     }
 
+    protected IndexDocumentData generatePartialIndexDocument(IndexConfiguration indexConfiguration,
+                                                             Object instance,
+                                                             PartialUpdate partialUpdate) {
+        ObjectNode sourceObject = JsonNodeFactory.instance.objectNode();
+        partialUpdate.fields().forEach(field -> addFieldValueToEntityIndexContent(sourceObject, field, instance));
+        // fields without values are set explicitly to remove previous values from the document
+        partialUpdate.fields().forEach(field -> putNullIfAbsent(sourceObject, field.getIndexPropertyFullName()));
+
+        if (partialUpdate.displayedNameChanged()) {
+            DisplayedNameDescriptor displayedNameDescriptor = indexConfiguration.getMapping().getDisplayedNameDescriptor();
+            sourceObject.set(displayedNameDescriptor.getIndexPropertyFullName(), displayedNameDescriptor.getValue(instance));
+        }
+
+        log.debug("Partial source object: {}", sourceObject);
+        String serializedEntityId = idSerialization.idToString(Id.of(instance));
+        return new IndexDocumentData(indexConfiguration.getIndexName(), serializedEntityId, sourceObject);
+    }
+
+    protected void putNullIfAbsent(ObjectNode root, String indexPropertyFullName) {
+        String[] fields = indexPropertyFullName.split("\\.");
+        ObjectNode currentRoot = root;
+        for (int i = 0; i < fields.length - 1; i++) {
+            JsonNode node = currentRoot.get(fields[i]);
+            if (node == null) {
+                currentRoot = currentRoot.putObject(fields[i]);
+            } else if (node.isObject()) {
+                currentRoot = (ObjectNode) node;
+            } else {
+                return;
+            }
+        }
+        String field = fields[fields.length - 1];
+        if (!currentRoot.has(field)) {
+            currentRoot.putNull(field);
+        }
+    }
+
     protected void addFieldValueToEntityIndexContent(ObjectNode entityIndexContent, MappingFieldDescriptor field, Object entity) {
         log.trace("Extract value of property '{}' from entity {}", field.getMetaPropertyPath(), entity);
         JsonNode propertyValue = field.getValue(entity);
@@ -403,4 +585,14 @@ public abstract class BaseEntityIndexer implements EntityIndexer {
 
     protected record IndexDocumentData(String indexName, String id, ObjectNode source) {
     }
+
+    /**
+     * Document fields to be regenerated for a set of changed properties.
+     */
+    protected record PartialUpdate(List<MappingFieldDescriptor> fields, boolean displayedNameChanged) {
+
+        public boolean isEmpty() {
+            return fields.isEmpty() && !displayedNameChanged;
+        }
+    }
 }
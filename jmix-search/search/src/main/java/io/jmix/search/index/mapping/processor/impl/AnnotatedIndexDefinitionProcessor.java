@@ -28,6 +28,7 @@ import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.search.SearchProperties;
 import io.jmix.search.index.IndexConfiguration;
+import io.jmix.search.index.IndexingQueueMode;
 import io.jmix.search.index.annotation.ExtendedSearch;
 import io.jmix.search.index.annotation.FieldMappingAnnotation;
 import io.jmix.search.index.annotation.JmixEntitySearchIndex;
@@ -134,7 +135,8 @@ public class AnnotatedIndexDefinitionProcessor {
                 indexMappingConfiguration,
                 affectedEntityClasses,
                 indexablePredicate,
-                indexDef.getExtendedSearchSettings()
+                indexDef.getExtendedSearchSettings(),
+                indexDef.getQueueMode()
         );
     }
 
@@ -158,6 +160,7 @@ public class AnnotatedIndexDefinitionProcessor {
         result.setEntityClass(entityClass);
         result.setMetaClass(metaClass);
         result.setIndexName(indexAnnotation.indexName());
+        result.setQueueMode(indexAnnotation.queueMode());
 
         ExtendedSearchSettings extendedSearchSettings = createExtendedSearchSettings(indexDefinitionClass);
         result.setExtendedSearchSettings(extendedSearchSettings);
@@ -273,7 +276,7 @@ public class AnnotatedIndexDefinitionProcessor {
                 throw new RuntimeException("Cannot evaluate indexable predicate", e);
             }
         }
-        return predicates.stream().reduce(Predicate::and).orElseGet(() -> (obj) -> true);
+        return predicates.stream().reduce(Predicate::and).orElse(IndexConfiguration.ALL_INSTANCES_INDEXABLE);
     }
 
     protected <T> T callMethod(Class<?> ownerClass, Method method) throws Exception {
@@ -566,6 +569,7 @@ public class AnnotatedIndexDefinitionProcessor {
         private Class<?> entityClass;
         private MetaClass metaClass;
         private String indexName;
+        private IndexingQueueMode queueMode = IndexingQueueMode.DATABASE;
         private final List<Annotation> fieldAnnotations = new ArrayList<>();
         private final List<Method> indexablePredicateMethods = new ArrayList<>();
         private Method mappingDefinitionImplementationMethod = null;
@@ -603,6 +607,14 @@ public class AnnotatedIndexDefinitionProcessor {
             this.indexName = indexName;
         }
 
+        private IndexingQueueMode getQueueMode() {
+            return queueMode;
+        }
+
+        private void setQueueMode(IndexingQueueMode queueMode) {
+            this.queueMode = queueMode;
+        }
+
         private List<Annotation> getFieldAnnotations() {
             return fieldAnnotations;
         }
@@ -88,6 +88,9 @@ public interface IndexingQueueManager {
      * <p>
      * Don't use it on a huge amount of data - all ids will be kept in memory during this process.
      * Use {@link #initAsyncEnqueueIndexAll} methods instead.
+     * <p>
+     * If 'jmix.search.reindex-pipeline-enabled' property is set, instances are indexed directly
+     * by the parallel reindex pipeline instead and ids are not kept in memory.
      *
      * @param entityName entity name
      * @return amount of enqueued instances
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.queue.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.Id;
+import io.jmix.core.IdSerialization;
+import io.jmix.core.Metadata;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.EntityIndexer;
+import io.jmix.search.index.IndexConfiguration;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.IndexingQueueMode;
+import io.jmix.search.index.impl.IndexStateRegistry;
+import io.jmix.search.index.mapping.IndexConfigurationManager;
+import io.jmix.search.index.queue.IndexingQueueManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers changes of entities with {@link IndexingQueueMode#DIRECT} queue mode to the search index
+ * without storing them to the Indexing Queue table.
+ * <p>
+ * Changes made within a transaction are kept until the transaction is committed and discarded on rollback.
+ * Committed changes are collected in memory, so several changes of the same instance result in a single operation,
+ * and are sent by a background thread every {@link SearchProperties#getDirectIndexingFlushInterval()} or as soon as
+ * {@link SearchProperties#getDirectIndexingBatchSize()} instances are collected. Updates with known changed
+ * properties are applied as partial updates of documents.
+ * <p>
+ * Changes that can't be indexed because the index is unavailable, the bulk request fails or the search platform
+ * reports failures for particular instances are stored to the Indexing Queue table and processed
+ * by {@link IndexingQueueManager} as usual.
+ */
+@Component("search_DirectIndexingQueue")
+public class DirectIndexingQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectIndexingQueue.class);
+
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected EntityIndexer entityIndexer;
+    @Autowired
+    protected IndexingQueueManager indexingQueueManager;
+    @Autowired
+    protected IndexConfigurationManager indexConfigurationManager;
+    @Autowired
+    protected IndexStateRegistry indexStateRegistry;
+    @Autowired
+    protected IdSerialization idSerialization;
+    @Autowired
+    protected SystemAuthenticator authenticator;
+    @Autowired
+    protected SearchProperties searchProperties;
+
+    protected final Map<Id<?>, Change> pendingChanges = new ConcurrentHashMap<>();
+
+    protected final Object executorLock = new Object();
+    protected volatile ScheduledExecutorService executor;
+    protected volatile boolean stopped;
+
+    /**
+     * Checks whether changes of provided entity instance are delivered by this queue.
+     *
+     * @param entityId entity id
+     * @return true if entity is indexed with {@link IndexingQueueMode#DIRECT} queue mode
+     */
+    public boolean isDirectlyQueued(Id<?> entityId) {
+        String entityName = metadata.getClass(entityId.getEntityClass()).getName();
+        return indexConfigurationManager.getIndexConfigurationByEntityNameOpt(entityName)
+                .map(IndexConfiguration::getQueueMode)
+                .filter(IndexingQueueMode.DIRECT::equals)
+                .isPresent();
+    }
+
+    /**
+     * Registers operation on provided entity instance. If a transaction is active, the operation is registered
+     * after successful commit.
+     *
+     * @param entityId  entity id
+     * @param operation indexing operation
+     */
+    public void enqueue(Id<?> entityId, IndexingOperation operation) {
+        enqueue(entityId, new Change(operation, null));
+    }
+
+    /**
+     * Registers update of provided entity instance. Only document fields depending on the changed properties
+     * are updated, see {@link EntityIndexer#indexChangesByEntityIds(Map)}.
+     *
+     * @param entityId          entity id
+     * @param changedProperties names of changed local properties
+     */
+    public void enqueueUpdate(Id<?> entityId, Set<String> changedProperties) {
+        enqueue(entityId, new Change(IndexingOperation.INDEX, new HashSet<>(changedProperties)));
+    }
+
+    protected void enqueue(Id<?> entityId, Change change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getTransactionChanges().merge(entityId, change, Change::merge);
+        } else {
+            addPendingChanges(Collections.singletonMap(entityId, change));
+        }
+    }
+
+    /**
+     * Sends all collected changes to the search platform.
+     */
+    public synchronized void flush() {
+        int batchSize = searchProperties.getDirectIndexingBatchSize();
+        while (!pendingChanges.isEmpty()) {
+            Map<Id<?>, Change> batch = new LinkedHashMap<>();
+            for (Map.Entry<Id<?>, Change> entry : pendingChanges.entrySet()) {
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+                // a change registered concurrently for the same instance stays for the next batch
+                if (pendingChanges.remove(entry.getKey(), entry.getValue())) {
+                    batch.put(entry.getKey(), entry.getValue());
+                }
+            }
+            processBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        ScheduledExecutorService currentExecutor = executor;
+        if (currentExecutor != null) {
+            currentExecutor.shutdown();
+            try {
+                currentExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!pendingChanges.isEmpty()) {
+            log.info("Store {} not indexed changes to the Indexing Queue", pendingChanges.size());
+            Map<Id<?>, IndexingOperation> changes = new HashMap<>();
+            pendingChanges.forEach((id, change) -> changes.put(id, change.operation()));
+            pendingChanges.clear();
+            enqueueFailed(changes);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Map<Id<?>, Change> getTransactionChanges() {
+        Map<Id<?>, Change> changes = (Map<Id<?>, Change>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Map<Id<?>, Change> transactionChanges = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addPendingChanges(transactionChanges);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DirectIndexingQueue.this);
+                }
+            });
+            changes = transactionChanges;
+        }
+        return changes;
+    }
+
+    protected void addPendingChanges(Map<Id<?>, Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (stopped) {
+            Map<Id<?>, IndexingOperation> operations = new HashMap<>();
+            changes.forEach((id, change) -> operations.put(id, change.operation()));
+            enqueueFailed(operations);
+            return;
+        }
+        changes.forEach((id, change) -> pendingChanges.merge(id, change, Change::merge));
+        ScheduledExecutorService currentExecutor = getExecutor();
+        if (pendingChanges.size() >= searchProperties.getDirectIndexingBatchSize()) {
+            currentExecutor.execute(this::flushSafely);
+        }
+    }
+
+    protected ScheduledExecutorService getExecutor() {
+        ScheduledExecutorService currentExecutor = executor;
+        if (currentExecutor == null) {
+            synchronized (executorLock) {
+                currentExecutor = executor;
+                if (currentExecutor == null) {
+                    currentExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                            .setNameFormat("jmix-search-direct-indexing-%d")
+                            .setDaemon(true)
+                            .build());
+                    long interval = searchProperties.getDirectIndexingFlushInterval().toMillis();
+                    currentExecutor.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+                    executor = currentExecutor;
+                }
+            }
+        }
+        return currentExecutor;
+    }
+
+    protected void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to send changes to the search index", e);
+        }
+    }
+
+    protected void processBatch(Map<Id<?>, Change> batch) {
+        Map<Id<?>, IndexingOperation> failed = new HashMap<>();
+        Map<Boolean, List<Id<?>>> idsByAvailability = batch.keySet().stream()
+                .collect(Collectors.partitioningBy(this::isIndexAvailable));
+        idsByAvailability.get(false).forEach(id -> failed.put(id, batch.get(id).operation()));
+
+        List<Id<?>> indexIds = new ArrayList<>();
+        Map<Id<?>, Set<String>> updatedProperties = new HashMap<>();
+        List<Id<?>> deleteIds = new ArrayList<>();
+        for (Id<?> id : idsByAvailability.get(true)) {
+            Change change = batch.get(id);
+            if (change.operation() == IndexingOperation.DELETE) {
+                deleteIds.add(id);
+            } else if (change.changedProperties() == null) {
+                indexIds.add(id);
+            } else {
+                updatedProperties.put(id, change.changedProperties());
+            }
+        }
+
+        processIds(indexIds, IndexingOperation.INDEX, entityIndexer::indexCollectionByEntityIds, failed);
+        processIds(updatedProperties.keySet(), IndexingOperation.INDEX,
+                ids -> entityIndexer.indexChangesByEntityIds(updatedProperties), failed);
+        processIds(deleteIds, IndexingOperation.DELETE, entityIndexer::deleteCollectionByEntityIds, failed);
+
+        log.debug("Sent {} changes to the search index, failed: {}", batch.size() - failed.size(), failed.size());
+        if (!failed.isEmpty()) {
+            enqueueFailed(failed);
+        }
+    }
+
+    protected void processIds(Collection<Id<?>> ids,
+                              IndexingOperation operation,
+                              Function<Collection<Id<?>>, IndexResult> processingFunction,
+                              Map<Id<?>, IndexingOperation> failed) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            IndexResult indexResult = authenticator.withSystem(() -> processingFunction.apply(ids));
+            if (indexResult.hasFailures()) {
+                indexResult.getFailedIndexIds().stream()
+                        .map(idSerialization::stringToId)
+                        .forEach(id -> failed.put(id, operation));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to {} {} instances directly, they will be stored to the Indexing Queue",
+                    operation.getId(), ids.size(), e);
+            ids.forEach(id -> failed.put(id, operation));
+        }
+    }
+
+    protected boolean isIndexAvailable(Id<?> entityId) {
+        return indexStateRegistry.isIndexAvailable(metadata.getClass(entityId.getEntityClass()).getName());
+    }
+
+    protected void enqueueFailed(Map<Id<?>, IndexingOperation> changes) {
+        List<Id<?>> indexIds = new ArrayList<>();
+        List<Id<?>> deleteIds = new ArrayList<>();
+        changes.forEach((id, operation) -> (operation == IndexingOperation.DELETE ? deleteIds : indexIds).add(id));
+        try {
+            authenticator.runWithSystem(() -> {
+                if (!indexIds.isEmpty()) {
+                    indexingQueueManager.enqueueIndexCollectionByEntityIds(indexIds);
+                }
+                if (!deleteIds.isEmpty()) {
+                    indexingQueueManager.enqueueDeleteCollectionByEntityIds(deleteIds);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to store {} changes to the Indexing Queue, they are lost: {}",
+                    changes.size(), changes, e);
+        }
+    }
+
+    /**
+     * Pending operation on an entity instance.
+     *
+     * @param operation         indexing operation
+     * @param changedProperties names of changed local properties or null if the entire document should be indexed
+     */
+    protected record Change(IndexingOperation operation, @Nullable Set<String> changedProperties) {
+
+        protected Change merge(Change next) {
+            if (next.operation == IndexingOperation.DELETE || operation == IndexingOperation.DELETE) {
+                return next.operation == IndexingOperation.DELETE ? next : new Change(IndexingOperation.INDEX, null);
+            }
+            if (changedProperties == null || next.changedProperties == null) {
+                return new Change(IndexingOperation.INDEX, null);
+            }
+            Set<String> properties = new HashSet<>(changedProperties);
+            properties.addAll(next.changedProperties);
+            return new Change(IndexingOperation.INDEX, properties);
+        }
+    }
+}
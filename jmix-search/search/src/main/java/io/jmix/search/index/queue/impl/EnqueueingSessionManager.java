@@ -222,6 +222,33 @@ public class EnqueueingSessionManager {
         });
     }
 
+    /**
+     * Creates session for provided entity without storing it. Such session is used to load ids of all entity
+     * instances batch by batch by a single process that doesn't need to be suspended or resumed.
+     *
+     * @param entityName entity name
+     * @return new session
+     */
+    public EnqueueingSession createTransientSession(String entityName) {
+        EnqueueingSession session = metadata.create(EnqueueingSession.class);
+        MetaClass entityClass = metadata.getClass(entityName);
+        session.setEntityName(entityName);
+        session.setStatus(EnqueueingSessionStatus.ACTIVE);
+        session.setOrderingProperty(resolveOrderingProperty(entityClass).getName());
+        return session;
+    }
+
+    /**
+     * Updates provided session with provided ordering value without storing it. Used for transient sessions
+     * and for stored sessions whose progress is saved later by {@link #updateOrderingValue(EnqueueingSession, Object)}.
+     *
+     * @param session           session
+     * @param lastOrderingValue value
+     */
+    public void updateTransientOrderingValue(EnqueueingSession session, @Nullable Object lastOrderingValue) {
+        session.setLastProcessedValue(lastOrderingValue == null ? null : convertOrderingValueToString(lastOrderingValue));
+    }
+
     protected Optional<EnqueueingSession> reloadSession(EnqueueingSession session) {
         return dataManager.load(EnqueueingSession.class).id(session.getId()).optional();
     }
@@ -80,6 +80,8 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
     protected EnqueueingSessionManager enqueueingSessionManager;
     @Autowired
     protected EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    protected ParallelReindexer parallelReindexer;
 
     @Override
     public int emptyQueue() {
@@ -315,6 +317,9 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         EnqueueingSessionStatus status = session.getStatus();
         switch (status) {
             case ACTIVE:
+                if (isReindexPipelineApplicable(session.getEntityName())) {
+                    return parallelReindexer.reindexNextBatches(session);
+                }
                 return enqueueNextBatchInternal(session, batchSize);
             case SUSPENDED:
                 log.debug("Skip session for entity '{}'", session.getEntityName());
@@ -362,6 +367,10 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         }
 
         try {
+            if (isReindexPipelineApplicable(entityName)) {
+                return parallelReindexer.reindexAll(entityName);
+            }
+
             MetaClass metaClass = metadata.getClass(entityName);
             List<?> rawIds = loadRawIds(metaClass);
             return processRawIds(rawIds, metaClass, batchSize);
@@ -370,6 +379,21 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         }
     }
 
+    /**
+     * Checks whether instances of the entity are indexed directly by {@link ParallelReindexer} instead of
+     * being enqueued during reindex.
+     */
+    protected boolean isReindexPipelineApplicable(String entityName) {
+        if (!searchProperties.isReindexPipelineEnabled()) {
+            return false;
+        }
+        if (!indexStateRegistry.isIndexAvailable(entityName)) {
+            log.info("Index of entity '{}' is not available: instances are enqueued instead of reindex", entityName);
+            return false;
+        }
+        return true;
+    }
+
     protected List<?> loadRawIds(MetaClass metaClass) {
         String entityName = metaClass.getName();
         String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
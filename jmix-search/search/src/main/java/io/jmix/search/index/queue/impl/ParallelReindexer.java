@@ -0,0 +1,299 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.search.index.queue.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.Id;
+import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.EntityIndexer;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.queue.EntityIdsLoader;
+import io.jmix.search.index.queue.EntityIdsLoader.ResultHolder;
+import io.jmix.search.index.queue.entity.EnqueueingSession;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Indexes all instances of an entity bypassing the Indexing Queue.
+ * <p>
+ * Ids are read batch by batch using ordering by the primary key, so every batch query uses the last loaded value
+ * instead of an offset. Each batch is passed to a worker thread that loads entity instances, builds documents and
+ * sends them to the search platform in a single bulk request. Reading of ids doesn't wait for bulk requests,
+ * but the amount of batches submitted and not completed yet is limited, so at most that amount of batches
+ * is kept in memory.
+ * <p>
+ * Batch size, amount of threads and max amount of in-flight batches are configured per entity,
+ * see {@link SearchProperties#getReindexBatchSize(String)}. Worker threads are taken from a pool shared by all
+ * reindex processes, the amount of threads is the max amount of batches of a single process indexed in parallel.
+ * <p>
+ * The synchronous 'enqueue index all' operation reindexes an entity at once by {@link #reindexAll(String)}.
+ * Asynchronous reindex stored as an {@link EnqueueingSession} is performed by {@link #reindexNextBatches(EnqueueingSession)}
+ * portion by portion, so the session can be suspended or terminated between portions.
+ */
+@Component("search_ParallelReindexer")
+public class ParallelReindexer {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelReindexer.class);
+
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected EntityIndexer entityIndexer;
+    @Autowired
+    protected EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    protected EnqueueingSessionManager enqueueingSessionManager;
+    @Autowired
+    protected SystemAuthenticator authenticator;
+    @Autowired
+    protected SearchProperties searchProperties;
+
+    protected final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("jmix-search-reindex-%d")
+            .setDaemon(true)
+            .build());
+
+    /**
+     * Indexes all instances of provided entity. The method returns when all bulk requests are completed.
+     *
+     * @param entityName entity name
+     * @return amount of entity instances processed without failures
+     */
+    public int reindexAll(String entityName) {
+        ReindexProcess process = createProcess(entityName);
+        log.info("Start reindex of entity '{}': batch size = {}, threads = {}, max in-flight batches = {}",
+                entityName, process.batchSize, process.threads, process.maxInFlightBatches);
+        long start = System.currentTimeMillis();
+
+        EnqueueingSession session = enqueueingSessionManager.createTransientSession(entityName);
+        run(process, session, Integer.MAX_VALUE);
+
+        log.info("Reindex of entity '{}' completed in {} ms: processed = {}, failed = {}",
+                entityName, System.currentTimeMillis() - start, process.processed.get(), process.failed.get());
+        return process.processed.get();
+    }
+
+    /**
+     * Indexes next instances of the entity of provided stored session. At most the max amount of in-flight batches
+     * is loaded and indexed in parallel. The method returns when their bulk requests are completed, then
+     * the session is updated with the last processed ordering value or removed if all instances have been processed.
+     * The session is not updated if some batch fails, so its instances are indexed again by the next invocation.
+     *
+     * @param session active enqueueing session
+     * @return amount of entity instances processed without failures
+     */
+    public int reindexNextBatches(EnqueueingSession session) {
+        String entityName = session.getEntityName();
+        ReindexProcess process = createProcess(entityName);
+        run(process, session, process.maxInFlightBatches);
+
+        if (process.allIdsLoaded) {
+            log.info("All instances of entity '{}' have been reindexed", entityName);
+            enqueueingSessionManager.removeSession(session);
+        } else {
+            enqueueingSessionManager.updateOrderingValue(session, process.lastOrderingValue);
+        }
+        log.debug("Reindexed next instances of entity '{}': processed = {}, failed = {}",
+                entityName, process.processed.get(), process.failed.get());
+        return process.processed.get();
+    }
+
+    protected ReindexProcess createProcess(String entityName) {
+        int batchSize = searchProperties.getReindexBatchSize(entityName);
+        int threads = searchProperties.getReindexThreads(entityName);
+        int maxInFlightBatches = Math.max(searchProperties.getReindexMaxInFlightBatches(entityName), threads);
+        if (batchSize <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Reindex batch size and amount of threads must be positive");
+        }
+        return new ReindexProcess(entityName, batchSize, threads, maxInFlightBatches);
+    }
+
+    /**
+     * Loads ids starting from the ordering value of the session and submits them batch by batch until all ids
+     * are loaded or the max amount of batches is submitted, then waits for completion of all batches.
+     *
+     * @throws RuntimeException if indexing of some batch failed
+     */
+    protected void run(ReindexProcess process, EnqueueingSession session, int maxBatches) {
+        String entityName = process.entityName;
+        try {
+            EntityIdsLoader loader = entityIdsLoaderProvider.getLoader(entityName);
+            int submittedBatches = 0;
+            while (submittedBatches < maxBatches && !process.isFailed()) {
+                ResultHolder resultHolder = loader.loadNextIds(session, process.batchSize);
+                List<?> rawIds = resultHolder.getIds();
+                if (rawIds.isEmpty()) {
+                    process.allIdsLoaded = true;
+                    break;
+                }
+                Object lastOrderingValue = resultHolder.getLastOrderingValue();
+                if (lastOrderingValue == null) {
+                    // ids of all instances have been loaded at once
+                    for (List<?> batch : Lists.partition(rawIds, process.batchSize)) {
+                        process.submit(batch);
+                    }
+                    process.allIdsLoaded = true;
+                    break;
+                }
+                process.submit(rawIds);
+                submittedBatches++;
+                process.lastOrderingValue = lastOrderingValue;
+                enqueueingSessionManager.updateTransientOrderingValue(session, lastOrderingValue);
+                if (rawIds.size() < process.batchSize) {
+                    process.allIdsLoaded = true;
+                    break;
+                }
+            }
+
+            process.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(String.format("Reindex of entity '%s' has been interrupted", entityName), e);
+        } finally {
+            process.cancel();
+        }
+
+        process.throwIfFailed();
+    }
+
+    protected IndexResult indexBatch(List<Id<?>> ids) {
+        return authenticator.withSystem(() -> entityIndexer.indexCollectionByEntityIds(ids));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    protected class ReindexProcess {
+
+        protected final String entityName;
+        protected final Class<Object> entityClass;
+        protected final int batchSize;
+        protected final int threads;
+        protected final int maxInFlightBatches;
+        protected final Semaphore inFlightBatches;
+        protected final Semaphore workers;
+        protected final Queue<List<Id<?>>> pendingBatches = new ConcurrentLinkedQueue<>();
+
+        protected final AtomicInteger processed = new AtomicInteger();
+        protected final AtomicInteger failed = new AtomicInteger();
+        protected final AtomicReference<Throwable> error = new AtomicReference<>();
+        protected volatile boolean cancelled;
+
+        // accessed by the thread loading ids only
+        protected Object lastOrderingValue;
+        protected boolean allIdsLoaded;
+
+        protected ReindexProcess(String entityName, int batchSize, int threads, int maxInFlightBatches) {
+            MetaClass metaClass = metadata.getClass(entityName);
+            this.entityName = entityName;
+            this.entityClass = metaClass.getJavaClass();
+            this.batchSize = batchSize;
+            this.threads = threads;
+            this.maxInFlightBatches = maxInFlightBatches;
+            this.inFlightBatches = new Semaphore(maxInFlightBatches);
+            this.workers = new Semaphore(threads);
+        }
+
+        protected void submit(List<?> rawIds) throws InterruptedException {
+            List<Id<?>> ids = rawIds.stream()
+                    .<Id<?>>map(id -> Id.of(id, entityClass))
+                    .collect(Collectors.toList());
+
+            inFlightBatches.acquire();
+            pendingBatches.add(ids);
+            if (workers.tryAcquire()) {
+                try {
+                    executor.execute(this::indexPendingBatches);
+                } catch (RejectedExecutionException e) {
+                    workers.release();
+                    pendingBatches.remove(ids);
+                    inFlightBatches.release();
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Indexes pending batches until the queue is empty. The queue is checked again after releasing
+         * the worker permit, so a batch added concurrently is not left without a worker.
+         */
+        protected void indexPendingBatches() {
+            do {
+                List<Id<?>> ids;
+                while ((ids = pendingBatches.poll()) != null) {
+                    indexPendingBatch(ids);
+                }
+                workers.release();
+            } while (!pendingBatches.isEmpty() && workers.tryAcquire());
+        }
+
+        protected void indexPendingBatch(List<Id<?>> ids) {
+            try {
+                if (!isFailed() && !cancelled) {
+                    IndexResult indexResult = indexBatch(ids);
+                    processed.addAndGet(ids.size() - indexResult.getFailuresSize());
+                    failed.addAndGet(indexResult.getFailuresSize());
+                    log.debug("Indexed next {} instances of entity '{}': total processed = {}",
+                            ids.size(), entityName, processed.get());
+                }
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            } finally {
+                inFlightBatches.release();
+            }
+        }
+
+        protected void await() throws InterruptedException {
+            inFlightBatches.acquire(maxInFlightBatches);
+            inFlightBatches.release(maxInFlightBatches);
+        }
+
+        protected boolean isFailed() {
+            return error.get() != null;
+        }
+
+        protected void throwIfFailed() {
+            Throwable e = error.get();
+            if (e != null) {
+                throw new RuntimeException(String.format("Reindex of entity '%s' failed", entityName), e);
+            }
+        }
+
+        /**
+         * Makes workers skip batches which are not indexed yet, e.g. if loading of ids has been interrupted.
+         */
+        protected void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -34,6 +34,8 @@ import io.jmix.search.SearchProperties;
 import io.jmix.search.index.mapping.IndexConfigurationManager;
 import io.jmix.search.index.queue.IndexingQueueManager;
 import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.DirectIndexingQueue;
+import io.jmix.search.index.queue.impl.IndexingOperation;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +69,8 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
     protected SearchProperties searchProperties;
     @Autowired
     protected MetadataTools metadataTools;
+    @Autowired
+    protected DirectIndexingQueue directIndexingQueue;
 
     protected Cache<Id<?>, Set<Id<?>>> removalDependencies = CacheBuilder.newBuilder()
             .expireAfterWrite(1, TimeUnit.MINUTES)
@@ -150,15 +154,15 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
 
             switch (eventType) {
                 case CREATED:
-                    indexingQueueManager.enqueueIndexByEntityId(entityId);
+                    enqueueIndex(entityId);
                     break;
                 case UPDATED:
                     if (isUpdateRequired(entityClass, changes)) {
-                        indexingQueueManager.enqueueIndexByEntityId(entityId);
+                        enqueueUpdate(entityId, changes);
                     }
                     break;
                 case DELETED:
-                    indexingQueueManager.enqueueDeleteByEntityId(entityId);
+                    enqueueDelete(entityId);
                     break;
             }
         }
@@ -167,17 +171,55 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
             Set<Id<?>> dependentEntityIds = getEntityIdsDependentOnUpdatedEntity(entityId, metaClass, changes);
 
             if (!dependentEntityIds.isEmpty()) {
-                indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+                enqueueIndex(dependentEntityIds);
             }
         } else if (EntityChangedEvent.Type.DELETED.equals(eventType)) {
             Set<Id<?>> dependentEntityIds = removalDependencies.getIfPresent(entityId);
             if (CollectionUtils.isNotEmpty(dependentEntityIds)) {
-                indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+                enqueueIndex(dependentEntityIds);
                 removalDependencies.invalidate(entityId);
             }
         }
     }
 
+    protected void enqueueIndex(Id<?> entityId) {
+        if (directIndexingQueue.isDirectlyQueued(entityId)) {
+            directIndexingQueue.enqueue(entityId, IndexingOperation.INDEX);
+        } else {
+            indexingQueueManager.enqueueIndexByEntityId(entityId);
+        }
+    }
+
+    protected void enqueueIndex(Collection<Id<?>> entityIds) {
+        List<Id<?>> queuedIds = new ArrayList<>(entityIds.size());
+        for (Id<?> entityId : entityIds) {
+            if (directIndexingQueue.isDirectlyQueued(entityId)) {
+                directIndexingQueue.enqueue(entityId, IndexingOperation.INDEX);
+            } else {
+                queuedIds.add(entityId);
+            }
+        }
+        if (!queuedIds.isEmpty()) {
+            indexingQueueManager.enqueueIndexCollectionByEntityIds(queuedIds);
+        }
+    }
+
+    protected void enqueueUpdate(Id<?> entityId, AttributeChanges changes) {
+        if (directIndexingQueue.isDirectlyQueued(entityId)) {
+            directIndexingQueue.enqueueUpdate(entityId, changes.getAttributes());
+        } else {
+            indexingQueueManager.enqueueIndexByEntityId(entityId);
+        }
+    }
+
+    protected void enqueueDelete(Id<?> entityId) {
+        if (directIndexingQueue.isDirectlyQueued(entityId)) {
+            directIndexingQueue.enqueue(entityId, IndexingOperation.DELETE);
+        } else {
+            indexingQueueManager.enqueueDeleteByEntityId(entityId);
+        }
+    }
+
     protected boolean isUpdateRequired(Class<?> entityClass, AttributeChanges changes) {
         Set<String> affectedLocalPropertyNames = new HashSet<>(indexConfigurationManager.getLocalPropertyNamesAffectedByUpdate(entityClass));
         if(metadataTools.isSoftDeletable(entityClass)) {
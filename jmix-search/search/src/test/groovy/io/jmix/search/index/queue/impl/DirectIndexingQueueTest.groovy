@@ -0,0 +1,262 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.search.index.queue.impl
+
+import io.jmix.core.Id
+import io.jmix.core.IdSerialization
+import io.jmix.core.Metadata
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.core.security.SystemAuthenticator
+import io.jmix.search.SearchProperties
+import io.jmix.search.index.EntityIndexer
+import io.jmix.search.index.IndexResult
+import io.jmix.search.index.impl.IndexStateRegistry
+import io.jmix.search.index.queue.IndexingQueueManager
+import spock.lang.Specification
+import test_support.entity.TestRootEntity
+
+import java.time.Duration
+
+class DirectIndexingQueueTest extends Specification {
+
+    public static final String ENTITY_NAME = "test_RootEntity"
+
+    EntityIndexer entityIndexer = Mock()
+    IndexingQueueManager indexingQueueManager = Mock()
+    IndexStateRegistry indexStateRegistry = Mock()
+    IdSerialization idSerialization = Mock()
+
+    // large enough not to trigger flushing in the background, tests call flush() explicitly
+    int batchSize = 100
+
+    DirectIndexingQueue queue
+
+    void setup() {
+        MetaClass metaClass = Mock()
+        metaClass.getName() >> ENTITY_NAME
+
+        Metadata metadata = Mock()
+        metadata.getClass(_ as Class) >> metaClass
+
+        SystemAuthenticator authenticator = Mock()
+        authenticator.withSystem(_) >> { SystemAuthenticator.AuthenticatedOperation operation -> operation.call() }
+        authenticator.runWithSystem(_) >> { Runnable operation -> operation.run() }
+
+        SearchProperties searchProperties = Mock()
+        searchProperties.getDirectIndexingBatchSize() >> { batchSize }
+        searchProperties.getDirectIndexingFlushInterval() >> Duration.ofHours(1)
+
+        queue = new DirectIndexingQueue()
+        queue.metadata = metadata
+        queue.entityIndexer = entityIndexer
+        queue.indexingQueueManager = indexingQueueManager
+        queue.indexStateRegistry = indexStateRegistry
+        queue.idSerialization = idSerialization
+        queue.authenticator = authenticator
+        queue.searchProperties = searchProperties
+    }
+
+    void cleanup() {
+        queue.shutdown()
+    }
+
+    def "changes failed with exception are stored to the Indexing Queue"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def id1 = createId()
+        def id2 = createId()
+        queue.enqueueUpdate(id1, ["name"] as Set)
+        queue.enqueueUpdate(id2, ["name"] as Set)
+
+        when:
+        queue.flush()
+
+        then:
+        1 * entityIndexer.indexChangesByEntityIds({ it.keySet() == [id1, id2] as Set }) >> {
+            throw new RuntimeException("Bulk request failed")
+        }
+        1 * indexingQueueManager.enqueueIndexCollectionByEntityIds({ it as Set == [id1, id2] as Set })
+        0 * indexingQueueManager.enqueueDeleteCollectionByEntityIds(_)
+        queue.pendingChanges.isEmpty()
+    }
+
+    def "only instances reported as failed are stored to the Indexing Queue"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def id1 = createId()
+        def id2 = createId()
+        idSerialization.stringToId("failed") >> id2
+        queue.enqueue(id1, IndexingOperation.INDEX)
+        queue.enqueue(id2, IndexingOperation.INDEX)
+
+        when:
+        queue.flush()
+
+        then:
+        1 * entityIndexer.indexCollectionByEntityIds({ it as Set == [id1, id2] as Set }) >>
+                new IndexResult(2, [new IndexResult.Failure("failed", "test_index", "Mapping error")])
+        1 * indexingQueueManager.enqueueIndexCollectionByEntityIds([id2])
+    }
+
+    def "failed deletions are stored to the Indexing Queue as deletions"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def id = createId()
+        queue.enqueue(id, IndexingOperation.DELETE)
+
+        when:
+        queue.flush()
+
+        then:
+        1 * entityIndexer.deleteCollectionByEntityIds([id]) >> { throw new RuntimeException("Connection refused") }
+        1 * indexingQueueManager.enqueueDeleteCollectionByEntityIds([id])
+        0 * indexingQueueManager.enqueueIndexCollectionByEntityIds(_)
+    }
+
+    def "changes of unavailable index are stored to the Indexing Queue without indexing"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> false
+        def id = createId()
+        queue.enqueueUpdate(id, ["name"] as Set)
+
+        when:
+        queue.flush()
+
+        then:
+        0 * entityIndexer._
+        1 * indexingQueueManager.enqueueIndexCollectionByEntityIds([id])
+    }
+
+    def "failure to store changes to the Indexing Queue doesn't break flushing"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def id1 = createId()
+        def id2 = createId()
+        def id3 = createId()
+        [id1, id2, id3].each { queue.enqueue(it, IndexingOperation.INDEX) }
+        batchSize = 2
+
+        when:
+        queue.flush()
+
+        then:
+        2 * entityIndexer.indexCollectionByEntityIds(_) >> { throw new RuntimeException("Bulk request failed") }
+        2 * indexingQueueManager.enqueueIndexCollectionByEntityIds(_) >> { throw new RuntimeException("Database is down") }
+        noExceptionThrown()
+        queue.pendingChanges.isEmpty()
+    }
+
+    def "changes are sent in batches"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def ids = (1..5).collect { createId() }
+        def sentIds = []
+        ids.each { queue.enqueue(it, IndexingOperation.INDEX) }
+        batchSize = 2
+
+        when:
+        queue.flush()
+
+        then:
+        3 * entityIndexer.indexCollectionByEntityIds(_) >> { Collection<Id<?>> batch ->
+            assert batch.size() <= 2
+            sentIds.addAll(batch)
+            new IndexResult(batch.size(), [])
+        }
+        0 * indexingQueueManager._
+        sentIds as Set == ids as Set
+    }
+
+    def "change registered while sending the previous one is sent by the same flush"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def id = createId()
+        queue.enqueueUpdate(id, ["name"] as Set)
+
+        when:
+        queue.flush()
+
+        then:
+        1 * entityIndexer.indexChangesByEntityIds([(id): ["name"] as Set]) >> {
+            queue.enqueueUpdate(id, ["description"] as Set)
+            new IndexResult(1, [])
+        }
+
+        then:
+        1 * entityIndexer.indexChangesByEntityIds([(id): ["description"] as Set]) >> new IndexResult(1, [])
+        0 * indexingQueueManager._
+        queue.pendingChanges.isEmpty()
+    }
+
+    def "changes of the same instance are merged"() {
+        given:
+        indexStateRegistry.isIndexAvailable(ENTITY_NAME) >> true
+        def updatedId = createId()
+        def reindexedId = createId()
+        def deletedId = createId()
+
+        queue.pendingChanges.put(updatedId, new DirectIndexingQueue.Change(IndexingOperation.INDEX, ["name"] as Set))
+        queue.pendingChanges.merge(updatedId,
+                new DirectIndexingQueue.Change(IndexingOperation.INDEX, ["description"] as Set),
+                { current, next -> current.merge(next) })
+
+        queue.pendingChanges.put(reindexedId, new DirectIndexingQueue.Change(IndexingOperation.DELETE, null))
+        queue.pendingChanges.merge(reindexedId,
+                new DirectIndexingQueue.Change(IndexingOperation.INDEX, ["name"] as Set),
+                { current, next -> current.merge(next) })
+
+        queue.pendingChanges.put(deletedId, new DirectIndexingQueue.Change(IndexingOperation.INDEX, ["name"] as Set))
+        queue.pendingChanges.merge(deletedId,
+                new DirectIndexingQueue.Change(IndexingOperation.DELETE, null),
+                { current, next -> current.merge(next) })
+
+        expect:
+        queue.pendingChanges[updatedId] == new DirectIndexingQueue.Change(IndexingOperation.INDEX, ["name", "description"] as Set)
+        queue.pendingChanges[reindexedId] == new DirectIndexingQueue.Change(IndexingOperation.INDEX, null)
+        queue.pendingChanges[deletedId] == new DirectIndexingQueue.Change(IndexingOperation.DELETE, null)
+    }
+
+    def "not sent changes are stored to the Indexing Queue on shutdown"() {
+        given:
+        def indexedId = createId()
+        def deletedId = createId()
+        queue.enqueue(indexedId, IndexingOperation.INDEX)
+        queue.enqueue(deletedId, IndexingOperation.DELETE)
+
+        when:
+        queue.shutdown()
+
+        then:
+        0 * entityIndexer._
+        1 * indexingQueueManager.enqueueIndexCollectionByEntityIds([indexedId])
+        1 * indexingQueueManager.enqueueDeleteCollectionByEntityIds([deletedId])
+        queue.pendingChanges.isEmpty()
+
+        when:
+        def lateId = createId()
+        queue.enqueue(lateId, IndexingOperation.INDEX)
+
+        then:
+        1 * indexingQueueManager.enqueueIndexCollectionByEntityIds([lateId])
+        queue.pendingChanges.isEmpty()
+    }
+
+    protected static Id<TestRootEntity> createId() {
+        return Id.of(UUID.randomUUID(), TestRootEntity)
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.search.index.impl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.jmix.core.*;
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.IndexConfiguration;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.mapping.IndexConfigurationManager;
+import io.jmix.search.utils.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.EntityChangeTrackingTestConfiguration;
+import test_support.TestCommonEntityWrapperManager;
+import test_support.entity.TestRootEntity;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityChangeTrackingTestConfiguration.class})
+public class BaseEntityIndexerTest {
+
+    @Autowired
+    UnconstrainedDataManager dataManager;
+    @Autowired
+    FetchPlans fetchPlans;
+    @Autowired
+    IndexConfigurationManager indexConfigurationManager;
+    @Autowired
+    Metadata metadata;
+    @Autowired
+    IdSerialization idSerialization;
+    @Autowired
+    IndexStateRegistry indexStateRegistry;
+    @Autowired
+    MetadataTools metadataTools;
+    @Autowired
+    SearchProperties searchProperties;
+    @Autowired
+    TestCommonEntityWrapperManager ewm;
+
+    TestRecordingEntityIndexer entityIndexer;
+    String entityName;
+
+    @BeforeEach
+    public void setUp() {
+        entityIndexer = new TestRecordingEntityIndexer();
+        entityName = metadata.getClass(TestRootEntity.class).getName();
+        indexStateRegistry.markIndexAsAvailable(entityName);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        indexStateRegistry.markIndexAsUnavailable(entityName);
+    }
+
+    @Test
+    public void testPartialDocumentContainsChangedFieldsOnly() {
+        TestRootEntity entity = ewm.createTestRootEntity()
+                .setTextValue("Text")
+                .save();
+
+        IndexResult result = entityIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("textValue")));
+
+        assertFalse(result.hasFailures());
+        assertTrue(entityIndexer.indexedDocuments.isEmpty());
+        assertEquals(1, entityIndexer.updatedDocuments.size());
+
+        BaseEntityIndexer.IndexDocumentData document = entityIndexer.updatedDocuments.get(0);
+        assertEquals(idSerialization.idToString(Id.of(entity)), document.id());
+        assertEquals(getIndexName(), document.indexName());
+
+        ObjectNode source = document.source();
+        assertEquals(Set.of("textValue"), fieldNames(source));
+        assertEquals("Text", source.get("textValue").asText());
+    }
+
+    @Test
+    public void testPartialDocumentContainsDisplayedNameIfInstanceNameChanged() {
+        TestRootEntity entity = ewm.createTestRootEntity()
+                .setName("Name")
+                .save();
+
+        entityIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("name")));
+
+        assertEquals(1, entityIndexer.updatedDocuments.size());
+        ObjectNode source = entityIndexer.updatedDocuments.get(0).source();
+        assertEquals(Set.of("name", Constants.INSTANCE_NAME_FIELD), fieldNames(source));
+    }
+
+    @Test
+    public void testRemovedValueIsClearedInPartialDocument() {
+        TestRootEntity entity = ewm.createTestRootEntity()
+                .setTextValue(null)
+                .save();
+
+        entityIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("textValue")));
+
+        assertEquals(1, entityIndexer.updatedDocuments.size());
+        assertTrue(entityIndexer.updatedDocuments.get(0).source().get("textValue").isNull());
+    }
+
+    @Test
+    public void testNotIndexedPropertyChangeIsSkipped() {
+        TestRootEntity entity = ewm.createTestRootEntity().save();
+
+        IndexResult result = entityIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("intValue")));
+
+        assertEquals(0, result.getTotalSize());
+        assertTrue(entityIndexer.indexedDocuments.isEmpty());
+        assertTrue(entityIndexer.updatedDocuments.isEmpty());
+    }
+
+    @Test
+    public void testSoftDeletionChangeFallsBackToFullIndexing() {
+        TestRootEntity entity = ewm.createTestRootEntity()
+                .setTextValue("Text")
+                .save();
+        String deletedDateProperty = metadataTools.findDeletedDateProperty(TestRootEntity.class);
+
+        entityIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("textValue", deletedDateProperty)));
+
+        assertTrue(entityIndexer.updatedDocuments.isEmpty());
+        assertEquals(1, entityIndexer.indexedDocuments.size());
+        Set<String> fields = fieldNames(entityIndexer.indexedDocuments.get(0).source());
+        assertTrue(fields.contains("name"));
+        assertTrue(fields.contains("textValue"));
+        assertTrue(fields.contains(Constants.INSTANCE_NAME_FIELD));
+    }
+
+    @Test
+    public void testUnavailableIndexReturnsFailures() {
+        TestRootEntity entity = ewm.createTestRootEntity()
+                .setTextValue("Text")
+                .save();
+        indexStateRegistry.markIndexAsUnavailable(entityName);
+
+        IndexResult result = entityIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("textValue")));
+
+        assertTrue(entityIndexer.updatedDocuments.isEmpty());
+        assertEquals(List.of(idSerialization.idToString(Id.of(entity))), new ArrayList<>(result.getFailedIndexIds()));
+    }
+
+    @Test
+    public void testDefaultUpdateIndexesWholeInstances() {
+        TestRootEntity entity = ewm.createTestRootEntity()
+                .setName("Name")
+                .setTextValue("Text")
+                .save();
+        TestFullIndexingEntityIndexer fullIndexingIndexer = new TestFullIndexingEntityIndexer();
+
+        IndexResult result = fullIndexingIndexer.indexChangesByEntityIds(Map.of(Id.of(entity), Set.of("textValue")));
+
+        assertFalse(result.hasFailures());
+        assertEquals(1, fullIndexingIndexer.indexedDocuments.size());
+        Set<String> fields = fieldNames(fullIndexingIndexer.indexedDocuments.get(0).source());
+        assertTrue(fields.contains("name"));
+        assertTrue(fields.contains("textValue"));
+    }
+
+    protected String getIndexName() {
+        return indexConfigurationManager.getIndexConfigurationByEntityName(entityName).getIndexName();
+    }
+
+    protected Set<String> fieldNames(ObjectNode source) {
+        Set<String> fieldNames = new HashSet<>();
+        source.fieldNames().forEachRemaining(fieldNames::add);
+        return fieldNames;
+    }
+
+    /**
+     * Records fully indexed documents and relies on the default partial update implementation.
+     */
+    protected class TestFullIndexingEntityIndexer extends BaseEntityIndexer {
+
+        protected final List<IndexDocumentData> indexedDocuments = new ArrayList<>();
+
+        public TestFullIndexingEntityIndexer() {
+            super(dataManager, fetchPlans, indexConfigurationManager, metadata,
+                    idSerialization, indexStateRegistry, metadataTools, searchProperties);
+        }
+
+        @Override
+        protected IndexResult indexDocuments(List<IndexDocumentData> documents) {
+            indexedDocuments.addAll(documents);
+            return new IndexResult(documents.size(), Collections.emptyList());
+        }
+
+        @Override
+        protected IndexResult deleteByGroupedDocIds(Map<IndexConfiguration, Collection<String>> groupedDocIds) {
+            return new IndexResult(0, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Records generated documents instead of sending them to the search platform.
+     */
+    protected class TestRecordingEntityIndexer extends BaseEntityIndexer {
+
+        protected final List<IndexDocumentData> indexedDocuments = new ArrayList<>();
+        protected final List<IndexDocumentData> updatedDocuments = new ArrayList<>();
+
+        public TestRecordingEntityIndexer() {
+            super(dataManager, fetchPlans, indexConfigurationManager, metadata,
+                    idSerialization, indexStateRegistry, metadataTools, searchProperties);
+        }
+
+        @Override
+        protected IndexResult indexDocuments(List<IndexDocumentData> documents) {
+            indexedDocuments.addAll(documents);
+            return new IndexResult(documents.size(), Collections.emptyList());
+        }
+
+        @Override
+        protected IndexResult updateDocuments(List<IndexDocumentData> documents) {
+            updatedDocuments.addAll(documents);
+            return new IndexResult(documents.size(), Collections.emptyList());
+        }
+
+        @Override
+        protected IndexResult deleteByGroupedDocIds(Map<IndexConfiguration, Collection<String>> groupedDocIds) {
+            return new IndexResult(0, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.search.index.queue.impl;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.Id;
+import io.jmix.core.Metadata;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.search.SearchProperties;
+import io.jmix.search.index.IndexResult;
+import io.jmix.search.index.queue.entity.EnqueueingSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.EntityChangeTrackingTestConfiguration;
+import test_support.TestCommonEntityWrapperManager;
+import test_support.TestNoopEntityIndexer;
+import test_support.entity.TestRootEntity;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {EntityChangeTrackingTestConfiguration.class})
+@TestPropertySource(properties = {
+        "jmix.search.reindex-entity-enqueue-batch-size=10",
+        "jmix.search.reindex-threads=2",
+        "jmix.search.reindex-max-in-flight-batches=2"
+})
+public class ParallelReindexerTest {
+
+    @Autowired
+    Metadata metadata;
+    @Autowired
+    DataManager dataManager;
+    @Autowired
+    EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    EnqueueingSessionManager enqueueingSessionManager;
+    @Autowired
+    SystemAuthenticator authenticator;
+    @Autowired
+    SearchProperties searchProperties;
+    @Autowired
+    TestCommonEntityWrapperManager ewm;
+
+    String entityName;
+    Set<Object> entityIds;
+    List<ParallelReindexer> reindexers = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        entityName = metadata.getClass(TestRootEntity.class).getName();
+        dataManager.load(EnqueueingSession.class).all().list().forEach(dataManager::remove);
+        dataManager.load(TestRootEntity.class).all().list().forEach(dataManager::remove);
+
+        entityIds = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            entityIds.add(ewm.createTestRootEntity().save().getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reindexers.forEach(ParallelReindexer::shutdown);
+    }
+
+    @Test
+    public void testAllInstancesIndexedByBatches() {
+        TestRecordingEntityIndexer indexer = new TestRecordingEntityIndexer(ids -> null);
+
+        int processed = createReindexer(indexer).reindexAll(entityName);
+
+        assertEquals(25, processed);
+        List<Integer> batchSizes = indexer.batches.stream()
+                .map(List::size)
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of(5, 10, 10), batchSizes);
+        assertEquals(entityIds, indexer.getIndexedIds());
+    }
+
+    @Test
+    public void testFailedInstancesAreNotCountedAsProcessed() {
+        TestRecordingEntityIndexer indexer = new TestRecordingEntityIndexer(ids ->
+                new IndexResult(ids.size(), List.of(new IndexResult.Failure("id", "index", "cause"))));
+
+        int processed = createReindexer(indexer).reindexAll(entityName);
+
+        assertEquals(25 - 3, processed);
+    }
+
+    @Test
+    public void testBatchExceptionFailsReindex() {
+        AtomicInteger calls = new AtomicInteger();
+        IllegalStateException batchException = new IllegalStateException("Bulk request failed");
+        TestRecordingEntityIndexer indexer = new TestRecordingEntityIndexer(ids -> {
+            if (calls.incrementAndGet() == 1) {
+                throw batchException;
+            }
+            return null;
+        });
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> createReindexer(indexer).reindexAll(entityName));
+
+        assertSame(batchException, exception.getCause());
+    }
+
+    @Test
+    public void testSessionIsProcessedByPortions() {
+        TestRecordingEntityIndexer indexer = new TestRecordingEntityIndexer(ids -> null);
+        ParallelReindexer reindexer = createReindexer(indexer);
+        enqueueingSessionManager.initSession(entityName);
+
+        // two batches are processed per invocation because of the max amount of in-flight batches
+        int processed = reindexer.reindexNextBatches(enqueueingSessionManager.getSession(entityName));
+
+        assertEquals(20, processed);
+        EnqueueingSession session = enqueueingSessionManager.getSession(entityName);
+        assertNotNull(session);
+        assertNotNull(session.getLastProcessedValue());
+
+        processed = reindexer.reindexNextBatches(session);
+
+        assertEquals(5, processed);
+        assertNull(enqueueingSessionManager.getSession(entityName));
+        assertEquals(entityIds, indexer.getIndexedIds());
+    }
+
+    @Test
+    public void testSessionIsNotUpdatedIfBatchFails() {
+        TestRecordingEntityIndexer indexer = new TestRecordingEntityIndexer(ids -> {
+            throw new IllegalStateException("Bulk request failed");
+        });
+        enqueueingSessionManager.initSession(entityName);
+        EnqueueingSession session = enqueueingSessionManager.getSession(entityName);
+
+        assertThrows(RuntimeException.class, () -> createReindexer(indexer).reindexNextBatches(session));
+
+        EnqueueingSession storedSession = enqueueingSessionManager.getSession(entityName);
+        assertNotNull(storedSession);
+        assertNull(storedSession.getLastProcessedValue());
+    }
+
+    @Test
+    public void testExecutorIsSharedByInvocations() {
+        TestRecordingEntityIndexer indexer = new TestRecordingEntityIndexer(ids -> null);
+        ParallelReindexer reindexer = createReindexer(indexer);
+        enqueueingSessionManager.initSession(entityName);
+
+        reindexer.reindexNextBatches(enqueueingSessionManager.getSession(entityName));
+        reindexer.reindexNextBatches(enqueueingSessionManager.getSession(entityName));
+
+        assertFalse(reindexer.executor.isShutdown());
+        assertEquals(entityIds, indexer.getIndexedIds());
+
+        reindexer.shutdown();
+
+        assertTrue(reindexer.executor.isShutdown());
+    }
+
+    protected ParallelReindexer createReindexer(TestRecordingEntityIndexer indexer) {
+        ParallelReindexer reindexer = new ParallelReindexer();
+        reindexer.metadata = metadata;
+        reindexer.entityIndexer = indexer;
+        reindexer.entityIdsLoaderProvider = entityIdsLoaderProvider;
+        reindexer.enqueueingSessionManager = enqueueingSessionManager;
+        reindexer.authenticator = authenticator;
+        reindexer.searchProperties = searchProperties;
+        reindexers.add(reindexer);
+        return reindexer;
+    }
+
+    /**
+     * Records batches of ids instead of indexing them.
+     */
+    protected static class TestRecordingEntityIndexer extends TestNoopEntityIndexer {
+
+        protected final Queue<List<Id<?>>> batches = new ConcurrentLinkedQueue<>();
+        protected final Function<Collection<Id<?>>, IndexResult> resultFunction;
+
+        protected TestRecordingEntityIndexer(Function<Collection<Id<?>>, IndexResult> resultFunction) {
+            this.resultFunction = resultFunction;
+        }
+
+        @Override
+        public IndexResult indexCollectionByEntityIds(Collection<Id<?>> entityIds) {
+            IndexResult result = resultFunction.apply(entityIds);
+            batches.add(new ArrayList<>(entityIds));
+            return result == null ? new IndexResult(entityIds.size(), Collections.emptyList()) : result;
+        }
+
+        protected Set<Object> getIndexedIds() {
+            return batches.stream()
+                    .flatMap(List::stream)
+                    .map(Id::getValue)
+                    .collect(Collectors.toSet());
+        }
+    }
+}
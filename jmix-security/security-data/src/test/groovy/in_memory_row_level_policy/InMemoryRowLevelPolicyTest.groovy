@@ -35,6 +35,7 @@ import test_support.SecurityDataSpecification
 import test_support.entity.TestOrder
 import test_support.role.TestInMemoryRowLevelConstraintsMethodArgsRole
 import test_support.role.TestInMemoryRowLevelConstraintsRole
+import test_support.role.TestInMemoryRowLevelJpqlRole
 import test_support.role.TestOrderFullAccessRole
 
 import javax.sql.DataSource
@@ -70,7 +71,7 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
     @Autowired
     RoleGrantedAuthorityUtils roleGrantedAuthorityUtils
 
-    UserDetails user1, user2, user3
+    UserDetails user1, user2, user3, user4
 
     TestOrder order1, order2
 
@@ -111,6 +112,18 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
                 .build()
         userRepository.addUser(user3)
 
+        //user4 has row-level role TestInMemoryRowLevelJpqlRole
+        def testInMemoryRowLevelJpqlRole = rowLevelRoleRepository.getRoleByCode(TestInMemoryRowLevelJpqlRole.NAME)
+        user4 = User.builder()
+                .username("user4")
+                .password("{noop}$PASSWORD")
+                .authorities(
+                        roleGrantedAuthorityUtils.createResourceRoleGrantedAuthority(testOrderFullAccessRole),
+                        roleGrantedAuthorityUtils.createRowLevelRoleGrantedAuthority(testInMemoryRowLevelJpqlRole)
+                )
+                .build()
+        userRepository.addUser(user4)
+
         order1 = metadata.create(TestOrder)
         order1.number = 'A-1-B'
         dataManager.unconstrained().save(order1)
@@ -124,6 +137,7 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
         userRepository.removeUser(user1)
         userRepository.removeUser(user2)
         userRepository.removeUser(user3)
+        userRepository.removeUser(user4)
         new JdbcTemplate(dataSource).execute('delete from TEST_ORDER')
     }
 
@@ -175,4 +189,27 @@ class InMemoryRowLevelPolicyTest extends SecurityDataSpecification {
         testOrders[0].number == 'A-1-B'
     }
 
+    def "JPQL clause of in-memory row-level policy is added to queries"() {
+
+        given:
+
+        ['B-1-B', 'A-2-C', 'A-3-B'].each { number ->
+            dataManager.unconstrained().save(metadata.create(TestOrder).tap { it.number = number })
+        }
+
+        when: "the user has role with in-memory policy declaring JPQL clause"
+
+        systemAuthenticator.begin('user4')
+        def testOrders = dataManager.load(TestOrder).all().list()
+        def page = dataManager.load(TestOrder)
+                .query('select e from test_Order e order by e.number')
+                .maxResults(1)
+                .list()
+        systemAuthenticator.end()
+
+        then: "both JPQL clause and predicate are applied"
+
+        testOrders*.number.sort() == ['A-1-B', 'A-3-B']
+        page*.number == ['A-1-B']
+    }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test_support.role;
+
+import io.jmix.security.model.RowLevelPolicyAction;
+import io.jmix.security.model.RowLevelPredicate;
+import io.jmix.security.role.annotation.PredicateRowLevelPolicy;
+import io.jmix.security.role.annotation.RowLevelRole;
+import test_support.entity.TestOrder;
+
+/**
+ * Test role with in-memory row-level policy that declares JPQL clause for queries.
+ */
+@RowLevelRole(code = TestInMemoryRowLevelJpqlRole.NAME, name = TestInMemoryRowLevelJpqlRole.NAME)
+public interface TestInMemoryRowLevelJpqlRole {
+
+    String NAME = "TestInMemoryRowLevelJpqlRole";
+
+    // the JPQL clause is intentionally stricter than the predicate to check that it is applied to queries
+    @PredicateRowLevelPolicy(entityClass = TestOrder.class, actions = RowLevelPolicyAction.READ,
+            where = "{E}.number like 'A%'")
+    static RowLevelPredicate<TestOrder> numberEndsWithB() {
+        return (testOrder) -> testOrder.getNumber().endsWith("B");
+    }
+}
@@ -32,11 +32,19 @@ public class SecurityProperties {
      */
     String defaultRowLevelRolePrefix;
 
+    /**
+     * Whether permissions of the current user are compiled into a snapshot shared by all users having the same set
+     * of roles. If disabled, policies are evaluated on each permission check.
+     */
+    boolean compiledPermissionsEnabled;
+
     public SecurityProperties(
             @DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
-            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix) {
+            @DefaultValue("ROW_LEVEL_ROLE_") String defaultRowLevelRolePrefix,
+            @DefaultValue("true") boolean compiledPermissionsEnabled) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
         this.defaultRowLevelRolePrefix = defaultRowLevelRolePrefix;
+        this.compiledPermissionsEnabled = compiledPermissionsEnabled;
     }
 
     /**
@@ -52,4 +60,11 @@ public class SecurityProperties {
     public String getDefaultRowLevelRolePrefix() {
         return defaultRowLevelRolePrefix;
     }
+
+    /**
+     * @see #compiledPermissionsEnabled
+     */
+    public boolean isCompiledPermissionsEnabled() {
+        return compiledPermissionsEnabled;
+    }
 }
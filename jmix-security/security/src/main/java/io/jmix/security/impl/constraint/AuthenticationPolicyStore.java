@@ -20,6 +20,7 @@ import io.jmix.core.ExtendedEntities;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.ClientDetails;
 import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.security.SecurityProperties;
 import io.jmix.security.constraint.PolicyStore;
 import io.jmix.security.model.*;
 import io.jmix.security.role.ResourceRoleRepository;
@@ -35,8 +36,10 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Component("sec_AuthenticationPolicyStore")
@@ -58,8 +61,41 @@ public class AuthenticationPolicyStore implements PolicyStore {
     @Autowired
     protected RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
 
+    @Autowired
+    protected CompiledPermissionsCache compiledPermissionsCache;
+
+    @Autowired
+    protected SecurityProperties securityProperties;
+
+    /**
+     * Returns permissions snapshot compiled for the roles of the current authentication or null if compiled
+     * permissions are disabled by {@link SecurityProperties#isCompiledPermissionsEnabled()}.
+     */
+    @Nullable
+    public CompiledPermissions getCompiledPermissions() {
+        if (!securityProperties.isCompiledPermissionsEnabled()) {
+            return null;
+        }
+        Authentication authentication = currentAuthentication.getAuthentication();
+        return compiledPermissionsCache.getPermissions(authentication, getScope(authentication));
+    }
+
     @Override
     public Stream<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass) {
+        CompiledPermissions compiledPermissions = getCompiledPermissions();
+        if (compiledPermissions == null) {
+            return collectRowLevelPolicies(metaClass);
+        }
+
+        List<RowLevelPolicy> policies = compiledPermissions.getRowLevelPolicies(metaClass);
+        if (policies == null) {
+            policies = compiledPermissions.registerRowLevelPolicies(metaClass,
+                    collectRowLevelPolicies(metaClass).collect(Collectors.toList()));
+        }
+        return policies.stream();
+    }
+
+    protected Stream<RowLevelPolicy> collectRowLevelPolicies(MetaClass metaClass) {
         MetaClass originalMetaClass = extendedEntities.getOriginalMetaClass(metaClass);
         Set<String> suitableMetaClassNames = new HashSet<>();
         suitableMetaClassNames.add(metaClass.getName());
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.security.model.EntityPolicyAction;
+import io.jmix.security.model.RowLevelPolicy;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Permission snapshot compiled for a distinct set of granted roles and security scope.
+ * <p>
+ * Permissions of every entity are compiled on first access into an immutable {@link EntityPermissions} bit mask
+ * and reused by all authentications having the same set of roles until {@link CompiledPermissionsCache}
+ * is invalidated.
+ *
+ * @see CompiledPermissionsCache
+ */
+public class CompiledPermissions {
+
+    public static final int ATTR_READ = 1;
+    public static final int ATTR_UPDATE = 1 << 1;
+
+    /**
+     * Returned by {@link EntityPermissions#getAttributeMask(String)} for attributes missing in the snapshot.
+     */
+    public static final int ATTR_UNKNOWN = -1;
+
+    private final ConcurrentMap<MetaClass, EntityPermissions> entityPermissions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<MetaClass, List<RowLevelPolicy>> rowLevelPolicies = new ConcurrentHashMap<>();
+
+    /**
+     * Returns compiled permissions of the given entity or null if they are not compiled yet.
+     */
+    @Nullable
+    public EntityPermissions getEntityPermissions(MetaClass metaClass) {
+        return entityPermissions.get(metaClass);
+    }
+
+    /**
+     * Registers compiled permissions of the given entity. If permissions have been registered concurrently by
+     * another thread, the previously registered instance is returned.
+     */
+    public EntityPermissions registerEntityPermissions(MetaClass metaClass, EntityPermissions permissions) {
+        EntityPermissions existing = entityPermissions.putIfAbsent(metaClass, permissions);
+        return existing != null ? existing : permissions;
+    }
+
+    /**
+     * Returns row-level policies of the given entity or null if they are not collected yet.
+     */
+    @Nullable
+    public List<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass) {
+        return rowLevelPolicies.get(metaClass);
+    }
+
+    /**
+     * Registers row-level policies of the given entity and returns the effective list.
+     */
+    public List<RowLevelPolicy> registerRowLevelPolicies(MetaClass metaClass, List<RowLevelPolicy> policies) {
+        List<RowLevelPolicy> immutablePolicies = List.copyOf(policies);
+        List<RowLevelPolicy> existing = rowLevelPolicies.putIfAbsent(metaClass, immutablePolicies);
+        return existing != null ? existing : immutablePolicies;
+    }
+
+    public static int entityActionBit(EntityPolicyAction action) {
+        return 1 << action.ordinal();
+    }
+
+    /**
+     * Immutable CRUD and attribute permissions of a single entity.
+     */
+    public static class EntityPermissions {
+
+        private final int entityMask;
+        private final Map<String, Integer> attributeMasks;
+
+        public EntityPermissions(int entityMask, Map<String, Integer> attributeMasks) {
+            this.entityMask = entityMask;
+            this.attributeMasks = Map.copyOf(attributeMasks);
+        }
+
+        public boolean isEntityOperationPermitted(EntityPolicyAction action) {
+            return (entityMask & entityActionBit(action)) != 0;
+        }
+
+        /**
+         * Returns combination of {@link #ATTR_READ} and {@link #ATTR_UPDATE} bits for the given attribute or
+         * {@link #ATTR_UNKNOWN} if the attribute has not been compiled.
+         */
+        public int getAttributeMask(String attribute) {
+            Integer mask = attributeMasks.get(attribute);
+            return mask == null ? ATTR_UNKNOWN : mask;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.security.role.RoleGrantedAuthorityUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stores {@link CompiledPermissions} snapshots by the set of resource and row-level roles granted to an
+ * authentication.
+ * <p>
+ * The role set of an authentication is resolved once per {@link Authentication} instance, so repeated permission
+ * checks within the same authentication do not allocate. The cache is invalidated when resource or row-level roles
+ * are modified.
+ */
+@Component("sec_CompiledPermissionsCache")
+public class CompiledPermissionsCache {
+
+    protected final RoleGrantedAuthorityUtils roleGrantedAuthorityUtils;
+
+    protected volatile Snapshots snapshots = new Snapshots();
+
+    public CompiledPermissionsCache(RoleGrantedAuthorityUtils roleGrantedAuthorityUtils) {
+        this.roleGrantedAuthorityUtils = roleGrantedAuthorityUtils;
+    }
+
+    /**
+     * Returns permissions snapshot for the roles granted to the given authentication.
+     *
+     * @param authentication authentication
+     * @param scope          security scope of the authentication
+     */
+    public CompiledPermissions getPermissions(Authentication authentication, @Nullable String scope) {
+        Snapshots current = snapshots;
+
+        AuthenticationEntry entry = current.byAuthentication.getIfPresent(authentication);
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        if (entry != null && entry.authorities == authorities && Objects.equals(entry.scope, scope)) {
+            return entry.permissions;
+        }
+
+        RoleSetKey key = createRoleSetKey(authorities, scope);
+        CompiledPermissions permissions = current.byRoleSet.computeIfAbsent(key, k -> new CompiledPermissions());
+        current.byAuthentication.put(authentication, new AuthenticationEntry(authorities, scope, permissions));
+        return permissions;
+    }
+
+    /**
+     * Drops all compiled snapshots. Snapshots are compiled again on the next permission check.
+     */
+    public void invalidate() {
+        snapshots = new Snapshots();
+    }
+
+    protected RoleSetKey createRoleSetKey(Collection<? extends GrantedAuthority> authorities, @Nullable String scope) {
+        String rolePrefix = roleGrantedAuthorityUtils.getDefaultRolePrefix();
+        String rowLevelRolePrefix = roleGrantedAuthorityUtils.getDefaultRowLevelRolePrefix();
+
+        Set<String> roleAuthorities = new HashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            String authorityName = authority.getAuthority();
+            if (authorityName != null
+                    && (authorityName.startsWith(rolePrefix) || authorityName.startsWith(rowLevelRolePrefix))) {
+                roleAuthorities.add(authorityName);
+            }
+        }
+        return new RoleSetKey(roleAuthorities, scope);
+    }
+
+    protected static class Snapshots {
+
+        protected final ConcurrentMap<RoleSetKey, CompiledPermissions> byRoleSet = new ConcurrentHashMap<>();
+
+        // weak keys are compared by identity
+        protected final Cache<Authentication, AuthenticationEntry> byAuthentication = CacheBuilder.newBuilder()
+                .weakKeys()
+                .build();
+    }
+
+    protected static class AuthenticationEntry {
+
+        protected final Collection<? extends GrantedAuthority> authorities;
+        protected final String scope;
+        protected final CompiledPermissions permissions;
+
+        protected AuthenticationEntry(Collection<? extends GrantedAuthority> authorities,
+                                      @Nullable String scope,
+                                      CompiledPermissions permissions) {
+            this.authorities = authorities;
+            this.scope = scope;
+            this.permissions = permissions;
+        }
+    }
+
+    protected static class RoleSetKey {
+
+        protected final Set<String> roleAuthorities;
+        protected final String scope;
+
+        protected RoleSetKey(Set<String> roleAuthorities, @Nullable String scope) {
+            this.roleAuthorities = roleAuthorities;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RoleSetKey that = (RoleSetKey) o;
+            return roleAuthorities.equals(that.roleAuthorities) && Objects.equals(scope, that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roleAuthorities, scope);
+        }
+    }
+}
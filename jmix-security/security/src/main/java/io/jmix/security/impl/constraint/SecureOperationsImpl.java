@@ -25,30 +25,106 @@ import io.jmix.security.model.EntityAttributePolicyAction;
 import io.jmix.security.model.EntityPolicyAction;
 import io.jmix.security.model.ResourcePolicy;
 import io.jmix.security.model.ResourcePolicyEffect;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 @Component("sec_SecureOperations")
 public class SecureOperationsImpl implements SecureOperations {
 
+    protected static final EntityAttributePolicyAction[] ATTR_READ_ACTIONS =
+            {EntityAttributePolicyAction.VIEW, EntityAttributePolicyAction.MODIFY};
+
+    protected static final EntityAttributePolicyAction[] ATTR_UPDATE_ACTIONS =
+            {EntityAttributePolicyAction.MODIFY};
+
     public boolean isEntityCreatePermitted(MetaClass metaClass, PolicyStore policyStore) {
-        return isEntityOperationPermitted(metaClass, EntityPolicyAction.CREATE, policyStore);
+        return checkEntityOperation(metaClass, EntityPolicyAction.CREATE, policyStore);
     }
 
     @Override
     public boolean isEntityReadPermitted(MetaClass metaClass, PolicyStore policyStore) {
-        return isEntityOperationPermitted(metaClass, EntityPolicyAction.READ, policyStore);
+        return checkEntityOperation(metaClass, EntityPolicyAction.READ, policyStore);
     }
 
     @Override
     public boolean isEntityUpdatePermitted(MetaClass metaClass, PolicyStore policyContainer) {
-        return isEntityOperationPermitted(metaClass, EntityPolicyAction.UPDATE, policyContainer);
+        return checkEntityOperation(metaClass, EntityPolicyAction.UPDATE, policyContainer);
     }
 
     @Override
     public boolean isEntityDeletePermitted(MetaClass metaClass, PolicyStore policyContainer) {
-        return isEntityOperationPermitted(metaClass, EntityPolicyAction.DELETE, policyContainer);
+        return checkEntityOperation(metaClass, EntityPolicyAction.DELETE, policyContainer);
+    }
+
+    protected boolean checkEntityOperation(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
+                                           PolicyStore policyStore) {
+        CompiledPermissions.EntityPermissions permissions = getCompiledEntityPermissions(metaClass, policyStore);
+        if (permissions != null) {
+            return permissions.isEntityOperationPermitted(entityPolicyAction);
+        }
+        return isEntityOperationPermitted(metaClass, entityPolicyAction, policyStore);
+    }
+
+    protected boolean checkEntityAttr(MetaClass metaClass, String name, boolean update, PolicyStore policyStore) {
+        CompiledPermissions.EntityPermissions permissions = getCompiledEntityPermissions(metaClass, policyStore);
+        if (permissions != null) {
+            int mask = permissions.getAttributeMask(name);
+            if (mask != CompiledPermissions.ATTR_UNKNOWN) {
+                return (mask & (update ? CompiledPermissions.ATTR_UPDATE : CompiledPermissions.ATTR_READ)) != 0;
+            }
+        }
+        return isEntityAttrPermitted(metaClass, name, update ? ATTR_UPDATE_ACTIONS : ATTR_READ_ACTIONS, policyStore);
+    }
+
+    /**
+     * Returns permissions of the entity from the snapshot compiled for the current set of roles, compiling them
+     * on first access. Returns null if the given policy store does not support compiled permissions.
+     */
+    @Nullable
+    protected CompiledPermissions.EntityPermissions getCompiledEntityPermissions(MetaClass metaClass,
+                                                                                PolicyStore policyStore) {
+        if (!(policyStore instanceof AuthenticationPolicyStore)) {
+            return null;
+        }
+        CompiledPermissions compiledPermissions = ((AuthenticationPolicyStore) policyStore).getCompiledPermissions();
+        if (compiledPermissions == null) {
+            return null;
+        }
+        CompiledPermissions.EntityPermissions permissions = compiledPermissions.getEntityPermissions(metaClass);
+        if (permissions == null) {
+            permissions = compiledPermissions.registerEntityPermissions(metaClass,
+                    compileEntityPermissions(metaClass, policyStore));
+        }
+        return permissions;
+    }
+
+    protected CompiledPermissions.EntityPermissions compileEntityPermissions(MetaClass metaClass,
+                                                                            PolicyStore policyStore) {
+        int entityMask = 0;
+        for (EntityPolicyAction action : EntityPolicyAction.values()) {
+            if (action != EntityPolicyAction.ALL && isEntityOperationPermitted(metaClass, action, policyStore)) {
+                entityMask |= CompiledPermissions.entityActionBit(action);
+            }
+        }
+
+        Map<String, Integer> attributeMasks = new HashMap<>();
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            String name = metaProperty.getName();
+            int attributeMask = 0;
+            if (isEntityAttrPermitted(metaClass, name, ATTR_READ_ACTIONS, policyStore)) {
+                attributeMask |= CompiledPermissions.ATTR_READ;
+            }
+            if (isEntityAttrPermitted(metaClass, name, ATTR_UPDATE_ACTIONS, policyStore)) {
+                attributeMask |= CompiledPermissions.ATTR_UPDATE;
+            }
+            attributeMasks.put(name, attributeMask);
+        }
+
+        return new CompiledPermissions.EntityPermissions(entityMask, attributeMasks);
     }
 
     protected boolean isEntityOperationPermitted(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
@@ -74,9 +150,7 @@ public class SecureOperationsImpl implements SecureOperations {
     @Override
     public boolean isEntityAttrReadPermitted(MetaPropertyPath metaPropertyPath, PolicyStore policyStore) {
         for (MetaProperty metaProperty : metaPropertyPath.getMetaProperties()) {
-            if (!isEntityAttrPermitted(metaProperty.getDomain(), metaProperty.getName(),
-                    new EntityAttributePolicyAction[]{EntityAttributePolicyAction.VIEW, EntityAttributePolicyAction.MODIFY},
-                    policyStore)) {
+            if (!checkEntityAttr(metaProperty.getDomain(), metaProperty.getName(), false, policyStore)) {
                 return false;
             }
         }
@@ -86,9 +160,7 @@ public class SecureOperationsImpl implements SecureOperations {
     @Override
     public boolean isEntityAttrUpdatePermitted(MetaPropertyPath metaPropertyPath, PolicyStore policyStore) {
         for (MetaProperty metaProperty : metaPropertyPath.getMetaProperties()) {
-            if (!isEntityAttrPermitted(metaProperty.getDomain(), metaProperty.getName(),
-                    new EntityAttributePolicyAction[]{EntityAttributePolicyAction.MODIFY},
-                    policyStore)) {
+            if (!checkEntityAttr(metaProperty.getDomain(), metaProperty.getName(), true, policyStore)) {
                 return false;
             }
         }
@@ -16,25 +16,32 @@
 
 package io.jmix.security.impl.role;
 
+import io.jmix.security.impl.constraint.CompiledPermissionsCache;
 import io.jmix.security.impl.role.event.ResourceRoleModifiedEvent;
 import io.jmix.security.role.ResourceRoleRepository;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Listener invalidates resource roles repository cache when database resource role entity is modified.
+ * Listener invalidates resource roles repository cache and compiled permissions when database resource role entity
+ * is modified.
  */
 @Component("sec_ResourceRoleModifiedEventListener")
 public class ResourceRoleModifiedEventListener {
 
     private final ResourceRoleRepository resourceRoleRepository;
 
-    public ResourceRoleModifiedEventListener(ResourceRoleRepository resourceRoleRepository) {
+    private final CompiledPermissionsCache compiledPermissionsCache;
+
+    public ResourceRoleModifiedEventListener(ResourceRoleRepository resourceRoleRepository,
+                                             CompiledPermissionsCache compiledPermissionsCache) {
         this.resourceRoleRepository = resourceRoleRepository;
+        this.compiledPermissionsCache = compiledPermissionsCache;
     }
 
     @EventListener
     public void onResourceRoleModifiedEvent(ResourceRoleModifiedEvent event) {
         resourceRoleRepository.invalidateCache();
+        compiledPermissionsCache.invalidate();
     }
 }
@@ -16,24 +16,31 @@
 
 package io.jmix.security.impl.role;
 
+import io.jmix.security.impl.constraint.CompiledPermissionsCache;
 import io.jmix.security.impl.role.event.RowLevelRoleModifiedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
- * Listener invalidates row-level roles repository cache when database row-level role entity is modified.
+ * Listener invalidates row-level roles repository cache and compiled permissions when database row-level role entity
+ * is modified.
  */
 @Component("sec_RowLevelRoleModifiedEventListener")
 public class RowLevelRoleModifiedEventListener {
 
     private final RowLevelRoleRepositoryImpl rowLevelRoleRepository;
 
-    public RowLevelRoleModifiedEventListener(RowLevelRoleRepositoryImpl rowLevelRoleRepository) {
+    private final CompiledPermissionsCache compiledPermissionsCache;
+
+    public RowLevelRoleModifiedEventListener(RowLevelRoleRepositoryImpl rowLevelRoleRepository,
+                                             CompiledPermissionsCache compiledPermissionsCache) {
         this.rowLevelRoleRepository = rowLevelRoleRepository;
+        this.compiledPermissionsCache = compiledPermissionsCache;
     }
 
     @EventListener
     public void onRowLevelRoleModifiedEvent(RowLevelRoleModifiedEvent event) {
         rowLevelRoleRepository.invalidateCache();
+        compiledPermissionsCache.invalidate();
     }
 }
@@ -26,6 +26,7 @@ import io.jmix.security.model.RowLevelPolicy;
 import io.jmix.security.model.RowLevelPolicyAction;
 import io.jmix.security.model.RowLevelPredicate;
 import io.jmix.security.role.annotation.PredicateRowLevelPolicy;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -97,6 +98,8 @@ public class PredicateRowLevelPolicyExtractor implements RowLevelPolicyExtractor
                     RowLevelPolicy rowLevelPolicy = new RowLevelPolicy(metaClass.getName(),
                             action,
                             biPredicate,
+                            StringUtils.trimToNull(annotation.where()),
+                            StringUtils.trimToNull(annotation.join()),
                             Collections.singletonMap("uniqueKey", UUID.randomUUID().toString()));
                     policies.add(rowLevelPolicy);
                 } catch (Exception e) {
@@ -80,6 +80,19 @@ public class RowLevelPolicy implements Serializable {
         this.customProperties = customProperties;
     }
 
+    /**
+     * Creates in-memory policy with JPQL clauses selecting the same rows as the predicate. For {@link RowLevelPolicyAction#READ}
+     * the clauses are added to queries, so that rows denied by the policy are not loaded from the database and
+     * pages of loaded entities don't have to be filled up by additional queries. The predicate is still tested for
+     * loaded entities.
+     */
+    public RowLevelPolicy(String entityName, RowLevelPolicyAction action, RowLevelBiPredicate<Object, ApplicationContext> biPredicate,
+                          @Nullable String whereClause, @Nullable String joinClause, Map<String, String> customProperties) {
+        this(entityName, action, biPredicate, customProperties);
+        this.whereClause = whereClause;
+        this.joinClause = joinClause;
+    }
+
     /**
      * Returns a name of the associated entity
      */
@@ -117,7 +130,7 @@ public class RowLevelPolicy implements Serializable {
     }
 
     /**
-     * Returns "where" clause for JPQL policy
+     * Returns "where" clause for JPQL policy or JPQL equivalent of the predicate for in-memory policy
      *
      * @return JPQL "where" clause
      */
@@ -126,7 +139,7 @@ public class RowLevelPolicy implements Serializable {
     }
 
     /**
-     * Returns "join" clause for JPQL policy
+     * Returns "join" clause for JPQL policy or for JPQL equivalent of the predicate for in-memory policy
      *
      * @return JPQL "join" clause
      */
@@ -80,4 +80,17 @@ public @interface PredicateRowLevelPolicy {
      * Entity CRUD operations on which the predicate must be tested
      */
     RowLevelPolicyAction[] actions();
+
+    /**
+     * Optional JPQL "where" clause selecting the same rows as the predicate, e.g. {@code {E}.number like 'b%'}.
+     * If set, it is added to queries for the {@link RowLevelPolicyAction#READ} action, so that denied rows are
+     * filtered out by the database instead of reloading pages of entities. The predicate is still tested for
+     * loaded entities.
+     */
+    String where() default "";
+
+    /**
+     * Optional JPQL "join" clause used by {@link #where()}.
+     */
+    String join() default "";
 }
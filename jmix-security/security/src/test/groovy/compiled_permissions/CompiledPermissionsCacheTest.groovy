@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package compiled_permissions
+
+import io.jmix.security.SecurityProperties
+import io.jmix.security.impl.constraint.CompiledPermissionsCache
+import io.jmix.security.role.RoleGrantedAuthorityUtils
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.authority.SimpleGrantedAuthority
+import spock.lang.Specification
+
+class CompiledPermissionsCacheTest extends Specification {
+
+    CompiledPermissionsCache cache = new CompiledPermissionsCache(
+            new RoleGrantedAuthorityUtils(new SecurityProperties(true, 'ROW_LEVEL_ROLE_', true)))
+
+    def "authentications with the same roles share permissions snapshot"() {
+        def auth1 = authentication('user1', 'ROLE_a', 'ROW_LEVEL_ROLE_b')
+        def auth2 = authentication('user2', 'ROW_LEVEL_ROLE_b', 'ROLE_a', 'OTHER_AUTHORITY')
+        def auth3 = authentication('user3', 'ROLE_a')
+
+        expect:
+
+        cache.getPermissions(auth1, null).is(cache.getPermissions(auth1, null))
+        cache.getPermissions(auth1, null).is(cache.getPermissions(auth2, null))
+        !cache.getPermissions(auth1, null).is(cache.getPermissions(auth3, null))
+        !cache.getPermissions(auth1, null).is(cache.getPermissions(auth1, 'API'))
+    }
+
+    def "invalidation drops compiled snapshots"() {
+        def auth = authentication('user1', 'ROLE_a')
+        def permissions = cache.getPermissions(auth, null)
+
+        when:
+
+        cache.invalidate()
+
+        then:
+
+        !cache.getPermissions(auth, null).is(permissions)
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username, String... authorities) {
+        new UsernamePasswordAuthenticationToken(username, null,
+                authorities.collect { new SimpleGrantedAuthority(it) })
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package compiled_permissions
+
+import io.jmix.core.Metadata
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.core.metamodel.model.MetaPropertyPath
+import io.jmix.security.constraint.PolicyStore
+import io.jmix.security.constraint.SecureOperations
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore
+import io.jmix.security.impl.constraint.CompiledPermissionsCache
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.authority.SimpleGrantedAuthority
+import org.springframework.security.core.context.SecurityContextHolder
+import test_support.SecuritySpecification
+import test_support.entity.ManyToOneEntity
+import test_support.entity.OneToManyEntity
+import test_support.entity.TestCustomer
+import test_support.entity.TestOrder
+
+class CompiledPermissionsEquivalenceTest extends SecuritySpecification {
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    SecureOperations secureOperations
+
+    @Autowired
+    AuthenticationPolicyStore policyStore
+
+    @Autowired
+    CompiledPermissionsCache compiledPermissionsCache
+
+    def cleanup() {
+        SecurityContextHolder.clearContext()
+        compiledPermissionsCache.invalidate()
+    }
+
+    def "compiled permissions give the same answers as stream-based evaluation"(List<String> roles) {
+        // the same policies evaluated by streams, as the store is not an AuthenticationPolicyStore
+        def streamPolicyStore = new StreamPolicyStore(delegate: policyStore)
+        authenticate(roles)
+
+        expect:
+
+        policyStore.getCompiledPermissions() != null
+
+        entityClasses().each { MetaClass metaClass ->
+            assert secureOperations.isEntityCreatePermitted(metaClass, policyStore) ==
+                    secureOperations.isEntityCreatePermitted(metaClass, streamPolicyStore)
+            assert secureOperations.isEntityReadPermitted(metaClass, policyStore) ==
+                    secureOperations.isEntityReadPermitted(metaClass, streamPolicyStore)
+            assert secureOperations.isEntityUpdatePermitted(metaClass, policyStore) ==
+                    secureOperations.isEntityUpdatePermitted(metaClass, streamPolicyStore)
+            assert secureOperations.isEntityDeletePermitted(metaClass, policyStore) ==
+                    secureOperations.isEntityDeletePermitted(metaClass, streamPolicyStore)
+
+            metaClass.properties.each {
+                def propertyPath = metaClass.getPropertyPath(it.name)
+                assertAttributePermissionsEqual(propertyPath, streamPolicyStore)
+            }
+        }
+        assertAttributePermissionsEqual(metadata.getClass(ManyToOneEntity).getPropertyPath('oneToManyEntity.name'),
+                streamPolicyStore)
+
+        where:
+
+        roles << [
+                [],
+                ['TestEntityPolicyAllCrudRole'],
+                ['TestDifferentResourcePoliciesOnMethodRole'],
+                ['TestStringEntityNameRole', 'TestDifferentResourcePoliciesOnMethodRole'],
+                ['TestWildcardRole'],
+                ['TestWildcardRole', 'TestStringEntityNameRole'],
+                ['TestEntityPolicyAllCrudRole', 'TestDifferentResourcePoliciesOnMethodRole', 'TestWildcardRole']
+        ]
+    }
+
+    def "compiled permissions are used once compiled"() {
+        authenticate(['TestDifferentResourcePoliciesOnMethodRole'])
+        def metaClass = metadata.getClass(TestOrder)
+
+        when:
+
+        def permitted = secureOperations.isEntityReadPermitted(metaClass, policyStore)
+
+        then:
+
+        permitted
+        policyStore.getCompiledPermissions().getEntityPermissions(metaClass) != null
+    }
+
+    private void assertAttributePermissionsEqual(MetaPropertyPath propertyPath, PolicyStore streamPolicyStore) {
+        assert secureOperations.isEntityAttrReadPermitted(propertyPath, policyStore) ==
+                secureOperations.isEntityAttrReadPermitted(propertyPath, streamPolicyStore)
+        assert secureOperations.isEntityAttrUpdatePermitted(propertyPath, policyStore) ==
+                secureOperations.isEntityAttrUpdatePermitted(propertyPath, streamPolicyStore)
+    }
+
+    private List<MetaClass> entityClasses() {
+        [TestOrder, TestCustomer, OneToManyEntity, ManyToOneEntity].collect { metadata.getClass(it) }
+    }
+
+    private static void authenticate(List<String> roles) {
+        SecurityContextHolder.context.authentication = new UsernamePasswordAuthenticationToken('user', null,
+                roles.collect { new SimpleGrantedAuthority('ROLE_' + it) })
+    }
+
+    /**
+     * Delegates to the policy store without being an {@link AuthenticationPolicyStore}, so {@link SecureOperations}
+     * evaluates policies without compiled permissions.
+     */
+    static class StreamPolicyStore implements PolicyStore {
+
+        @Delegate
+        PolicyStore delegate
+    }
+}